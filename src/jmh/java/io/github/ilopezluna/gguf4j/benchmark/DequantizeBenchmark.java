@@ -0,0 +1,76 @@
+package io.github.ilopezluna.gguf4j.benchmark;
+
+import io.github.ilopezluna.gguf4j.quant.Dequantizer;
+import io.github.ilopezluna.gguf4j.scalar.GGMLType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dequantization throughput into a reused array, reported per million weights. Pass
+ * {@code -jvmArgsAppend -Dgguf4j.vector=false} to compare with the scalar kernels.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview", "--add-modules", "jdk.incubator.vector"})
+public class DequantizeBenchmark {
+    private static final int ELEMENTS = 4_000_000;
+    private static final int MILLION_WEIGHTS = ELEMENTS / 1_000_000;
+
+    @Param({"Q4_0", "Q8_0", "Q4_K", "F16", "BF16"})
+    public GGMLType type;
+
+    private Arena arena;
+    private MemorySegment source;
+    private float[] target;
+
+    @Setup(Level.Trial)
+    public void encode() {
+        ByteBuffer pattern = SyntheticModel.pattern(type);
+        arena = Arena.ofShared();
+        source = arena.allocate(type.getByteSize(ELEMENTS), 64);
+        for (long offset = 0; offset < source.byteSize(); offset += pattern.capacity()) {
+            MemorySegment.copy(MemorySegment.ofBuffer(pattern), 0, source, offset,
+                Math.min(pattern.capacity(), source.byteSize() - offset));
+        }
+        target = new float[ELEMENTS];
+    }
+
+    @TearDown(Level.Trial)
+    public void release() {
+        arena.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MILLION_WEIGHTS)
+    public float[] dequantize() {
+        Dequantizer.dequantize(source, type, target, 0, ELEMENTS);
+        return target;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MILLION_WEIGHTS)
+    public float[] dequantizeParallel() {
+        Dequantizer.dequantizeParallel(source, type, target, 0, ELEMENTS);
+        return target;
+    }
+}
@@ -0,0 +1,106 @@
+package io.github.ilopezluna.gguf4j.benchmark;
+
+import io.github.ilopezluna.gguf4j.core.GGUFFile;
+import io.github.ilopezluna.gguf4j.core.GGUFParseOptions;
+import io.github.ilopezluna.gguf4j.core.GGUFParser;
+import io.github.ilopezluna.gguf4j.core.GGUFVisitor;
+import io.github.ilopezluna.gguf4j.scalar.GGUFMetadataValueType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing a synthetic model from a stream, from a mapped file, and partially. The page cache is
+ * warm after the first iteration, so these measure decoding rather than disk reads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview", "--add-modules", "jdk.incubator.vector"})
+public class ParseBenchmark {
+
+    @Param({"32000", "150000"})
+    public int vocabSize;
+
+    private Path directory;
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void writeModel() throws IOException {
+        directory = Files.createTempDirectory("gguf4j-bench");
+        file = directory.resolve("model.gguf");
+        SyntheticModel.write(file, SyntheticModel.Spec.DEFAULT.withVocabSize(vocabSize));
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteModel() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public GGUFFile parseStream() throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return GGUFParser.parse(in);
+        }
+    }
+
+    @Benchmark
+    public GGUFFile parseMapped() throws IOException {
+        return GGUFParser.parse(file);
+    }
+
+    @Benchmark
+    public GGUFFile parseLazyArrays() throws IOException {
+        return GGUFParser.parse(file, GGUFParseOptions.lazyArrays());
+    }
+
+    @Benchmark
+    public GGUFFile parseMetadataOnly() throws IOException {
+        return GGUFParser.parseHeaderAndMetadata(file);
+    }
+
+    @Benchmark
+    public GGUFFile parseGeneralKeys() throws IOException {
+        return GGUFParser.parse(file, key -> key.startsWith("general."));
+    }
+
+    @Benchmark
+    public boolean visitAll(Blackhole blackhole) throws IOException {
+        return GGUFParser.visit(file, new GGUFVisitor() {
+            @Override
+            public void onInteger(GGUFMetadataValueType type, long value) {
+                blackhole.consume(value);
+            }
+
+            @Override
+            public void onFloat(GGUFMetadataValueType type, double value) {
+                blackhole.consume(value);
+            }
+
+            @Override
+            public void onString(String value) {
+                blackhole.consume(value);
+            }
+        });
+    }
+}
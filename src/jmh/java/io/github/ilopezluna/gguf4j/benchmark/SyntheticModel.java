@@ -0,0 +1,217 @@
+package io.github.ilopezluna.gguf4j.benchmark;
+
+import io.github.ilopezluna.gguf4j.core.GGUFConstants;
+import io.github.ilopezluna.gguf4j.core.GGUFFile;
+import io.github.ilopezluna.gguf4j.core.GGUFHeader;
+import io.github.ilopezluna.gguf4j.core.GGUFMetadata;
+import io.github.ilopezluna.gguf4j.core.GGUFMetadataValue;
+import io.github.ilopezluna.gguf4j.core.GGUFTensorInfo;
+import io.github.ilopezluna.gguf4j.core.GGUFWriter;
+import io.github.ilopezluna.gguf4j.quant.Quantizer;
+import io.github.ilopezluna.gguf4j.scalar.GGMLType;
+import io.github.ilopezluna.gguf4j.scalar.GGUFMetadataValueType;
+
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Writes synthetic GGUF files shaped like a llama-style model: a GPT-2 style vocabulary with scores,
+ * token types and merges, one tensor info per weight of every layer, and tensor data that decodes to
+ * finite values. The content is deterministic for a given spec.
+ */
+public final class SyntheticModel {
+    private static final String ARCHITECTURE = "llama";
+    private static final String[] LAYER_WEIGHTS = {
+        "attn_q", "attn_k", "attn_v", "attn_output", "ffn_gate", "ffn_up", "ffn_down"
+    };
+    private static final int PATTERN_ELEMENTS = 64 * 1024;
+    private static final long SEED = 42;
+
+    /**
+     * Shape of a synthetic model. The tensor data grows with {@code layerCount} and the square of
+     * {@code embeddingLength}, and the embedding and output tensors also with {@code vocabSize}.
+     */
+    public record Spec(int vocabSize, int mergeCount, int layerCount, int embeddingLength, GGMLType weightType) {
+
+        /**
+         * A 150k-token vocabulary and 256 layers: about 2300 tensor infos and 45 MB of Q4_0 data.
+         */
+        public static final Spec DEFAULT = new Spec(150_000, 150_000, 256, 128, GGMLType.Q4_0);
+
+        public Spec {
+            if (vocabSize < 256 || mergeCount < 0 || layerCount < 0 || embeddingLength <= 0) {
+                throw new IllegalArgumentException(String.format("Invalid spec: vocab %d, merges %d, layers %d, embedding %d",
+                    vocabSize, mergeCount, layerCount, embeddingLength));
+            }
+            if (weightType == null || embeddingLength % weightType.getBlockSize() != 0) {
+                throw new IllegalArgumentException("Embedding length " + embeddingLength
+                    + " is not a multiple of the " + weightType + " block size");
+            }
+        }
+
+        public Spec withVocabSize(int vocabSize) {
+            return new Spec(vocabSize, Math.min(mergeCount, vocabSize), layerCount, embeddingLength, weightType);
+        }
+
+        public Spec withLayerCount(int layerCount) {
+            return new Spec(vocabSize, mergeCount, layerCount, embeddingLength, weightType);
+        }
+
+        public Spec withEmbeddingLength(int embeddingLength) {
+            return new Spec(vocabSize, mergeCount, layerCount, embeddingLength, weightType);
+        }
+
+        public Spec withWeightType(GGMLType weightType) {
+            return new Spec(vocabSize, mergeCount, layerCount, embeddingLength, weightType);
+        }
+
+        public int tensorCount() {
+            return 3 + layerCount * (LAYER_WEIGHTS.length + 2);
+        }
+    }
+
+    private SyntheticModel() {
+        // Utility class
+    }
+
+    /**
+     * Write a synthetic model to {@code target}.
+     *
+     * @return the file as written
+     */
+    public static GGUFFile write(Path target, Spec spec) throws IOException {
+        GGUFMetadata metadata = metadata(spec);
+        List<GGUFTensorInfo> tensors = tensors(spec);
+        Map<GGMLType, ByteBuffer> patterns = new LinkedHashMap<>();
+        for (GGUFTensorInfo tensor : tensors) {
+            patterns.computeIfAbsent(tensor.type(), SyntheticModel::pattern);
+        }
+
+        GGUFHeader header = new GGUFHeader(GGUFConstants.GGUF_MAGIC, GGUFConstants.GGUF_VERSION_3, tensors.size(), metadata.size());
+        return GGUFWriter.write(target, header, metadata, tensors, (tensor, channel) -> {
+            // Repeat the pattern; its length is a whole number of blocks, so every block stays valid
+            ByteBuffer pattern = patterns.get(tensor.type());
+            long remaining = tensor.getSizeInBytes();
+            while (remaining > 0) {
+                ByteBuffer slice = pattern.duplicate().limit((int) Math.min(pattern.capacity(), remaining));
+                while (slice.hasRemaining()) {
+                    remaining -= channel.write(slice);
+                }
+            }
+        });
+    }
+
+    /**
+     * Encode {@link #PATTERN_ELEMENTS} pseudo-random weights in the given type.
+     */
+    static ByteBuffer pattern(GGMLType type) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        float[] values = new float[PATTERN_ELEMENTS];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (float) random.nextGaussian() * 0.02f;
+        }
+        ByteBuffer pattern = ByteBuffer.allocate((int) type.getByteSize(PATTERN_ELEMENTS)).order(ByteOrder.LITTLE_ENDIAN);
+        switch (type) {
+            case F32 -> pattern.asFloatBuffer().put(values);
+            case F16 -> {
+                for (float value : values) {
+                    pattern.putShort(Float.floatToFloat16(value));
+                }
+            }
+            case BF16 -> {
+                for (float value : values) {
+                    pattern.putShort((short) (Float.floatToRawIntBits(value) >>> 16));
+                }
+            }
+            default -> {
+                if (!Quantizer.isSupported(type)) {
+                    throw new IllegalArgumentException("Cannot generate " + type + " data");
+                }
+                Quantizer.quantize(values, 0, type, MemorySegment.ofBuffer(pattern), PATTERN_ELEMENTS);
+            }
+        }
+        return pattern.clear();
+    }
+
+    static GGUFMetadata metadata(Spec spec) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        String[] tokens = new String[spec.vocabSize()];
+        float[] scores = new float[spec.vocabSize()];
+        int[] tokenTypes = new int[spec.vocabSize()];
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i < tokens.length; i++) {
+            if (i < 256) {
+                // Byte fallback tokens, as in GPT-2 style vocabularies
+                tokens[i] = String.format("<0x%02X>", i);
+                tokenTypes[i] = 6;
+            } else {
+                token.setLength(0);
+                if (random.nextInt(3) == 0) {
+                    token.append('Ġ');
+                }
+                int length = 1 + random.nextInt(10);
+                for (int j = 0; j < length; j++) {
+                    token.append((char) ('a' + random.nextInt(26)));
+                }
+                // Keep tokens unique without making them all the same length
+                tokens[i] = token.append(Integer.toString(i, 36)).toString();
+                tokenTypes[i] = 1;
+            }
+            scores[i] = -i;
+        }
+        String[] merges = new String[spec.mergeCount()];
+        for (int i = 0; i < merges.length; i++) {
+            merges[i] = tokens[256 + random.nextInt(tokens.length - 256)] + " " + tokens[256 + random.nextInt(tokens.length - 256)];
+        }
+
+        Map<String, GGUFMetadataValue> values = new LinkedHashMap<>();
+        values.put(GGUFConstants.GENERAL_ARCHITECTURE, new GGUFMetadataValue.StringValue(ARCHITECTURE));
+        values.put(GGUFConstants.GENERAL_NAME, new GGUFMetadataValue.StringValue("Synthetic " + spec.layerCount() + "L"));
+        values.put(GGUFConstants.GENERAL_QUANTIZATION_VERSION, new GGUFMetadataValue.UInt32Value(2));
+        values.put(ARCHITECTURE + GGUFConstants.CONTEXT_LENGTH, new GGUFMetadataValue.UInt32Value(8192));
+        values.put(ARCHITECTURE + GGUFConstants.EMBEDDING_LENGTH, new GGUFMetadataValue.UInt32Value(spec.embeddingLength()));
+        values.put(ARCHITECTURE + GGUFConstants.BLOCK_COUNT, new GGUFMetadataValue.UInt32Value(spec.layerCount()));
+        values.put(ARCHITECTURE + GGUFConstants.FEED_FORWARD_LENGTH, new GGUFMetadataValue.UInt32Value(2L * spec.embeddingLength()));
+        values.put(ARCHITECTURE + GGUFConstants.ATTENTION_HEAD_COUNT, new GGUFMetadataValue.UInt32Value(8));
+        values.put(ARCHITECTURE + GGUFConstants.ATTENTION_HEAD_COUNT_KV, new GGUFMetadataValue.UInt32Value(8));
+        values.put(GGUFConstants.TOKENIZER_MODEL, new GGUFMetadataValue.StringValue("gpt2"));
+        values.put(GGUFConstants.TOKENIZER_LIST, GGUFMetadataValue.StringArrayValue.of(tokens));
+        values.put(GGUFConstants.TOKENIZER_TOKEN_TYPE, new GGUFMetadataValue.IntArrayValue(GGUFMetadataValueType.INT32, tokenTypes));
+        values.put(GGUFConstants.TOKENIZER_SCORES, new GGUFMetadataValue.FloatArrayValue(scores));
+        values.put(GGUFConstants.TOKENIZER_MERGES, GGUFMetadataValue.StringArrayValue.of(merges));
+        values.put(GGUFConstants.TOKENIZER_BOS_TOKEN_ID, new GGUFMetadataValue.UInt32Value(1));
+        values.put(GGUFConstants.TOKENIZER_EOS_TOKEN_ID, new GGUFMetadataValue.UInt32Value(2));
+        return new GGUFMetadata(values);
+    }
+
+    static List<GGUFTensorInfo> tensors(Spec spec) {
+        long embedding = spec.embeddingLength();
+        long feedForward = 2 * embedding;
+        List<GGUFTensorInfo> tensors = new ArrayList<>(spec.tensorCount());
+        tensors.add(new GGUFTensorInfo("token_embd.weight", new long[]{embedding, spec.vocabSize()}, spec.weightType(), 0));
+        for (int layer = 0; layer < spec.layerCount(); layer++) {
+            String prefix = "blk." + layer + ".";
+            tensors.add(new GGUFTensorInfo(prefix + "attn_norm.weight", new long[]{embedding}, GGMLType.F32, 0));
+            for (String weight : LAYER_WEIGHTS) {
+                long[] dimensions = switch (weight) {
+                    case "ffn_gate", "ffn_up" -> new long[]{embedding, feedForward};
+                    case "ffn_down" -> new long[]{feedForward, embedding};
+                    default -> new long[]{embedding, embedding};
+                };
+                tensors.add(new GGUFTensorInfo(prefix + weight + ".weight", dimensions, spec.weightType(), 0));
+            }
+            tensors.add(new GGUFTensorInfo(prefix + "ffn_norm.weight", new long[]{embedding}, GGMLType.F32, 0));
+        }
+        tensors.add(new GGUFTensorInfo("output_norm.weight", new long[]{embedding}, GGMLType.F32, 0));
+        tensors.add(new GGUFTensorInfo("output.weight", new long[]{embedding, spec.vocabSize()}, spec.weightType(), 0));
+        return tensors;
+    }
+}
@@ -0,0 +1,78 @@
+package io.github.ilopezluna.gguf4j.benchmark;
+
+import io.github.ilopezluna.gguf4j.core.GGUFConstants;
+import io.github.ilopezluna.gguf4j.core.GGUFFile;
+import io.github.ilopezluna.gguf4j.core.GGUFHeader;
+import io.github.ilopezluna.gguf4j.core.GGUFMetadata;
+import io.github.ilopezluna.gguf4j.core.GGUFTensorInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tensor lookups on a file with thousands of tensor infos. Only the tensor infos are generated;
+ * no file is written.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview", "--add-modules", "jdk.incubator.vector"})
+public class TensorLookupBenchmark {
+
+    private GGUFFile file;
+    private String[] names;
+    private int layerCount;
+    private int nextName;
+    private int nextLayer;
+
+    @Setup(Level.Trial)
+    public void buildFile() {
+        SyntheticModel.Spec spec = SyntheticModel.Spec.DEFAULT.withVocabSize(256);
+        List<GGUFTensorInfo> tensors = SyntheticModel.tensors(spec);
+        GGUFHeader header = new GGUFHeader(GGUFConstants.GGUF_MAGIC, GGUFConstants.GGUF_VERSION_3, tensors.size(), 0);
+        file = new GGUFFile(header, new GGUFMetadata(Map.of()), tensors, 0);
+        layerCount = spec.layerCount();
+        names = tensors.stream().map(GGUFTensorInfo::name).toArray(String[]::new);
+        // Build the lookup structures outside the measurement
+        file.findTensor(names[0]);
+    }
+
+    @Benchmark
+    public Optional<GGUFTensorInfo> findTensorByName() {
+        String name = names[nextName];
+        nextName = nextName + 1 == names.length ? 0 : nextName + 1;
+        return file.findTensor(name);
+    }
+
+    @Benchmark
+    public List<GGUFTensorInfo> tensorsByLayer() {
+        int layer = nextLayer;
+        nextLayer = nextLayer + 1 == layerCount ? 0 : nextLayer + 1;
+        return file.getTensorsByLayer(layer);
+    }
+
+    @Benchmark
+    public List<GGUFTensorInfo> findTensorsByPattern() {
+        return file.findTensors("blk\\.1[0-9]\\.attn_.*");
+    }
+
+    @Benchmark
+    public List<GGUFTensorInfo> weightTensors() {
+        return file.getWeightTensors();
+    }
+}
@@ -1,6 +1,7 @@
 package io.github.ilopezluna.gguf4j.cli;
 
 import io.github.ilopezluna.gguf4j.core.GGUFFile;
+import io.github.ilopezluna.gguf4j.core.GGUFParseOptions;
 import io.github.ilopezluna.gguf4j.core.GGUFParser;
 import io.github.ilopezluna.gguf4j.core.GGUFTensorInfo;
 import picocli.CommandLine;
@@ -67,9 +68,7 @@ public class GGUFParserCLI implements Callable<Integer> {
 
             GGUFFile ggufFile;
             if (metadataOnly) {
-                ggufFile = GGUFParser.parseHeaderAndMetadata(
-                    java.nio.file.Files.newInputStream(filePath)
-                );
+                ggufFile = GGUFParser.parseHeaderAndMetadata(filePath, GGUFParseOptions.lazyArrays());
             } else {
                 ggufFile = GGUFParser.parse(filePath);
             }
@@ -0,0 +1,213 @@
+package io.github.ilopezluna.gguf4j.core;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Scanner for directory trees of GGUF files.
+ * Every regular file is probed by its first 8 bytes and files that are not GGUF are skipped
+ * without being parsed. The rest are parsed concurrently, with at most {@code concurrency}
+ * files open at once, and each result is handed to the consumer as soon as it is ready.
+ *
+ * @param concurrency  maximum number of files probed or parsed at the same time
+ * @param metadataOnly parse only the header and metadata, skipping the tensor table
+ * @param options      options used to parse each file
+ */
+public record GGUFCatalogScanner(int concurrency, boolean metadataOnly, GGUFParseOptions options) {
+
+    /**
+     * Default number of files processed at the same time.
+     */
+    public static final int DEFAULT_CONCURRENCY = 16;
+
+    /**
+     * Parse metadata only, deferring large arrays.
+     */
+    public static final GGUFCatalogScanner DEFAULT =
+        new GGUFCatalogScanner(DEFAULT_CONCURRENCY, true, GGUFParseOptions.lazyArrays());
+
+    public GGUFCatalogScanner {
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("Concurrency must be positive");
+        }
+        if (options == null) {
+            throw new IllegalArgumentException("Parse options cannot be null");
+        }
+    }
+
+    public GGUFCatalogScanner withConcurrency(int concurrency) {
+        return new GGUFCatalogScanner(concurrency, metadataOnly, options);
+    }
+
+    /**
+     * Parse the tensor table of each file as well as its metadata.
+     */
+    public GGUFCatalogScanner withTensors() {
+        return new GGUFCatalogScanner(concurrency, false, options);
+    }
+
+    public GGUFCatalogScanner withOptions(GGUFParseOptions options) {
+        return new GGUFCatalogScanner(concurrency, metadataOnly, options);
+    }
+
+    /**
+     * Counts of what a scan found.
+     *
+     * @param files    regular files visited
+     * @param parsed   GGUF files parsed successfully
+     * @param rejected files skipped because they do not start with a GGUF header
+     * @param failed   files or directories that could not be read or parsed
+     */
+    public record Summary(long files, long parsed, long rejected, long failed) {
+    }
+
+    /**
+     * Scan a directory tree on virtual threads.
+     *
+     * @see #scan(Path, Consumer, ExecutorService)
+     */
+    public Summary scan(Path root, Consumer<GGUFScanResult> consumer) throws IOException {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            return scan(root, consumer, executor);
+        }
+    }
+
+    /**
+     * Scan a directory tree, parsing files on the given executor. A file or directory that
+     * cannot be read or parsed is reported to the consumer as a failure and the scan goes on.
+     * The consumer is called from the worker threads, one result at a time; if it throws,
+     * no further files are submitted and the exception is rethrown once in-flight files finish.
+     */
+    public Summary scan(Path root, Consumer<GGUFScanResult> consumer, ExecutorService executor) throws IOException {
+        Scan scan = new Scan(consumer, executor);
+        try {
+            Files.walkFileTree(root, scan);
+        } finally {
+            scan.await();
+        }
+        RuntimeException error = scan.consumerError.get();
+        if (error != null) {
+            throw error;
+        }
+        return new Summary(scan.files.sum(), scan.parsed.sum(), scan.rejected.sum(), scan.failed.sum());
+    }
+
+    private GGUFFile parse(Path file) throws IOException {
+        return metadataOnly ? GGUFParser.parseHeaderAndMetadata(file, options) : GGUFParser.parse(file, options);
+    }
+
+    /**
+     * Walks the tree on the calling thread and hands files to the executor, holding one permit per
+     * file in flight. Taking every permit back waits for the last files to finish.
+     */
+    private final class Scan extends SimpleFileVisitor<Path> {
+        private final Consumer<GGUFScanResult> consumer;
+        private final ExecutorService executor;
+        private final Semaphore permits = new Semaphore(concurrency);
+        private final ReentrantLock consumerLock = new ReentrantLock();
+        private final AtomicReference<RuntimeException> consumerError = new AtomicReference<>();
+        private final LongAdder files = new LongAdder();
+        private final LongAdder parsed = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+
+        Scan(Consumer<GGUFScanResult> consumer, ExecutorService executor) {
+            this.consumer = consumer;
+            this.executor = executor;
+        }
+
+        @Override
+        public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) throws IOException {
+            if (consumerError.get() != null) {
+                return FileVisitResult.TERMINATE;
+            }
+            if (!attributes.isRegularFile()) {
+                return FileVisitResult.CONTINUE;
+            }
+            files.increment();
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while scanning " + file);
+            }
+            try {
+                executor.execute(() -> process(file));
+            } catch (RejectedExecutionException e) {
+                permits.release();
+                throw e;
+            }
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFileFailed(Path file, IOException e) {
+            fail(file, e);
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult postVisitDirectory(Path dir, IOException e) {
+            if (e != null) {
+                fail(dir, e);
+            }
+            return FileVisitResult.CONTINUE;
+        }
+
+        private void process(Path file) {
+            try {
+                GGUFScanResult result;
+                try {
+                    if (!GGUFParser.isValidGGUFFile(file)) {
+                        rejected.increment();
+                        return;
+                    }
+                    result = GGUFScanResult.success(file, parse(file));
+                    parsed.increment();
+                } catch (IOException | RuntimeException e) {
+                    result = GGUFScanResult.failure(file, e);
+                    failed.increment();
+                }
+                emit(result);
+            } finally {
+                permits.release();
+            }
+        }
+
+        private void fail(Path path, Exception e) {
+            failed.increment();
+            emit(GGUFScanResult.failure(path, e));
+        }
+
+        private void emit(GGUFScanResult result) {
+            consumerLock.lock();
+            try {
+                if (consumerError.get() == null) {
+                    consumer.accept(result);
+                }
+            } catch (RuntimeException e) {
+                consumerError.compareAndSet(null, e);
+            } finally {
+                consumerLock.unlock();
+            }
+        }
+
+        void await() {
+            permits.acquireUninterruptibly(concurrency);
+            permits.release(concurrency);
+        }
+    }
+}
@@ -16,6 +16,10 @@ public final class GGUFConstants {
     // Default alignment for tensor data
     public static final int DEFAULT_ALIGNMENT = 32;
     
+    // Page and huge page alignment for re-laid out tensor data
+    public static final int PAGE_ALIGNMENT = 4096;
+    public static final int HUGE_PAGE_ALIGNMENT = 2 * 1024 * 1024;
+    
     // Common metadata keys
     public static final String GENERAL_ARCHITECTURE = "general.architecture";
     public static final String GENERAL_NAME = "general.name";
@@ -27,6 +31,12 @@ public final class GGUFConstants {
     public static final String GENERAL_SOURCE_HF_REPO = "general.source.huggingface.repository";
     public static final String GENERAL_FILE_TYPE = "general.file_type";
     public static final String GENERAL_QUANTIZATION_VERSION = "general.quantization_version";
+    public static final String GENERAL_ALIGNMENT = "general.alignment";
+    
+    // Split (sharded model) metadata keys
+    public static final String SPLIT_NO = "split.no";
+    public static final String SPLIT_COUNT = "split.count";
+    public static final String SPLIT_TENSORS_COUNT = "split.tensors.count";
     
     // Architecture-specific metadata keys
     public static final String CONTEXT_LENGTH = ".context_length";
@@ -1,19 +1,22 @@
 package io.github.ilopezluna.gguf4j.core;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.regex.Pattern;
 
 /**
  * Represents a parsed GGUF file with all its components.
+ * Tensor lookups are served from indexes built on first use.
  */
-public record GGUFFile(
-    GGUFHeader header,
-    GGUFMetadata metadata,
-    List<GGUFTensorInfo> tensors,
-    long tensorDataOffset
-) {
+public final class GGUFFile {
+    private final GGUFHeader header;
+    private final GGUFMetadata metadata;
+    private final List<GGUFTensorInfo> tensors;
+    private final long tensorDataOffset;
+    private volatile GGUFTensorIndex tensorIndex;
     
-    public GGUFFile {
+    public GGUFFile(GGUFHeader header, GGUFMetadata metadata, List<GGUFTensorInfo> tensors, long tensorDataOffset) {
         if (header == null) {
             throw new IllegalArgumentException("Header cannot be null");
         }
@@ -28,6 +31,40 @@ public record GGUFFile(
                 String.format("Tensor count mismatch: header says %d, but got %d tensors", 
                     header.tensorCount(), tensors.size()));
         }
+        this.header = header;
+        this.metadata = metadata;
+        this.tensors = tensors;
+        this.tensorDataOffset = tensorDataOffset;
+    }
+
+    public GGUFHeader header() {
+        return header;
+    }
+
+    public GGUFMetadata metadata() {
+        return metadata;
+    }
+
+    public List<GGUFTensorInfo> tensors() {
+        return tensors;
+    }
+
+    public long tensorDataOffset() {
+        return tensorDataOffset;
+    }
+
+    private GGUFTensorIndex tensorIndex() {
+        GGUFTensorIndex index = tensorIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = tensorIndex;
+                if (index == null) {
+                    index = new GGUFTensorIndex(tensors);
+                    tensorIndex = index;
+                }
+            }
+        }
+        return index;
     }
 
     /**
@@ -189,8 +226,9 @@ public record GGUFFile(
      * Find tensors by name pattern.
      */
     public List<GGUFTensorInfo> findTensors(String namePattern) {
+        Pattern pattern = Pattern.compile(namePattern);
         return tensors.stream()
-                .filter(tensor -> tensor.name().matches(namePattern))
+                .filter(tensor -> pattern.matcher(tensor.name()).matches())
                 .toList();
     }
 
@@ -198,18 +236,21 @@ public record GGUFFile(
      * Find a tensor by exact name.
      */
     public Optional<GGUFTensorInfo> findTensor(String name) {
-        return tensors.stream()
-                .filter(tensor -> tensor.name().equals(name))
-                .findFirst();
+        return tensorIndex().find(name);
     }
 
     /**
-     * Get tensors by layer number.
+     * Get tensors by layer number. Layer -1 holds the tensors whose names carry no layer number.
      */
     public List<GGUFTensorInfo> getTensorsByLayer(int layerNumber) {
-        return tensors.stream()
-                .filter(tensor -> tensor.getLayerNumber() == layerNumber)
-                .toList();
+        return tensorIndex().layer(layerNumber);
+    }
+
+    /**
+     * Get the number of layers referenced by tensor names (highest layer number plus one).
+     */
+    public int getLayerCount() {
+        return tensorIndex().layerCount();
     }
 
     /**
@@ -257,6 +298,25 @@ public record GGUFFile(
         return sb.toString();
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof GGUFFile other)) {
+            return false;
+        }
+        return tensorDataOffset == other.tensorDataOffset &&
+               header.equals(other.header) &&
+               metadata.equals(other.metadata) &&
+               tensors.equals(other.tensors);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(header, metadata, tensors, tensorDataOffset);
+    }
+
     @Override
     public String toString() {
         return String.format("GGUFFile{version=%s, architecture=%s, tensors=%d, parameters=%d}",
@@ -0,0 +1,273 @@
+package io.github.ilopezluna.gguf4j.core;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A least-recently-used cache of parsed GGUF files, bounded by the estimated heap they retain.
+ * <p>
+ * Entries are keyed by path and remember the size and modification time of the file they were
+ * parsed from; a file that changed since is parsed again. When several threads ask for the same
+ * file that is not cached, only one of them parses it and the others wait for its result.
+ */
+public final class GGUFFileCache {
+    private static final int ESTIMATED_STRING_BYTES = 8;
+
+    /**
+     * Parses a file on a cache miss.
+     */
+    @FunctionalInterface
+    public interface Loader {
+        GGUFFile load(Path path) throws IOException;
+    }
+
+    /**
+     * Cache counters.
+     *
+     * @param hits      lookups answered from the cache
+     * @param misses    lookups that parsed the file or waited for another thread to parse it
+     * @param evictions entries dropped to stay within the weight bound
+     * @param size      number of cached files
+     * @param weight    estimated heap retained by the cached files, in bytes
+     */
+    public record Stats(long hits, long misses, long evictions, int size, long weight) {
+    }
+
+    private final long maxWeight;
+    private final Loader loader;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Path, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Key, CompletableFuture<GGUFFile>> loading = new HashMap<>();
+    private long weight;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Create a cache that parses files with {@link GGUFParser#parse(Path)}.
+     *
+     * @param maxWeight maximum estimated heap retained by cached files, in bytes
+     */
+    public GGUFFileCache(long maxWeight) {
+        this(maxWeight, GGUFParser::parse);
+    }
+
+    public GGUFFileCache(long maxWeight, Loader loader) {
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("Maximum weight must be positive");
+        }
+        if (loader == null) {
+            throw new IllegalArgumentException("Loader cannot be null");
+        }
+        this.maxWeight = maxWeight;
+        this.loader = loader;
+    }
+
+    /**
+     * Get the parsed file at a path, parsing it if it is not cached or changed since it was.
+     * A file heavier than the whole cache is parsed and returned without being cached.
+     */
+    public GGUFFile get(Path path) throws IOException {
+        Key key = Key.of(path);
+        CompletableFuture<GGUFFile> future;
+        boolean owner;
+        lock.lock();
+        try {
+            Entry entry = entries.get(key.path());
+            if (entry != null && entry.key().equals(key)) {
+                hits++;
+                return entry.file();
+            }
+            misses++;
+            future = loading.get(key);
+            owner = future == null;
+            if (owner) {
+                future = new CompletableFuture<>();
+                loading.put(key, future);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return owner ? load(key, future) : await(key, future);
+    }
+
+    /**
+     * Drop the entry of a path, if any.
+     */
+    public void invalidate(Path path) {
+        lock.lock();
+        try {
+            Entry entry = entries.remove(path.toAbsolutePath().normalize());
+            if (entry != null) {
+                weight -= entry.weight();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drop every entry. Counters are kept.
+     */
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            entries.clear();
+            weight = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Stats stats() {
+        lock.lock();
+        try {
+            return new Stats(hits, misses, evictions, entries.size(), weight);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    private GGUFFile load(Key key, CompletableFuture<GGUFFile> future) throws IOException {
+        GGUFFile file;
+        try {
+            file = loader.load(key.path());
+        } catch (IOException | RuntimeException | Error e) {
+            lock.lock();
+            try {
+                loading.remove(key);
+            } finally {
+                lock.unlock();
+            }
+            future.completeExceptionally(e);
+            throw e;
+        }
+
+        long fileWeight = estimateWeight(file);
+        lock.lock();
+        try {
+            loading.remove(key);
+            if (fileWeight <= maxWeight) {
+                Entry previous = entries.put(key.path(), new Entry(key, file, fileWeight));
+                if (previous != null) {
+                    weight -= previous.weight();
+                }
+                weight += fileWeight;
+                evict();
+            }
+        } finally {
+            lock.unlock();
+        }
+        future.complete(file);
+        return file;
+    }
+
+    private static GGUFFile await(Key key, CompletableFuture<GGUFFile> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for " + key.path() + " to be parsed");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw new IOException("Failed to parse " + key.path(), cause);
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private void evict() {
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (weight > maxWeight && eldest.hasNext()) {
+            weight -= eldest.next().weight();
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * Estimate the heap retained by a parsed file, counting strings, arrays and per-object overhead.
+     * Deferred arrays count at their decoded size whether or not they have been loaded yet, since
+     * a caller may load them at any time after the file is cached.
+     */
+    static long estimateWeight(GGUFFile file) {
+        long total = 64;
+        for (Map.Entry<String, GGUFMetadataValue> entry : file.metadata().values().entrySet()) {
+            total += 48 + estimateWeight(entry.getKey()) + estimateWeight(entry.getValue());
+        }
+        for (GGUFTensorInfo tensor : file.tensors()) {
+            total += 64 + estimateWeight(tensor.name()) + 8L * tensor.getDimensionCount();
+        }
+        return total;
+    }
+
+    private static long estimateWeight(GGUFMetadataValue value) {
+        return switch (value) {
+            case GGUFMetadataValue.StringValue v -> 16 + estimateWeight(v.value());
+            case GGUFMetadataValue.ByteArrayValue v -> 32 + v.data().length;
+            case GGUFMetadataValue.IntArrayValue v -> 32 + 4L * v.data().length;
+            case GGUFMetadataValue.LongArrayValue v -> 32 + 8L * v.data().length;
+            case GGUFMetadataValue.FloatArrayValue v -> 32 + 4L * v.data().length;
+            case GGUFMetadataValue.DoubleArrayValue v -> 32 + 8L * v.data().length;
+            case GGUFMetadataValue.StringArrayValue v -> 48 + v.data().length + 4L * v.offsets().length;
+            case GGUFMetadataValue.LazyArrayValue v -> 48 + (v.isLoaded() ? estimateWeight(v.load()) : estimateLoadedWeight(v));
+            default -> 16;
+        };
+    }
+
+    /**
+     * Estimate the storage a deferred array will decode into. String lengths are unknown until
+     * the array is read, so each string counts as {@value #ESTIMATED_STRING_BYTES} bytes.
+     */
+    private static long estimateLoadedWeight(GGUFMetadataValue.LazyArrayValue value) {
+        long size = value.size();
+        return switch (value.elementType()) {
+            case UINT8, INT8, BOOL -> 32 + size;
+            case UINT16, INT16, UINT32, INT32, FLOAT32 -> 32 + 4 * size;
+            case UINT64, INT64, FLOAT64 -> 32 + 8 * size;
+            case STRING -> 48 + ESTIMATED_STRING_BYTES * size + 4 * (size + 1);
+            case ARRAY -> throw new IllegalStateException("Nested arrays are not supported");
+        };
+    }
+
+    private static long estimateWeight(String value) {
+        return 40 + 2L * value.length();
+    }
+
+    /**
+     * The version of a file that an entry was parsed from.
+     */
+    private record Key(Path path, long size, long modifiedNanos) {
+
+        static Key of(Path path) throws IOException {
+            Path absolute = path.toAbsolutePath().normalize();
+            BasicFileAttributes attributes = Files.readAttributes(absolute, BasicFileAttributes.class);
+            return new Key(absolute, attributes.size(), attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS));
+        }
+    }
+
+    private record Entry(Key key, GGUFFile file, long weight) {
+    }
+}
@@ -21,6 +21,15 @@ public record GGUFMetadata(Map<String, GGUFMetadataValue> values) {
         return Optional.ofNullable(values.get(key));
     }
 
+    /**
+     * Get an array value by key. Deferred arrays stay undecoded until their elements are accessed.
+     */
+    public Optional<GGUFMetadataValue.ArrayValue> getArray(String key) {
+        return get(key)
+                .filter(GGUFMetadataValue::isArray)
+                .map(GGUFMetadataValue::asArray);
+    }
+
     /**
      * Check if a key exists in the metadata.
      */
@@ -71,6 +80,16 @@ public record GGUFMetadata(Map<String, GGUFMetadataValue> values) {
                 .map(v -> v.isUInt32() ? v.asUInt32() : (long) v.asInt32());
     }
 
+    /**
+     * Get the tensor data alignment, falling back to the default when the file does not set one.
+     */
+    public int getAlignment() {
+        return get(GGUFConstants.GENERAL_ALIGNMENT)
+                .filter(GGUFMetadataValue::isUInt32)
+                .map(v -> (int) v.asUInt32())
+                .orElse(GGUFConstants.DEFAULT_ALIGNMENT);
+    }
+
     /**
      * Get context length for a specific architecture.
      */
@@ -1,7 +1,14 @@
 package io.github.ilopezluna.gguf4j.core;
 
+import io.github.ilopezluna.gguf4j.io.BinaryReader;
+import io.github.ilopezluna.gguf4j.io.ByteSource;
 import io.github.ilopezluna.gguf4j.scalar.GGUFMetadataValueType;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -163,23 +170,549 @@ public sealed interface GGUFMetadataValue
         }
     }
 
-    record ArrayValue(GGUFMetadataValueType elementType, List<GGUFMetadataValue> values) implements GGUFMetadataValue {
+    /**
+     * An array of metadata values.
+     * Elements are held in primitive storage chosen by element type; the
+     * {@link #values()} list view boxes elements only when they are accessed.
+     */
+    sealed interface ArrayValue extends GGUFMetadataValue
+        permits ByteArrayValue, IntArrayValue, LongArrayValue,
+                FloatArrayValue, DoubleArrayValue, StringArrayValue, LazyArrayValue {
+
+        GGUFMetadataValueType elementType();
+
+        int size();
+
+        GGUFMetadataValue get(int index);
+
         @Override
-        public GGUFMetadataValueType getType() {
+        default GGUFMetadataValueType getType() {
             return GGUFMetadataValueType.ARRAY;
         }
 
         @Override
-        public Object getValue() {
-            return values;
+        default Object getValue() {
+            return values();
+        }
+
+        /**
+         * Get a list view of the elements. Elements are created on access.
+         */
+        default List<GGUFMetadataValue> values() {
+            return new AbstractList<>() {
+                @Override
+                public GGUFMetadataValue get(int index) {
+                    return ArrayValue.this.get(index);
+                }
+
+                @Override
+                public int size() {
+                    return ArrayValue.this.size();
+                }
+            };
+        }
+
+        /**
+         * Get the backing storage of a UINT8, INT8 or BOOL array. Do not modify it.
+         */
+        default byte[] asByteArray() {
+            throw new IllegalStateException("Array is not backed by bytes: " + elementType());
+        }
+
+        /**
+         * Get the backing storage of a UINT16, INT16, UINT32 or INT32 array. Do not modify it.
+         * UINT32 elements are stored as their raw 32-bit pattern.
+         */
+        default int[] asIntArray() {
+            throw new IllegalStateException("Array is not backed by ints: " + elementType());
+        }
+
+        /**
+         * Get the backing storage of a UINT64 or INT64 array. Do not modify it.
+         */
+        default long[] asLongArray() {
+            throw new IllegalStateException("Array is not backed by longs: " + elementType());
+        }
+
+        /**
+         * Get the backing storage of a FLOAT32 array. Do not modify it.
+         */
+        default float[] asFloatArray() {
+            throw new IllegalStateException("Array is not backed by floats: " + elementType());
+        }
+
+        /**
+         * Get the backing storage of a FLOAT64 array. Do not modify it.
+         */
+        default double[] asDoubleArray() {
+            throw new IllegalStateException("Array is not backed by doubles: " + elementType());
+        }
+
+        /**
+         * Decode all elements of a STRING array.
+         */
+        default String[] asStringArray() {
+            throw new IllegalStateException("Array is not a string array: " + elementType());
+        }
+
+        /**
+         * Build typed array storage from a list of element values.
+         */
+        static ArrayValue of(GGUFMetadataValueType elementType, List<GGUFMetadataValue> values) {
+            int size = values.size();
+            return switch (elementType) {
+                case UINT8, INT8, BOOL -> {
+                    byte[] data = new byte[size];
+                    for (int i = 0; i < size; i++) {
+                        data[i] = switch (values.get(i)) {
+                            case UInt8Value v -> (byte) v.value();
+                            case Int8Value v -> v.value();
+                            case BoolValue v -> (byte) (v.value() ? 1 : 0);
+                            default -> throw mismatch(elementType, values.get(i));
+                        };
+                    }
+                    yield new ByteArrayValue(elementType, data);
+                }
+                case UINT16, INT16, UINT32, INT32 -> {
+                    int[] data = new int[size];
+                    for (int i = 0; i < size; i++) {
+                        data[i] = switch (values.get(i)) {
+                            case UInt16Value v -> v.value();
+                            case Int16Value v -> v.value();
+                            case UInt32Value v -> (int) v.value();
+                            case Int32Value v -> v.value();
+                            default -> throw mismatch(elementType, values.get(i));
+                        };
+                    }
+                    yield new IntArrayValue(elementType, data);
+                }
+                case UINT64, INT64 -> {
+                    long[] data = new long[size];
+                    for (int i = 0; i < size; i++) {
+                        data[i] = switch (values.get(i)) {
+                            case UInt64Value v -> v.value();
+                            case Int64Value v -> v.value();
+                            default -> throw mismatch(elementType, values.get(i));
+                        };
+                    }
+                    yield new LongArrayValue(elementType, data);
+                }
+                case FLOAT32 -> {
+                    float[] data = new float[size];
+                    for (int i = 0; i < size; i++) {
+                        data[i] = values.get(i).asFloat32();
+                    }
+                    yield new FloatArrayValue(data);
+                }
+                case FLOAT64 -> {
+                    double[] data = new double[size];
+                    for (int i = 0; i < size; i++) {
+                        data[i] = values.get(i).asFloat64();
+                    }
+                    yield new DoubleArrayValue(data);
+                }
+                case STRING -> {
+                    String[] data = new String[size];
+                    for (int i = 0; i < size; i++) {
+                        data[i] = values.get(i).asString();
+                    }
+                    yield StringArrayValue.of(data);
+                }
+                case ARRAY -> throw new IllegalArgumentException("Nested arrays are not supported");
+            };
+        }
+
+        private static IllegalArgumentException mismatch(GGUFMetadataValueType elementType, GGUFMetadataValue value) {
+            return new IllegalArgumentException("Expected " + elementType + " element but got " + value.getType());
+        }
+    }
+
+    /**
+     * UINT8, INT8 or BOOL array stored as raw bytes.
+     */
+    record ByteArrayValue(GGUFMetadataValueType elementType, byte[] data) implements ArrayValue {
+        @Override
+        public int size() {
+            return data.length;
+        }
+
+        @Override
+        public GGUFMetadataValue get(int index) {
+            byte value = data[index];
+            return switch (elementType) {
+                case UINT8 -> new UInt8Value(value & 0xFF);
+                case INT8 -> new Int8Value(value);
+                default -> new BoolValue(value != 0);
+            };
+        }
+
+        @Override
+        public byte[] asByteArray() {
+            return data;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof ByteArrayValue other && elementType == other.elementType && Arrays.equals(data, other.data);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * elementType.hashCode() + Arrays.hashCode(data);
+        }
+
+        @Override
+        public String toString() {
+            return "ByteArrayValue[elementType=" + elementType + ", data=" + Arrays.toString(data) + "]";
+        }
+    }
+
+    /**
+     * UINT16, INT16, UINT32 or INT32 array stored as ints.
+     */
+    record IntArrayValue(GGUFMetadataValueType elementType, int[] data) implements ArrayValue {
+        @Override
+        public int size() {
+            return data.length;
+        }
+
+        @Override
+        public GGUFMetadataValue get(int index) {
+            int value = data[index];
+            return switch (elementType) {
+                case UINT16 -> new UInt16Value(value & 0xFFFF);
+                case INT16 -> new Int16Value((short) value);
+                case UINT32 -> new UInt32Value(Integer.toUnsignedLong(value));
+                default -> new Int32Value(value);
+            };
+        }
+
+        @Override
+        public int[] asIntArray() {
+            return data;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof IntArrayValue other && elementType == other.elementType && Arrays.equals(data, other.data);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * elementType.hashCode() + Arrays.hashCode(data);
+        }
+
+        @Override
+        public String toString() {
+            return "IntArrayValue[elementType=" + elementType + ", data=" + Arrays.toString(data) + "]";
+        }
+    }
+
+    /**
+     * UINT64 or INT64 array stored as longs.
+     */
+    record LongArrayValue(GGUFMetadataValueType elementType, long[] data) implements ArrayValue {
+        @Override
+        public int size() {
+            return data.length;
+        }
+
+        @Override
+        public GGUFMetadataValue get(int index) {
+            return elementType == GGUFMetadataValueType.UINT64
+                ? new UInt64Value(data[index])
+                : new Int64Value(data[index]);
+        }
+
+        @Override
+        public long[] asLongArray() {
+            return data;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof LongArrayValue other && elementType == other.elementType && Arrays.equals(data, other.data);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * elementType.hashCode() + Arrays.hashCode(data);
+        }
+
+        @Override
+        public String toString() {
+            return "LongArrayValue[elementType=" + elementType + ", data=" + Arrays.toString(data) + "]";
+        }
+    }
+
+    record FloatArrayValue(float[] data) implements ArrayValue {
+        @Override
+        public GGUFMetadataValueType elementType() {
+            return GGUFMetadataValueType.FLOAT32;
+        }
+
+        @Override
+        public int size() {
+            return data.length;
+        }
+
+        @Override
+        public GGUFMetadataValue get(int index) {
+            return new Float32Value(data[index]);
+        }
+
+        @Override
+        public float[] asFloatArray() {
+            return data;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof FloatArrayValue other && Arrays.equals(data, other.data);
         }
 
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(data);
+        }
+
+        @Override
+        public String toString() {
+            return "FloatArrayValue[data=" + Arrays.toString(data) + "]";
+        }
+    }
+
+    record DoubleArrayValue(double[] data) implements ArrayValue {
+        @Override
+        public GGUFMetadataValueType elementType() {
+            return GGUFMetadataValueType.FLOAT64;
+        }
+
+        @Override
+        public int size() {
+            return data.length;
+        }
+
+        @Override
+        public GGUFMetadataValue get(int index) {
+            return new Float64Value(data[index]);
+        }
+
+        @Override
+        public double[] asDoubleArray() {
+            return data;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof DoubleArrayValue other && Arrays.equals(data, other.data);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(data);
+        }
+
+        @Override
+        public String toString() {
+            return "DoubleArrayValue[data=" + Arrays.toString(data) + "]";
+        }
+    }
+
+    /**
+     * STRING array packed into one UTF-8 byte table.
+     * String {@code i} occupies bytes {@code offsets[i]} to {@code offsets[i + 1]}.
+     */
+    record StringArrayValue(byte[] data, int[] offsets) implements ArrayValue {
+
+        public StringArrayValue {
+            if (offsets.length == 0 || offsets[offsets.length - 1] > data.length) {
+                throw new IllegalArgumentException("Invalid string table offsets");
+            }
+        }
+
+        /**
+         * Pack a set of strings into a string table.
+         */
+        public static StringArrayValue of(String... strings) {
+            byte[][] encoded = new byte[strings.length][];
+            int[] offsets = new int[strings.length + 1];
+            for (int i = 0; i < strings.length; i++) {
+                encoded[i] = strings[i].getBytes(StandardCharsets.UTF_8);
+                offsets[i + 1] = Math.addExact(offsets[i], encoded[i].length);
+            }
+            byte[] data = new byte[offsets[strings.length]];
+            for (int i = 0; i < strings.length; i++) {
+                System.arraycopy(encoded[i], 0, data, offsets[i], encoded[i].length);
+            }
+            return new StringArrayValue(data, offsets);
+        }
+
+        @Override
+        public GGUFMetadataValueType elementType() {
+            return GGUFMetadataValueType.STRING;
+        }
+
+        @Override
+        public int size() {
+            return offsets.length - 1;
+        }
+
+        @Override
+        public GGUFMetadataValue get(int index) {
+            return new StringValue(getString(index));
+        }
+
+        /**
+         * Decode a single string without touching the others.
+         */
+        public String getString(int index) {
+            return new String(data, offsets[index], offsets[index + 1] - offsets[index], StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Get the UTF-8 length of a single string.
+         */
+        public int getByteLength(int index) {
+            return offsets[index + 1] - offsets[index];
+        }
+
+        @Override
+        public String[] asStringArray() {
+            String[] strings = new String[size()];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = getString(i);
+            }
+            return strings;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof StringArrayValue other
+                && Arrays.equals(offsets, other.offsets)
+                && Arrays.equals(data, 0, offsets[offsets.length - 1], other.data, 0, offsets[offsets.length - 1]);
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = Arrays.hashCode(offsets);
+            for (int i = 0; i < offsets[offsets.length - 1]; i++) {
+                hash = 31 * hash + data[i];
+            }
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return "StringArrayValue[strings=" + Arrays.toString(asStringArray()) + "]";
+        }
+    }
+
+    /**
+     * An array that was skipped during parsing.
+     * Only its position is recorded; elements are decoded from the source on first access.
+     */
+    final class LazyArrayValue implements ArrayValue {
+        private final GGUFMetadataValueType elementType;
+        private final int size;
+        private final long offset;
+        private final ByteSource source;
+        private volatile ArrayValue loaded;
+
+        public LazyArrayValue(GGUFMetadataValueType elementType, int size, long offset, ByteSource source) {
+            if (elementType == GGUFMetadataValueType.ARRAY) {
+                throw new IllegalArgumentException("Nested arrays are not supported");
+            }
+            this.elementType = elementType;
+            this.size = size;
+            this.offset = offset;
+            this.source = source;
+        }
+
+        @Override
+        public GGUFMetadataValueType elementType() {
+            return elementType;
+        }
+
+        @Override
         public int size() {
-            return values.size();
+            return size;
+        }
+
+        /**
+         * Get the absolute file offset of the first element.
+         */
+        public long offset() {
+            return offset;
+        }
+
+        /**
+         * Check if the elements have been decoded yet.
+         */
+        public boolean isLoaded() {
+            return loaded != null;
+        }
+
+        /**
+         * Decode the elements if needed and return the typed storage.
+         */
+        public ArrayValue load() {
+            ArrayValue value = loaded;
+            if (value == null) {
+                synchronized (this) {
+                    value = loaded;
+                    if (value == null) {
+                        try (BinaryReader reader = source.open(offset)) {
+                            value = GGUFParser.readArrayElements(reader, elementType, size);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException("Failed to load array at offset " + offset, e);
+                        }
+                        loaded = value;
+                    }
+                }
+            }
+            return value;
         }
 
+        @Override
         public GGUFMetadataValue get(int index) {
-            return values.get(index);
+            return load().get(index);
+        }
+
+        @Override
+        public byte[] asByteArray() {
+            return load().asByteArray();
+        }
+
+        @Override
+        public int[] asIntArray() {
+            return load().asIntArray();
+        }
+
+        @Override
+        public long[] asLongArray() {
+            return load().asLongArray();
+        }
+
+        @Override
+        public float[] asFloatArray() {
+            return load().asFloatArray();
+        }
+
+        @Override
+        public double[] asDoubleArray() {
+            return load().asDoubleArray();
+        }
+
+        @Override
+        public String[] asStringArray() {
+            return load().asStringArray();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("LazyArrayValue{elementType=%s, size=%d, offset=%d, loaded=%s}",
+                    elementType, size, offset, isLoaded());
         }
     }
 
@@ -0,0 +1,127 @@
+package io.github.ilopezluna.gguf4j.core;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A parsed GGUF file together with a read-only mapping of its tensor data section.
+ * Tensor data is handed out as slices of the mapping, so no bytes are copied onto the
+ * heap and processes mapping the same file share the OS page cache.
+ */
+public final class GGUFModel implements AutoCloseable {
+    private final GGUFFile file;
+    private final MemorySegment data;
+    private final Arena arena;
+    private final boolean ownsArena;
+
+    private GGUFModel(GGUFFile file, MemorySegment data, Arena arena, boolean ownsArena) {
+        this.file = file;
+        this.data = data;
+        this.arena = arena;
+        this.ownsArena = ownsArena;
+    }
+
+    /**
+     * Open a model. The mapping lives until the model is closed and may be used from any thread.
+     */
+    public static GGUFModel open(Path filePath) throws IOException {
+        return open(filePath, GGUFParseOptions.DEFAULT);
+    }
+
+    /**
+     * Open a model, parsing its metadata with the given options.
+     */
+    public static GGUFModel open(Path filePath, GGUFParseOptions options) throws IOException {
+        Arena arena = Arena.ofShared();
+        try {
+            return open(filePath, options, arena, true);
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Open a model whose mapping is bound to the given arena.
+     * The caller owns the arena; closing the model does not release the mapping.
+     */
+    public static GGUFModel open(Path filePath, GGUFParseOptions options, Arena arena) throws IOException {
+        return open(filePath, options, arena, false);
+    }
+
+    private static GGUFModel open(Path filePath, GGUFParseOptions options, Arena arena, boolean ownsArena) throws IOException {
+        GGUFFile file = GGUFParser.parse(filePath, options);
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            long dataSize = channel.size() - file.tensorDataOffset();
+            if (dataSize < 0) {
+                throw new IOException("Tensor data offset " + file.tensorDataOffset() + " is past the end of the file");
+            }
+            MemorySegment data = channel.map(FileChannel.MapMode.READ_ONLY, file.tensorDataOffset(), dataSize, arena);
+            return new GGUFModel(file, data.asReadOnly(), arena, ownsArena);
+        }
+    }
+
+    /**
+     * Get the parsed file.
+     */
+    public GGUFFile file() {
+        return file;
+    }
+
+    /**
+     * Get the whole tensor data section.
+     */
+    public MemorySegment dataSegment() {
+        return data;
+    }
+
+    /**
+     * Get the data of a tensor as a read-only slice of the mapping.
+     */
+    public MemorySegment tensorData(GGUFTensorInfo tensor) {
+        long size = tensor.getSizeInBytes();
+        if (tensor.offset() < 0 || tensor.offset() + size > data.byteSize()) {
+            throw new IllegalStateException(String.format(
+                "Tensor %s [%d, %d) extends past the end of the data section (%d bytes)",
+                tensor.name(), tensor.offset(), tensor.offset() + size, data.byteSize()));
+        }
+        return data.asSlice(tensor.offset(), size);
+    }
+
+    /**
+     * Get the data of a tensor by name.
+     */
+    public MemorySegment tensorData(String name) {
+        return tensorData(file.findTensor(name)
+                .orElseThrow(() -> new IllegalArgumentException("No such tensor: " + name)));
+    }
+
+    /**
+     * Get the data of a tensor as a read-only little-endian ByteBuffer view.
+     * ByteBuffers are limited to 2 GiB; use {@link #tensorData(GGUFTensorInfo)} for larger tensors.
+     */
+    public ByteBuffer tensorBuffer(GGUFTensorInfo tensor) {
+        MemorySegment segment = tensorData(tensor);
+        if (segment.byteSize() > Integer.MAX_VALUE) {
+            throw new UnsupportedOperationException("Tensor too large for a ByteBuffer: " + tensor.name());
+        }
+        return segment.asByteBuffer().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Release the mapping if this model owns its arena.
+     * Slices handed out by this model must not be used afterwards.
+     */
+    @Override
+    public void close() {
+        if (ownsArena) {
+            arena.close();
+        }
+    }
+}
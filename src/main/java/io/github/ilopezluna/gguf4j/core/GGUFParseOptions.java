@@ -0,0 +1,92 @@
+package io.github.ilopezluna.gguf4j.core;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Options controlling how much of a GGUF file the parser decodes.
+ *
+ * @param lazyArrayThreshold arrays with more elements than this are skipped during parsing
+ *                           and decoded on first access from a re-openable source
+ * @param keyFilter          metadata keys that are decoded; values of other keys are skipped
+ *                           without being decoded and are absent from the parsed metadata
+ */
+public record GGUFParseOptions(int lazyArrayThreshold, Predicate<String> keyFilter) {
+
+    /**
+     * Default element count above which arrays are deferred in lazy mode.
+     */
+    public static final int DEFAULT_LAZY_ARRAY_THRESHOLD = 64;
+
+    private static final Predicate<String> ALL_KEYS = key -> true;
+
+    /**
+     * Decode everything eagerly.
+     */
+    public static final GGUFParseOptions DEFAULT = new GGUFParseOptions(Integer.MAX_VALUE, ALL_KEYS);
+
+    public GGUFParseOptions {
+        if (lazyArrayThreshold < 0) {
+            throw new IllegalArgumentException("Lazy array threshold cannot be negative");
+        }
+        if (keyFilter == null) {
+            throw new IllegalArgumentException("Key filter cannot be null");
+        }
+    }
+
+    /**
+     * Defer arrays larger than {@link #DEFAULT_LAZY_ARRAY_THRESHOLD} elements.
+     */
+    public static GGUFParseOptions lazyArrays() {
+        return DEFAULT.withLazyArrayThreshold(DEFAULT_LAZY_ARRAY_THRESHOLD);
+    }
+
+    public GGUFParseOptions withLazyArrayThreshold(int threshold) {
+        return new GGUFParseOptions(threshold, keyFilter);
+    }
+
+    /**
+     * Decode only the metadata keys accepted by the filter.
+     */
+    public GGUFParseOptions withKeyFilter(Predicate<String> filter) {
+        return new GGUFParseOptions(lazyArrayThreshold, filter);
+    }
+
+    /**
+     * Decode only the metadata keys starting with one of the given prefixes.
+     * A full key is a valid prefix of itself.
+     */
+    public GGUFParseOptions withKeyPrefixes(Set<String> prefixes) {
+        List<String> copy = List.copyOf(prefixes);
+        return withKeyFilter(key -> {
+            for (String prefix : copy) {
+                if (key.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Check if any arrays may be deferred.
+     */
+    public boolean hasLazyArrays() {
+        return lazyArrayThreshold != Integer.MAX_VALUE;
+    }
+
+    /**
+     * Check if an array of the given length should be deferred.
+     */
+    public boolean isLazy(long arrayLength) {
+        return arrayLength > lazyArrayThreshold;
+    }
+
+    /**
+     * Check if the value of a metadata key should be decoded.
+     */
+    public boolean accepts(String key) {
+        return keyFilter.test(key);
+    }
+}
@@ -1,17 +1,30 @@
 package io.github.ilopezluna.gguf4j.core;
 
 import io.github.ilopezluna.gguf4j.io.BinaryReader;
+import io.github.ilopezluna.gguf4j.io.ByteSource;
+import io.github.ilopezluna.gguf4j.io.MappedBinaryReader;
+import io.github.ilopezluna.gguf4j.io.PositionalSource;
 import io.github.ilopezluna.gguf4j.scalar.GGMLType;
 import io.github.ilopezluna.gguf4j.scalar.GGUFMetadataValueType;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.file.Files;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Predicate;
 
 /**
  * Parser for GGUF files.
@@ -20,10 +33,11 @@ public class GGUFParser {
 
     /**
      * Parse a GGUF file from a file path.
+     * The file is memory-mapped and decoded in place instead of being streamed.
      */
     public static GGUFFile parse(Path filePath) throws IOException {
-        try (InputStream inputStream = Files.newInputStream(filePath)) {
-            return parse(inputStream);
+        try (MappedBinaryReader reader = MappedBinaryReader.open(filePath)) {
+            return parse(reader);
         }
     }
 
@@ -40,20 +54,143 @@ public class GGUFParser {
      * Parse a GGUF file from a BinaryReader.
      */
     public static GGUFFile parse(BinaryReader reader) throws IOException {
+        return parse(reader, GGUFParseOptions.DEFAULT, null);
+    }
+
+    /**
+     * Parse a GGUF file from a file path with the given options.
+     * Deferred arrays are decoded from the file on first access.
+     */
+    public static GGUFFile parse(Path filePath, GGUFParseOptions options) throws IOException {
+        try (MappedBinaryReader reader = MappedBinaryReader.open(filePath)) {
+            return parse(reader, options, ByteSource.of(filePath));
+        }
+    }
+
+    /**
+     * Parse a GGUF file, decoding only the metadata keys accepted by the filter.
+     */
+    public static GGUFFile parse(Path filePath, Predicate<String> keyFilter) throws IOException {
+        return parse(filePath, GGUFParseOptions.DEFAULT.withKeyFilter(keyFilter));
+    }
+
+    /**
+     * Parse a GGUF stream, decoding only the metadata keys accepted by the filter.
+     */
+    public static GGUFFile parse(InputStream inputStream, Predicate<String> keyFilter) throws IOException {
+        return parse(inputStream, GGUFParseOptions.DEFAULT.withKeyFilter(keyFilter));
+    }
+
+    /**
+     * Parse a GGUF stream with the given options. Streams cannot be re-opened,
+     * so the options must not defer arrays.
+     */
+    public static GGUFFile parse(InputStream inputStream, GGUFParseOptions options) throws IOException {
+        try (BinaryReader reader = new BinaryReader(inputStream)) {
+            return parse(reader, options, null);
+        }
+    }
+
+    /**
+     * Parse a GGUF file from a positional source, such as a remote file, with the given options.
+     * Only the header, metadata and tensor infos are read; skipped values are never fetched.
+     * Deferred arrays are decoded from the source on first access, so it must stay open until then.
+     */
+    public static GGUFFile parse(PositionalSource source, GGUFParseOptions options) throws IOException {
+        try (BinaryReader reader = new BinaryReader(source.openStream(0))) {
+            return parse(reader, options, ByteSource.of(source));
+        }
+    }
+
+    /**
+     * Parse a GGUF file from a BinaryReader with the given options.
+     * The source must be able to re-open the same bytes if the options defer arrays.
+     */
+    public static GGUFFile parse(BinaryReader reader, GGUFParseOptions options, ByteSource source) throws IOException {
+        checkSource(options, source);
+        
         // Read header
         GGUFHeader header = parseHeader(reader);
         
         // Read metadata
-        GGUFMetadata metadata = parseMetadata(reader, header.metadataKvCount());
+        MetadataSection section = parseMetadata(reader, header.metadataKvCount(), options, source);
         
         // Read tensor information
         List<GGUFTensorInfo> tensors = parseTensorInfo(reader, header.tensorCount());
         
-        // Calculate tensor data offset (aligned to DEFAULT_ALIGNMENT)
-        reader.align(GGUFConstants.DEFAULT_ALIGNMENT);
+        // Calculate tensor data offset (aligned to general.alignment, DEFAULT_ALIGNMENT if absent)
+        reader.align(section.alignment());
         long tensorDataOffset = reader.getPosition();
         
-        return new GGUFFile(header, metadata, tensors, tensorDataOffset);
+        return new GGUFFile(header, section.metadata(), tensors, tensorDataOffset);
+    }
+
+    /**
+     * Parse a file through its sidecar index, deferring large arrays.
+     *
+     * @see #parseIndexed(Path, Path, GGUFParseOptions)
+     */
+    public static GGUFFile parseIndexed(Path filePath) throws IOException {
+        return parseIndexed(filePath, GGUFParseOptions.lazyArrays());
+    }
+
+    /**
+     * Parse a file through the sidecar index next to it.
+     *
+     * @see #parseIndexed(Path, Path, GGUFParseOptions)
+     */
+    public static GGUFFile parseIndexed(Path filePath, GGUFParseOptions options) throws IOException {
+        return parseIndexed(filePath, GGUFSidecarIndex.indexPath(filePath), options);
+    }
+
+    /**
+     * Re-open a file from its sidecar index, or parse it and write a fresh index if the index
+     * is missing, stale or unreadable. Failing to write the index does not fail the parse.
+     */
+    public static GGUFFile parseIndexed(Path filePath, Path index, GGUFParseOptions options) throws IOException {
+        // Take the fingerprint first so that a change during parsing makes the new index stale
+        GGUFSidecarIndex.Fingerprint fingerprint = GGUFSidecarIndex.Fingerprint.of(filePath);
+        try {
+            Optional<GGUFFile> indexed = GGUFSidecarIndex.read(fingerprint, filePath, index, options);
+            if (indexed.isPresent()) {
+                return indexed.get();
+            }
+        } catch (IOException e) {
+            // A damaged index is rebuilt below
+        }
+
+        GGUFFile parsed = parse(filePath, options.withKeyFilter(key -> true));
+        try {
+            GGUFSidecarIndex.write(fingerprint, parsed, options.lazyArrayThreshold(), index);
+        } catch (IOException e) {
+            // The index is only a cache, e.g. its directory may be read-only
+        }
+        return GGUFSidecarIndex.filter(parsed, options);
+    }
+
+    /**
+     * Parse all shards of a split model, given any one of them.
+     * Shards are parsed concurrently on virtual threads.
+     */
+    public static GGUFShardedFile parseSharded(Path shard) throws IOException {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            return parseSharded(shard, executor);
+        }
+    }
+
+    /**
+     * Parse all shards of a split model on the given executor.
+     * A path that does not follow the shard naming scheme is parsed as a one-shard model.
+     */
+    public static GGUFShardedFile parseSharded(Path shard, ExecutorService executor) throws IOException {
+        List<Path> paths = GGUFShards.isShardPath(shard) ? GGUFShards.shardPaths(shard) : List.of(shard);
+        List<Callable<GGUFFile>> tasks = new ArrayList<>(paths.size());
+        for (Path path : paths) {
+            tasks.add(() -> parse(path));
+        }
+        List<GGUFFile> shards = GGUFShards.invokeAll(executor, tasks);
+        GGUFShards.checkShards(paths, shards);
+        return new GGUFShardedFile(paths, shards);
     }
 
     /**
@@ -61,23 +198,202 @@ public class GGUFParser {
      */
     public static GGUFFile parseHeaderAndMetadata(InputStream inputStream) throws IOException {
         try (BinaryReader reader = new BinaryReader(inputStream)) {
-            // Read header
-            GGUFHeader header = parseHeader(reader);
-            
-            // Read metadata
-            GGUFMetadata metadata = parseMetadata(reader, header.metadataKvCount());
-            
-            // Create empty tensor list and dummy offset for quick parsing
-            List<GGUFTensorInfo> emptyTensors = new ArrayList<>();
-            
-            // Note: This creates an invalid GGUFFile (tensor count mismatch)
-            // but is useful for quick metadata inspection
-            return new GGUFFile(
-                new GGUFHeader(header.magic(), header.version(), 0, header.metadataKvCount()),
-                metadata, 
-                emptyTensors, 
-                0
-            );
+            return parseHeaderAndMetadata(reader, GGUFParseOptions.DEFAULT, null);
+        }
+    }
+
+    /**
+     * Parse only the header and metadata of a memory-mapped file.
+     */
+    public static GGUFFile parseHeaderAndMetadata(Path filePath) throws IOException {
+        return parseHeaderAndMetadata(filePath, GGUFParseOptions.DEFAULT);
+    }
+
+    /**
+     * Parse only the header and metadata of a memory-mapped file with the given options.
+     */
+    public static GGUFFile parseHeaderAndMetadata(Path filePath, GGUFParseOptions options) throws IOException {
+        try (MappedBinaryReader reader = MappedBinaryReader.open(filePath)) {
+            return parseHeaderAndMetadata(reader, options, ByteSource.of(filePath));
+        }
+    }
+
+    /**
+     * Parse only the header and metadata of a positional source with the given options.
+     */
+    public static GGUFFile parseHeaderAndMetadata(PositionalSource source, GGUFParseOptions options) throws IOException {
+        try (BinaryReader reader = new BinaryReader(source.openStream(0))) {
+            return parseHeaderAndMetadata(reader, options, ByteSource.of(source));
+        }
+    }
+
+    /**
+     * Parse only the header and the metadata keys starting with one of the given prefixes.
+     */
+    public static GGUFFile parseHeaderAndMetadata(Path filePath, Set<String> keyPrefixes) throws IOException {
+        return parseHeaderAndMetadata(filePath, GGUFParseOptions.DEFAULT.withKeyPrefixes(keyPrefixes));
+    }
+
+    /**
+     * Walk a GGUF file, reporting its content to a visitor instead of building a {@link GGUFFile}.
+     *
+     * @return {@code true} if the walk reached the tensor data, {@code false} if the visitor stopped it
+     */
+    public static boolean visit(Path filePath, GGUFVisitor visitor) throws IOException {
+        try (MappedBinaryReader reader = MappedBinaryReader.open(filePath)) {
+            return visit(reader, visitor);
+        }
+    }
+
+    /**
+     * Walk a GGUF stream, reporting its content to a visitor.
+     *
+     * @see #visit(BinaryReader, GGUFVisitor)
+     */
+    public static boolean visit(InputStream inputStream, GGUFVisitor visitor) throws IOException {
+        try (BinaryReader reader = new BinaryReader(inputStream)) {
+            return visit(reader, visitor);
+        }
+    }
+
+    /**
+     * Walk a GGUF file from a positional source, reporting its content to a visitor.
+     * Values the visitor skips are never fetched.
+     *
+     * @see #visit(BinaryReader, GGUFVisitor)
+     */
+    public static boolean visit(PositionalSource source, GGUFVisitor visitor) throws IOException {
+        try (BinaryReader reader = new BinaryReader(source.openStream(0))) {
+            return visit(reader, visitor);
+        }
+    }
+
+    /**
+     * Walk a GGUF file, reporting its content to a visitor. Only one metadata value or tensor info
+     * is held at a time, so memory use does not grow with the file. {@code general.alignment} is
+     * always decoded to locate the tensor data, even when the visitor skips it.
+     *
+     * @return {@code true} if the walk reached the tensor data, {@code false} if the visitor stopped it
+     */
+    public static boolean visit(BinaryReader reader, GGUFVisitor visitor) throws IOException {
+        GGUFHeader header = parseHeader(reader);
+        GGUFVisitor.Action action = visitor.onHeader(header);
+        if (action == GGUFVisitor.Action.STOP) {
+            return false;
+        }
+        boolean skipMetadata = action == GGUFVisitor.Action.SKIP;
+        int alignment = GGUFConstants.DEFAULT_ALIGNMENT;
+
+        for (long i = 0; i < header.metadataKvCount(); i++) {
+            String key = reader.readString();
+            GGUFMetadataValueType type = GGUFMetadataValueType.fromValue(reader.readInt32());
+            action = skipMetadata ? GGUFVisitor.Action.SKIP : visitor.onMetadataKey(key, type);
+            if (action == GGUFVisitor.Action.STOP) {
+                return false;
+            }
+            if (key.equals(GGUFConstants.GENERAL_ALIGNMENT)) {
+                if (type != GGUFMetadataValueType.UINT32) {
+                    throw new IOException("general.alignment must be a uint32, got " + type);
+                }
+                long value = reader.readUInt32();
+                alignment = parseAlignment(new GGUFMetadataValue.UInt32Value(value));
+                if (action == GGUFVisitor.Action.CONTINUE) {
+                    visitor.onInteger(type, value);
+                }
+            } else if (action == GGUFVisitor.Action.SKIP) {
+                skipValue(reader, type);
+            } else if (!visitValue(reader, type, visitor)) {
+                return false;
+            }
+        }
+
+        boolean reportTensors = true;
+        for (long i = 0; i < header.tensorCount(); i++) {
+            GGUFTensorInfo tensor = readTensorInfo(reader);
+            if (reportTensors) {
+                action = visitor.onTensorInfo(tensor);
+                if (action == GGUFVisitor.Action.STOP) {
+                    return false;
+                }
+                reportTensors = action == GGUFVisitor.Action.CONTINUE;
+            }
+        }
+
+        reader.align(alignment);
+        visitor.onTensorData(reader.getPosition());
+        return true;
+    }
+
+    private static boolean visitValue(BinaryReader reader, GGUFMetadataValueType type, GGUFVisitor visitor) throws IOException {
+        if (type != GGUFMetadataValueType.ARRAY) {
+            visitElement(reader, type, visitor);
+            return true;
+        }
+        GGUFMetadataValueType elementType = GGUFMetadataValueType.fromValue(reader.readInt32());
+        long length = reader.readUInt64();
+        if (elementType == GGUFMetadataValueType.ARRAY) {
+            throw new IOException("Nested arrays are not supported");
+        }
+        switch (visitor.onArrayStart(elementType, length)) {
+            case STOP -> {
+                return false;
+            }
+            case SKIP -> {
+                skipArrayElements(reader, elementType, length);
+                return true;
+            }
+            case CONTINUE -> {
+                for (long i = 0; i < length; i++) {
+                    visitElement(reader, elementType, visitor);
+                }
+            }
+        }
+        return visitor.onArrayEnd() != GGUFVisitor.Action.STOP;
+    }
+
+    private static void visitElement(BinaryReader reader, GGUFMetadataValueType type, GGUFVisitor visitor) throws IOException {
+        switch (type) {
+            case UINT8 -> visitor.onInteger(type, reader.readUInt8());
+            case INT8 -> visitor.onInteger(type, reader.readInt8());
+            case UINT16 -> visitor.onInteger(type, reader.readUInt16());
+            case INT16 -> visitor.onInteger(type, reader.readInt16());
+            case UINT32 -> visitor.onInteger(type, reader.readUInt32());
+            case INT32 -> visitor.onInteger(type, reader.readInt32());
+            case UINT64 -> visitor.onInteger(type, reader.readUInt64());
+            case INT64 -> visitor.onInteger(type, reader.readInt64());
+            case FLOAT32 -> visitor.onFloat(type, reader.readFloat32());
+            case FLOAT64 -> visitor.onFloat(type, reader.readFloat64());
+            case BOOL -> visitor.onBool(reader.readBool());
+            case STRING -> visitor.onString(reader.readString());
+            case ARRAY -> throw new IOException("Nested arrays are not supported");
+        }
+    }
+
+    private static GGUFFile parseHeaderAndMetadata(BinaryReader reader, GGUFParseOptions options, ByteSource source) throws IOException {
+        checkSource(options, source);
+        
+        // Read header
+        GGUFHeader header = parseHeader(reader);
+        
+        // Read metadata
+        GGUFMetadata metadata = parseMetadata(reader, header.metadataKvCount(), options, source).metadata();
+        
+        // Create empty tensor list and dummy offset for quick parsing
+        List<GGUFTensorInfo> emptyTensors = new ArrayList<>();
+        
+        // Note: This creates an invalid GGUFFile (tensor count mismatch)
+        // but is useful for quick metadata inspection
+        return new GGUFFile(
+            new GGUFHeader(header.magic(), header.version(), 0, header.metadataKvCount()),
+            metadata, 
+            emptyTensors, 
+            0
+        );
+    }
+
+    private static void checkSource(GGUFParseOptions options, ByteSource source) {
+        if (options.hasLazyArrays() && source == null) {
+            throw new IllegalArgumentException("Lazy arrays require a re-openable byte source");
         }
     }
 
@@ -90,23 +406,54 @@ public class GGUFParser {
         return new GGUFHeader(magic, version, tensorCount, metadataKvCount);
     }
 
-    private static GGUFMetadata parseMetadata(BinaryReader reader, long count) throws IOException {
-        Map<String, GGUFMetadataValue> values = new HashMap<>();
+    /**
+     * Parsed metadata together with the tensor data alignment, which is needed even when
+     * the key filter drops {@code general.alignment}.
+     */
+    private record MetadataSection(GGUFMetadata metadata, int alignment) {
+    }
+
+    private static MetadataSection parseMetadata(BinaryReader reader, long count, GGUFParseOptions options, ByteSource source) throws IOException {
+        Map<String, GGUFMetadataValue> values = new LinkedHashMap<>();
+        int alignment = GGUFConstants.DEFAULT_ALIGNMENT;
         
         for (long i = 0; i < count; i++) {
             // Read key
             String key = reader.readString();
+            boolean accepted = options.accepts(key);
+            
+            // Skip values of keys that are filtered out without decoding them
+            if (!accepted && !key.equals(GGUFConstants.GENERAL_ALIGNMENT)) {
+                skipMetadataValue(reader);
+                continue;
+            }
             
             // Read value
-            GGUFMetadataValue value = parseMetadataValue(reader);
+            GGUFMetadataValue value = parseMetadataValue(reader, options, source);
             
-            values.put(key, value);
+            if (key.equals(GGUFConstants.GENERAL_ALIGNMENT)) {
+                alignment = parseAlignment(value);
+            }
+            if (accepted) {
+                values.put(key, value);
+            }
         }
         
-        return new GGUFMetadata(values);
+        return new MetadataSection(new GGUFMetadata(values), alignment);
     }
 
-    private static GGUFMetadataValue parseMetadataValue(BinaryReader reader) throws IOException {
+    static int parseAlignment(GGUFMetadataValue value) throws IOException {
+        if (!value.isUInt32()) {
+            throw new IOException("general.alignment must be a uint32, got " + value.getType());
+        }
+        long alignment = value.asUInt32();
+        if (alignment == 0 || alignment > 1 << 30 || Long.bitCount(alignment) != 1) {
+            throw new IOException("general.alignment must be a power of two: " + alignment);
+        }
+        return (int) alignment;
+    }
+
+    static GGUFMetadataValue parseMetadataValue(BinaryReader reader, GGUFParseOptions options, ByteSource source) throws IOException {
         int typeValue = reader.readInt32();
         GGUFMetadataValueType type = GGUFMetadataValueType.fromValue(typeValue);
         
@@ -123,11 +470,11 @@ public class GGUFParser {
             case FLOAT64 -> new GGUFMetadataValue.Float64Value(reader.readFloat64());
             case BOOL -> new GGUFMetadataValue.BoolValue(reader.readBool());
             case STRING -> new GGUFMetadataValue.StringValue(reader.readString());
-            case ARRAY -> parseArrayValue(reader);
+            case ARRAY -> parseArrayValue(reader, options, source);
         };
     }
 
-    private static GGUFMetadataValue.ArrayValue parseArrayValue(BinaryReader reader) throws IOException {
+    private static GGUFMetadataValue.ArrayValue parseArrayValue(BinaryReader reader, GGUFParseOptions options, ByteSource source) throws IOException {
         // Read element type
         int elementTypeValue = reader.readInt32();
         GGUFMetadataValueType elementType = GGUFMetadataValueType.fromValue(elementTypeValue);
@@ -137,84 +484,189 @@ public class GGUFParser {
         if (arrayLength > Integer.MAX_VALUE) {
             throw new IOException("Array too large: " + arrayLength);
         }
+        int length = (int) arrayLength;
         
-        List<GGUFMetadataValue> elements = new ArrayList<>((int) arrayLength);
-        
-        // Read elements
-        for (long i = 0; i < arrayLength; i++) {
-            GGUFMetadataValue element = parseMetadataValueOfType(reader, elementType);
-            elements.add(element);
+        if (options.isLazy(length)) {
+            // Record where the elements start and step over them without decoding
+            long offset = reader.getPosition();
+            skipArrayElements(reader, elementType, length);
+            return new GGUFMetadataValue.LazyArrayValue(elementType, length, offset, source);
         }
-        
-        return new GGUFMetadataValue.ArrayValue(elementType, elements);
+        return readArrayElements(reader, elementType, length);
     }
 
-    private static GGUFMetadataValue parseMetadataValueOfType(BinaryReader reader, GGUFMetadataValueType type) throws IOException {
-        return switch (type) {
-            case UINT8 -> new GGUFMetadataValue.UInt8Value(reader.readUInt8());
-            case INT8 -> new GGUFMetadataValue.Int8Value(reader.readInt8());
-            case UINT16 -> new GGUFMetadataValue.UInt16Value(reader.readUInt16());
-            case INT16 -> new GGUFMetadataValue.Int16Value(reader.readInt16());
-            case UINT32 -> new GGUFMetadataValue.UInt32Value(reader.readUInt32());
-            case INT32 -> new GGUFMetadataValue.Int32Value(reader.readInt32());
-            case UINT64 -> new GGUFMetadataValue.UInt64Value(reader.readUInt64());
-            case INT64 -> new GGUFMetadataValue.Int64Value(reader.readInt64());
-            case FLOAT32 -> new GGUFMetadataValue.Float32Value(reader.readFloat32());
-            case FLOAT64 -> new GGUFMetadataValue.Float64Value(reader.readFloat64());
-            case BOOL -> new GGUFMetadataValue.BoolValue(reader.readBool());
-            case STRING -> new GGUFMetadataValue.StringValue(reader.readString());
+    static void skipMetadataValue(BinaryReader reader) throws IOException {
+        skipValue(reader, GGUFMetadataValueType.fromValue(reader.readInt32()));
+    }
+
+    private static void skipValue(BinaryReader reader, GGUFMetadataValueType type) throws IOException {
+        switch (type) {
+            case STRING -> reader.skip(reader.readUInt64());
+            case ARRAY -> {
+                GGUFMetadataValueType elementType = GGUFMetadataValueType.fromValue(reader.readInt32());
+                long arrayLength = reader.readUInt64();
+                if (arrayLength > Integer.MAX_VALUE) {
+                    throw new IOException("Array too large: " + arrayLength);
+                }
+                skipArrayElements(reader, elementType, (int) arrayLength);
+            }
+            default -> reader.skip(type.getSize());
+        }
+    }
+
+    private static void skipArrayElements(BinaryReader reader, GGUFMetadataValueType elementType, long length) throws IOException {
+        switch (elementType) {
+            case STRING -> {
+                for (long i = 0; i < length; i++) {
+                    reader.skip(reader.readUInt64());
+                }
+            }
+            case ARRAY -> throw new IOException("Nested arrays are not supported");
+            default -> reader.skip((long) elementType.getSize() * length);
+        }
+    }
+
+    /**
+     * Decode {@code length} elements of the given type into primitive storage.
+     */
+    static GGUFMetadataValue.ArrayValue readArrayElements(BinaryReader reader, GGUFMetadataValueType elementType, int length) throws IOException {
+        // Read elements straight into primitive storage
+        return switch (elementType) {
+            case UINT8, INT8, BOOL -> {
+                byte[] data = new byte[length];
+                reader.readFully(data, 0, length);
+                yield new GGUFMetadataValue.ByteArrayValue(elementType, data);
+            }
+            case UINT16, INT16 -> {
+                int[] data = new int[length];
+                for (int i = 0; i < length; i++) {
+                    data[i] = elementType == GGUFMetadataValueType.UINT16 ? reader.readUInt16() : reader.readInt16();
+                }
+                yield new GGUFMetadataValue.IntArrayValue(elementType, data);
+            }
+            case UINT32, INT32 -> {
+                int[] data = new int[length];
+                reader.readInts(data, 0, length);
+                yield new GGUFMetadataValue.IntArrayValue(elementType, data);
+            }
+            case UINT64, INT64 -> {
+                long[] data = new long[length];
+                reader.readLongs(data, 0, length);
+                if (elementType == GGUFMetadataValueType.UINT64) {
+                    for (long value : data) {
+                        if (value < 0) {
+                            throw new IOException("Unsigned 64-bit integer overflow");
+                        }
+                    }
+                }
+                yield new GGUFMetadataValue.LongArrayValue(elementType, data);
+            }
+            case FLOAT32 -> {
+                float[] data = new float[length];
+                reader.readFloats(data, 0, length);
+                yield new GGUFMetadataValue.FloatArrayValue(data);
+            }
+            case FLOAT64 -> {
+                double[] data = new double[length];
+                reader.readDoubles(data, 0, length);
+                yield new GGUFMetadataValue.DoubleArrayValue(data);
+            }
+            case STRING -> parseStringTable(reader, length);
             case ARRAY -> throw new IOException("Nested arrays are not supported");
         };
     }
 
-    private static List<GGUFTensorInfo> parseTensorInfo(BinaryReader reader, long count) throws IOException {
-        List<GGUFTensorInfo> tensors = new ArrayList<>();
+    private static GGUFMetadataValue.StringArrayValue parseStringTable(BinaryReader reader, int count) throws IOException {
+        int[] offsets = new int[count + 1];
+        byte[] data = new byte[Math.min(count, 1 << 20) * 8];
+        int size = 0;
         
-        for (long i = 0; i < count; i++) {
-            // Read tensor name
-            String name = reader.readString();
-            
-            // Read number of dimensions
-            long nDims = reader.readUInt32();
-            if (nDims > Integer.MAX_VALUE) {
-                throw new IOException("Too many dimensions: " + nDims);
+        for (int i = 0; i < count; i++) {
+            long length = reader.readUInt64();
+            if (length > Integer.MAX_VALUE - size) {
+                throw new IOException("String table too large");
             }
-            
-            // Read dimensions
-            long[] dimensions = new long[(int) nDims];
-            for (int j = 0; j < nDims; j++) {
-                dimensions[j] = reader.readUInt64();
+            int required = size + (int) length;
+            if (required > data.length) {
+                data = Arrays.copyOf(data, (int) Math.min(Integer.MAX_VALUE - 8, Math.max(required, data.length * 3L / 2)));
             }
-            
-            // Read tensor type
-            int typeValue = reader.readInt32();
-            GGMLType type = GGMLType.fromValue(typeValue);
-            
-            // Read tensor offset
-            long offset = reader.readUInt64();
-            
-            tensors.add(new GGUFTensorInfo(name, dimensions, type, offset));
+            reader.readFully(data, size, (int) length);
+            size = required;
+            offsets[i + 1] = size;
+        }
+        
+        return new GGUFMetadataValue.StringArrayValue(data.length == size ? data : Arrays.copyOf(data, size), offsets);
+    }
+
+    static List<GGUFTensorInfo> parseTensorInfo(BinaryReader reader, long count) throws IOException {
+        List<GGUFTensorInfo> tensors = new ArrayList<>();
+        
+        for (long i = 0; i < count; i++) {
+            tensors.add(readTensorInfo(reader));
         }
         
         return tensors;
     }
 
+    private static GGUFTensorInfo readTensorInfo(BinaryReader reader) throws IOException {
+        // Read tensor name
+        String name = reader.readString();
+        
+        // Read number of dimensions
+        long nDims = reader.readUInt32();
+        if (nDims > Integer.MAX_VALUE) {
+            throw new IOException("Too many dimensions: " + nDims);
+        }
+        
+        // Read dimensions
+        long[] dimensions = new long[(int) nDims];
+        for (int j = 0; j < nDims; j++) {
+            dimensions[j] = reader.readUInt64();
+        }
+        
+        // Read tensor type
+        int typeValue = reader.readInt32();
+        GGMLType type = GGMLType.fromValue(typeValue);
+        
+        // Read tensor offset
+        long offset = reader.readUInt64();
+        
+        return new GGUFTensorInfo(name, dimensions, type, offset);
+    }
+
     /**
      * Validate that a stream contains a valid GGUF file header.
      */
     public static boolean isValidGGUFFile(InputStream inputStream) {
         try (BinaryReader reader = new BinaryReader(inputStream)) {
-            int magic = reader.readInt32();
-            int version = reader.readInt32();
-            
-            return magic == GGUFConstants.GGUF_MAGIC && 
-                   version >= GGUFConstants.GGUF_VERSION_1 && 
-                   version <= GGUFConstants.GGUF_VERSION_3;
+            return isValidHeader(reader.readInt32(), reader.readInt32());
         } catch (IOException e) {
             return false;
         }
     }
 
+    /**
+     * Check if a file starts with a GGUF magic number and a supported version.
+     * Only the first 8 bytes are read.
+     */
+    public static boolean isValidGGUFFile(Path filePath) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    return false;
+                }
+            }
+        }
+        return isValidHeader(buffer.getInt(0), buffer.getInt(4));
+    }
+
+    private static boolean isValidHeader(int magic, int version) {
+        return magic == GGUFConstants.GGUF_MAGIC &&
+               version >= GGUFConstants.GGUF_VERSION_1 &&
+               version <= GGUFConstants.GGUF_VERSION_3;
+    }
+
     /**
      * Get the GGUF version from a stream without fully parsing.
      */
@@ -0,0 +1,594 @@
+package io.github.ilopezluna.gguf4j.core;
+
+import io.github.ilopezluna.gguf4j.scalar.GGMLType;
+import io.github.ilopezluna.gguf4j.scalar.GGUFMetadataValueType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Incremental GGUF parser that is fed bytes as they arrive instead of pulling them from a stream.
+ * <p>
+ * Chunks of any size are passed to {@link #feed(ByteBuffer)}. The header, each metadata entry and
+ * each tensor info are reported to the listener as soon as their last byte arrives, and
+ * {@link Listener#onTensorData(long)} signals that the tensor data starts. Values are decoded
+ * straight from the chunks into their final storage; only a value of at most 24 bytes that is split
+ * across two chunks is copied first. Decoding follows {@link GGUFParser}, including key filters and
+ * {@code general.alignment}.
+ */
+public final class GGUFPushParser {
+
+    /**
+     * Receives the parts of a file as they are parsed. All methods do nothing by default.
+     */
+    public interface Listener {
+
+        default void onHeader(GGUFHeader header) {
+        }
+
+        /**
+         * Called for each metadata entry accepted by the key filter, in file order.
+         */
+        default void onMetadata(String key, GGUFMetadataValue value) {
+        }
+
+        default void onTensorInfo(GGUFTensorInfo tensor) {
+        }
+
+        /**
+         * Called once all tensor infos and the alignment padding after them have been consumed.
+         */
+        default void onTensorData(long tensorDataOffset) {
+        }
+    }
+
+    private enum State {
+        HEADER, KEY_LENGTH, KEY, VALUE_TYPE, SCALAR, STRING_LENGTH, STRING, ARRAY_HEADER, ELEMENTS,
+        ELEMENT_LENGTH, ELEMENT, SKIP_VALUE, TENSOR_NAME_LENGTH, TENSOR_NAME, TENSOR_DIMENSION_COUNT,
+        TENSOR_DIMENSION, TENSOR_TYPE_AND_OFFSET, PADDING, DONE, FAILED
+    }
+
+    private static final int HEADER_SIZE = 24;
+
+    private final GGUFParseOptions options;
+    private final Listener listener;
+
+    private State state = State.HEADER;
+    private long position;
+
+    // Fixed-size reads split across chunks are completed here
+    private final ByteBuffer pending = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private ByteBuffer source;
+    private int sourceIndex;
+
+    // Variable-length byte runs are copied straight into their target, or skipped
+    private byte[] fillTarget;
+    private int fillPosition;
+    private int fillEnd;
+    private long skipRemaining;
+
+    private GGUFHeader header;
+    private long metadataIndex;
+    private long tensorIndex;
+    private int alignment = GGUFConstants.DEFAULT_ALIGNMENT;
+
+    private String key;
+    private boolean accepted;
+    private boolean decode;
+    private GGUFMetadataValueType type;
+
+    private int arrayLength;
+    private int arrayIndex;
+    private Object elements;
+    private int[] stringOffsets;
+    private int stringSize;
+
+    private String tensorName;
+    private long[] dimensions;
+    private int dimensionIndex;
+
+    public GGUFPushParser(Listener listener) {
+        this(GGUFParseOptions.DEFAULT, listener);
+    }
+
+    /**
+     * Create a parser with the given options. Bytes that were already fed cannot be revisited,
+     * so the options must not defer arrays.
+     */
+    public GGUFPushParser(GGUFParseOptions options, Listener listener) {
+        if (options.hasLazyArrays()) {
+            throw new IllegalArgumentException("Lazy arrays require a re-openable byte source");
+        }
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        this.options = options;
+        this.listener = listener;
+    }
+
+    /**
+     * Consume bytes from a chunk, advancing its position. Once the tensor data is reached nothing
+     * more is consumed, so the chunk is left positioned at the first byte of tensor data.
+     *
+     * @return {@code true} once the tensor data has been reached
+     * @throws IOException if the bytes are not a valid GGUF file
+     */
+    public boolean feed(ByteBuffer chunk) throws IOException {
+        if (state == State.FAILED) {
+            throw new IllegalStateException("Parser failed on an earlier chunk");
+        }
+        try {
+            while (state != State.DONE && step(chunk)) {
+                // Keep going until the chunk runs out
+            }
+        } catch (IOException | RuntimeException e) {
+            state = State.FAILED;
+            throw e;
+        }
+        return state == State.DONE;
+    }
+
+    /**
+     * Signal that no more bytes will arrive.
+     *
+     * @throws IOException if the input ended before the tensor data
+     */
+    public void finish() throws IOException {
+        if (state != State.DONE) {
+            state = State.FAILED;
+            throw new IOException("Unexpected end of stream at position " + position);
+        }
+    }
+
+    /**
+     * Check if the tensor data has been reached.
+     */
+    public boolean isDone() {
+        return state == State.DONE;
+    }
+
+    /**
+     * Get the number of bytes consumed so far.
+     */
+    public long getPosition() {
+        return position;
+    }
+
+    /**
+     * Get the parsed header, or {@code null} if it has not arrived yet.
+     */
+    public GGUFHeader getHeader() {
+        return header;
+    }
+
+    /**
+     * Run one step of the state machine.
+     *
+     * @return {@code false} if the chunk ran out before the step could complete
+     */
+    private boolean step(ByteBuffer chunk) throws IOException {
+        switch (state) {
+            case HEADER -> {
+                if (!need(chunk, HEADER_SIZE)) {
+                    return false;
+                }
+                int magic = int32(0);
+                int version = int32(4);
+                if (magic != GGUFConstants.GGUF_MAGIC) {
+                    throw new IOException(String.format("Invalid GGUF magic: 0x%08X", magic));
+                }
+                if (version < GGUFConstants.GGUF_VERSION_1 || version > GGUFConstants.GGUF_VERSION_3) {
+                    throw new IOException("Unsupported GGUF version: " + version);
+                }
+                header = new GGUFHeader(magic, version, uint64(8), uint64(16));
+                listener.onHeader(header);
+                nextEntry();
+            }
+            case KEY_LENGTH -> {
+                if (!need(chunk, 8)) {
+                    return false;
+                }
+                startString(uint64(0), true);
+                state = State.KEY;
+            }
+            case KEY -> {
+                if (!fill(chunk)) {
+                    return false;
+                }
+                key = new String(fillTarget, StandardCharsets.UTF_8);
+                accepted = options.accepts(key);
+                // Mirror the parser: the alignment is always decoded, even when filtered out
+                decode = accepted || key.equals(GGUFConstants.GENERAL_ALIGNMENT);
+                state = State.VALUE_TYPE;
+            }
+            case VALUE_TYPE -> {
+                if (!need(chunk, 4)) {
+                    return false;
+                }
+                type = GGUFMetadataValueType.fromValue(int32(0));
+                state = switch (type) {
+                    case STRING -> State.STRING_LENGTH;
+                    case ARRAY -> State.ARRAY_HEADER;
+                    default -> {
+                        if (decode) {
+                            yield State.SCALAR;
+                        }
+                        skipRemaining = type.getSize();
+                        yield State.SKIP_VALUE;
+                    }
+                };
+            }
+            case SCALAR -> {
+                if (!need(chunk, type.getSize())) {
+                    return false;
+                }
+                completeValue(scalar(type, 0));
+            }
+            case STRING_LENGTH -> {
+                if (!need(chunk, 8)) {
+                    return false;
+                }
+                startString(uint64(0), decode);
+                state = State.STRING;
+            }
+            case STRING -> {
+                if (!fill(chunk)) {
+                    return false;
+                }
+                completeValue(decode ? new GGUFMetadataValue.StringValue(new String(fillTarget, StandardCharsets.UTF_8)) : null);
+            }
+            case ARRAY_HEADER -> {
+                if (!need(chunk, 12)) {
+                    return false;
+                }
+                startArray(GGUFMetadataValueType.fromValue(int32(0)), uint64(4));
+            }
+            case ELEMENTS -> {
+                if (!readElements(chunk)) {
+                    return false;
+                }
+                completeValue(arrayValue());
+            }
+            case ELEMENT_LENGTH -> {
+                if (!need(chunk, 8)) {
+                    return false;
+                }
+                long length = uint64(0);
+                if (decode) {
+                    if (length > Integer.MAX_VALUE - stringSize) {
+                        throw new IOException("String table too large");
+                    }
+                    byte[] data = (byte[]) elements;
+                    int required = stringSize + (int) length;
+                    if (required > data.length) {
+                        data = Arrays.copyOf(data, (int) Math.min(Integer.MAX_VALUE - 8, Math.max(required, data.length * 3L / 2)));
+                        elements = data;
+                    }
+                    fillTarget = data;
+                    fillPosition = stringSize;
+                    fillEnd = required;
+                } else {
+                    fillTarget = null;
+                    skipRemaining = length;
+                }
+                state = State.ELEMENT;
+            }
+            case ELEMENT -> {
+                if (!fill(chunk)) {
+                    return false;
+                }
+                if (decode) {
+                    stringSize = fillEnd;
+                    stringOffsets[arrayIndex + 1] = stringSize;
+                }
+                arrayIndex++;
+                if (arrayIndex < arrayLength) {
+                    state = State.ELEMENT_LENGTH;
+                } else {
+                    completeValue(arrayValue());
+                }
+            }
+            case SKIP_VALUE -> {
+                if (!skip(chunk)) {
+                    return false;
+                }
+                completeValue(null);
+            }
+            case TENSOR_NAME_LENGTH -> {
+                if (!need(chunk, 8)) {
+                    return false;
+                }
+                startString(uint64(0), true);
+                state = State.TENSOR_NAME;
+            }
+            case TENSOR_NAME -> {
+                if (!fill(chunk)) {
+                    return false;
+                }
+                tensorName = new String(fillTarget, StandardCharsets.UTF_8);
+                state = State.TENSOR_DIMENSION_COUNT;
+            }
+            case TENSOR_DIMENSION_COUNT -> {
+                if (!need(chunk, 4)) {
+                    return false;
+                }
+                long count = int32(0) & 0xFFFFFFFFL;
+                if (count > Integer.MAX_VALUE) {
+                    throw new IOException("Too many dimensions: " + count);
+                }
+                dimensions = new long[(int) count];
+                dimensionIndex = 0;
+                state = count == 0 ? State.TENSOR_TYPE_AND_OFFSET : State.TENSOR_DIMENSION;
+            }
+            case TENSOR_DIMENSION -> {
+                if (!need(chunk, 8)) {
+                    return false;
+                }
+                dimensions[dimensionIndex++] = uint64(0);
+                if (dimensionIndex == dimensions.length) {
+                    state = State.TENSOR_TYPE_AND_OFFSET;
+                }
+            }
+            case TENSOR_TYPE_AND_OFFSET -> {
+                if (!need(chunk, 12)) {
+                    return false;
+                }
+                GGMLType tensorType = GGMLType.fromValue(int32(0));
+                listener.onTensorInfo(new GGUFTensorInfo(tensorName, dimensions, tensorType, uint64(4)));
+                tensorIndex++;
+                nextTensor();
+            }
+            case PADDING -> {
+                if (!skip(chunk)) {
+                    return false;
+                }
+                state = State.DONE;
+                listener.onTensorData(position);
+            }
+            case DONE, FAILED -> throw new IllegalStateException("No step in state " + state);
+        }
+        return true;
+    }
+
+    private void nextEntry() {
+        if (metadataIndex < header.metadataKvCount()) {
+            state = State.KEY_LENGTH;
+        } else {
+            nextTensor();
+        }
+    }
+
+    private void nextTensor() {
+        if (tensorIndex < header.tensorCount()) {
+            state = State.TENSOR_NAME_LENGTH;
+        } else {
+            skipRemaining = GGUFWriter.align(position, alignment) - position;
+            state = State.PADDING;
+        }
+    }
+
+    private void completeValue(GGUFMetadataValue value) throws IOException {
+        if (value != null) {
+            if (key.equals(GGUFConstants.GENERAL_ALIGNMENT)) {
+                alignment = GGUFParser.parseAlignment(value);
+            }
+            if (accepted) {
+                listener.onMetadata(key, value);
+            }
+        }
+        elements = null;
+        stringOffsets = null;
+        fillTarget = null;
+        metadataIndex++;
+        nextEntry();
+    }
+
+    private void startString(long length, boolean keep) throws IOException {
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("String too long: " + length);
+        }
+        if (keep) {
+            fillTarget = new byte[(int) length];
+            fillPosition = 0;
+            fillEnd = (int) length;
+        } else {
+            fillTarget = null;
+            skipRemaining = length;
+        }
+    }
+
+    private void startArray(GGUFMetadataValueType elementType, long length) throws IOException {
+        if (elementType == GGUFMetadataValueType.ARRAY) {
+            throw new IOException("Nested arrays are not supported");
+        }
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("Array too large: " + length);
+        }
+        type = elementType;
+        arrayLength = (int) length;
+        arrayIndex = 0;
+        if (elementType == GGUFMetadataValueType.STRING) {
+            if (decode) {
+                stringOffsets = new int[arrayLength + 1];
+                stringSize = 0;
+                elements = new byte[Math.min(arrayLength, 1 << 20) * 8];
+            }
+            if (arrayLength == 0) {
+                completeValue(arrayValue());
+            } else {
+                state = State.ELEMENT_LENGTH;
+            }
+        } else if (decode) {
+            elements = switch (elementType) {
+                case UINT8, INT8, BOOL -> new byte[arrayLength];
+                case UINT16, INT16, UINT32, INT32 -> new int[arrayLength];
+                case UINT64, INT64 -> new long[arrayLength];
+                case FLOAT32 -> new float[arrayLength];
+                default -> new double[arrayLength];
+            };
+            state = State.ELEMENTS;
+        } else {
+            skipRemaining = (long) elementType.getSize() * arrayLength;
+            state = State.SKIP_VALUE;
+        }
+    }
+
+    /**
+     * Decode as many whole fixed-size elements as the chunk holds, going through the pending
+     * buffer only for an element split across chunks.
+     *
+     * @return {@code true} once all elements are decoded
+     */
+    private boolean readElements(ByteBuffer chunk) throws IOException {
+        int size = type.getSize();
+        while (arrayIndex < arrayLength) {
+            if (pending.position() == 0) {
+                int count = Math.min(arrayLength - arrayIndex, chunk.remaining() / size);
+                source = chunk;
+                for (int i = 0; i < count; i++) {
+                    sourceIndex = chunk.position() + i * size;
+                    storeElement(arrayIndex++);
+                }
+                chunk.position(chunk.position() + count * size);
+                position += (long) count * size;
+                if (arrayIndex == arrayLength) {
+                    break;
+                }
+            }
+            if (!need(chunk, size)) {
+                return false;
+            }
+            storeElement(arrayIndex++);
+        }
+        return true;
+    }
+
+    private void storeElement(int index) throws IOException {
+        switch (type) {
+            case UINT8, INT8, BOOL -> ((byte[]) elements)[index] = source.get(sourceIndex);
+            case UINT16 -> ((int[]) elements)[index] = int16(0) & 0xFFFF;
+            case INT16 -> ((int[]) elements)[index] = int16(0);
+            case UINT32, INT32 -> ((int[]) elements)[index] = int32(0);
+            case UINT64 -> ((long[]) elements)[index] = uint64(0);
+            case INT64 -> ((long[]) elements)[index] = int64(0);
+            case FLOAT32 -> ((float[]) elements)[index] = Float.intBitsToFloat(int32(0));
+            case FLOAT64 -> ((double[]) elements)[index] = Double.longBitsToDouble(int64(0));
+            default -> throw new IllegalStateException("Not a fixed-size type: " + type);
+        }
+    }
+
+    private GGUFMetadataValue.ArrayValue arrayValue() {
+        if (!decode) {
+            return null;
+        }
+        return switch (type) {
+            case UINT8, INT8, BOOL -> new GGUFMetadataValue.ByteArrayValue(type, (byte[]) elements);
+            case UINT16, INT16, UINT32, INT32 -> new GGUFMetadataValue.IntArrayValue(type, (int[]) elements);
+            case UINT64, INT64 -> new GGUFMetadataValue.LongArrayValue(type, (long[]) elements);
+            case FLOAT32 -> new GGUFMetadataValue.FloatArrayValue((float[]) elements);
+            case FLOAT64 -> new GGUFMetadataValue.DoubleArrayValue((double[]) elements);
+            case STRING -> {
+                byte[] data = (byte[]) elements;
+                yield new GGUFMetadataValue.StringArrayValue(
+                    data.length == stringSize ? data : Arrays.copyOf(data, stringSize), stringOffsets);
+            }
+            case ARRAY -> throw new IllegalStateException("Nested arrays are not supported");
+        };
+    }
+
+    private GGUFMetadataValue scalar(GGUFMetadataValueType scalarType, int offset) throws IOException {
+        return switch (scalarType) {
+            case UINT8 -> new GGUFMetadataValue.UInt8Value(source.get(sourceIndex + offset) & 0xFF);
+            case INT8 -> new GGUFMetadataValue.Int8Value(source.get(sourceIndex + offset));
+            case UINT16 -> new GGUFMetadataValue.UInt16Value(int16(offset) & 0xFFFF);
+            case INT16 -> new GGUFMetadataValue.Int16Value(int16(offset));
+            case UINT32 -> new GGUFMetadataValue.UInt32Value(int32(offset) & 0xFFFFFFFFL);
+            case INT32 -> new GGUFMetadataValue.Int32Value(int32(offset));
+            case UINT64 -> new GGUFMetadataValue.UInt64Value(uint64(offset));
+            case INT64 -> new GGUFMetadataValue.Int64Value(int64(offset));
+            case FLOAT32 -> new GGUFMetadataValue.Float32Value(Float.intBitsToFloat(int32(offset)));
+            case FLOAT64 -> new GGUFMetadataValue.Float64Value(Double.longBitsToDouble(int64(offset)));
+            case BOOL -> new GGUFMetadataValue.BoolValue(source.get(sourceIndex + offset) != 0);
+            case STRING, ARRAY -> throw new IllegalStateException("Not a scalar type: " + scalarType);
+        };
+    }
+
+    /**
+     * Make {@code length} bytes available at {@link #source}, reading them in place from the chunk
+     * when it holds them all and collecting them in the pending buffer otherwise.
+     *
+     * @return {@code false} if the chunk ran out first
+     */
+    private boolean need(ByteBuffer chunk, int length) {
+        if (pending.position() == 0 && chunk.remaining() >= length) {
+            source = chunk;
+            sourceIndex = chunk.position();
+            chunk.position(chunk.position() + length);
+            position += length;
+            return true;
+        }
+        int count = Math.min(length - pending.position(), chunk.remaining());
+        pending.put(pending.position(), chunk, chunk.position(), count);
+        pending.position(pending.position() + count);
+        chunk.position(chunk.position() + count);
+        position += count;
+        if (pending.position() < length) {
+            return false;
+        }
+        // The caller decodes the value before the next read can refill the buffer
+        pending.position(0);
+        source = pending;
+        sourceIndex = 0;
+        return true;
+    }
+
+    /**
+     * Copy the next bytes of the current byte run, or skip them if it has no target.
+     *
+     * @return {@code true} once the run is complete
+     */
+    private boolean fill(ByteBuffer chunk) {
+        if (fillTarget == null) {
+            return skip(chunk);
+        }
+        int count = Math.min(fillEnd - fillPosition, chunk.remaining());
+        chunk.get(fillTarget, fillPosition, count);
+        fillPosition += count;
+        position += count;
+        return fillPosition == fillEnd;
+    }
+
+    private boolean skip(ByteBuffer chunk) {
+        int count = (int) Math.min(skipRemaining, chunk.remaining());
+        chunk.position(chunk.position() + count);
+        skipRemaining -= count;
+        position += count;
+        return skipRemaining == 0;
+    }
+
+    private short int16(int offset) {
+        short value = source.getShort(sourceIndex + offset);
+        return source.order() == ByteOrder.LITTLE_ENDIAN ? value : Short.reverseBytes(value);
+    }
+
+    private int int32(int offset) {
+        int value = source.getInt(sourceIndex + offset);
+        return source.order() == ByteOrder.LITTLE_ENDIAN ? value : Integer.reverseBytes(value);
+    }
+
+    private long int64(int offset) {
+        long value = source.getLong(sourceIndex + offset);
+        return source.order() == ByteOrder.LITTLE_ENDIAN ? value : Long.reverseBytes(value);
+    }
+
+    private long uint64(int offset) throws IOException {
+        long value = int64(offset);
+        if (value < 0) {
+            throw new IOException("Unsigned 64-bit integer overflow");
+        }
+        return value;
+    }
+}
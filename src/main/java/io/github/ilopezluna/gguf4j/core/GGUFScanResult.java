@@ -0,0 +1,37 @@
+package io.github.ilopezluna.gguf4j.core;
+
+import java.nio.file.Path;
+
+/**
+ * The outcome of scanning one GGUF file: either the parsed file or the error that stopped it.
+ */
+public record GGUFScanResult(
+    Path path,
+    GGUFFile file,
+    Exception error
+) {
+
+    public GGUFScanResult {
+        if (path == null) {
+            throw new IllegalArgumentException("Path cannot be null");
+        }
+        if ((file == null) == (error == null)) {
+            throw new IllegalArgumentException("Exactly one of file and error must be set");
+        }
+    }
+
+    static GGUFScanResult success(Path path, GGUFFile file) {
+        return new GGUFScanResult(path, file, null);
+    }
+
+    static GGUFScanResult failure(Path path, Exception error) {
+        return new GGUFScanResult(path, null, error);
+    }
+
+    /**
+     * Check if the file was parsed.
+     */
+    public boolean isSuccess() {
+        return file != null;
+    }
+}
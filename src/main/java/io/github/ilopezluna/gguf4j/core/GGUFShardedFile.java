@@ -0,0 +1,145 @@
+package io.github.ilopezluna.gguf4j.core;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A model split across shard files, viewed as one logical file.
+ * Metadata comes from the first shard; tensors span all shards in shard order.
+ */
+public final class GGUFShardedFile {
+    private final List<Path> paths;
+    private final List<GGUFFile> shards;
+    private final List<GGUFTensorLocation> tensors;
+    private final Map<String, GGUFTensorLocation> tensorsByName;
+
+    public GGUFShardedFile(List<Path> paths, List<GGUFFile> shards) {
+        if (paths == null || shards == null || paths.isEmpty()) {
+            throw new IllegalArgumentException("Shards cannot be null or empty");
+        }
+        if (paths.size() != shards.size()) {
+            throw new IllegalArgumentException(
+                String.format("Shard count mismatch: %d paths, but got %d files", paths.size(), shards.size()));
+        }
+        this.paths = List.copyOf(paths);
+        this.shards = List.copyOf(shards);
+
+        List<GGUFTensorLocation> locations = new ArrayList<>();
+        Map<String, GGUFTensorLocation> byName = new HashMap<>();
+        for (int i = 0; i < shards.size(); i++) {
+            GGUFFile shard = shards.get(i);
+            for (GGUFTensorInfo tensor : shard.tensors()) {
+                GGUFTensorLocation location = new GGUFTensorLocation(tensor, i, paths.get(i), shard.tensorDataOffset() + tensor.offset());
+                locations.add(location);
+                byName.putIfAbsent(tensor.name(), location);
+            }
+        }
+        this.tensors = List.copyOf(locations);
+        this.tensorsByName = byName;
+    }
+
+    /**
+     * Get the shard file paths, in order.
+     */
+    public List<Path> paths() {
+        return paths;
+    }
+
+    /**
+     * Get the parsed shards, in order.
+     */
+    public List<GGUFFile> shards() {
+        return shards;
+    }
+
+    /**
+     * Get the model metadata, which is stored in the first shard.
+     */
+    public GGUFMetadata metadata() {
+        return shards.get(0).metadata();
+    }
+
+    /**
+     * Get every tensor of the model with the shard and offset it resolves to.
+     */
+    public List<GGUFTensorLocation> tensors() {
+        return tensors;
+    }
+
+    /**
+     * Get the number of shards.
+     */
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    /**
+     * Get the number of tensors across all shards.
+     */
+    public int getTensorCount() {
+        return tensors.size();
+    }
+
+    /**
+     * Find a tensor by exact name.
+     */
+    public Optional<GGUFTensorLocation> findTensor(String name) {
+        return Optional.ofNullable(tensorsByName.get(name));
+    }
+
+    /**
+     * Get the model architecture.
+     */
+    public Optional<String> getArchitecture() {
+        return metadata().getArchitecture();
+    }
+
+    /**
+     * Get the model name.
+     */
+    public Optional<String> getName() {
+        return metadata().getName();
+    }
+
+    /**
+     * Get the total size of all tensors in bytes, across all shards.
+     */
+    public long getTotalTensorSize() {
+        return shards.stream()
+                .mapToLong(GGUFFile::getTotalTensorSize)
+                .sum();
+    }
+
+    /**
+     * Get the total number of parameters, across all shards.
+     */
+    public long getTotalParameters() {
+        return shards.stream()
+                .mapToLong(GGUFFile::getTotalParameters)
+                .sum();
+    }
+
+    /**
+     * Calculate the average bits per weight.
+     */
+    public double getAverageBitsPerWeight() {
+        long totalElements = getTotalParameters();
+        if (totalElements == 0) {
+            return 0.0;
+        }
+        return (getTotalTensorSize() * 8.0) / totalElements;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("GGUFShardedFile{shards=%d, architecture=%s, tensors=%d, parameters=%d}",
+                getShardCount(),
+                getArchitecture().orElse("Unknown"),
+                getTensorCount(),
+                getTotalParameters());
+    }
+}
@@ -0,0 +1,274 @@
+package io.github.ilopezluna.gguf4j.core;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Split and merge of sharded GGUF models.
+ * Shards are named {@code <prefix>-00001-of-00003.gguf}; every shard carries the
+ * {@code split.*} keys and the first one also carries the model metadata.
+ */
+public final class GGUFShards {
+    private static final Pattern SHARD_NAME = Pattern.compile("(.*)-(\\d{5})-of-(\\d{5})\\.gguf");
+    private static final int MAX_SHARDS = 0xFFFF;
+
+    private GGUFShards() {
+        // Utility class
+    }
+
+    /**
+     * Get the path of shard {@code index} (zero-based) out of {@code count}.
+     */
+    public static Path shardPath(Path prefix, int index, int count) {
+        return prefix.resolveSibling(String.format("%s-%05d-of-%05d.gguf", prefix.getFileName(), index + 1, count));
+    }
+
+    /**
+     * Get the paths of all shards of the model that {@code shard} belongs to, in order.
+     */
+    public static List<Path> shardPaths(Path shard) {
+        Matcher matcher = SHARD_NAME.matcher(shard.getFileName().toString());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Not a shard file name: " + shard.getFileName());
+        }
+        int count = Integer.parseInt(matcher.group(3));
+        if (count == 0) {
+            throw new IllegalArgumentException("Invalid shard count in " + shard.getFileName());
+        }
+        Path prefix = shard.resolveSibling(matcher.group(1));
+        List<Path> paths = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            paths.add(shardPath(prefix, i, count));
+        }
+        return paths;
+    }
+
+    /**
+     * Split a model into shards, writing them concurrently on virtual threads.
+     *
+     * @see #split(Path, Path, long, int, ExecutorService)
+     */
+    public static List<Path> split(Path source, Path prefix, long maxShardBytes, int maxShardTensors) throws IOException {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            return split(source, prefix, maxShardBytes, maxShardTensors, executor);
+        }
+    }
+
+    /**
+     * Split a model into shards of at most {@code maxShardTensors} tensors and
+     * {@code maxShardBytes} bytes of tensor data. A tensor larger than the byte budget gets
+     * a shard of its own. Each shard is written by its own task on its own channels.
+     *
+     * @return the shard paths, in order
+     */
+    public static List<Path> split(Path source, Path prefix, long maxShardBytes, int maxShardTensors,
+                                   ExecutorService executor) throws IOException {
+        GGUFFile file = GGUFParser.parse(source);
+        List<List<GGUFTensorInfo>> shards = plan(file.tensors(), maxShardBytes, maxShardTensors);
+        int count = shards.size();
+        if (count > MAX_SHARDS) {
+            throw new IllegalArgumentException("Too many shards: " + count);
+        }
+
+        List<Path> paths = new ArrayList<>(count);
+        List<Callable<Path>> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Path target = shardPath(prefix, i, count);
+            List<GGUFTensorInfo> tensors = shards.get(i);
+            GGUFMetadata metadata = shardMetadata(i == 0 ? file.metadata().values() : Map.of(), i, count, file.tensors().size());
+            GGUFHeader header = new GGUFHeader(GGUFConstants.GGUF_MAGIC, file.getVersion(), tensors.size(), metadata.size());
+            paths.add(target);
+            tasks.add(() -> {
+                try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+                    GGUFWriter.write(target, header, metadata, tensors, TensorSource.of(channel, file.tensorDataOffset()));
+                }
+                return target;
+            });
+        }
+
+        try {
+            return invokeAll(executor, tasks);
+        } catch (IOException | RuntimeException e) {
+            for (Path path : paths) {
+                Files.deleteIfExists(path);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Merge the shards of a model into a single file, parsing them concurrently on virtual threads.
+     *
+     * @see #merge(Path, Path, ExecutorService)
+     */
+    public static GGUFFile merge(Path shard, Path target) throws IOException {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            return merge(shard, target, executor);
+        }
+    }
+
+    /**
+     * Merge the shards of a model into a single file. Shards are parsed in parallel and
+     * their tensor data is streamed into the target in shard order.
+     *
+     * @param shard any shard of the model
+     * @return the merged file as written
+     */
+    public static GGUFFile merge(Path shard, Path target, ExecutorService executor) throws IOException {
+        GGUFShardedFile model = GGUFParser.parseSharded(shard, executor);
+        List<GGUFFile> shards = model.shards();
+        List<Path> paths = model.paths();
+
+        List<GGUFTensorInfo> tensors = new ArrayList<>(model.getTensorCount());
+        Map<GGUFTensorInfo, Integer> owners = new IdentityHashMap<>();
+        for (GGUFTensorLocation location : model.tensors()) {
+            tensors.add(location.tensor());
+            owners.put(location.tensor(), location.shard());
+        }
+        GGUFFile first = shards.get(0);
+
+        Map<String, GGUFMetadataValue> values = new LinkedHashMap<>(first.metadata().values());
+        values.keySet().removeAll(List.of(GGUFConstants.SPLIT_NO, GGUFConstants.SPLIT_COUNT, GGUFConstants.SPLIT_TENSORS_COUNT));
+        GGUFMetadata metadata = new GGUFMetadata(values);
+        GGUFHeader header = new GGUFHeader(GGUFConstants.GGUF_MAGIC, first.getVersion(), tensors.size(), metadata.size());
+
+        List<FileChannel> channels = new ArrayList<>(paths.size());
+        try {
+            List<TensorSource> sources = new ArrayList<>(paths.size());
+            for (int i = 0; i < paths.size(); i++) {
+                FileChannel channel = FileChannel.open(paths.get(i), StandardOpenOption.READ);
+                channels.add(channel);
+                sources.add(TensorSource.of(channel, shards.get(i).tensorDataOffset()));
+            }
+            return GGUFWriter.write(target, header, metadata, tensors,
+                (tensor, out) -> sources.get(owners.get(tensor)).transferTo(tensor, out));
+        } finally {
+            for (FileChannel channel : channels) {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Check whether a file name follows the shard naming scheme.
+     */
+    public static boolean isShardPath(Path path) {
+        return SHARD_NAME.matcher(path.getFileName().toString()).matches();
+    }
+
+    /**
+     * Check that the parsed shards agree on their split keys and tensor count.
+     * A single file without split keys is accepted as a one-shard model.
+     */
+    static void checkShards(List<Path> paths, List<GGUFFile> shards) throws IOException {
+        if (shards.size() == 1 && !shards.get(0).metadata().containsKey(GGUFConstants.SPLIT_COUNT)) {
+            return;
+        }
+        long tensorCount = 0;
+        for (int i = 0; i < shards.size(); i++) {
+            checkShard(shards.get(i), paths.get(i), i, shards.size());
+            tensorCount += shards.get(i).getTensorCount();
+        }
+        long expectedTensors = splitValue(shards.get(0), paths.get(0), GGUFConstants.SPLIT_TENSORS_COUNT);
+        if (tensorCount != expectedTensors) {
+            throw new IOException(String.format("Shards contain %d tensors, expected %d", tensorCount, expectedTensors));
+        }
+    }
+
+    /**
+     * Partition tensors, in order, into shards that respect both budgets.
+     */
+    static List<List<GGUFTensorInfo>> plan(List<GGUFTensorInfo> tensors, long maxShardBytes, int maxShardTensors) {
+        if (maxShardBytes <= 0 || maxShardTensors <= 0) {
+            throw new IllegalArgumentException("Shard budgets must be positive");
+        }
+        List<List<GGUFTensorInfo>> shards = new ArrayList<>();
+        List<GGUFTensorInfo> current = new ArrayList<>();
+        long bytes = 0;
+        for (GGUFTensorInfo tensor : tensors) {
+            long size = tensor.getSizeInBytes();
+            if (!current.isEmpty() && (current.size() == maxShardTensors || bytes + size > maxShardBytes)) {
+                shards.add(current);
+                current = new ArrayList<>();
+                bytes = 0;
+            }
+            current.add(tensor);
+            bytes += size;
+        }
+        shards.add(current);
+        return shards;
+    }
+
+    private static GGUFMetadata shardMetadata(Map<String, GGUFMetadataValue> base, int index, int count, int tensorCount) {
+        Map<String, GGUFMetadataValue> values = new LinkedHashMap<>();
+        values.put(GGUFConstants.SPLIT_NO, new GGUFMetadataValue.UInt16Value(index));
+        values.put(GGUFConstants.SPLIT_COUNT, new GGUFMetadataValue.UInt16Value(count));
+        values.put(GGUFConstants.SPLIT_TENSORS_COUNT, new GGUFMetadataValue.Int32Value(tensorCount));
+        base.forEach(values::putIfAbsent);
+        return new GGUFMetadata(values);
+    }
+
+    private static void checkShard(GGUFFile shard, Path path, int index, int count) throws IOException {
+        long splitNo = splitValue(shard, path, GGUFConstants.SPLIT_NO);
+        long splitCount = splitValue(shard, path, GGUFConstants.SPLIT_COUNT);
+        if (splitNo != index || splitCount != count) {
+            throw new IOException(String.format("Shard %s is labelled %d of %d, expected %d of %d",
+                path.getFileName(), splitNo + 1, splitCount, index + 1, count));
+        }
+    }
+
+    private static long splitValue(GGUFFile shard, Path path, String key) throws IOException {
+        GGUFMetadataValue value = shard.metadata().get(key)
+                .orElseThrow(() -> new IOException("Shard " + path.getFileName() + " has no " + key));
+        return switch (value) {
+            case GGUFMetadataValue.UInt16Value v -> v.value();
+            case GGUFMetadataValue.Int32Value v -> v.value();
+            case GGUFMetadataValue.UInt32Value v -> v.value();
+            default -> throw new IOException("Unexpected type for " + key + ": " + value.getType());
+        };
+    }
+
+    /**
+     * Run the tasks and collect their results in order, unwrapping task failures.
+     */
+    static <T> List<T> invokeAll(ExecutorService executor, List<Callable<T>> tasks) throws IOException {
+        try {
+            List<T> results = new ArrayList<>(tasks.size());
+            for (Future<T> future : executor.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for shard tasks");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IOException(cause);
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package io.github.ilopezluna.gguf4j.core;
+
+import io.github.ilopezluna.gguf4j.io.BinaryReader;
+import io.github.ilopezluna.gguf4j.io.BinaryWriter;
+import io.github.ilopezluna.gguf4j.io.ByteSource;
+import io.github.ilopezluna.gguf4j.io.MappedBinaryReader;
+import io.github.ilopezluna.gguf4j.scalar.GGUFMetadataValueType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * A compact sidecar file holding the decoded header, metadata and tensor table of a GGUF file,
+ * so that known files can be re-opened without parsing them again.
+ * <p>
+ * The index is a sequential little-endian layout that is read through a memory map. It is keyed
+ * by the absolute path, size and modification time of the source and by a checksum of its first
+ * {@value #HASHED_BYTES} bytes; an index whose key no longer matches is ignored. Arrays deferred
+ * by the parse options are stored as offsets into the source and stay lazy when re-opened.
+ */
+public final class GGUFSidecarIndex {
+
+    /**
+     * Suffix appended to the source file name to get its default index path.
+     */
+    public static final String SUFFIX = ".idx";
+
+    /**
+     * Number of leading source bytes covered by the checksum.
+     */
+    public static final int HASHED_BYTES = 4096;
+
+    static final int MAGIC = 0x58494747; // "GGIX" in little-endian
+    static final int VERSION = 1;
+
+    private GGUFSidecarIndex() {
+        // Utility class
+    }
+
+    /**
+     * Get the default index path of a file, next to it.
+     */
+    public static Path indexPath(Path file) {
+        return file.resolveSibling(file.getFileName() + SUFFIX);
+    }
+
+    /**
+     * Write the index of a file that was parsed with all metadata keys. The index is written to a
+     * temporary sibling which then replaces {@code index} atomically, so concurrent readers never
+     * see a partial index.
+     *
+     * @param lazyArrayThreshold the threshold {@code parsed} was read with
+     */
+    public static void write(Path file, GGUFFile parsed, int lazyArrayThreshold, Path index) throws IOException {
+        write(Fingerprint.of(file), parsed, lazyArrayThreshold, index);
+    }
+
+    static void write(Fingerprint fingerprint, GGUFFile parsed, int lazyArrayThreshold, Path index) throws IOException {
+        Path temp = Files.createTempFile(index.toAbsolutePath().getParent(), index.getFileName().toString(), ".tmp");
+        try {
+            try (BinaryWriter writer = new BinaryWriter(FileChannel.open(temp, StandardOpenOption.WRITE))) {
+                writer.writeInt32(MAGIC);
+                writer.writeInt32(VERSION);
+                fingerprint.write(writer);
+                writer.writeInt32(lazyArrayThreshold);
+
+                writer.writeInt32(parsed.header().magic());
+                writer.writeInt32(parsed.header().version());
+                writer.writeUInt64(parsed.tensors().size());
+                writer.writeUInt64(parsed.metadata().size());
+                writer.writeUInt64(parsed.tensorDataOffset());
+                for (Map.Entry<String, GGUFMetadataValue> entry : parsed.metadata().values().entrySet()) {
+                    writer.writeString(entry.getKey());
+                    writeValue(writer, entry.getValue());
+                }
+                for (GGUFTensorInfo tensor : parsed.tensors()) {
+                    GGUFWriter.writeTensorInfo(writer, tensor);
+                }
+            }
+            Files.move(temp, index, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Rebuild a file from its index if the index exists and still matches the source.
+     * The index must have been written with the same lazy array threshold as the options;
+     * metadata keys rejected by the options' filter are skipped.
+     *
+     * @return the file, or empty if the index is missing or stale
+     * @throws IOException if the source is missing, or the index matches it but cannot be decoded
+     */
+    public static Optional<GGUFFile> read(Path file, Path index, GGUFParseOptions options) throws IOException {
+        return read(Fingerprint.of(file), file, index, options);
+    }
+
+    static Optional<GGUFFile> read(Fingerprint fingerprint, Path file, Path index, GGUFParseOptions options) throws IOException {
+        if (!Files.isRegularFile(index)) {
+            return Optional.empty();
+        }
+        try (MappedBinaryReader reader = MappedBinaryReader.open(index)) {
+            if (reader.remaining() < 8 || reader.readInt32() != MAGIC || reader.readInt32() != VERSION) {
+                return Optional.empty();
+            }
+            if (!Fingerprint.read(reader).equals(fingerprint) || reader.readInt32() != options.lazyArrayThreshold()) {
+                return Optional.empty();
+            }
+            try {
+                return Optional.of(readFile(reader, options, ByteSource.of(file)));
+            } catch (RuntimeException e) {
+                // e.g. an unknown value or tensor type decoded from a corrupted index
+                throw new IOException("Damaged index: " + index, e);
+            }
+        }
+    }
+
+    private static GGUFFile readFile(BinaryReader reader, GGUFParseOptions options, ByteSource source) throws IOException {
+        int magic = reader.readInt32();
+        int version = reader.readInt32();
+        long tensorCount = reader.readUInt64();
+        long metadataCount = reader.readUInt64();
+        long tensorDataOffset = reader.readUInt64();
+
+        Map<String, GGUFMetadataValue> values = new LinkedHashMap<>();
+        for (long i = 0; i < metadataCount; i++) {
+            String key = reader.readString();
+            if (options.accepts(key)) {
+                values.put(key, readValue(reader, source));
+            } else {
+                skipValue(reader);
+            }
+        }
+        List<GGUFTensorInfo> tensors = GGUFParser.parseTensorInfo(reader, tensorCount);
+        return new GGUFFile(new GGUFHeader(magic, version, tensorCount, metadataCount),
+            new GGUFMetadata(values), tensors, tensorDataOffset);
+    }
+
+    /**
+     * Each value is preceded by a flag: deferred arrays keep only their element type, size and
+     * source offset, everything else uses the GGUF value encoding.
+     */
+    private static void writeValue(BinaryWriter writer, GGUFMetadataValue value) throws IOException {
+        if (value instanceof GGUFMetadataValue.LazyArrayValue lazy) {
+            writer.writeBool(true);
+            writer.writeInt32(lazy.elementType().getValue());
+            writer.writeUInt32(lazy.size());
+            writer.writeUInt64(lazy.offset());
+        } else {
+            writer.writeBool(false);
+            GGUFWriter.writeValue(writer, value);
+        }
+    }
+
+    private static GGUFMetadataValue readValue(BinaryReader reader, ByteSource source) throws IOException {
+        if (reader.readBool()) {
+            GGUFMetadataValueType elementType = GGUFMetadataValueType.fromValue(reader.readInt32());
+            long size = reader.readUInt32();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Array too large: " + size);
+            }
+            return new GGUFMetadataValue.LazyArrayValue(elementType, (int) size, reader.readUInt64(), source);
+        }
+        return GGUFParser.parseMetadataValue(reader, GGUFParseOptions.DEFAULT, null);
+    }
+
+    private static void skipValue(BinaryReader reader) throws IOException {
+        if (reader.readBool()) {
+            reader.skip(4 + 4 + 8);
+        } else {
+            GGUFParser.skipMetadataValue(reader);
+        }
+    }
+
+    /**
+     * Drop the metadata keys rejected by the options' filter.
+     */
+    static GGUFFile filter(GGUFFile file, GGUFParseOptions options) {
+        Map<String, GGUFMetadataValue> values = new LinkedHashMap<>();
+        file.metadata().values().forEach((key, value) -> {
+            if (options.accepts(key)) {
+                values.put(key, value);
+            }
+        });
+        if (values.size() == file.getMetadataCount()) {
+            return file;
+        }
+        return new GGUFFile(file.header(), new GGUFMetadata(values), file.tensors(), file.tensorDataOffset());
+    }
+
+    /**
+     * What identifies a version of a source file.
+     */
+    record Fingerprint(String path, long size, long modifiedNanos, int headerChecksum) {
+
+        static Fingerprint of(Path file) throws IOException {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            ByteBuffer head = ByteBuffer.allocate((int) Math.min(HASHED_BYTES, attributes.size()));
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                while (head.hasRemaining() && channel.read(head, head.position()) >= 0) {
+                    // Keep reading until the buffer is full
+                }
+            }
+            CRC32C crc = new CRC32C();
+            crc.update(head.flip());
+            return new Fingerprint(file.toAbsolutePath().normalize().toString(), attributes.size(),
+                attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS), (int) crc.getValue());
+        }
+
+        static Fingerprint read(BinaryReader reader) throws IOException {
+            return new Fingerprint(reader.readString(), reader.readUInt64(), reader.readInt64(), reader.readInt32());
+        }
+
+        void write(BinaryWriter writer) throws IOException {
+            writer.writeString(path);
+            writer.writeUInt64(size);
+            writer.writeInt64(modifiedNanos);
+            writer.writeInt32(headerChecksum);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package io.github.ilopezluna.gguf4j.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Lookup structures over the tensors of a GGUF file, built once and shared by all lookups.
+ */
+final class GGUFTensorIndex {
+    private final Map<String, GGUFTensorInfo> byName;
+    // Keyed by layer number, which comes from tensor names and may be sparse or very large;
+    // tensors without a layer sit under -1
+    private final Map<Integer, List<GGUFTensorInfo>> byLayer;
+    private final int layerCount;
+
+    GGUFTensorIndex(List<GGUFTensorInfo> tensors) {
+        Map<String, GGUFTensorInfo> names = HashMap.newHashMap(tensors.size());
+        Map<Integer, List<GGUFTensorInfo>> layers = new HashMap<>();
+        int maxLayer = -1;
+        for (GGUFTensorInfo tensor : tensors) {
+            // Keep the first tensor with a given name, as a linear scan would
+            names.putIfAbsent(tensor.name(), tensor);
+            int layer = tensor.getLayerNumber();
+            layers.computeIfAbsent(layer, key -> new ArrayList<>()).add(tensor);
+            maxLayer = Math.max(maxLayer, layer);
+        }
+        layers.replaceAll((layer, list) -> List.copyOf(list));
+        this.byName = names;
+        this.byLayer = layers;
+        this.layerCount = maxLayer == Integer.MAX_VALUE ? Integer.MAX_VALUE : maxLayer + 1;
+    }
+
+    Optional<GGUFTensorInfo> find(String name) {
+        return Optional.ofNullable(byName.get(name));
+    }
+
+    List<GGUFTensorInfo> layer(int layerNumber) {
+        return byLayer.getOrDefault(layerNumber, List.of());
+    }
+
+    int layerCount() {
+        return layerCount;
+    }
+}
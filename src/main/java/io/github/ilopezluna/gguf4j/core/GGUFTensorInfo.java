@@ -48,15 +48,7 @@ public record GGUFTensorInfo(
      * Get the size of the tensor in bytes.
      */
     public long getSizeInBytes() {
-        long elementCount = getElementCount();
-        if (type.isQuantized()) {
-            // For quantized types, calculate based on block size
-            int blockSize = type.getBlockSize();
-            long blockCount = (elementCount + blockSize - 1) / blockSize;
-            return (long) (blockCount * type.getBytesPerWeight() * blockSize);
-        } else {
-            return (long) (elementCount * type.getBytesPerWeight());
-        }
+        return type.getByteSize(getElementCount());
     }
 
     /**
@@ -86,15 +78,22 @@ public record GGUFTensorInfo(
      */
     public int getLayerNumber() {
         // Try to extract layer number from patterns like "blk.0.attn_q.weight"
-        String[] parts = name.split("\\.");
-        for (int i = 0; i < parts.length - 1; i++) {
-            if ("blk".equals(parts[i]) && i + 1 < parts.length) {
+        int start = 0;
+        while (start < name.length()) {
+            int end = name.indexOf('.', start);
+            if (end < 0) {
+                break;
+            }
+            if (end - start == 3 && name.startsWith("blk", start)) {
+                int next = name.indexOf('.', end + 1);
+                String part = name.substring(end + 1, next < 0 ? name.length() : next);
                 try {
-                    return Integer.parseInt(parts[i + 1]);
+                    return Integer.parseInt(part);
                 } catch (NumberFormatException e) {
                     // Continue searching
                 }
             }
+            start = end + 1;
         }
         return -1;
     }
@@ -0,0 +1,23 @@
+package io.github.ilopezluna.gguf4j.core;
+
+import java.nio.file.Path;
+
+/**
+ * Where a tensor of a sharded model lives: the shard file and the absolute offset of its data in that file.
+ */
+public record GGUFTensorLocation(
+    GGUFTensorInfo tensor,
+    int shard,
+    Path path,
+    long offset
+) {
+
+    public GGUFTensorLocation {
+        if (tensor == null) {
+            throw new IllegalArgumentException("Tensor cannot be null");
+        }
+        if (path == null) {
+            throw new IllegalArgumentException("Shard path cannot be null");
+        }
+    }
+}
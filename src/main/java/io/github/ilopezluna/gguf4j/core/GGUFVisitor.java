@@ -0,0 +1,95 @@
+package io.github.ilopezluna.gguf4j.core;
+
+import io.github.ilopezluna.gguf4j.scalar.GGUFMetadataValueType;
+
+/**
+ * Callbacks for walking a GGUF file without building a {@link GGUFFile}.
+ * <p>
+ * Passed to {@link GGUFParser#visit(java.nio.file.Path, GGUFVisitor)}, which reports the header,
+ * then each metadata key followed by its value, then each tensor info, and finally the tensor data
+ * offset. Scalar values and array elements arrive through the typed value callbacks, so numeric
+ * content is never boxed into {@link GGUFMetadataValue} objects. Callbacks that return an
+ * {@link Action} can skip part of the file or stop the walk. By default every callback continues.
+ */
+public interface GGUFVisitor {
+
+    /**
+     * What the walk does after a callback.
+     */
+    enum Action {
+        /** Keep walking, reporting the content that follows. */
+        CONTINUE,
+        /** Pass over the content the callback announced without reporting it. */
+        SKIP,
+        /** End the walk immediately. */
+        STOP
+    }
+
+    /**
+     * Called first. {@link Action#SKIP} passes over all metadata values and goes on to the tensor infos.
+     */
+    default Action onHeader(GGUFHeader header) {
+        return Action.CONTINUE;
+    }
+
+    /**
+     * Called before each metadata value. {@link Action#SKIP} passes over the value without decoding it.
+     */
+    default Action onMetadataKey(String key, GGUFMetadataValueType type) {
+        return Action.CONTINUE;
+    }
+
+    /**
+     * Called for a BOOL value or element.
+     */
+    default void onBool(boolean value) {
+    }
+
+    /**
+     * Called for an integer value or element. Unsigned values are zero-extended; UINT64 values
+     * beyond {@link Long#MAX_VALUE} are rejected as they are by the parser.
+     */
+    default void onInteger(GGUFMetadataValueType type, long value) {
+    }
+
+    /**
+     * Called for a FLOAT32 or FLOAT64 value or element.
+     */
+    default void onFloat(GGUFMetadataValueType type, double value) {
+    }
+
+    /**
+     * Called for a STRING value or element.
+     */
+    default void onString(String value) {
+    }
+
+    /**
+     * Called before the elements of an array. {@link Action#SKIP} passes over the elements, and
+     * {@link #onArrayEnd()} is not called.
+     */
+    default Action onArrayStart(GGUFMetadataValueType elementType, long length) {
+        return Action.CONTINUE;
+    }
+
+    /**
+     * Called after the last element of an array.
+     */
+    default Action onArrayEnd() {
+        return Action.CONTINUE;
+    }
+
+    /**
+     * Called for each tensor info. {@link Action#SKIP} stops reporting tensor infos; the remaining
+     * ones are still read to locate the tensor data.
+     */
+    default Action onTensorInfo(GGUFTensorInfo tensor) {
+        return Action.CONTINUE;
+    }
+
+    /**
+     * Called last, unless the walk was stopped, with the offset where tensor data begins.
+     */
+    default void onTensorData(long tensorDataOffset) {
+    }
+}
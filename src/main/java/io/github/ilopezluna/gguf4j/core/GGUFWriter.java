@@ -0,0 +1,326 @@
+package io.github.ilopezluna.gguf4j.core;
+
+import io.github.ilopezluna.gguf4j.io.BinaryWriter;
+import io.github.ilopezluna.gguf4j.scalar.GGUFMetadataValueType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Writer for GGUF files.
+ * Header, metadata and tensor infos are encoded through a buffered {@link BinaryWriter};
+ * tensor payloads are transferred channel to channel by a {@link TensorSource}.
+ */
+public class GGUFWriter {
+
+    /**
+     * Write a GGUF file with tensor data copied from the file it was parsed from.
+     * Useful to save a file whose metadata has been edited.
+     */
+    public static GGUFFile write(Path target, GGUFFile file, Path source) throws IOException {
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            return write(target, file.header(), file.metadata(), file.tensors(),
+                TensorSource.of(channel, file.tensorDataOffset()));
+        }
+    }
+
+    /**
+     * Write a GGUF file. Tensors are laid out in list order at offsets aligned to the
+     * metadata's {@code general.alignment}; the header counts are taken from the actual
+     * metadata and tensors.
+     *
+     * @throws IllegalArgumentException if {@code general.alignment} is set but is not a
+     *                                  power-of-two uint32, which the parser would reject
+     *
+     * @return the file as written, with the tensors at their new offsets
+     */
+    public static GGUFFile write(Path target, GGUFHeader header, GGUFMetadata metadata,
+                                 List<GGUFTensorInfo> tensors, TensorSource source) throws IOException {
+        int alignment = alignmentOf(metadata);
+        List<GGUFTensorInfo> written = layout(tensors, alignment);
+
+        try (FileChannel channel = FileChannel.open(target,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            BinaryWriter writer = new BinaryWriter(channel);
+            GGUFHeader writtenHeader = writeHeader(writer, header.version(), metadata, written);
+            writer.align(alignment);
+            writer.flush();
+            long tensorDataOffset = writer.getPosition();
+
+            for (int i = 0; i < tensors.size(); i++) {
+                GGUFTensorInfo tensor = tensors.get(i);
+                long start = tensorDataOffset + written.get(i).offset();
+                pad(channel, start - channel.position());
+                source.transferTo(tensor, channel);
+                if (channel.position() != start + tensor.getSizeInBytes()) {
+                    throw new IOException(String.format("Source wrote %d bytes for tensor '%s', expected %d",
+                        channel.position() - start, tensor.name(), tensor.getSizeInBytes()));
+                }
+            }
+            return new GGUFFile(writtenHeader, metadata, written, tensorDataOffset);
+        }
+    }
+
+    /**
+     * Rewrite a file with its tensors aligned to {@code alignment}, such as
+     * {@link GGUFConstants#PAGE_ALIGNMENT} or {@link GGUFConstants#HUGE_PAGE_ALIGNMENT}, and grouped
+     * by layer, so that each layer is one contiguous range of page-aligned tensors.
+     * The alignment is recorded in {@code general.alignment}.
+     */
+    public static GGUFFile relayout(Path source, Path target, int alignment) throws IOException {
+        checkAlignment(alignment);
+        GGUFFile file = GGUFParser.parse(source);
+        Map<String, GGUFMetadataValue> values = new LinkedHashMap<>(file.metadata().values());
+        values.put(GGUFConstants.GENERAL_ALIGNMENT, new GGUFMetadataValue.UInt32Value(alignment));
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            return write(target, file.header(), new GGUFMetadata(values), layerOrder(file.tensors()),
+                TensorSource.of(channel, file.tensorDataOffset()));
+        }
+    }
+
+    /**
+     * Order tensors by layer number, keeping the original order within a layer. Tensors outside
+     * any layer stay in front if they came before the first layer (embeddings) and go last
+     * otherwise (output head).
+     */
+    static List<GGUFTensorInfo> layerOrder(List<GGUFTensorInfo> tensors) {
+        List<GGUFTensorInfo> head = new ArrayList<>();
+        List<GGUFTensorInfo> tail = new ArrayList<>();
+        TreeMap<Integer, List<GGUFTensorInfo>> layers = new TreeMap<>();
+        for (GGUFTensorInfo tensor : tensors) {
+            int layer = tensor.getLayerNumber();
+            if (layer >= 0) {
+                layers.computeIfAbsent(layer, l -> new ArrayList<>()).add(tensor);
+            } else {
+                (layers.isEmpty() ? head : tail).add(tensor);
+            }
+        }
+        List<GGUFTensorInfo> ordered = new ArrayList<>(head);
+        layers.values().forEach(ordered::addAll);
+        ordered.addAll(tail);
+        return ordered;
+    }
+
+    /**
+     * Replace the metadata of an existing file.
+     * When the new header region still fits before the current tensor data, only that region
+     * is rewritten and the tensor bytes stay where they are. Otherwise the file is streamed
+     * to a temporary sibling which then replaces it.
+     *
+     * @return {@code true} if the file was patched in place
+     */
+    public static boolean updateMetadata(Path file, GGUFMetadata metadata) throws IOException {
+        GGUFFile current = GGUFParser.parse(file,
+            GGUFParseOptions.DEFAULT.withKeyFilter(GGUFConstants.GENERAL_ALIGNMENT::equals));
+        int alignment = checkAlignment(current.metadata().getAlignment());
+
+        if (alignmentOf(metadata) == alignment) {
+            byte[] region = encodeHeaderRegion(current, metadata, alignment);
+            if (region != null) {
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                    ByteBuffer buffer = ByteBuffer.wrap(region);
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer, buffer.position());
+                    }
+                    channel.force(false);
+                }
+                return true;
+            }
+        }
+
+        Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                write(temp, current.header(), metadata, current.tensors(),
+                    TensorSource.of(channel, current.tensorDataOffset()));
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return false;
+    }
+
+    /**
+     * Encode the header, metadata and tensor infos so that the tensor data keeps its absolute
+     * position, or return {@code null} if they no longer fit before it.
+     * A shorter region moves the data start back by whole alignment units; tensor offsets
+     * are shifted forward by the same amount.
+     */
+    private static byte[] encodeHeaderRegion(GGUFFile file, GGUFMetadata metadata, int alignment) throws IOException {
+        long dataOffset = file.tensorDataOffset();
+        byte[] region = encodeHeader(file.header().version(), metadata, file.tensors());
+        long newDataOffset = align(region.length, alignment);
+        if (newDataOffset > dataOffset) {
+            return null;
+        }
+        long shift = dataOffset - newDataOffset;
+        if (shift > 0) {
+            List<GGUFTensorInfo> shifted = new ArrayList<>(file.tensors().size());
+            for (GGUFTensorInfo tensor : file.tensors()) {
+                shifted.add(new GGUFTensorInfo(tensor.name(), tensor.dimensions(), tensor.type(), tensor.offset() + shift));
+            }
+            region = encodeHeader(file.header().version(), metadata, shifted);
+        }
+        // Zero the padding and whatever is left of the old header region
+        return Arrays.copyOf(region, Math.toIntExact(dataOffset));
+    }
+
+    private static byte[] encodeHeader(int version, GGUFMetadata metadata, List<GGUFTensorInfo> tensors) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (BinaryWriter writer = new BinaryWriter(out)) {
+            writeHeader(writer, version, metadata, tensors);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Assign each tensor the next offset aligned to {@code alignment}, in list order.
+     */
+    public static List<GGUFTensorInfo> layout(List<GGUFTensorInfo> tensors, int alignment) {
+        checkAlignment(alignment);
+        List<GGUFTensorInfo> result = new ArrayList<>(tensors.size());
+        long offset = 0;
+        for (GGUFTensorInfo tensor : tensors) {
+            result.add(new GGUFTensorInfo(tensor.name(), tensor.dimensions(), tensor.type(), offset));
+            offset = align(offset + tensor.getSizeInBytes(), alignment);
+        }
+        return result;
+    }
+
+    /**
+     * Write the header, metadata and tensor infos, leaving the writer just before the alignment padding.
+     */
+    static GGUFHeader writeHeader(BinaryWriter writer, int version, GGUFMetadata metadata,
+                                  List<GGUFTensorInfo> tensors) throws IOException {
+        if (version < GGUFConstants.GGUF_VERSION_2) {
+            throw new IllegalArgumentException("Writing GGUF version " + version + " is not supported");
+        }
+        GGUFHeader header = new GGUFHeader(GGUFConstants.GGUF_MAGIC, version, tensors.size(), metadata.size());
+        writer.writeInt32(header.magic());
+        writer.writeInt32(header.version());
+        writer.writeUInt64(header.tensorCount());
+        writer.writeUInt64(header.metadataKvCount());
+
+        for (Map.Entry<String, GGUFMetadataValue> entry : metadata.values().entrySet()) {
+            writer.writeString(entry.getKey());
+            writeValue(writer, entry.getValue());
+        }
+
+        for (GGUFTensorInfo tensor : tensors) {
+            writeTensorInfo(writer, tensor);
+        }
+        return header;
+    }
+
+    /**
+     * Write the name, shape, type and offset of a tensor.
+     */
+    static void writeTensorInfo(BinaryWriter writer, GGUFTensorInfo tensor) throws IOException {
+        writer.writeString(tensor.name());
+        writer.writeUInt32(tensor.getDimensionCount());
+        for (long dimension : tensor.dimensions()) {
+            writer.writeUInt64(dimension);
+        }
+        writer.writeInt32(tensor.type().getValue());
+        writer.writeUInt64(tensor.offset());
+    }
+
+    /**
+     * Write a typed metadata value.
+     */
+    static void writeValue(BinaryWriter writer, GGUFMetadataValue value) throws IOException {
+        writer.writeInt32(value.getType().getValue());
+        switch (value) {
+            case GGUFMetadataValue.UInt8Value v -> writer.writeUInt8(v.value());
+            case GGUFMetadataValue.Int8Value v -> writer.writeInt8(v.value());
+            case GGUFMetadataValue.UInt16Value v -> writer.writeUInt16(v.value());
+            case GGUFMetadataValue.Int16Value v -> writer.writeInt16(v.value());
+            case GGUFMetadataValue.UInt32Value v -> writer.writeUInt32(v.value());
+            case GGUFMetadataValue.Int32Value v -> writer.writeInt32(v.value());
+            case GGUFMetadataValue.UInt64Value v -> writer.writeUInt64(v.value());
+            case GGUFMetadataValue.Int64Value v -> writer.writeInt64(v.value());
+            case GGUFMetadataValue.Float32Value v -> writer.writeFloat32(v.value());
+            case GGUFMetadataValue.Float64Value v -> writer.writeFloat64(v.value());
+            case GGUFMetadataValue.BoolValue v -> writer.writeBool(v.value());
+            case GGUFMetadataValue.StringValue v -> writer.writeString(v.value());
+            case GGUFMetadataValue.ArrayValue v -> {
+                writer.writeInt32(v.elementType().getValue());
+                writer.writeUInt64(v.size());
+                writeArrayElements(writer, v);
+            }
+        }
+    }
+
+    private static void writeArrayElements(BinaryWriter writer, GGUFMetadataValue.ArrayValue array) throws IOException {
+        switch (array) {
+            case GGUFMetadataValue.ByteArrayValue v -> writer.writeBytes(v.data());
+            case GGUFMetadataValue.IntArrayValue v -> {
+                if (v.elementType() == GGUFMetadataValueType.UINT16 || v.elementType() == GGUFMetadataValueType.INT16) {
+                    for (int element : v.data()) {
+                        writer.writeInt16((short) element);
+                    }
+                } else {
+                    writer.writeInts(v.data(), 0, v.data().length);
+                }
+            }
+            case GGUFMetadataValue.LongArrayValue v -> writer.writeLongs(v.data(), 0, v.data().length);
+            case GGUFMetadataValue.FloatArrayValue v -> writer.writeFloats(v.data(), 0, v.data().length);
+            case GGUFMetadataValue.DoubleArrayValue v -> writer.writeDoubles(v.data(), 0, v.data().length);
+            case GGUFMetadataValue.StringArrayValue v -> {
+                for (int i = 0; i < v.size(); i++) {
+                    writer.writeUInt64(v.getByteLength(i));
+                    writer.writeBytes(v.data(), v.offsets()[i], v.getByteLength(i));
+                }
+            }
+            case GGUFMetadataValue.LazyArrayValue v -> writeArrayElements(writer, v.load());
+        }
+    }
+
+    /**
+     * Get the alignment the metadata asks for, applying the parser's rules so that a file is
+     * never written with a {@code general.alignment} it could not be read back with.
+     */
+    private static int alignmentOf(GGUFMetadata metadata) {
+        GGUFMetadataValue value = metadata.get(GGUFConstants.GENERAL_ALIGNMENT).orElse(null);
+        if (value == null) {
+            return GGUFConstants.DEFAULT_ALIGNMENT;
+        }
+        try {
+            return GGUFParser.parseAlignment(value);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    private static int checkAlignment(int alignment) {
+        if (alignment <= 0 || Integer.bitCount(alignment) != 1) {
+            throw new IllegalArgumentException("Alignment must be a positive power of two: " + alignment);
+        }
+        return alignment;
+    }
+
+    static long align(long position, int alignment) {
+        return (position + alignment - 1) & -(long) alignment;
+    }
+
+    private static void pad(FileChannel channel, long count) throws IOException {
+        ByteBuffer zeros = ByteBuffer.allocate((int) Math.min(count, 4096));
+        while (count > 0) {
+            zeros.clear().limit((int) Math.min(count, zeros.capacity()));
+            count -= channel.write(zeros);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package io.github.ilopezluna.gguf4j.core;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+
+/**
+ * Supplies the raw bytes of a tensor when a GGUF file is written.
+ */
+@FunctionalInterface
+public interface TensorSource {
+
+    /**
+     * Write exactly {@link GGUFTensorInfo#getSizeInBytes()} bytes of the tensor at the target's current position.
+     */
+    void transferTo(GGUFTensorInfo tensor, FileChannel target) throws IOException;
+
+    /**
+     * Copy tensors from an existing file whose tensor data starts at {@code dataOffset}.
+     * Bytes move channel to channel and never pass through the Java heap.
+     */
+    static TensorSource of(FileChannel source, long dataOffset) {
+        return (tensor, target) -> {
+            long position = dataOffset + tensor.offset();
+            long remaining = tensor.getSizeInBytes();
+            if (position + remaining > source.size()) {
+                throw new IOException("Tensor '" + tensor.name() + "' extends past end of source file");
+            }
+            while (remaining > 0) {
+                long transferred = source.transferTo(position, remaining, target);
+                if (transferred <= 0) {
+                    throw new IOException("Unexpected end of data for tensor '" + tensor.name() + "'");
+                }
+                position += transferred;
+                remaining -= transferred;
+            }
+        };
+    }
+}
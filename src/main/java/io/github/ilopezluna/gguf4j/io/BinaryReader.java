@@ -9,10 +9,15 @@ import java.nio.charset.StandardCharsets;
 /**
  * Binary reader with support for little-endian byte order.
  * Provides methods to read various data types from an InputStream.
+ * <p>
+ * Bytes are pulled from the stream in large chunks into a single reusable window
+ * buffer, so fixed-width reads decode in place and allocate nothing.
  */
 public class BinaryReader implements AutoCloseable {
+    private static final int DEFAULT_WINDOW_SIZE = 64 * 1024;
+
     private final InputStream inputStream;
-    private final ByteOrder byteOrder;
+    private final ByteBuffer window;
     private long position = 0;
 
     public BinaryReader(InputStream inputStream) {
@@ -20,24 +25,58 @@ public class BinaryReader implements AutoCloseable {
     }
 
     public BinaryReader(InputStream inputStream, ByteOrder byteOrder) {
+        this(inputStream, byteOrder, DEFAULT_WINDOW_SIZE);
+    }
+
+    public BinaryReader(InputStream inputStream, ByteOrder byteOrder, int windowSize) {
+        if (windowSize < Long.BYTES) {
+            throw new IllegalArgumentException("Window size too small: " + windowSize);
+        }
         this.inputStream = inputStream;
-        this.byteOrder = byteOrder;
+        this.window = ByteBuffer.allocate(windowSize).order(byteOrder).limit(0);
+    }
+
+    /**
+     * Constructor for subclasses that do not read from an InputStream.
+     */
+    protected BinaryReader(ByteOrder byteOrder) {
+        this.inputStream = InputStream.nullInputStream();
+        this.window = ByteBuffer.allocate(0).order(byteOrder);
     }
 
     public long getPosition() {
         return position;
     }
 
+    /**
+     * Make sure at least {@code length} unread bytes are in the window,
+     * refilling it from the stream as needed.
+     */
+    private void require(int length) throws IOException {
+        if (window.remaining() >= length) {
+            return;
+        }
+        window.compact();
+        try {
+            while (window.position() < length) {
+                int read = inputStream.read(window.array(), window.arrayOffset() + window.position(), window.remaining());
+                if (read == -1) {
+                    throw new IOException("Unexpected end of stream");
+                }
+                window.position(window.position() + read);
+            }
+        } finally {
+            window.flip();
+        }
+    }
+
     /**
      * Read a single byte.
      */
     public byte readByte() throws IOException {
-        int b = inputStream.read();
-        if (b == -1) {
-            throw new IOException("Unexpected end of stream");
-        }
+        require(1);
         position++;
-        return (byte) b;
+        return window.get();
     }
 
     /**
@@ -45,16 +84,25 @@ public class BinaryReader implements AutoCloseable {
      */
     public byte[] readBytes(int length) throws IOException {
         byte[] buffer = new byte[length];
-        int totalRead = 0;
+        readFully(buffer, 0, length);
+        return buffer;
+    }
+
+    /**
+     * Read exactly {@code length} bytes into the given array.
+     */
+    public void readFully(byte[] buffer, int offset, int length) throws IOException {
+        int buffered = Math.min(length, window.remaining());
+        window.get(buffer, offset, buffered);
+        int totalRead = buffered;
         while (totalRead < length) {
-            int read = inputStream.read(buffer, totalRead, length - totalRead);
+            int read = inputStream.read(buffer, offset + totalRead, length - totalRead);
             if (read == -1) {
                 throw new IOException("Unexpected end of stream");
             }
             totalRead += read;
         }
         position += length;
-        return buffer;
     }
 
     /**
@@ -75,45 +123,39 @@ public class BinaryReader implements AutoCloseable {
      * Read an unsigned 16-bit integer.
      */
     public int readUInt16() throws IOException {
-        byte[] bytes = readBytes(2);
-        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(byteOrder);
-        return buffer.getShort() & 0xFFFF;
+        return readInt16() & 0xFFFF;
     }
 
     /**
      * Read a signed 16-bit integer.
      */
     public short readInt16() throws IOException {
-        byte[] bytes = readBytes(2);
-        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(byteOrder);
-        return buffer.getShort();
+        require(2);
+        position += 2;
+        return window.getShort();
     }
 
     /**
      * Read an unsigned 32-bit integer.
      */
     public long readUInt32() throws IOException {
-        byte[] bytes = readBytes(4);
-        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(byteOrder);
-        return buffer.getInt() & 0xFFFFFFFFL;
+        return readInt32() & 0xFFFFFFFFL;
     }
 
     /**
      * Read a signed 32-bit integer.
      */
     public int readInt32() throws IOException {
-        byte[] bytes = readBytes(4);
-        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(byteOrder);
-        return buffer.getInt();
+        require(4);
+        position += 4;
+        return window.getInt();
     }
 
     /**
      * Read an unsigned 64-bit integer.
      */
     public long readUInt64() throws IOException {
-        byte[] bytes = readBytes(8);
-        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(byteOrder);
-        long value = buffer.getLong();
+        long value = readInt64();
         if (value < 0) {
             throw new IOException("Unsigned 64-bit integer overflow");
         }
@@ -124,27 +166,63 @@ public class BinaryReader implements AutoCloseable {
      * Read a signed 64-bit integer.
      */
     public long readInt64() throws IOException {
-        byte[] bytes = readBytes(8);
-        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(byteOrder);
-        return buffer.getLong();
+        require(8);
+        position += 8;
+        return window.getLong();
     }
 
     /**
      * Read a 32-bit floating point number.
      */
     public float readFloat32() throws IOException {
-        byte[] bytes = readBytes(4);
-        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(byteOrder);
-        return buffer.getFloat();
+        require(4);
+        position += 4;
+        return window.getFloat();
     }
 
     /**
      * Read a 64-bit floating point number.
      */
     public double readFloat64() throws IOException {
-        byte[] bytes = readBytes(8);
-        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(byteOrder);
-        return buffer.getDouble();
+        require(8);
+        position += 8;
+        return window.getDouble();
+    }
+
+    /**
+     * Read consecutive signed 32-bit integers into an array.
+     */
+    public void readInts(int[] dst, int offset, int length) throws IOException {
+        for (int i = offset; i < offset + length; i++) {
+            dst[i] = readInt32();
+        }
+    }
+
+    /**
+     * Read consecutive signed 64-bit integers into an array.
+     */
+    public void readLongs(long[] dst, int offset, int length) throws IOException {
+        for (int i = offset; i < offset + length; i++) {
+            dst[i] = readInt64();
+        }
+    }
+
+    /**
+     * Read consecutive 32-bit floating point numbers into an array.
+     */
+    public void readFloats(float[] dst, int offset, int length) throws IOException {
+        for (int i = offset; i < offset + length; i++) {
+            dst[i] = readFloat32();
+        }
+    }
+
+    /**
+     * Read consecutive 64-bit floating point numbers into an array.
+     */
+    public void readDoubles(double[] dst, int offset, int length) throws IOException {
+        for (int i = offset; i < offset + length; i++) {
+            dst[i] = readFloat64();
+        }
     }
 
     /**
@@ -156,31 +234,42 @@ public class BinaryReader implements AutoCloseable {
 
     /**
      * Read a UTF-8 string with length prefix.
+     * Strings that fit in the window are decoded straight from it.
      */
     public String readString() throws IOException {
         long length = readUInt64();
         if (length > Integer.MAX_VALUE) {
             throw new IOException("String too long: " + length);
         }
-        byte[] bytes = readBytes((int) length);
-        return new String(bytes, StandardCharsets.UTF_8);
+        int size = (int) length;
+        if (size > window.capacity()) {
+            return new String(readBytes(size), StandardCharsets.UTF_8);
+        }
+        require(size);
+        String value = new String(window.array(), window.arrayOffset() + window.position(), size, StandardCharsets.UTF_8);
+        window.position(window.position() + size);
+        position += size;
+        return value;
     }
 
     /**
      * Skip a number of bytes.
      */
     public void skip(long bytes) throws IOException {
-        long skipped = inputStream.skip(bytes);
-        if (skipped != bytes) {
-            // If skip didn't work as expected, read and discard
-            long remaining = bytes - skipped;
-            while (remaining > 0) {
-                int toRead = (int) Math.min(remaining, 8192);
-                byte[] buffer = readBytes(toRead);
-                remaining -= buffer.length;
+        int buffered = (int) Math.min(bytes, window.remaining());
+        window.position(window.position() + buffered);
+        position += buffered;
+        long remaining = bytes - buffered;
+        while (remaining > 0) {
+            long skipped = inputStream.skip(remaining);
+            if (skipped <= 0) {
+                // If skip didn't work as expected, read and discard
+                require(1);
+                skipped = Math.min(remaining, window.remaining());
+                window.position(window.position() + (int) skipped);
             }
-        } else {
-            position += bytes;
+            position += skipped;
+            remaining -= skipped;
         }
     }
 
@@ -188,7 +277,7 @@ public class BinaryReader implements AutoCloseable {
      * Align position to the specified boundary.
      */
     public void align(int alignment) throws IOException {
-        long remainder = position % alignment;
+        long remainder = getPosition() % alignment;
         if (remainder != 0) {
             skip(alignment - remainder);
         }
@@ -0,0 +1,262 @@
+package io.github.ilopezluna.gguf4j.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Binary writer with support for little-endian byte order.
+ * Provides methods to write various data types to a channel.
+ * <p>
+ * Values are encoded into a single reusable window buffer that is drained to the
+ * channel when full, mirroring {@link BinaryReader}.
+ */
+public class BinaryWriter implements AutoCloseable {
+    private static final int DEFAULT_WINDOW_SIZE = 64 * 1024;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer window;
+    private long position = 0;
+
+    public BinaryWriter(OutputStream outputStream) {
+        this(Channels.newChannel(outputStream));
+    }
+
+    public BinaryWriter(WritableByteChannel channel) {
+        this(channel, ByteOrder.LITTLE_ENDIAN, DEFAULT_WINDOW_SIZE);
+    }
+
+    public BinaryWriter(WritableByteChannel channel, ByteOrder byteOrder, int windowSize) {
+        if (windowSize < Long.BYTES) {
+            throw new IllegalArgumentException("Window size too small: " + windowSize);
+        }
+        this.channel = channel;
+        this.window = ByteBuffer.allocate(windowSize).order(byteOrder);
+    }
+
+    /**
+     * Get the number of bytes written so far, including buffered bytes.
+     */
+    public long getPosition() {
+        return position;
+    }
+
+    /**
+     * Make sure at least {@code length} bytes are free in the window.
+     */
+    private void reserve(int length) throws IOException {
+        if (window.remaining() < length) {
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        window.flip();
+        while (window.hasRemaining()) {
+            channel.write(window);
+        }
+        window.clear();
+    }
+
+    /**
+     * Write a single byte.
+     */
+    public void writeByte(byte value) throws IOException {
+        reserve(1);
+        window.put(value);
+        position++;
+    }
+
+    /**
+     * Write bytes from an array.
+     */
+    public void writeBytes(byte[] buffer, int offset, int length) throws IOException {
+        while (length > 0) {
+            if (!window.hasRemaining()) {
+                drain();
+            }
+            int chunk = Math.min(length, window.remaining());
+            window.put(buffer, offset, chunk);
+            offset += chunk;
+            length -= chunk;
+            position += chunk;
+        }
+    }
+
+    /**
+     * Write all bytes of an array.
+     */
+    public void writeBytes(byte[] buffer) throws IOException {
+        writeBytes(buffer, 0, buffer.length);
+    }
+
+    /**
+     * Write an unsigned 8-bit integer.
+     */
+    public void writeUInt8(int value) throws IOException {
+        writeByte((byte) value);
+    }
+
+    /**
+     * Write a signed 8-bit integer.
+     */
+    public void writeInt8(byte value) throws IOException {
+        writeByte(value);
+    }
+
+    /**
+     * Write an unsigned 16-bit integer.
+     */
+    public void writeUInt16(int value) throws IOException {
+        writeInt16((short) value);
+    }
+
+    /**
+     * Write a signed 16-bit integer.
+     */
+    public void writeInt16(short value) throws IOException {
+        reserve(Short.BYTES);
+        window.putShort(value);
+        position += Short.BYTES;
+    }
+
+    /**
+     * Write an unsigned 32-bit integer.
+     */
+    public void writeUInt32(long value) throws IOException {
+        if (value < 0 || value > 0xFFFFFFFFL) {
+            throw new IllegalArgumentException("Value out of range for uint32: " + value);
+        }
+        writeInt32((int) value);
+    }
+
+    /**
+     * Write a signed 32-bit integer.
+     */
+    public void writeInt32(int value) throws IOException {
+        reserve(Integer.BYTES);
+        window.putInt(value);
+        position += Integer.BYTES;
+    }
+
+    /**
+     * Write an unsigned 64-bit integer.
+     */
+    public void writeUInt64(long value) throws IOException {
+        if (value < 0) {
+            throw new IllegalArgumentException("Unsigned 64-bit integer overflow: " + value);
+        }
+        writeInt64(value);
+    }
+
+    /**
+     * Write a signed 64-bit integer.
+     */
+    public void writeInt64(long value) throws IOException {
+        reserve(Long.BYTES);
+        window.putLong(value);
+        position += Long.BYTES;
+    }
+
+    /**
+     * Write a 32-bit floating point number.
+     */
+    public void writeFloat32(float value) throws IOException {
+        reserve(Float.BYTES);
+        window.putFloat(value);
+        position += Float.BYTES;
+    }
+
+    /**
+     * Write a 64-bit floating point number.
+     */
+    public void writeFloat64(double value) throws IOException {
+        reserve(Double.BYTES);
+        window.putDouble(value);
+        position += Double.BYTES;
+    }
+
+    /**
+     * Write consecutive signed 32-bit integers from an array.
+     */
+    public void writeInts(int[] src, int offset, int length) throws IOException {
+        for (int i = offset; i < offset + length; i++) {
+            writeInt32(src[i]);
+        }
+    }
+
+    /**
+     * Write consecutive signed 64-bit integers from an array.
+     */
+    public void writeLongs(long[] src, int offset, int length) throws IOException {
+        for (int i = offset; i < offset + length; i++) {
+            writeInt64(src[i]);
+        }
+    }
+
+    /**
+     * Write consecutive 32-bit floating point numbers from an array.
+     */
+    public void writeFloats(float[] src, int offset, int length) throws IOException {
+        for (int i = offset; i < offset + length; i++) {
+            writeFloat32(src[i]);
+        }
+    }
+
+    /**
+     * Write consecutive 64-bit floating point numbers from an array.
+     */
+    public void writeDoubles(double[] src, int offset, int length) throws IOException {
+        for (int i = offset; i < offset + length; i++) {
+            writeFloat64(src[i]);
+        }
+    }
+
+    /**
+     * Write a boolean value.
+     */
+    public void writeBool(boolean value) throws IOException {
+        writeByte(value ? (byte) 1 : (byte) 0);
+    }
+
+    /**
+     * Write a UTF-8 string with length prefix.
+     */
+    public void writeString(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeUInt64(bytes.length);
+        writeBytes(bytes);
+    }
+
+    /**
+     * Write zero bytes up to the specified boundary.
+     */
+    public void align(int alignment) throws IOException {
+        long remainder = position % alignment;
+        for (long i = remainder == 0 ? alignment : remainder; i < alignment; i++) {
+            writeByte((byte) 0);
+        }
+    }
+
+    /**
+     * Write buffered bytes to the channel.
+     */
+    public void flush() throws IOException {
+        drain();
+    }
+
+    /**
+     * Flush and close the underlying channel.
+     */
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package io.github.ilopezluna.gguf4j.io;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * A source of bytes that can be re-opened at any absolute offset.
+ * Used to decode parts of a file that were skipped during parsing.
+ */
+@FunctionalInterface
+public interface ByteSource {
+
+    /**
+     * Open a reader positioned at the given absolute offset.
+     * The caller is responsible for closing the returned reader.
+     */
+    BinaryReader open(long offset) throws IOException;
+
+    /**
+     * Create a source that memory-maps the given file on each open.
+     */
+    static ByteSource of(Path filePath) {
+        return offset -> {
+            MappedBinaryReader reader = MappedBinaryReader.open(filePath);
+            try {
+                reader.skip(offset);
+                return reader;
+            } catch (IOException e) {
+                reader.close();
+                throw e;
+            }
+        };
+    }
+
+    /**
+     * Create a source that streams from a positional source on each open.
+     * Closing the returned readers leaves the positional source open.
+     */
+    static ByteSource of(PositionalSource source) {
+        return offset -> new BinaryReader(source.openStream(offset));
+    }
+}
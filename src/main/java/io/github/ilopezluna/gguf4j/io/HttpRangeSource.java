@@ -0,0 +1,225 @@
+package io.github.ilopezluna.gguf4j.io;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import java.io.IOException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A {@link PositionalSource} over a remote file, fetched with HTTP range requests.
+ * <p>
+ * Bytes are fetched in windows that start at {@code initialWindow} bytes and double with each
+ * request that continues where the previous one ended, up to {@code maxWindow}. Reading the
+ * header of a GGUF file therefore takes a few small requests, while long metadata sections are
+ * fetched in few large ones. A jump to another position starts again from the initial window.
+ * Only the last window is kept in memory.
+ */
+public class HttpRangeSource implements PositionalSource {
+
+    /**
+     * Default size of the first window and of the first window after a jump.
+     */
+    public static final int DEFAULT_INITIAL_WINDOW = 16 * 1024;
+
+    /**
+     * Default upper bound on the window size.
+     */
+    public static final int DEFAULT_MAX_WINDOW = 8 * 1024 * 1024;
+
+    private static final Pattern CONTENT_RANGE = Pattern.compile("bytes (?:(\\d+)-(\\d+)|\\*)/(\\d+|\\*)");
+
+    private final OkHttpClient client;
+    private final boolean ownsClient;
+    private final String url;
+    private final int initialWindow;
+    private final int maxWindow;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private byte[] block = new byte[0];
+    private long blockStart;
+    private int window;
+    private long size = -1;
+    private int requestCount;
+    private long bytesFetched;
+
+    /**
+     * Create a source with its own HTTP client, released on {@link #close()}.
+     */
+    public HttpRangeSource(String url) {
+        this(new OkHttpClient(), true, url, DEFAULT_INITIAL_WINDOW, DEFAULT_MAX_WINDOW);
+    }
+
+    /**
+     * Create a source on a shared HTTP client, which is left open on {@link #close()}.
+     */
+    public HttpRangeSource(OkHttpClient client, String url) {
+        this(client, url, DEFAULT_INITIAL_WINDOW, DEFAULT_MAX_WINDOW);
+    }
+
+    public HttpRangeSource(OkHttpClient client, String url, int initialWindow, int maxWindow) {
+        this(client, false, url, initialWindow, maxWindow);
+    }
+
+    private HttpRangeSource(OkHttpClient client, boolean ownsClient, String url, int initialWindow, int maxWindow) {
+        if (client == null || url == null) {
+            throw new IllegalArgumentException("Client and URL cannot be null");
+        }
+        if (initialWindow <= 0 || maxWindow < initialWindow) {
+            throw new IllegalArgumentException(String.format("Invalid windows: initial %d, max %d", initialWindow, maxWindow));
+        }
+        this.client = client;
+        this.ownsClient = ownsClient;
+        this.url = url;
+        this.initialWindow = initialWindow;
+        this.maxWindow = maxWindow;
+    }
+
+    @Override
+    public int read(long position, byte[] buffer, int offset, int length) throws IOException {
+        if (position < 0) {
+            throw new IllegalArgumentException("Position cannot be negative: " + position);
+        }
+        if (length == 0) {
+            return 0;
+        }
+        lock.lock();
+        try {
+            if (position < blockStart || position >= blockStart + block.length) {
+                if (size >= 0 && position >= size) {
+                    return -1;
+                }
+                fetch(position);
+                if (block.length == 0) {
+                    return -1;
+                }
+            }
+            int available = (int) (blockStart + block.length - position);
+            int count = Math.min(length, available);
+            System.arraycopy(block, (int) (position - blockStart), buffer, offset, count);
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the size of the remote file, fetching the first window if no request was made yet.
+     */
+    @Override
+    public long size() throws IOException {
+        lock.lock();
+        try {
+            if (size < 0 && requestCount == 0) {
+                fetch(0);
+            }
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the number of range requests made so far.
+     */
+    public int getRequestCount() {
+        lock.lock();
+        try {
+            return requestCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the number of body bytes received so far.
+     */
+    public long getBytesFetched() {
+        lock.lock();
+        try {
+            return bytesFetched;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    @Override
+    public void close() {
+        if (ownsClient) {
+            client.dispatcher().executorService().shutdown();
+            client.connectionPool().evictAll();
+        }
+    }
+
+    /**
+     * Replace the current window with one starting at {@code position}.
+     */
+    private void fetch(long position) throws IOException {
+        boolean sequential = block.length > 0 && position == blockStart + block.length;
+        window = sequential ? (int) Math.min(2L * window, maxWindow) : initialWindow;
+        long end = position + window - 1;
+        if (size >= 0) {
+            end = Math.min(end, size - 1);
+        }
+
+        Request request = new Request.Builder()
+            .url(url)
+            .header("Range", "bytes=" + position + "-" + end)
+            .build();
+        try (Response response = client.newCall(request).execute()) {
+            requestCount++;
+            if (response.code() == 416) {
+                // The position is past the end; the server reports the size as "bytes */size"
+                size = parseContentRange(response, -1);
+                block = new byte[0];
+                blockStart = position;
+                return;
+            }
+            if (response.code() != 206) {
+                throw new IOException(String.format("Expected a partial response for %s range %d-%d, got HTTP %d",
+                    url, position, end, response.code()));
+            }
+            long total = parseContentRange(response, position);
+            ResponseBody body = response.body();
+            byte[] bytes = body == null ? new byte[0] : body.bytes();
+            if (bytes.length == 0 || bytes.length > end - position + 1) {
+                throw new IOException(String.format("Unexpected body of %d bytes for %s range %d-%d",
+                    bytes.length, url, position, end));
+            }
+            size = total;
+            block = bytes;
+            blockStart = position;
+            bytesFetched += bytes.length;
+        }
+    }
+
+    /**
+     * Parse the Content-Range header, checking that the range starts at {@code position}
+     * unless it is negative, and return the total size or -1 if the server did not send it.
+     */
+    private long parseContentRange(Response response, long position) throws IOException {
+        String header = response.header("Content-Range");
+        if (header == null) {
+            if (position >= 0) {
+                throw new IOException("Missing Content-Range in partial response from " + url);
+            }
+            return size;
+        }
+        Matcher matcher = CONTENT_RANGE.matcher(header.trim());
+        if (!matcher.matches()) {
+            throw new IOException("Invalid Content-Range from " + url + ": " + header);
+        }
+        if (position >= 0 && (matcher.group(1) == null || Long.parseLong(matcher.group(1)) != position)) {
+            throw new IOException(String.format("Content-Range %s from %s does not start at %d", header, url, position));
+        }
+        return matcher.group(3).equals("*") ? -1 : Long.parseLong(matcher.group(3));
+    }
+}
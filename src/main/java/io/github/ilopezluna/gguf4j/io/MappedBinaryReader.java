@@ -0,0 +1,191 @@
+package io.github.ilopezluna.gguf4j.io;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary reader that decodes little-endian values directly from a memory-mapped file.
+ * Reads are plain loads from the mapping, so no system call or buffer allocation is
+ * needed per value.
+ */
+public class MappedBinaryReader extends BinaryReader {
+    private static final ValueLayout.OfShort SHORT = ValueLayout.JAVA_SHORT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfFloat FLOAT = ValueLayout.JAVA_FLOAT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfDouble DOUBLE = ValueLayout.JAVA_DOUBLE_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private final MemorySegment segment;
+    private final Arena arena;
+    private long position = 0;
+
+    /**
+     * Create a reader over an existing segment. The caller owns the segment's lifetime.
+     */
+    public MappedBinaryReader(MemorySegment segment) {
+        this(segment, null);
+    }
+
+    private MappedBinaryReader(MemorySegment segment, Arena arena) {
+        super(ByteOrder.LITTLE_ENDIAN);
+        this.segment = segment;
+        this.arena = arena;
+    }
+
+    /**
+     * Map a whole file read-only. The mapping is released when the reader is closed.
+     */
+    public static MappedBinaryReader open(Path filePath) throws IOException {
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            Arena arena = Arena.ofConfined();
+            try {
+                MemorySegment segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+                return new MappedBinaryReader(segment, arena);
+            } catch (IOException | RuntimeException e) {
+                arena.close();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Get the underlying segment.
+     */
+    public MemorySegment getSegment() {
+        return segment;
+    }
+
+    @Override
+    public long getPosition() {
+        return position;
+    }
+
+    /**
+     * Get the number of bytes left in the mapping.
+     */
+    public long remaining() {
+        return segment.byteSize() - position;
+    }
+
+    private long advance(long length) throws IOException {
+        if (length < 0 || length > remaining()) {
+            throw new IOException("Unexpected end of stream");
+        }
+        long offset = position;
+        position += length;
+        return offset;
+    }
+
+    @Override
+    public byte readByte() throws IOException {
+        return segment.get(ValueLayout.JAVA_BYTE, advance(1));
+    }
+
+    @Override
+    public byte[] readBytes(int length) throws IOException {
+        long offset = advance(length);
+        byte[] buffer = new byte[length];
+        MemorySegment.copy(segment, ValueLayout.JAVA_BYTE, offset, buffer, 0, length);
+        return buffer;
+    }
+
+    @Override
+    public void readFully(byte[] buffer, int offset, int length) throws IOException {
+        MemorySegment.copy(segment, ValueLayout.JAVA_BYTE, advance(length), buffer, offset, length);
+    }
+
+    @Override
+    public int readUInt16() throws IOException {
+        return segment.get(SHORT, advance(2)) & 0xFFFF;
+    }
+
+    @Override
+    public short readInt16() throws IOException {
+        return segment.get(SHORT, advance(2));
+    }
+
+    @Override
+    public long readUInt32() throws IOException {
+        return segment.get(INT, advance(4)) & 0xFFFFFFFFL;
+    }
+
+    @Override
+    public int readInt32() throws IOException {
+        return segment.get(INT, advance(4));
+    }
+
+    @Override
+    public long readUInt64() throws IOException {
+        long value = segment.get(LONG, advance(8));
+        if (value < 0) {
+            throw new IOException("Unsigned 64-bit integer overflow");
+        }
+        return value;
+    }
+
+    @Override
+    public long readInt64() throws IOException {
+        return segment.get(LONG, advance(8));
+    }
+
+    @Override
+    public float readFloat32() throws IOException {
+        return segment.get(FLOAT, advance(4));
+    }
+
+    @Override
+    public double readFloat64() throws IOException {
+        return segment.get(DOUBLE, advance(8));
+    }
+
+    @Override
+    public void readInts(int[] dst, int offset, int length) throws IOException {
+        MemorySegment.copy(segment, INT, advance(4L * length), dst, offset, length);
+    }
+
+    @Override
+    public void readLongs(long[] dst, int offset, int length) throws IOException {
+        MemorySegment.copy(segment, LONG, advance(8L * length), dst, offset, length);
+    }
+
+    @Override
+    public void readFloats(float[] dst, int offset, int length) throws IOException {
+        MemorySegment.copy(segment, FLOAT, advance(4L * length), dst, offset, length);
+    }
+
+    @Override
+    public void readDoubles(double[] dst, int offset, int length) throws IOException {
+        MemorySegment.copy(segment, DOUBLE, advance(8L * length), dst, offset, length);
+    }
+
+    @Override
+    public String readString() throws IOException {
+        long length = readUInt64();
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("String too long: " + length);
+        }
+        return new String(readBytes((int) length), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void skip(long bytes) throws IOException {
+        advance(bytes);
+    }
+
+    /**
+     * Release the mapping if this reader created it.
+     */
+    @Override
+    public void close() {
+        if (arena != null) {
+            arena.close();
+        }
+    }
+}
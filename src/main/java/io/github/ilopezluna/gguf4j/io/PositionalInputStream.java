@@ -0,0 +1,56 @@
+package io.github.ilopezluna.gguf4j.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+
+/**
+ * Sequential view of a {@link PositionalSource}. Skips are resolved without reading.
+ */
+final class PositionalInputStream extends InputStream {
+    private final PositionalSource source;
+    private long position;
+
+    PositionalInputStream(PositionalSource source, long position) {
+        if (position < 0) {
+            throw new IllegalArgumentException("Position cannot be negative: " + position);
+        }
+        this.source = source;
+        this.position = position;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] single = new byte[1];
+        return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        Objects.checkFromIndexSize(offset, length, buffer.length);
+        if (length == 0) {
+            return 0;
+        }
+        int read = source.read(position, buffer, offset, length);
+        if (read > 0) {
+            position += read;
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        if (n <= 0) {
+            return 0;
+        }
+        long size = source.size();
+        long skipped = size < 0 ? n : Math.max(0, Math.min(n, size - position));
+        position += skipped;
+        return skipped;
+    }
+
+    @Override
+    public void close() {
+        // The source is owned by whoever opened the stream
+    }
+}
@@ -0,0 +1,64 @@
+package io.github.ilopezluna.gguf4j.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Random access to the bytes of a file that may not be local, such as a model behind an HTTP server.
+ * A {@link BinaryReader} reads from it through {@link #openStream(long)}; skipped bytes are never fetched.
+ * Implementations must allow concurrent reads.
+ */
+public interface PositionalSource extends Closeable {
+
+    /**
+     * Read up to {@code length} bytes starting at an absolute position.
+     *
+     * @return the number of bytes read, at least one unless {@code length} is zero,
+     *         or -1 if the position is at or past the end
+     */
+    int read(long position, byte[] buffer, int offset, int length) throws IOException;
+
+    /**
+     * Get the total size in bytes, or -1 if it is not known yet.
+     */
+    long size() throws IOException;
+
+    /**
+     * Open a stream that reads sequentially from a position. Skipping on the stream only moves
+     * its position. Closing the stream leaves the source open.
+     */
+    default InputStream openStream(long position) {
+        return new PositionalInputStream(this, position);
+    }
+
+    /**
+     * Create a source over a local file.
+     */
+    static PositionalSource of(Path filePath) throws IOException {
+        FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ);
+        return new PositionalSource() {
+            @Override
+            public int read(long position, byte[] buffer, int offset, int length) throws IOException {
+                if (length == 0) {
+                    return 0;
+                }
+                return channel.read(ByteBuffer.wrap(buffer, offset, length), position);
+            }
+
+            @Override
+            public long size() throws IOException {
+                return channel.size();
+            }
+
+            @Override
+            public void close() throws IOException {
+                channel.close();
+            }
+        };
+    }
+}
@@ -0,0 +1,16 @@
+package io.github.ilopezluna.gguf4j.quant;
+
+import java.lang.foreign.MemorySegment;
+
+/**
+ * Decodes consecutive blocks of one quantization format into floats.
+ */
+@FunctionalInterface
+interface BlockDequantizer {
+
+    /**
+     * Dequantize {@code blockCount} blocks starting at {@code srcOffset} into {@code dst}
+     * starting at {@code dstOffset}.
+     */
+    void dequantize(MemorySegment src, long srcOffset, float[] dst, int dstOffset, int blockCount);
+}
@@ -0,0 +1,15 @@
+package io.github.ilopezluna.gguf4j.quant;
+
+import java.lang.foreign.MemorySegment;
+
+/**
+ * Computes the dot product of consecutive blocks of one quantization format with floats.
+ */
+@FunctionalInterface
+interface BlockDot {
+
+    /**
+     * Dot {@code blockCount} blocks starting at {@code srcOffset} with {@code x} starting at {@code xOffset}.
+     */
+    float dot(MemorySegment src, long srcOffset, float[] x, int xOffset, int blockCount);
+}
@@ -0,0 +1,16 @@
+package io.github.ilopezluna.gguf4j.quant;
+
+import java.lang.foreign.MemorySegment;
+
+/**
+ * Encodes floats into consecutive blocks of one quantization format.
+ */
+@FunctionalInterface
+interface BlockQuantizer {
+
+    /**
+     * Quantize {@code blockCount} blocks of floats starting at {@code srcOffset} into {@code dst}
+     * starting at {@code dstOffset}.
+     */
+    void quantize(float[] src, int srcOffset, MemorySegment dst, long dstOffset, int blockCount);
+}
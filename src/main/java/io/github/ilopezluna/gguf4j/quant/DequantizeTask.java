@@ -0,0 +1,82 @@
+package io.github.ilopezluna.gguf4j.quant;
+
+import io.github.ilopezluna.gguf4j.scalar.GGMLType;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Dequantizes a range of blocks, halving the range into subtasks until it is no larger
+ * than the leaf size. Each leaf writes its own slice of a shared destination, so
+ * subtasks never touch the same elements.
+ */
+final class DequantizeTask extends RecursiveAction {
+    private static final ValueLayout.OfFloat FLOAT_LE = ValueLayout.JAVA_FLOAT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final int SCRATCH_ELEMENTS = 16 * 1024;
+
+    private final BlockDequantizer kernel;
+    private final GGMLType type;
+    private final MemorySegment src;
+    private final float[] dstArray;
+    private final int dstOffset;
+    private final MemorySegment dstSegment;
+    private final long firstBlock;
+    private final long blockCount;
+    private final long leafBlocks;
+
+    private DequantizeTask(BlockDequantizer kernel, GGMLType type, MemorySegment src,
+                           float[] dstArray, int dstOffset, MemorySegment dstSegment,
+                           long firstBlock, long blockCount, long leafBlocks) {
+        this.kernel = kernel;
+        this.type = type;
+        this.src = src;
+        this.dstArray = dstArray;
+        this.dstOffset = dstOffset;
+        this.dstSegment = dstSegment;
+        this.firstBlock = firstBlock;
+        this.blockCount = blockCount;
+        this.leafBlocks = leafBlocks;
+    }
+
+    /**
+     * Create a task writing {@code blockCount} blocks into {@code dst} starting at {@code dstOffset}.
+     */
+    static DequantizeTask toArray(BlockDequantizer kernel, GGMLType type, MemorySegment src,
+                                  float[] dst, int dstOffset, long blockCount, long leafBlocks) {
+        return new DequantizeTask(kernel, type, src, dst, dstOffset, null, 0, blockCount, leafBlocks);
+    }
+
+    /**
+     * Create a task writing {@code blockCount} blocks into an F32 segment.
+     */
+    static DequantizeTask toSegment(BlockDequantizer kernel, GGMLType type, MemorySegment src,
+                                    MemorySegment dst, long blockCount, long leafBlocks) {
+        return new DequantizeTask(kernel, type, src, null, 0, dst, 0, blockCount, leafBlocks);
+    }
+
+    @Override
+    protected void compute() {
+        if (blockCount > leafBlocks) {
+            long half = blockCount / 2;
+            invokeAll(
+                new DequantizeTask(kernel, type, src, dstArray, dstOffset, dstSegment, firstBlock, half, leafBlocks),
+                new DequantizeTask(kernel, type, src, dstArray, dstOffset, dstSegment, firstBlock + half, blockCount - half, leafBlocks));
+            return;
+        }
+        long srcOffset = firstBlock * type.getTypeSize();
+        if (dstArray != null) {
+            kernel.dequantize(src, srcOffset, dstArray, dstOffset + (int) (firstBlock * type.getBlockSize()), (int) blockCount);
+            return;
+        }
+        int blockSize = type.getBlockSize();
+        int scratchBlocks = Math.max(1, SCRATCH_ELEMENTS / blockSize);
+        float[] scratch = new float[(int) Math.min(scratchBlocks, blockCount) * blockSize];
+        for (long done = 0; done < blockCount; done += scratchBlocks) {
+            int n = (int) Math.min(scratchBlocks, blockCount - done);
+            kernel.dequantize(src, srcOffset + done * type.getTypeSize(), scratch, 0, n);
+            MemorySegment.copy(scratch, 0, dstSegment, FLOAT_LE, (firstBlock + done) * blockSize * Float.BYTES, n * blockSize);
+        }
+    }
+}
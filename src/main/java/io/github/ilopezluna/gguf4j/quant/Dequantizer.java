@@ -0,0 +1,213 @@
+package io.github.ilopezluna.gguf4j.quant;
+
+import io.github.ilopezluna.gguf4j.core.GGUFModel;
+import io.github.ilopezluna.gguf4j.core.GGUFTensorInfo;
+import io.github.ilopezluna.gguf4j.scalar.GGMLType;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Dequantizes GGML block formats, and widens F16 and BF16 data, into 32-bit floats.
+ * <p>
+ * Kernels use the {@code jdk.incubator.vector} API when the module is present
+ * (run with {@code --add-modules jdk.incubator.vector}) and fall back to portable
+ * scalar code otherwise. Set {@code -Dgguf4j.vector=false} to force the scalar kernels.
+ */
+public final class Dequantizer {
+    private static final ValueLayout.OfFloat FLOAT_LE = ValueLayout.JAVA_FLOAT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final int CHUNK_ELEMENTS = 16 * 1024;
+    private static final int MIN_PARALLEL_CHUNK_ELEMENTS = 64 * 1024;
+
+    private static final boolean VECTORIZED = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+            && Boolean.parseBoolean(System.getProperty("gguf4j.vector", "true"))
+            && VectorKernels.isUsable();
+
+    private static final Map<GGMLType, BlockDequantizer> KERNELS = new EnumMap<>(GGMLType.class);
+
+    static {
+        for (GGMLType type : GGMLType.values()) {
+            BlockDequantizer kernel = VECTORIZED ? VectorKernels.forType(type) : null;
+            if (kernel == null) {
+                kernel = ScalarKernels.forType(type);
+            }
+            if (kernel != null) {
+                KERNELS.put(type, kernel);
+            }
+        }
+    }
+
+    private Dequantizer() {
+        // Utility class
+    }
+
+    /**
+     * Check if a type can be dequantized.
+     */
+    public static boolean isSupported(GGMLType type) {
+        return KERNELS.containsKey(type);
+    }
+
+    /**
+     * Check if the Vector API kernels are in use.
+     */
+    public static boolean isVectorized() {
+        return VECTORIZED;
+    }
+
+    /**
+     * Dequantize the data of a tensor from a model.
+     */
+    public static float[] dequantize(GGUFModel model, GGUFTensorInfo tensor) {
+        return dequantize(model.tensorData(tensor), tensor.type(), tensor.getElementCount());
+    }
+
+    /**
+     * Dequantize {@code elementCount} elements into a new array.
+     */
+    public static float[] dequantize(MemorySegment src, GGMLType type, long elementCount) {
+        if (elementCount > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many elements for a float array: " + elementCount);
+        }
+        float[] dst = new float[(int) elementCount];
+        dequantize(src, type, dst, 0, (int) elementCount);
+        return dst;
+    }
+
+    /**
+     * Dequantize {@code elementCount} elements into {@code dst} starting at {@code dstOffset}.
+     */
+    public static void dequantize(MemorySegment src, GGMLType type, float[] dst, int dstOffset, int elementCount) {
+        BlockDequantizer kernel = kernel(type);
+        int blocks = (int) blockCount(src, type, elementCount);
+        if (dstOffset < 0 || dstOffset > dst.length - elementCount) {
+            throw new IndexOutOfBoundsException("Destination too small for " + elementCount + " elements");
+        }
+        kernel.dequantize(src, 0, dst, dstOffset, blocks);
+    }
+
+    /**
+     * Dequantize {@code elementCount} elements into an off-heap F32 segment.
+     */
+    public static void dequantize(MemorySegment src, GGMLType type, MemorySegment dst, long elementCount) {
+        BlockDequantizer kernel = kernel(type);
+        long blocks = blockCount(src, type, elementCount);
+        if (dst.byteSize() < elementCount * Float.BYTES) {
+            throw new IndexOutOfBoundsException("Destination too small for " + elementCount + " elements");
+        }
+        int blockSize = type.getBlockSize();
+        int chunkBlocks = Math.max(1, CHUNK_ELEMENTS / blockSize);
+        float[] scratch = new float[chunkBlocks * blockSize];
+        for (long block = 0; block < blocks; block += chunkBlocks) {
+            int n = (int) Math.min(chunkBlocks, blocks - block);
+            kernel.dequantize(src, block * type.getTypeSize(), scratch, 0, n);
+            MemorySegment.copy(scratch, 0, dst, FLOAT_LE, block * blockSize * Float.BYTES, n * blockSize);
+        }
+    }
+
+    /**
+     * Dequantize the data of a tensor in parallel on the common fork/join pool.
+     */
+    public static float[] dequantizeParallel(GGUFModel model, GGUFTensorInfo tensor) {
+        return dequantizeParallel(model, tensor, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Dequantize the data of a tensor in parallel on the given pool.
+     */
+    public static float[] dequantizeParallel(GGUFModel model, GGUFTensorInfo tensor, ForkJoinPool pool) {
+        long elementCount = tensor.getElementCount();
+        if (elementCount > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many elements for a float array: " + elementCount);
+        }
+        float[] dst = new float[(int) elementCount];
+        dequantizeParallel(model.tensorData(tensor), tensor.type(), dst, 0, (int) elementCount, pool);
+        return dst;
+    }
+
+    /**
+     * Dequantize the data of a tensor in parallel into an off-heap F32 segment.
+     */
+    public static void dequantizeParallel(GGUFModel model, GGUFTensorInfo tensor, MemorySegment dst, ForkJoinPool pool) {
+        dequantizeParallel(model.tensorData(tensor), tensor.type(), dst, tensor.getElementCount(), pool);
+    }
+
+    /**
+     * Like {@link #dequantize(MemorySegment, GGMLType, float[], int, int)}, but splits the work
+     * into block-aligned chunks that run in parallel on the common fork/join pool.
+     * The source segment must be accessible from any thread, e.g. allocated by a shared arena.
+     */
+    public static void dequantizeParallel(MemorySegment src, GGMLType type, float[] dst, int dstOffset, int elementCount) {
+        dequantizeParallel(src, type, dst, dstOffset, elementCount, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Like {@link #dequantizeParallel(MemorySegment, GGMLType, float[], int, int)}, running on the given pool.
+     */
+    public static void dequantizeParallel(MemorySegment src, GGMLType type, float[] dst, int dstOffset, int elementCount,
+                                          ForkJoinPool pool) {
+        BlockDequantizer kernel = kernel(type);
+        long blocks = blockCount(src, type, elementCount);
+        if (dstOffset < 0 || dstOffset > dst.length - elementCount) {
+            throw new IndexOutOfBoundsException("Destination too small for " + elementCount + " elements");
+        }
+        pool.invoke(DequantizeTask.toArray(kernel, type, src, dst, dstOffset, blocks, leafBlocks(type, blocks, pool)));
+    }
+
+    /**
+     * Like {@link #dequantize(MemorySegment, GGMLType, MemorySegment, long)}, but splits the work
+     * into block-aligned chunks that run in parallel on the common fork/join pool.
+     * Both segments must be accessible from any thread, e.g. allocated by a shared arena.
+     */
+    public static void dequantizeParallel(MemorySegment src, GGMLType type, MemorySegment dst, long elementCount) {
+        dequantizeParallel(src, type, dst, elementCount, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Like {@link #dequantizeParallel(MemorySegment, GGMLType, MemorySegment, long)}, running on the given pool.
+     */
+    public static void dequantizeParallel(MemorySegment src, GGMLType type, MemorySegment dst, long elementCount,
+                                          ForkJoinPool pool) {
+        BlockDequantizer kernel = kernel(type);
+        long blocks = blockCount(src, type, elementCount);
+        if (dst.byteSize() < elementCount * Float.BYTES) {
+            throw new IndexOutOfBoundsException("Destination too small for " + elementCount + " elements");
+        }
+        pool.invoke(DequantizeTask.toSegment(kernel, type, src, dst, blocks, leafBlocks(type, blocks, pool)));
+    }
+
+    /**
+     * Pick a leaf size giving each worker several chunks to balance load, without
+     * going below a size where task overhead would dominate.
+     */
+    private static long leafBlocks(GGMLType type, long blocks, ForkJoinPool pool) {
+        long minBlocks = Math.max(1, MIN_PARALLEL_CHUNK_ELEMENTS / type.getBlockSize());
+        long perWorker = (blocks + 4L * pool.getParallelism() - 1) / (4L * pool.getParallelism());
+        return Math.max(minBlocks, perWorker);
+    }
+
+    static BlockDequantizer kernel(GGMLType type) {
+        BlockDequantizer kernel = KERNELS.get(type);
+        if (kernel == null) {
+            throw new UnsupportedOperationException("Dequantization not supported for type: " + type);
+        }
+        return kernel;
+    }
+
+    private static long blockCount(MemorySegment src, GGMLType type, long elementCount) {
+        if (elementCount < 0 || elementCount % type.getBlockSize() != 0) {
+            throw new IllegalArgumentException(String.format(
+                "Element count %d is not a multiple of the %s block size %d", elementCount, type, type.getBlockSize()));
+        }
+        long blocks = elementCount / type.getBlockSize();
+        if (src.byteSize() < blocks * type.getTypeSize()) {
+            throw new IllegalArgumentException(String.format(
+                "Source holds %d bytes but %d %s elements need %d", src.byteSize(), elementCount, type, blocks * type.getTypeSize()));
+        }
+        return blocks;
+    }
+}
@@ -0,0 +1,134 @@
+package io.github.ilopezluna.gguf4j.quant;
+
+import io.github.ilopezluna.gguf4j.core.GGUFModel;
+import io.github.ilopezluna.gguf4j.core.GGUFTensorInfo;
+import io.github.ilopezluna.gguf4j.scalar.GGMLType;
+
+import java.lang.foreign.MemorySegment;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Dot products and matrix-vector products over quantized weights, read straight from
+ * the blocks of a mapped tensor without dequantizing it first.
+ * <p>
+ * A weight tensor with dimensions {@code [cols, rows]} is treated as {@code rows} rows
+ * of {@code cols} elements, the ggml convention, so {@code out = W x} has one entry per row.
+ * Kernels use the Vector API under the same conditions as {@link Dequantizer}.
+ */
+public final class MatVec {
+    private static final int MIN_PARALLEL_ELEMENTS = 64 * 1024;
+
+    private static final Map<GGMLType, BlockDot> KERNELS = new EnumMap<>(GGMLType.class);
+
+    static {
+        for (GGMLType type : GGMLType.values()) {
+            BlockDot kernel = Dequantizer.isVectorized() ? VectorDotKernels.forType(type) : null;
+            if (kernel == null) {
+                kernel = ScalarDotKernels.forType(type);
+            }
+            if (kernel != null) {
+                KERNELS.put(type, kernel);
+            }
+        }
+    }
+
+    private MatVec() {
+        // Utility class
+    }
+
+    /**
+     * Check if a weight type has dot-product kernels.
+     */
+    public static boolean isSupported(GGMLType type) {
+        return KERNELS.containsKey(type);
+    }
+
+    /**
+     * Compute the dot product of {@code n} quantized elements with {@code x} starting at {@code xOffset}.
+     */
+    public static float dot(MemorySegment row, GGMLType type, float[] x, int xOffset, int n) {
+        BlockDot kernel = kernel(type);
+        if (n % type.getBlockSize() != 0) {
+            throw new IllegalArgumentException(String.format(
+                "Length %d is not a multiple of the %s block size %d", n, type, type.getBlockSize()));
+        }
+        if (row.byteSize() < type.getByteSize(n)) {
+            throw new IllegalArgumentException("Row holds " + row.byteSize() + " bytes but needs " + type.getByteSize(n));
+        }
+        if (xOffset < 0 || xOffset > x.length - n) {
+            throw new IndexOutOfBoundsException("Vector too small for " + n + " elements");
+        }
+        return kernel.dot(row, 0, x, xOffset, n / type.getBlockSize());
+    }
+
+    /**
+     * Multiply a weight tensor by {@code x} on the common fork/join pool.
+     */
+    public static float[] matVec(GGUFModel model, GGUFTensorInfo weight, float[] x) {
+        long rows = weight.getElementCount() / columns(weight);
+        if (rows > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many rows: " + rows);
+        }
+        float[] out = new float[(int) rows];
+        matVec(model, weight, x, out, ForkJoinPool.commonPool());
+        return out;
+    }
+
+    /**
+     * Multiply a weight tensor by {@code x} into {@code out}, splitting the rows across the given pool.
+     */
+    public static void matVec(GGUFModel model, GGUFTensorInfo weight, float[] x, float[] out, ForkJoinPool pool) {
+        long cols = columns(weight);
+        long rows = weight.getElementCount() / cols;
+        if (cols > Integer.MAX_VALUE || rows > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Tensor too large: " + weight.getDimensionsString());
+        }
+        matVec(model.tensorData(weight), weight.type(), (int) rows, (int) cols, x, out, pool);
+    }
+
+    /**
+     * Multiply a {@code rows x cols} row-major quantized matrix by {@code x} into {@code out}.
+     * The weights segment must be accessible from the pool's threads, e.g. allocated by a shared arena.
+     */
+    public static void matVec(MemorySegment weights, GGMLType type, int rows, int cols, float[] x, float[] out,
+                              ForkJoinPool pool) {
+        BlockDot kernel = kernel(type);
+        if (cols <= 0) {
+            throw new IllegalArgumentException("Row length must be positive: " + cols);
+        }
+        if (cols % type.getBlockSize() != 0) {
+            throw new IllegalArgumentException(String.format(
+                "Row length %d is not a multiple of the %s block size %d", cols, type, type.getBlockSize()));
+        }
+        long rowBytes = type.getByteSize(cols);
+        if (weights.byteSize() < rowBytes * rows) {
+            throw new IllegalArgumentException(String.format(
+                "Weights hold %d bytes but %d rows need %d", weights.byteSize(), rows, rowBytes * rows));
+        }
+        if (x.length < cols || out.length < rows) {
+            throw new IndexOutOfBoundsException(String.format(
+                "Expected x of at least %d and out of at least %d elements, got %d and %d", cols, rows, x.length, out.length));
+        }
+        int leafRows = (int) Math.max(Math.max(1, MIN_PARALLEL_ELEMENTS / cols),
+            (rows + 4L * pool.getParallelism() - 1) / (4L * pool.getParallelism()));
+        pool.invoke(new MatVecTask(kernel, weights, rowBytes, cols / type.getBlockSize(), x, out, 0, rows, leafRows));
+    }
+
+    private static long columns(GGUFTensorInfo weight) {
+        long cols = weight.dimensions()[0];
+        if (cols <= 0) {
+            throw new IllegalArgumentException("Tensor " + weight.name() + " has no columns: " + weight.getDimensionsString());
+        }
+        return cols;
+    }
+
+    private static BlockDot kernel(GGMLType type) {
+        BlockDot kernel = KERNELS.get(type);
+        if (kernel == null) {
+            throw new UnsupportedOperationException("Dot product not supported for type: " + type);
+        }
+        return kernel;
+    }
+}
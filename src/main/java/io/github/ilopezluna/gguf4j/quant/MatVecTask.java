@@ -0,0 +1,47 @@
+package io.github.ilopezluna.gguf4j.quant;
+
+import java.lang.foreign.MemorySegment;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Computes a range of output rows of a matrix-vector product, halving the range into
+ * subtasks until it is no larger than the leaf size.
+ */
+final class MatVecTask extends RecursiveAction {
+    private final BlockDot kernel;
+    private final MemorySegment weights;
+    private final long rowBytes;
+    private final int blocksPerRow;
+    private final float[] x;
+    private final float[] out;
+    private final int firstRow;
+    private final int rowCount;
+    private final int leafRows;
+
+    MatVecTask(BlockDot kernel, MemorySegment weights, long rowBytes, int blocksPerRow,
+               float[] x, float[] out, int firstRow, int rowCount, int leafRows) {
+        this.kernel = kernel;
+        this.weights = weights;
+        this.rowBytes = rowBytes;
+        this.blocksPerRow = blocksPerRow;
+        this.x = x;
+        this.out = out;
+        this.firstRow = firstRow;
+        this.rowCount = rowCount;
+        this.leafRows = leafRows;
+    }
+
+    @Override
+    protected void compute() {
+        if (rowCount > leafRows) {
+            int half = rowCount / 2;
+            invokeAll(
+                new MatVecTask(kernel, weights, rowBytes, blocksPerRow, x, out, firstRow, half, leafRows),
+                new MatVecTask(kernel, weights, rowBytes, blocksPerRow, x, out, firstRow + half, rowCount - half, leafRows));
+            return;
+        }
+        for (int row = firstRow; row < firstRow + rowCount; row++) {
+            out[row] = kernel.dot(weights, row * rowBytes, x, 0, blocksPerRow);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package io.github.ilopezluna.gguf4j.quant;
+
+import io.github.ilopezluna.gguf4j.scalar.GGMLType;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.Arrays;
+
+import static io.github.ilopezluna.gguf4j.quant.ScalarKernels.SHORT_LE;
+import static io.github.ilopezluna.gguf4j.quant.ScalarKernels.scaleMinK4;
+
+/**
+ * Portable quantization kernels following the ggml reference encoders, so that
+ * files produced here decode the same way as files produced by llama.cpp.
+ */
+final class QuantizeKernels {
+    private static final int QK_K = 256;
+
+    private QuantizeKernels() {
+    }
+
+    /**
+     * Get the kernel for a type, or null if the type is not supported.
+     */
+    static BlockQuantizer forType(GGMLType type) {
+        return switch (type) {
+            case Q8_0 -> QuantizeKernels::quantizeQ8_0;
+            case Q4_0 -> QuantizeKernels::quantizeQ4_0;
+            case Q4_K -> QuantizeKernels::quantizeQ4_K;
+            default -> null;
+        };
+    }
+
+    /**
+     * Round half away from zero, like C {@code roundf}.
+     */
+    static int roundAway(float value) {
+        float magnitude = Math.abs(value);
+        float floor = (float) Math.floor(magnitude);
+        int rounded = (int) floor + (magnitude - floor >= 0.5f ? 1 : 0);
+        return value < 0 ? -rounded : rounded;
+    }
+
+    /**
+     * Round half to even, like ggml's {@code nearest_int}.
+     */
+    static int nearestInt(float value) {
+        return (int) Math.rint(value);
+    }
+
+    private static void putF16(MemorySegment dst, long offset, float value) {
+        dst.set(SHORT_LE, offset, Float.floatToFloat16(value));
+    }
+
+    // Q8_0: d (f16), qs[32]
+    static void quantizeQ8_0(float[] src, int srcOffset, MemorySegment dst, long dstOffset, int blockCount) {
+        for (int b = 0; b < blockCount; b++) {
+            int x = srcOffset + b * 32;
+            long block = dstOffset + (long) b * 34;
+            float amax = 0f;
+            for (int j = 0; j < 32; j++) {
+                amax = Math.max(amax, Math.abs(src[x + j]));
+            }
+            float d = amax / 127;
+            float id = d != 0 ? 1f / d : 0f;
+            putF16(dst, block, d);
+            for (int j = 0; j < 32; j++) {
+                dst.set(ValueLayout.JAVA_BYTE, block + 2 + j, (byte) roundAway(src[x + j] * id));
+            }
+        }
+    }
+
+    // Q4_0: d (f16), qs[16] holding elements j and j + 16 in the low and high nibbles
+    static void quantizeQ4_0(float[] src, int srcOffset, MemorySegment dst, long dstOffset, int blockCount) {
+        for (int b = 0; b < blockCount; b++) {
+            int x = srcOffset + b * 32;
+            long block = dstOffset + (long) b * 18;
+            float amax = 0f;
+            float max = 0f;
+            for (int j = 0; j < 32; j++) {
+                float v = src[x + j];
+                if (amax < Math.abs(v)) {
+                    amax = Math.abs(v);
+                    max = v;
+                }
+            }
+            float d = max / -8;
+            float id = d != 0 ? 1f / d : 0f;
+            putF16(dst, block, d);
+            for (int j = 0; j < 16; j++) {
+                int lo = Math.min(15, (int) (src[x + j] * id + 8.5f));
+                int hi = Math.min(15, (int) (src[x + j + 16] * id + 8.5f));
+                dst.set(ValueLayout.JAVA_BYTE, block + 2 + j, (byte) (lo | (hi << 4)));
+            }
+        }
+    }
+
+    // Q4_K: d (f16), dmin (f16), scales[12], qs[128]
+    static void quantizeQ4_K(float[] src, int srcOffset, MemorySegment dst, long dstOffset, int blockCount) {
+        byte[] levels = new byte[QK_K];
+        byte[] aux = new byte[32];
+        float[] weights = new float[32];
+        float[] scales = new float[8];
+        float[] mins = new float[8];
+        byte[] packed = new byte[12];
+        int[] sm = new int[2];
+        for (int b = 0; b < blockCount; b++) {
+            int x = srcOffset + b * QK_K;
+            long block = dstOffset + (long) b * 144;
+
+            float maxScale = 0f;
+            float maxMin = 0f;
+            for (int j = 0; j < 8; j++) {
+                int xj = x + 32 * j;
+                float sumX2 = 0f;
+                for (int l = 0; l < 32; l++) {
+                    sumX2 += src[xj + l] * src[xj + l];
+                }
+                float avX = (float) Math.sqrt(sumX2 / 32);
+                for (int l = 0; l < 32; l++) {
+                    weights[l] = avX + Math.abs(src[xj + l]);
+                }
+                scales[j] = makeQkx2Quants(32, 15, src, xj, weights, levels, 32 * j, mins, j, aux, -1f, 0.1f, 20);
+                maxScale = Math.max(maxScale, scales[j]);
+                maxMin = Math.max(maxMin, mins[j]);
+            }
+
+            float invScale = maxScale > 0 ? 63f / maxScale : 0f;
+            float invMin = maxMin > 0 ? 63f / maxMin : 0f;
+            Arrays.fill(packed, (byte) 0);
+            for (int j = 0; j < 8; j++) {
+                int ls = Math.min(63, nearestInt(invScale * scales[j]) & 0xFF);
+                int lm = Math.min(63, nearestInt(invMin * mins[j]) & 0xFF);
+                if (j < 4) {
+                    packed[j] = (byte) ls;
+                    packed[j + 4] = (byte) lm;
+                } else {
+                    packed[j + 4] = (byte) ((ls & 0x0F) | ((lm & 0x0F) << 4));
+                    packed[j - 4] |= (byte) ((ls >> 4) << 6);
+                    packed[j] |= (byte) ((lm >> 4) << 6);
+                }
+            }
+            putF16(dst, block, maxScale / 63f);
+            putF16(dst, block + 2, maxMin / 63f);
+            MemorySegment.copy(packed, 0, dst, ValueLayout.JAVA_BYTE, block + 4, 12);
+
+            float d = ScalarKernels.f16(dst, block);
+            float dmin = ScalarKernels.f16(dst, block + 2);
+            for (int j = 0; j < 8; j++) {
+                scaleMinK4(dst, block + 4, j, sm);
+                float dj = d * sm[0];
+                if (dj == 0) {
+                    continue;
+                }
+                float mj = dmin * sm[1];
+                for (int l = 0; l < 32; l++) {
+                    int q = nearestInt((src[x + 32 * j + l] + mj) / dj);
+                    levels[32 * j + l] = (byte) Math.max(0, Math.min(15, q));
+                }
+            }
+
+            for (int j = 0; j < QK_K; j += 64) {
+                for (int l = 0; l < 32; l++) {
+                    dst.set(ValueLayout.JAVA_BYTE, block + 16 + j / 2 + l, (byte) (levels[j + l] | (levels[j + l + 32] << 4)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Weighted search for the scale and min of an asymmetric quantization of {@code n} values to
+     * {@code [0, nmax]}, refining the initial min/max fit over {@code nstep} candidate scales.
+     * Writes the levels to {@code levels} and the negated min to {@code mins[minIndex]}.
+     */
+    static float makeQkx2Quants(int n, int nmax, float[] x, int xOffset, float[] weights,
+                                byte[] levels, int levelOffset, float[] mins, int minIndex,
+                                byte[] aux, float rmin, float rdelta, int nstep) {
+        float min = x[xOffset];
+        float max = x[xOffset];
+        float sumW = weights[0];
+        float sumX = sumW * x[xOffset];
+        for (int i = 1; i < n; i++) {
+            float v = x[xOffset + i];
+            if (v < min) {
+                min = v;
+            }
+            if (v > max) {
+                max = v;
+            }
+            float w = weights[i];
+            sumW += w;
+            sumX += w * v;
+        }
+        if (min > 0) {
+            min = 0;
+        }
+        if (max == min) {
+            Arrays.fill(levels, levelOffset, levelOffset + n, (byte) 0);
+            mins[minIndex] = -min;
+            return 0f;
+        }
+        float iscale = nmax / (max - min);
+        float scale = 1 / iscale;
+        float bestError = 0f;
+        for (int i = 0; i < n; i++) {
+            int l = Math.max(0, Math.min(nmax, nearestInt(iscale * (x[xOffset + i] - min))));
+            levels[levelOffset + i] = (byte) l;
+            float diff = scale * l + min - x[xOffset + i];
+            bestError += weights[i] * (diff * diff);
+        }
+        for (int step = 0; step <= nstep; step++) {
+            iscale = (rmin + rdelta * step + nmax) / (max - min);
+            float sumL = 0f;
+            float sumL2 = 0f;
+            float sumXL = 0f;
+            for (int i = 0; i < n; i++) {
+                int l = Math.max(0, Math.min(nmax, nearestInt(iscale * (x[xOffset + i] - min))));
+                aux[i] = (byte) l;
+                float w = weights[i];
+                sumL += w * l;
+                sumL2 += w * l * l;
+                sumXL += w * l * x[xOffset + i];
+            }
+            float det = sumW * sumL2 - sumL * sumL;
+            if (det > 0) {
+                float thisScale = (sumW * sumXL - sumX * sumL) / det;
+                float thisMin = (sumL2 * sumX - sumL * sumXL) / det;
+                if (thisMin > 0) {
+                    thisMin = 0;
+                    thisScale = sumXL / sumL2;
+                }
+                float error = 0f;
+                for (int i = 0; i < n; i++) {
+                    float diff = thisScale * aux[i] + thisMin - x[xOffset + i];
+                    error += weights[i] * (diff * diff);
+                }
+                if (error < bestError) {
+                    System.arraycopy(aux, 0, levels, levelOffset, n);
+                    bestError = error;
+                    scale = thisScale;
+                    min = thisMin;
+                }
+            }
+        }
+        mins[minIndex] = -min;
+        return scale;
+    }
+}
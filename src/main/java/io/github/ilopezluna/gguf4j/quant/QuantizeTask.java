@@ -0,0 +1,78 @@
+package io.github.ilopezluna.gguf4j.quant;
+
+import io.github.ilopezluna.gguf4j.scalar.GGMLType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Quantizes a range of output blocks of a tensor into a file, halving the range into
+ * subtasks until it is no larger than the leaf size. Each leaf reads its own slice of the
+ * source, converts it through fixed-size scratch buffers and writes the result at its own
+ * file position, so memory use does not depend on the tensor size.
+ */
+final class QuantizeTask extends RecursiveAction {
+    private static final int SCRATCH_ELEMENTS = 16 * 1024;
+
+    private final BlockDequantizer reader;
+    private final GGMLType srcType;
+    private final MemorySegment src;
+    private final BlockQuantizer writer;
+    private final GGMLType dstType;
+    private final FileChannel channel;
+    private final long dstPosition;
+    private final long firstBlock;
+    private final long blockCount;
+    private final long leafBlocks;
+
+    QuantizeTask(BlockDequantizer reader, GGMLType srcType, MemorySegment src,
+                 BlockQuantizer writer, GGMLType dstType, FileChannel channel, long dstPosition,
+                 long firstBlock, long blockCount, long leafBlocks) {
+        this.reader = reader;
+        this.srcType = srcType;
+        this.src = src;
+        this.writer = writer;
+        this.dstType = dstType;
+        this.channel = channel;
+        this.dstPosition = dstPosition;
+        this.firstBlock = firstBlock;
+        this.blockCount = blockCount;
+        this.leafBlocks = leafBlocks;
+    }
+
+    @Override
+    protected void compute() {
+        if (blockCount > leafBlocks) {
+            long half = blockCount / 2;
+            invokeAll(
+                new QuantizeTask(reader, srcType, src, writer, dstType, channel, dstPosition, firstBlock, half, leafBlocks),
+                new QuantizeTask(reader, srcType, src, writer, dstType, channel, dstPosition, firstBlock + half, blockCount - half, leafBlocks));
+            return;
+        }
+        int blockSize = dstType.getBlockSize();
+        int srcBlocksPerBlock = blockSize / srcType.getBlockSize();
+        int scratchBlocks = (int) Math.min(Math.max(1, SCRATCH_ELEMENTS / blockSize), blockCount);
+        float[] scratch = new float[scratchBlocks * blockSize];
+        byte[] out = new byte[scratchBlocks * dstType.getTypeSize()];
+        MemorySegment outSegment = MemorySegment.ofArray(out);
+        try {
+            for (long done = 0; done < blockCount; done += scratchBlocks) {
+                int n = (int) Math.min(scratchBlocks, blockCount - done);
+                long block = firstBlock + done;
+                reader.dequantize(src, block * srcBlocksPerBlock * srcType.getTypeSize(), scratch, 0, n * srcBlocksPerBlock);
+                writer.quantize(scratch, 0, outSegment, 0, n);
+                ByteBuffer buffer = ByteBuffer.wrap(out, 0, n * dstType.getTypeSize());
+                long position = dstPosition + block * dstType.getTypeSize();
+                while (buffer.hasRemaining()) {
+                    position += channel.write(buffer, position);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package io.github.ilopezluna.gguf4j.quant;
+
+import io.github.ilopezluna.gguf4j.core.GGUFConstants;
+import io.github.ilopezluna.gguf4j.core.GGUFFile;
+import io.github.ilopezluna.gguf4j.core.GGUFMetadata;
+import io.github.ilopezluna.gguf4j.core.GGUFMetadataValue;
+import io.github.ilopezluna.gguf4j.core.GGUFModel;
+import io.github.ilopezluna.gguf4j.core.GGUFTensorInfo;
+import io.github.ilopezluna.gguf4j.core.GGUFWriter;
+import io.github.ilopezluna.gguf4j.core.TensorSource;
+import io.github.ilopezluna.gguf4j.scalar.GGMLType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.MemorySegment;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Quantizes 32-bit floats into GGML block formats, and requantizes whole GGUF files.
+ * <p>
+ * File quantization streams: each tensor is read from the mapped source, converted in
+ * parallel through fixed-size scratch buffers and written straight to the target, so memory
+ * use is bounded by the pool size rather than the model size.
+ */
+public final class Quantizer {
+    private static final int MIN_PARALLEL_CHUNK_ELEMENTS = 64 * 1024;
+    private static final int QUANTIZATION_VERSION = 2;
+
+    private static final Map<GGMLType, BlockQuantizer> KERNELS = new EnumMap<>(GGMLType.class);
+
+    static {
+        for (GGMLType type : GGMLType.values()) {
+            BlockQuantizer kernel = QuantizeKernels.forType(type);
+            if (kernel != null) {
+                KERNELS.put(type, kernel);
+            }
+        }
+    }
+
+    private Quantizer() {
+        // Utility class
+    }
+
+    /**
+     * Check if a type can be produced by quantization.
+     */
+    public static boolean isSupported(GGMLType type) {
+        return KERNELS.containsKey(type);
+    }
+
+    /**
+     * Quantize {@code elementCount} floats starting at {@code srcOffset} into {@code dst}.
+     */
+    public static void quantize(float[] src, int srcOffset, GGMLType type, MemorySegment dst, int elementCount) {
+        BlockQuantizer kernel = kernel(type);
+        if (elementCount < 0 || elementCount % type.getBlockSize() != 0) {
+            throw new IllegalArgumentException(String.format(
+                "Element count %d is not a multiple of the %s block size %d", elementCount, type, type.getBlockSize()));
+        }
+        if (srcOffset < 0 || srcOffset > src.length - elementCount) {
+            throw new IndexOutOfBoundsException("Source too small for " + elementCount + " elements");
+        }
+        if (dst.byteSize() < type.getByteSize(elementCount)) {
+            throw new IndexOutOfBoundsException("Destination too small for " + elementCount + " " + type + " elements");
+        }
+        kernel.quantize(src, srcOffset, dst, 0, elementCount / type.getBlockSize());
+    }
+
+    /**
+     * Check if a tensor would be quantized to the given type when requantizing a file.
+     * Only F32, F16 and BF16 weight matrices whose rows split into whole blocks are
+     * quantized; norms, biases and other vectors are copied unchanged.
+     */
+    public static boolean shouldQuantize(GGUFTensorInfo tensor, GGMLType type) {
+        return switch (tensor.type()) {
+            case F32, F16, BF16 -> tensor.isWeight()
+                    && tensor.getDimensionCount() >= 2
+                    && tensor.dimensions()[0] % type.getBlockSize() == 0;
+            default -> false;
+        };
+    }
+
+    /**
+     * Requantize a GGUF file on the common fork/join pool.
+     *
+     * @see #quantize(Path, Path, GGMLType, ForkJoinPool)
+     */
+    public static GGUFFile quantize(Path source, Path target, GGMLType type) throws IOException {
+        return quantize(source, target, type, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Write a copy of a GGUF file with its floating point weight matrices quantized to the
+     * given type and {@code general.file_type} updated. Other tensors are copied unchanged.
+     *
+     * @return the file as written
+     */
+    public static GGUFFile quantize(Path source, Path target, GGMLType type, ForkJoinPool pool) throws IOException {
+        BlockQuantizer kernel = kernel(type);
+        try (GGUFModel model = GGUFModel.open(source);
+             FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+            GGUFFile file = model.file();
+
+            List<GGUFTensorInfo> outputs = new ArrayList<>(file.tensors().size());
+            Map<GGUFTensorInfo, GGUFTensorInfo> inputs = new IdentityHashMap<>();
+            for (GGUFTensorInfo tensor : file.tensors()) {
+                GGUFTensorInfo output = shouldQuantize(tensor, type)
+                        ? new GGUFTensorInfo(tensor.name(), tensor.dimensions(), type, tensor.offset())
+                        : tensor;
+                outputs.add(output);
+                inputs.put(output, tensor);
+            }
+
+            Map<String, GGUFMetadataValue> values = new LinkedHashMap<>(file.metadata().values());
+            values.put(GGUFConstants.GENERAL_FILE_TYPE, new GGUFMetadataValue.UInt32Value(fileType(type)));
+            values.put(GGUFConstants.GENERAL_QUANTIZATION_VERSION, new GGUFMetadataValue.UInt32Value(QUANTIZATION_VERSION));
+
+            TensorSource copy = TensorSource.of(in, file.tensorDataOffset());
+            return GGUFWriter.write(target, file.header(), new GGUFMetadata(values), outputs, (output, channel) -> {
+                GGUFTensorInfo input = inputs.get(output);
+                if (input == output) {
+                    copy.transferTo(input, channel);
+                    return;
+                }
+                long start = channel.position();
+                long blocks = output.getElementCount() / type.getBlockSize();
+                try {
+                    pool.invoke(new QuantizeTask(Dequantizer.kernel(input.type()), input.type(), model.tensorData(input),
+                        kernel, type, channel, start, 0, blocks, leafBlocks(type, blocks, pool)));
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+                channel.position(start + output.getSizeInBytes());
+            });
+        }
+    }
+
+    /**
+     * Get the {@code general.file_type} value llama.cpp uses for a model quantized to the given type.
+     */
+    static int fileType(GGMLType type) {
+        return switch (type) {
+            case Q8_0 -> GGUFConstants.FILE_TYPE_MOSTLY_Q8_0;
+            case Q4_0 -> GGUFConstants.FILE_TYPE_MOSTLY_Q4_0;
+            // Every weight matrix is Q4_K, which llama.cpp reports as the small Q4_K variant
+            case Q4_K -> GGUFConstants.FILE_TYPE_MOSTLY_Q4_K_S;
+            default -> throw new UnsupportedOperationException("Quantization not supported for type: " + type);
+        };
+    }
+
+    /**
+     * Pick a leaf size giving each worker several chunks to balance load, without
+     * going below a size where task overhead would dominate.
+     */
+    private static long leafBlocks(GGMLType type, long blocks, ForkJoinPool pool) {
+        long minBlocks = Math.max(1, MIN_PARALLEL_CHUNK_ELEMENTS / type.getBlockSize());
+        long perWorker = (blocks + 4L * pool.getParallelism() - 1) / (4L * pool.getParallelism());
+        return Math.max(minBlocks, perWorker);
+    }
+
+    private static BlockQuantizer kernel(GGMLType type) {
+        BlockQuantizer kernel = KERNELS.get(type);
+        if (kernel == null) {
+            throw new UnsupportedOperationException("Quantization not supported for type: " + type);
+        }
+        return kernel;
+    }
+}
@@ -0,0 +1,93 @@
+package io.github.ilopezluna.gguf4j.quant;
+
+import io.github.ilopezluna.gguf4j.scalar.GGMLType;
+
+import java.lang.foreign.MemorySegment;
+
+import static io.github.ilopezluna.gguf4j.quant.ScalarKernels.f16;
+import static io.github.ilopezluna.gguf4j.quant.ScalarKernels.i8;
+import static io.github.ilopezluna.gguf4j.quant.ScalarKernels.scaleMinK4;
+import static io.github.ilopezluna.gguf4j.quant.ScalarKernels.u8;
+
+/**
+ * Portable dot-product kernels reading quantized blocks in place.
+ * Block scales are applied once per block sum rather than per element.
+ */
+final class ScalarDotKernels {
+
+    private ScalarDotKernels() {
+    }
+
+    /**
+     * Get the kernel for a type, or null if the type is not supported.
+     */
+    static BlockDot forType(GGMLType type) {
+        return switch (type) {
+            case Q4_0 -> ScalarDotKernels::dotQ4_0;
+            case Q8_0 -> ScalarDotKernels::dotQ8_0;
+            case Q4_K -> ScalarDotKernels::dotQ4_K;
+            default -> null;
+        };
+    }
+
+    static float dotQ4_0(MemorySegment src, long srcOffset, float[] x, int xOffset, int blockCount) {
+        float sum = 0f;
+        for (int b = 0; b < blockCount; b++) {
+            long block = srcOffset + (long) b * 18;
+            int xi = xOffset + b * 32;
+            float blockSum = 0f;
+            for (int j = 0; j < 16; j++) {
+                int q = u8(src, block + 2 + j);
+                blockSum += ((q & 0x0F) - 8) * x[xi + j] + ((q >>> 4) - 8) * x[xi + j + 16];
+            }
+            sum += f16(src, block) * blockSum;
+        }
+        return sum;
+    }
+
+    static float dotQ8_0(MemorySegment src, long srcOffset, float[] x, int xOffset, int blockCount) {
+        float sum = 0f;
+        for (int b = 0; b < blockCount; b++) {
+            long block = srcOffset + (long) b * 34;
+            int xi = xOffset + b * 32;
+            float blockSum = 0f;
+            for (int j = 0; j < 32; j++) {
+                blockSum += i8(src, block + 2 + j) * x[xi + j];
+            }
+            sum += f16(src, block) * blockSum;
+        }
+        return sum;
+    }
+
+    static float dotQ4_K(MemorySegment src, long srcOffset, float[] x, int xOffset, int blockCount) {
+        int[] sm = new int[2];
+        float sum = 0f;
+        for (int b = 0; b < blockCount; b++) {
+            long block = srcOffset + (long) b * 144;
+            int xi = xOffset + b * 256;
+            float d = f16(src, block);
+            float min = f16(src, block + 2);
+            long q = block + 16;
+            for (int is = 0; is < 8; is += 2) {
+                float q1 = 0f;
+                float x1 = 0f;
+                float q2 = 0f;
+                float x2 = 0f;
+                for (int l = 0; l < 32; l++) {
+                    int v = u8(src, q + l);
+                    q1 += (v & 0x0F) * x[xi + l];
+                    x1 += x[xi + l];
+                    q2 += (v >>> 4) * x[xi + l + 32];
+                    x2 += x[xi + l + 32];
+                }
+                scaleMinK4(src, block + 4, is, sm);
+                sum += d * sm[0] * q1 - min * sm[1] * x1;
+                scaleMinK4(src, block + 4, is + 1, sm);
+                sum += d * sm[0] * q2 - min * sm[1] * x2;
+                q += 32;
+                xi += 64;
+            }
+        }
+        return sum;
+    }
+}
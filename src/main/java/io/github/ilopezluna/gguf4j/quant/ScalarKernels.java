@@ -0,0 +1,621 @@
+package io.github.ilopezluna.gguf4j.quant;
+
+import io.github.ilopezluna.gguf4j.scalar.GGMLType;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+
+/**
+ * Portable dequantization kernels, following the reference block layouts of ggml.
+ */
+final class ScalarKernels {
+    static final ValueLayout.OfShort SHORT_LE = ValueLayout.JAVA_SHORT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    static final ValueLayout.OfInt INT_LE = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    static final ValueLayout.OfFloat FLOAT_LE = ValueLayout.JAVA_FLOAT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    static final float IQ1_DELTA = 0.125f;
+
+    private static final int QK_K = 256;
+    private static final int[] POW3 = {1, 3, 9, 27, 81, 243};
+
+    private ScalarKernels() {
+    }
+
+    /**
+     * Get the kernel for a type, or null if the type is not supported.
+     */
+    static BlockDequantizer forType(GGMLType type) {
+        return switch (type) {
+            case F32 -> ScalarKernels::convertF32;
+            case F16 -> ScalarKernels::convertF16;
+            case BF16 -> ScalarKernels::convertBF16;
+            case Q4_0 -> ScalarKernels::dequantizeQ4_0;
+            case Q4_1 -> ScalarKernels::dequantizeQ4_1;
+            case Q5_0 -> ScalarKernels::dequantizeQ5_0;
+            case Q5_1 -> ScalarKernels::dequantizeQ5_1;
+            case Q8_0 -> ScalarKernels::dequantizeQ8_0;
+            case Q2_K -> ScalarKernels::dequantizeQ2_K;
+            case Q3_K -> ScalarKernels::dequantizeQ3_K;
+            case Q4_K -> ScalarKernels::dequantizeQ4_K;
+            case Q5_K -> ScalarKernels::dequantizeQ5_K;
+            case Q6_K -> ScalarKernels::dequantizeQ6_K;
+            case Q8_K -> ScalarKernels::dequantizeQ8_K;
+            case IQ2_XXS -> ScalarKernels::dequantizeIQ2_XXS;
+            case IQ2_XS -> ScalarKernels::dequantizeIQ2_XS;
+            case IQ2_S -> ScalarKernels::dequantizeIQ2_S;
+            case IQ3_XXS -> ScalarKernels::dequantizeIQ3_XXS;
+            case IQ3_S -> ScalarKernels::dequantizeIQ3_S;
+            case IQ1_S -> ScalarKernels::dequantizeIQ1_S;
+            case IQ1_M -> ScalarKernels::dequantizeIQ1_M;
+            case IQ4_NL -> ScalarKernels::dequantizeIQ4_NL;
+            case IQ4_XS -> ScalarKernels::dequantizeIQ4_XS;
+            case TQ1_0 -> ScalarKernels::dequantizeTQ1_0;
+            case TQ2_0 -> ScalarKernels::dequantizeTQ2_0;
+            default -> null;
+        };
+    }
+
+    static float f16(MemorySegment src, long offset) {
+        return Float.float16ToFloat(src.get(SHORT_LE, offset));
+    }
+
+    static int u8(MemorySegment src, long offset) {
+        return src.get(ValueLayout.JAVA_BYTE, offset) & 0xFF;
+    }
+
+    static byte i8(MemorySegment src, long offset) {
+        return src.get(ValueLayout.JAVA_BYTE, offset);
+    }
+
+    static int u16(MemorySegment src, long offset) {
+        return src.get(SHORT_LE, offset) & 0xFFFF;
+    }
+
+    private static int gridByte(long row, int j) {
+        return (int) (row >>> (8 * j)) & 0xFF;
+    }
+
+    private static float signed(float value, int signs, int j) {
+        return (signs & (1 << j)) != 0 ? -value : value;
+    }
+
+    // F32, F16, BF16: blocks of one element
+    static void convertF32(MemorySegment src, long srcOffset, float[] dst, int dstOffset, int blockCount) {
+        MemorySegment.copy(src, FLOAT_LE, srcOffset, dst, dstOffset, blockCount);
+    }
+
+    static void convertF16(MemorySegment src, long srcOffset, float[] dst, int dstOffset, int blockCount) {
+        for (int i = 0; i < blockCount; i++) {
+            dst[dstOffset + i] = Float.float16ToFloat(src.get(SHORT_LE, srcOffset + 2L * i));
+        }
+    }
+
+    static void convertBF16(MemorySegment src, long srcOffset, float[] dst, int dstOffset, int blockCount) {
+        for (int i = 0; i < blockCount; i++) {
+            dst[dstOffset + i] = Float.intBitsToFloat(src.get(SHORT_LE, srcOffset + 2L * i) << 16);
+        }
+    }
+
+    // Q4_0: d (f16), qs[16]; x = (nibble - 8) * d
+    static void dequantizeQ4_0(MemorySegment src, long srcOffset, float[] dst, int dstOffset, int blockCount) {
+        for (int b = 0; b < blockCount; b++) {
+            long block = srcOffset + (long) b * 18;
+            int y = dstOffset + b * 32;
+            float d = f16(src, block);
+            for (int j = 0; j < 16; j++) {
+                int q = u8(src, block + 2 + j);
+                dst[y + j] = ((q & 0x0F) - 8) * d;
+                dst[y + j + 16] = ((q >>> 4) - 8) * d;
+            }
+        }
+    }
+
+    // Q4_1: d (f16), m (f16), qs[16]; x = nibble * d + m
+    static void dequantizeQ4_1(MemorySegment src, long srcOffset, float[] dst, int dstOffset, int blockCount) {
+        for (int b = 0; b < blockCount; b++) {
+            long block = srcOffset + (long) b * 20;
+            int y = dstOffset + b * 32;
+            float d = f16(src, block);
+            float m = f16(src, block + 2);
+            for (int j = 0; j < 16; j++) {
+                int q = u8(src, block + 4 + j);
+                dst[y + j] = (q & 0x0F) * d + m;
+                dst[y + j + 16] = (q >>> 4) * d + m;
+            }
+        }
+    }
+
+    // Q5_0: d (f16), qh (u32), qs[16]; x = ((nibble | high bit << 4) - 16) * d
+    static void dequantizeQ5_0(MemorySegment src, long srcOffset, float[] dst, int dstOffset, int blockCount) {
+        for (int b = 0; b < blockCount; b++) {
+            long block = srcOffset + (long) b * 22;
+            int y = dstOffset + b * 32;
+            float d = f16(src, block);
+            int qh = src.get(INT_LE, block + 2);
+            for (int j = 0; j < 16; j++) {
+                int q = u8(src, block + 6 + j);
+                int h0 = ((qh >>> j) << 4) & 0x10;
+                int h1 = (qh >>> (j + 12)) & 0x10;
+                dst[y + j] = (((q & 0x0F) | h0) - 16) * d;
+                dst[y + j + 16] = (((q >>> 4) | h1) - 16) * d;
+            }
+        }
+    }
+
+    // Q5_1: d (f16), m (f16), qh (u32), qs[16]; x = (nibble | high bit << 4) * d + m
+    static void dequantizeQ5_1(MemorySegment src, long srcOffset, float[] dst, int dstOffset, int blockCount) {
+        for (int b = 0; b < blockCount; b++) {
+            long block = srcOffset + (long) b * 24;
+            int y = dstOffset + b * 32;
+            float d = f16(src, block);
+            float m = f16(src, block + 2);
+            int qh = src.get(INT_LE, block + 4);
+            for (int j = 0; j < 16; j++) {
+                int q = u8(src, block + 8 + j);
+                int h0 = ((qh >>> j) << 4) & 0x10;
+                int h1 = (qh >>> (j + 12)) & 0x10;
+                dst[y + j] = ((q & 0x0F) | h0) * d + m;
+                dst[y + j + 16] = ((q >>> 4) | h1) * d + m;
+            }
+        }
+    }
+
+    // Q8_0: d (f16), qs[32] (i8); x = q * d
+    static void dequantizeQ8_0(MemorySegment src, long srcOffset, float[] dst, int dstOffset, int blockCount) {
+        for (int b = 0; b < blockCount; b++) {
+            long block = srcOffset + (long) b * 34;
+            int y = dstOffset + b * 32;
+            float d = f16(src, block);
+            for (int j = 0; j < 32; j++) {
+                dst[y + j] = i8(src, block + 2 + j) * d;
+            }
+        }
+    }
+
+    // Q2_K: scales[16], qs[64], d (f16), dmin (f16)
+    static void dequantizeQ2_K(MemorySegment src, long srcOffset, float[] dst, int dstOffset, int blockCount) {
+        for (int b = 0; b < blockCount; b++) {
+            long block = srcOffset + (long) b * 84;
+            int y = dstOffset + b * QK_K;
+            float d = f16(src, block + 80);
+            float min = f16(src, block + 82);
+            long q = block + 16;
+            int is = 0;
+            for (int n = 0; n < QK_K; n += 128) {
+                for (int shift = 0; shift < 8; shift += 2) {
+                    for (int half = 0; half < 32; half += 16) {
+                        int sc = u8(src, block + is++);
+                        float dl = d * (sc & 0x0F);
+                        float ml = min * (sc >>> 4);
+                        for (int l = 0; l < 16; l++) {
+                            dst[y++] = dl * ((u8(src, q + half + l) >>> shift) & 3) - ml;
+                        }
+                    }
+                }
+                q += 32;
+            }
+        }
+    }
+
+    // Q3_K: hmask[32], qs[64], scales[12], d (f16)
+    static void dequantizeQ3_K(MemorySegment src, long srcOffset, float[] dst, int dstOffset, int blockCount) {
+        byte[] scales = new byte[16];
+        for (int b = 0; b < blockCount; b++) {
+            long block = srcOffset + (long) b * 110;
+            int y = dstOffset + b * QK_K;
+            float dAll = f16(src, block + 108);
+            unpackQ3_KScales(src, block + 96, scales);
+            long q = block + 32;
+            int m = 1;
+            int is = 0;
+            for (int n = 0; n < QK_K; n += 128) {
+                for (int shift = 0; shift < 8; shift += 2) {
+                    for (int half = 0; half < 32; half += 16) {
+                        float dl = dAll * (scales[is++] - 32);
+                        for (int l = 0; l < 16; l++) {
+                            int qv = (u8(src, q + half + l) >>> shift) & 3;
+                            int hv = (u8(src, block + half + l) & m) != 0 ? 0 : 4;
+                            dst[y++] = dl * (qv - hv);
+                        }
+                    }
+                    m <<= 1;
+                }
+                q += 32;
+            }
+        }
+    }
+
+    /**
+     * Unpack the sixteen 6-bit Q3_K scales (biased by 32) from their 12-byte packed form.
+     */
+    static void unpackQ3_KScales(MemorySegment src, long offset, byte[] scales) {
+        int a0 = src.get(INT_LE, offset);
+        int a1 = src.get(INT_LE, offset + 4);
+        int tmp = src.get(INT_LE, offset + 8);
+        int kmask1 = 0x03030303;
+        int kmask2 = 0x0f0f0f0f;
+        int s0 = (a0 & kmask2) | (((tmp >>> 0) & kmask1) << 4);
+        int s1 = (a1 & kmask2) | (((tmp >>> 2) & kmask1) << 4);
+        int s2 = ((a0 >>> 4) & kmask2) | (((tmp >>> 4) & kmask1) << 4);
+        int s3 = ((a1 >>> 4) & kmask2) | (((tmp >>> 6) & kmask1) << 4);
+        int[] words = {s0, s1, s2, s3};
+        for (int i = 0; i < 16; i++) {
+            scales[i] = (byte) (words[i >>> 2] >>> (8 * (i & 3)));
+        }
+    }
+
+    /**
+     * Unpack the 6-bit scale ({@code out[0]}) and min ({@code out[1]}) of sub-block {@code j}
+     * from the 12-byte packed scales of a Q4_K or Q5_K block.
+     */
+    static void scaleMinK4(MemorySegment src, long scales, int j, int[] out) {
+        if (j < 4) {
+            out[0] = u8(src, scales + j) & 63;
+            out[1] = u8(src, scales + j + 4) & 63;
+        } else {
+            out[0] = (u8(src, scales + j + 4) & 0x0F) | ((u8(src, scales + j - 4) >>> 6) << 4);
+            out[1] = (u8(src, scales + j + 4) >>> 4) | ((u8(src, scales + j) >>> 6) << 4);
+        }
+    }
+
+    // Q4_K: d (f16), dmin (f16), scales[12], qs[128]
+    static void dequantizeQ4_K(MemorySegment src, long srcOffset, float[] dst, int dstOffset, int blockCount) {
+        int[] sm = new int[2];
+        for (int b = 0; b < blockCount; b++) {
+            long block = srcOffset + (long) b * 144;
+            int y = dstOffset + b * QK_K;
+            float d = f16(src, block);
+            float min = f16(src, block + 2);
+            long q = block + 16;
+            for (int is = 0; is < 8; is += 2) {
+                scaleMinK4(src, block + 4, is, sm);
+                float d1 = d * sm[0];
+                float m1 = min * sm[1];
+                scaleMinK4(src, block + 4, is + 1, sm);
+                float d2 = d * sm[0];
+                float m2 = min * sm[1];
+                for (int l = 0; l < 32; l++) {
+                    dst[y + l] = d1 * (u8(src, q + l) & 0x0F) - m1;
+                    dst[y + l + 32] = d2 * (u8(src, q + l) >>> 4) - m2;
+                }
+                q += 32;
+                y += 64;
+            }
+        }
+    }
+
+    // Q5_K: d (f16), dmin (f16), scales[12], qh[32], qs[128]
+    static void dequantizeQ5_K(MemorySegment src, long srcOffset, float[] dst, int dstOffset, int blockCount) {
+        int[] sm = new int[2];
+        for (int b = 0; b < blockCount; b++) {
+            long block = srcOffset + (long) b * 176;
+            int y = dstOffset + b * QK_K;
+            float d = f16(src, block);
+            float min = f16(src, block + 2);
+            long qh = block + 16;
+            long ql = block + 48;
+            int u1 = 1;
+            int u2 = 2;
+            for (int is = 0; is < 8; is += 2) {
+                scaleMinK4(src, block + 4, is, sm);
+                float d1 = d * sm[0];
+                float m1 = min * sm[1];
+                scaleMinK4(src, block + 4, is + 1, sm);
+                float d2 = d * sm[0];
+                float m2 = min * sm[1];
+                for (int l = 0; l < 32; l++) {
+                    int q = u8(src, ql + l);
+                    int h = u8(src, qh + l);
+                    dst[y + l] = d1 * ((q & 0x0F) + ((h & u1) != 0 ? 16 : 0)) - m1;
+                    dst[y + l + 32] = d2 * ((q >>> 4) + ((h & u2) != 0 ? 16 : 0)) - m2;
+                }
+                ql += 32;
+                y += 64;
+                u1 <<= 2;
+                u2 <<= 2;
+            }
+        }
+    }
+
+    // Q6_K: ql[128], qh[64], scales[16] (i8), d (f16)
+    static void dequantizeQ6_K(MemorySegment src, long srcOffset, float[] dst, int dstOffset, int blockCount) {
+        for (int b = 0; b < blockCount; b++) {
+            long block = srcOffset + (long) b * 210;
+            int y = dstOffset + b * QK_K;
+            float d = f16(src, block + 208);
+            long ql = block;
+            long qh = block + 128;
+            long sc = block + 192;
+            for (int n = 0; n < QK_K; n += 128) {
+                for (int l = 0; l < 32; l++) {
+                    int is = l / 16;
+                    int low0 = u8(src, ql + l);
+                    int low1 = u8(src, ql + l + 32);
+                    int high = u8(src, qh + l);
+                    int q1 = ((low0 & 0x0F) | ((high & 3) << 4)) - 32;
+                    int q2 = ((low1 & 0x0F) | (((high >>> 2) & 3) << 4)) - 32;
+                    int q3 = ((low0 >>> 4) | (((high >>> 4) & 3) << 4)) - 32;
+                    int q4 = ((low1 >>> 4) | (((high >>> 6) & 3) << 4)) - 32;
+                    dst[y + l] = d * i8(src, sc + is) * q1;
+                    dst[y + l + 32] = d * i8(src, sc + is + 2) * q2;
+                    dst[y + l + 64] = d * i8(src, sc + is + 4) * q3;
+                    dst[y + l + 96] = d * i8(src, sc + is + 6) * q4;
+                }
+                y += 128;
+                ql += 64;
+                qh += 32;
+                sc += 8;
+            }
+        }
+    }
+
+    // Q8_K: d (f32), qs[256] (i8), bsums[16] (i16)
+    static void dequantizeQ8_K(MemorySegment src, long srcOffset, float[] dst, int dstOffset, int blockCount) {
+        for (int b = 0; b < blockCount; b++) {
+            long block = srcOffset + (long) b * 292;
+            int y = dstOffset + b * QK_K;
+            float d = src.get(FLOAT_LE, block);
+            for (int j = 0; j < QK_K; j++) {
+                dst[y + j] = d * i8(src, block + 4 + j);
+            }
+        }
+    }
+
+    // IQ2_XXS: d (f16), qs[32] (u16); per 32 elements two u32: four grid indices, then 4x7 sign bits and a 4-bit scale
+    static void dequantizeIQ2_XXS(MemorySegment src, long srcOffset, float[] dst, int dstOffset, int blockCount) {
+        for (int b = 0; b < blockCount; b++) {
+            long block = srcOffset + (long) b * 66;
+            int y = dstOffset + b * QK_K;
+            float d = f16(src, block);
+            for (int ib32 = 0; ib32 < 8; ib32++) {
+                long q = block + 2 + 8L * ib32;
+                int aux = src.get(INT_LE, q + 4);
+                float db = d * (0.5f + (aux >>> 28)) * 0.25f;
+                for (int l = 0; l < 4; l++) {
+                    long grid = IQTables.IQ2XXS_GRID[u8(src, q + l)];
+                    int signs = IQTables.KSIGNS_IQ2XS[(aux >>> (7 * l)) & 127];
+                    for (int j = 0; j < 8; j++) {
+                        dst[y++] = signed(db * gridByte(grid, j), signs, j);
+                    }
+                }
+            }
+        }
+    }
+
+    // IQ2_XS: d (f16), qs[32] (u16: 9-bit grid index, 7 sign bits), scales[8] (two 4-bit scales)
+    static void dequantizeIQ2_XS(MemorySegment src, long srcOffset, float[] dst, int dstOffset, int blockCount) {
+        for (int b = 0; b < blockCount; b++) {
+            long block = srcOffset + (long) b * 74;
+            int y = dstOffset + b * QK_K;
+            float d = f16(src, block);
+            for (int ib32 = 0; ib32 < 8; ib32++) {
+                int sc = u8(src, block + 66 + ib32);
+                float db0 = d * (0.5f + (sc & 0x0F)) * 0.25f;
+                float db1 = d * (0.5f + (sc >>> 4)) * 0.25f;
+                for (int l = 0; l < 4; l++) {
+                    int qs = u16(src, block + 2 + 2L * (4 * ib32 + l));
+                    long grid = IQTables.IQ2XS_GRID[qs & 511];
+                    int signs = IQTables.KSIGNS_IQ2XS[qs >>> 9];
+                    float db = l < 2 ? db0 : db1;
+                    for (int j = 0; j < 8; j++) {
+                        dst[y++] = signed(db * gridByte(grid, j), signs, j);
+                    }
+                }
+            }
+        }
+    }
+
+    // IQ2_S: d (f16), qs[32] grid index low bits, signs[32], qh[8] grid index high bits, scales[8]
+    static void dequantizeIQ2_S(MemorySegment src, long srcOffset, float[] dst, int dstOffset, int blockCount) {
+        for (int b = 0; b < blockCount; b++) {
+            long block = srcOffset + (long) b * 82;
+            int y = dstOffset + b * QK_K;
+            float d = f16(src, block);
+            for (int ib32 = 0; ib32 < 8; ib32++) {
+                int sc = u8(src, block + 74 + ib32);
+                float db0 = d * (0.5f + (sc & 0x0F)) * 0.25f;
+                float db1 = d * (0.5f + (sc >>> 4)) * 0.25f;
+                int qh = u8(src, block + 66 + ib32);
+                for (int l = 0; l < 4; l++) {
+                    int index = u8(src, block + 2 + 4 * ib32 + l) | ((qh << (8 - 2 * l)) & 0x300);
+                    long grid = IQTables.IQ2S_GRID[index];
+                    int signs = u8(src, block + 34 + 4 * ib32 + l);
+                    float db = l < 2 ? db0 : db1;
+                    for (int j = 0; j < 8; j++) {
+                        dst[y++] = signed(db * gridByte(grid, j), signs, j);
+                    }
+                }
+            }
+        }
+    }
+
+    // IQ3_XXS: d (f16), qs[64] grid indices, then per 32 elements a u32 of 4x7 sign bits and a 4-bit scale
+    static void dequantizeIQ3_XXS(MemorySegment src, long srcOffset, float[] dst, int dstOffset, int blockCount) {
+        for (int b = 0; b < blockCount; b++) {
+            long block = srcOffset + (long) b * 98;
+            int y = dstOffset + b * QK_K;
+            float d = f16(src, block);
+            for (int ib32 = 0; ib32 < 8; ib32++) {
+                long q = block + 2 + 8L * ib32;
+                int aux = src.get(INT_LE, block + 66 + 4L * ib32);
+                float db = d * (0.5f + (aux >>> 28)) * 0.5f;
+                for (int l = 0; l < 4; l++) {
+                    int signs = IQTables.KSIGNS_IQ2XS[(aux >>> (7 * l)) & 127];
+                    int grid1 = IQTables.IQ3XXS_GRID[u8(src, q + 2 * l)];
+                    int grid2 = IQTables.IQ3XXS_GRID[u8(src, q + 2 * l + 1)];
+                    for (int j = 0; j < 4; j++) {
+                        dst[y + j] = signed(db * gridByte(grid1, j), signs, j);
+                        dst[y + j + 4] = signed(db * gridByte(grid2, j), signs, j + 4);
+                    }
+                    y += 8;
+                }
+            }
+        }
+    }
+
+    // IQ3_S: d (f16), qs[64] grid index low bits, qh[8] high bits, signs[32], scales[4] (two 4-bit scales)
+    static void dequantizeIQ3_S(MemorySegment src, long srcOffset, float[] dst, int dstOffset, int blockCount) {
+        for (int b = 0; b < blockCount; b++) {
+            long block = srcOffset + (long) b * 110;
+            int y = dstOffset + b * QK_K;
+            float d = f16(src, block);
+            for (int ib32 = 0; ib32 < 8; ib32++) {
+                int sc = u8(src, block + 106 + ib32 / 2);
+                float db = d * (1 + 2 * ((ib32 & 1) == 0 ? sc & 0x0F : sc >>> 4));
+                int qh = u8(src, block + 66 + ib32);
+                long q = block + 2 + 8L * ib32;
+                for (int l = 0; l < 4; l++) {
+                    int grid1 = IQTables.IQ3S_GRID[u8(src, q + 2 * l) | ((qh << (8 - 2 * l)) & 256)];
+                    int grid2 = IQTables.IQ3S_GRID[u8(src, q + 2 * l + 1) | ((qh << (7 - 2 * l)) & 256)];
+                    int signs = u8(src, block + 74 + 4 * ib32 + l);
+                    for (int j = 0; j < 4; j++) {
+                        dst[y + j] = signed(db * gridByte(grid1, j), signs, j);
+                        dst[y + j + 4] = signed(db * gridByte(grid2, j), signs, j + 4);
+                    }
+                    y += 8;
+                }
+            }
+        }
+    }
+
+    // IQ1_S: d (f16), qs[32] grid index low bits, qh[8] (u16: 4x3 index high bits, 3-bit scale, delta sign)
+    static void dequantizeIQ1_S(MemorySegment src, long srcOffset, float[] dst, int dstOffset, int blockCount) {
+        for (int b = 0; b < blockCount; b++) {
+            long block = srcOffset + (long) b * 50;
+            int y = dstOffset + b * QK_K;
+            float d = f16(src, block);
+            for (int ib = 0; ib < 8; ib++) {
+                int qh = u16(src, block + 34 + 2L * ib);
+                float dl = d * (2 * ((qh >>> 12) & 7) + 1);
+                float delta = (qh & 0x8000) != 0 ? -IQ1_DELTA : IQ1_DELTA;
+                for (int l = 0; l < 4; l++) {
+                    long grid = IQTables.IQ1S_GRID[u8(src, block + 2 + 4 * ib + l) | (((qh >>> (3 * l)) & 7) << 8)];
+                    for (int j = 0; j < 8; j++) {
+                        dst[y++] = dl * ((byte) (grid >>> (8 * j)) + delta);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The IQ1_M super-block scale, spread over the top nibbles of the four scale words.
+     */
+    static float iq1mScale(MemorySegment src, long scales) {
+        int sc0 = u16(src, scales);
+        int sc1 = u16(src, scales + 2);
+        int sc2 = u16(src, scales + 4);
+        int sc3 = u16(src, scales + 6);
+        int bits = (sc0 >>> 12) | ((sc1 >>> 8) & 0x00F0) | ((sc2 >>> 4) & 0x0F00) | (sc3 & 0xF000);
+        return Float.float16ToFloat((short) bits);
+    }
+
+    // IQ1_M: qs[32] grid index low bits, qh[16] (index high bits, delta signs), scales[8] (3-bit scales, d)
+    static void dequantizeIQ1_M(MemorySegment src, long srcOffset, float[] dst, int dstOffset, int blockCount) {
+        for (int b = 0; b < blockCount; b++) {
+            long block = srcOffset + (long) b * 56;
+            int y = dstOffset + b * QK_K;
+            float d = iq1mScale(src, block + 48);
+            for (int ib = 0; ib < 8; ib++) {
+                int sc = u16(src, block + 48 + 2L * (ib / 2));
+                int shift = 6 * (ib % 2);
+                float dl1 = d * (2 * ((sc >>> shift) & 7) + 1);
+                float dl2 = d * (2 * ((sc >>> (shift + 3)) & 7) + 1);
+                for (int l = 0; l < 4; l++) {
+                    int qh = u8(src, block + 32 + 2 * ib + l / 2);
+                    int high = (l & 1) == 0 ? qh : qh >>> 4;
+                    int index = u8(src, block + 4 * ib + l) | ((high & 7) << 8);
+                    float delta = (high & 0x08) != 0 ? -IQ1_DELTA : IQ1_DELTA;
+                    float dl = l < 2 ? dl1 : dl2;
+                    long grid = IQTables.IQ1S_GRID[index];
+                    for (int j = 0; j < 8; j++) {
+                        dst[y++] = dl * ((byte) (grid >>> (8 * j)) + delta);
+                    }
+                }
+            }
+        }
+    }
+
+    // IQ4_NL: d (f16), qs[16]; x = kvalues[nibble] * d
+    static void dequantizeIQ4_NL(MemorySegment src, long srcOffset, float[] dst, int dstOffset, int blockCount) {
+        for (int b = 0; b < blockCount; b++) {
+            long block = srcOffset + (long) b * 18;
+            int y = dstOffset + b * 32;
+            float d = f16(src, block);
+            for (int j = 0; j < 16; j++) {
+                int q = u8(src, block + 2 + j);
+                dst[y + j] = d * IQTables.KVALUES_IQ4NL[q & 0x0F];
+                dst[y + j + 16] = d * IQTables.KVALUES_IQ4NL[q >>> 4];
+            }
+        }
+    }
+
+    // IQ4_XS: d (f16), scales_h (u16), scales_l[4], qs[128]; 6-bit scales per 32 elements
+    static void dequantizeIQ4_XS(MemorySegment src, long srcOffset, float[] dst, int dstOffset, int blockCount) {
+        for (int b = 0; b < blockCount; b++) {
+            long block = srcOffset + (long) b * 136;
+            int y = dstOffset + b * QK_K;
+            float d = f16(src, block);
+            int scalesH = u16(src, block + 2);
+            for (int ib = 0; ib < 8; ib++) {
+                int ls = ((u8(src, block + 4 + ib / 2) >>> (4 * (ib % 2))) & 0x0F) | (((scalesH >>> (2 * ib)) & 3) << 4);
+                float dl = d * (ls - 32);
+                long q = block + 8 + 16L * ib;
+                for (int j = 0; j < 16; j++) {
+                    int v = u8(src, q + j);
+                    dst[y + j] = dl * IQTables.KVALUES_IQ4NL[v & 0x0F];
+                    dst[y + j + 16] = dl * IQTables.KVALUES_IQ4NL[v >>> 4];
+                }
+                y += 32;
+            }
+        }
+    }
+
+    /**
+     * Extract a ternary digit from a byte holding a base-3 fraction, scaled by a power of three.
+     */
+    static int ternary(int packed, int pow3) {
+        return ((packed * pow3 & 0xFF) * 3 >>> 8) - 1;
+    }
+
+    // TQ1_0: qs[48] (five base-3 digits per byte), qh[4] (four digits per byte), d (f16)
+    static void dequantizeTQ1_0(MemorySegment src, long srcOffset, float[] dst, int dstOffset, int blockCount) {
+        for (int b = 0; b < blockCount; b++) {
+            long block = srcOffset + (long) b * 54;
+            int y = dstOffset + b * QK_K;
+            float d = f16(src, block + 52);
+            for (int n = 0; n < 5; n++) {
+                for (int m = 0; m < 32; m++) {
+                    dst[y++] = ternary(u8(src, block + m), POW3[n]) * d;
+                }
+            }
+            for (int n = 0; n < 5; n++) {
+                for (int m = 0; m < 16; m++) {
+                    dst[y++] = ternary(u8(src, block + 32 + m), POW3[n]) * d;
+                }
+            }
+            for (int n = 0; n < 4; n++) {
+                for (int j = 0; j < 4; j++) {
+                    dst[y++] = ternary(u8(src, block + 48 + j), POW3[n]) * d;
+                }
+            }
+        }
+    }
+
+    // TQ2_0: qs[64] (four 2-bit values per byte), d (f16); x = (q - 1) * d
+    static void dequantizeTQ2_0(MemorySegment src, long srcOffset, float[] dst, int dstOffset, int blockCount) {
+        for (int b = 0; b < blockCount; b++) {
+            long block = srcOffset + (long) b * 66;
+            int y = dstOffset + b * QK_K;
+            float d = f16(src, block + 64);
+            for (int j = 0; j < 64; j += 32) {
+                for (int l = 0; l < 4; l++) {
+                    for (int m = 0; m < 32; m++) {
+                        dst[y++] = (((u8(src, block + j + m) >>> (2 * l)) & 3) - 1) * d;
+                    }
+                }
+            }
+        }
+    }
+}
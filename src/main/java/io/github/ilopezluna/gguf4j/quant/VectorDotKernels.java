@@ -0,0 +1,109 @@
+package io.github.ilopezluna.gguf4j.quant;
+
+import io.github.ilopezluna.gguf4j.scalar.GGMLType;
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+
+import java.lang.foreign.MemorySegment;
+
+import static io.github.ilopezluna.gguf4j.quant.ScalarKernels.f16;
+import static io.github.ilopezluna.gguf4j.quant.ScalarKernels.scaleMinK4;
+import static io.github.ilopezluna.gguf4j.quant.VectorKernels.F;
+import static io.github.ilopezluna.gguf4j.quant.VectorKernels.L;
+import static io.github.ilopezluna.gguf4j.quant.VectorKernels.load;
+import static io.github.ilopezluna.gguf4j.quant.VectorKernels.shiftRight;
+import static io.github.ilopezluna.gguf4j.quant.VectorKernels.toFloat;
+
+/**
+ * Dot-product kernels built on the Vector API. Each block accumulates its unscaled
+ * products in a vector with fused multiply-adds, then folds them into the running total
+ * with the block scale, so the only horizontal reduction happens once per call.
+ */
+final class VectorDotKernels {
+
+    private VectorDotKernels() {
+    }
+
+    /**
+     * Get the kernel for a type, or null if no vectorized kernel exists.
+     */
+    static BlockDot forType(GGMLType type) {
+        return switch (type) {
+            case Q4_0 -> VectorDotKernels::dotQ4_0;
+            case Q8_0 -> VectorDotKernels::dotQ8_0;
+            case Q4_K -> VectorDotKernels::dotQ4_K;
+            default -> null;
+        };
+    }
+
+    static float dotQ4_0(MemorySegment src, long srcOffset, float[] x, int xOffset, int blockCount) {
+        FloatVector total = FloatVector.zero(F);
+        for (int b = 0; b < blockCount; b++) {
+            long block = srcOffset + (long) b * 18;
+            int xi = xOffset + b * 32;
+            FloatVector acc = FloatVector.zero(F);
+            for (int j = 0; j < 16; j += L) {
+                ByteVector q = load(src, block + 2 + j);
+                acc = toFloat(q.and((byte) 0x0F).sub((byte) 8)).fma(FloatVector.fromArray(F, x, xi + j), acc);
+                acc = toFloat(shiftRight(q, 4).sub((byte) 8)).fma(FloatVector.fromArray(F, x, xi + j + 16), acc);
+            }
+            total = acc.fma(FloatVector.broadcast(F, f16(src, block)), total);
+        }
+        return total.reduceLanes(VectorOperators.ADD);
+    }
+
+    static float dotQ8_0(MemorySegment src, long srcOffset, float[] x, int xOffset, int blockCount) {
+        FloatVector total = FloatVector.zero(F);
+        for (int b = 0; b < blockCount; b++) {
+            long block = srcOffset + (long) b * 34;
+            int xi = xOffset + b * 32;
+            FloatVector acc = FloatVector.zero(F);
+            for (int j = 0; j < 32; j += L) {
+                acc = toFloat(load(src, block + 2 + j)).fma(FloatVector.fromArray(F, x, xi + j), acc);
+            }
+            total = acc.fma(FloatVector.broadcast(F, f16(src, block)), total);
+        }
+        return total.reduceLanes(VectorOperators.ADD);
+    }
+
+    /**
+     * Q4_K elements are {@code d * q - m}, so each 32-element run contributes
+     * {@code d * sum(q * x) - m * sum(x)}.
+     */
+    static float dotQ4_K(MemorySegment src, long srcOffset, float[] x, int xOffset, int blockCount) {
+        int[] sm = new int[2];
+        FloatVector total = FloatVector.zero(F);
+        for (int b = 0; b < blockCount; b++) {
+            long block = srcOffset + (long) b * 144;
+            int xi = xOffset + b * 256;
+            float d = f16(src, block);
+            float min = f16(src, block + 2);
+            long q = block + 16;
+            for (int is = 0; is < 8; is += 2) {
+                FloatVector q1 = FloatVector.zero(F);
+                FloatVector x1 = FloatVector.zero(F);
+                FloatVector q2 = FloatVector.zero(F);
+                FloatVector x2 = FloatVector.zero(F);
+                for (int l = 0; l < 32; l += L) {
+                    ByteVector v = load(src, q + l);
+                    FloatVector xa = FloatVector.fromArray(F, x, xi + l);
+                    FloatVector xb = FloatVector.fromArray(F, x, xi + l + 32);
+                    q1 = toFloat(v.and((byte) 0x0F)).fma(xa, q1);
+                    x1 = x1.add(xa);
+                    q2 = toFloat(shiftRight(v, 4)).fma(xb, q2);
+                    x2 = x2.add(xb);
+                }
+                scaleMinK4(src, block + 4, is, sm);
+                total = q1.fma(FloatVector.broadcast(F, d * sm[0]), total);
+                total = x1.fma(FloatVector.broadcast(F, -min * sm[1]), total);
+                scaleMinK4(src, block + 4, is + 1, sm);
+                total = q2.fma(FloatVector.broadcast(F, d * sm[0]), total);
+                total = x2.fma(FloatVector.broadcast(F, -min * sm[1]), total);
+                q += 32;
+                xi += 64;
+            }
+        }
+        return total.reduceLanes(VectorOperators.ADD);
+    }
+}
@@ -0,0 +1,633 @@
+package io.github.ilopezluna.gguf4j.quant;
+
+import io.github.ilopezluna.gguf4j.scalar.GGMLType;
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+import static io.github.ilopezluna.gguf4j.quant.ScalarKernels.FLOAT_LE;
+import static io.github.ilopezluna.gguf4j.quant.ScalarKernels.IQ1_DELTA;
+import static io.github.ilopezluna.gguf4j.quant.ScalarKernels.INT_LE;
+import static io.github.ilopezluna.gguf4j.quant.ScalarKernels.f16;
+import static io.github.ilopezluna.gguf4j.quant.ScalarKernels.i8;
+import static io.github.ilopezluna.gguf4j.quant.ScalarKernels.scaleMinK4;
+import static io.github.ilopezluna.gguf4j.quant.ScalarKernels.u16;
+import static io.github.ilopezluna.gguf4j.quant.ScalarKernels.u8;
+import static io.github.ilopezluna.gguf4j.quant.ScalarKernels.unpackQ3_KScales;
+
+/**
+ * Dequantization kernels built on the Vector API.
+ * <p>
+ * Each kernel loads one float vector's worth of quantized bytes, unpacks them with byte
+ * lane operations, widens them to floats and applies the block scale and min. Only
+ * 256- and 512-bit float vectors are handled, since the 16 and 32 element runs of the
+ * block formats must split evenly into vectors; other shapes use the scalar kernels.
+ */
+final class VectorKernels {
+    static final VectorSpecies<Float> F = FloatVector.SPECIES_PREFERRED;
+    static final int L = F.length();
+    static final VectorSpecies<Byte> B = VectorSpecies.of(byte.class, VectorShape.forBitSize(Math.max(64, L * 8)));
+    static final VectorSpecies<Integer> I = IntVector.SPECIES_PREFERRED;
+    static final VectorSpecies<Short> S = VectorSpecies.of(short.class, VectorShape.forBitSize(Math.max(64, L * 16)));
+
+    private static final int QK_K = 256;
+    private static final IntVector IOTA = IntVector.zero(I).addIndex(1);
+    private static final VarHandle LONG_LE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final long LOW_BITS = 0x0101010101010101L;
+
+    private static final VectorSpecies<Byte> B128 = ByteVector.SPECIES_128;
+    private static final ByteVector KVALUES = ByteVector.fromArray(B128, IQTables.KVALUES_IQ4NL, 0);
+
+    private VectorKernels() {
+    }
+
+    /**
+     * Check if the preferred vector shape is one these kernels handle.
+     */
+    static boolean isUsable() {
+        return (L == 8 || L == 16) && I.length() == L;
+    }
+
+    /**
+     * Get the kernel for a type, or null if no vectorized kernel exists.
+     */
+    static BlockDequantizer forType(GGMLType type) {
+        return switch (type) {
+            case BF16 -> VectorKernels::convertBF16;
+            case Q4_0 -> VectorKernels::dequantizeQ4_0;
+            case Q4_1 -> VectorKernels::dequantizeQ4_1;
+            case Q5_0 -> VectorKernels::dequantizeQ5_0;
+            case Q5_1 -> VectorKernels::dequantizeQ5_1;
+            case Q8_0 -> VectorKernels::dequantizeQ8_0;
+            case Q2_K -> VectorKernels::dequantizeQ2_K;
+            case Q3_K -> VectorKernels::dequantizeQ3_K;
+            case Q4_K -> VectorKernels::dequantizeQ4_K;
+            case Q5_K -> VectorKernels::dequantizeQ5_K;
+            case Q6_K -> VectorKernels::dequantizeQ6_K;
+            case Q8_K -> VectorKernels::dequantizeQ8_K;
+            case IQ2_XXS -> VectorKernels::dequantizeIQ2_XXS;
+            case IQ2_XS -> VectorKernels::dequantizeIQ2_XS;
+            case IQ2_S -> VectorKernels::dequantizeIQ2_S;
+            case IQ3_XXS -> VectorKernels::dequantizeIQ3_XXS;
+            case IQ3_S -> VectorKernels::dequantizeIQ3_S;
+            case IQ1_S -> VectorKernels::dequantizeIQ1_S;
+            case IQ1_M -> VectorKernels::dequantizeIQ1_M;
+            case IQ4_NL -> VectorKernels::dequantizeIQ4_NL;
+            case IQ4_XS -> VectorKernels::dequantizeIQ4_XS;
+            case TQ1_0 -> VectorKernels::dequantizeTQ1_0;
+            case TQ2_0 -> VectorKernels::dequantizeTQ2_0;
+            default -> null;
+        };
+    }
+
+    static ByteVector load(MemorySegment src, long offset) {
+        return ByteVector.fromMemorySegment(B, src, offset, ByteOrder.LITTLE_ENDIAN);
+    }
+
+    static FloatVector toFloat(ByteVector q) {
+        return (FloatVector) q.convertShape(VectorOperators.B2F, F, 0);
+    }
+
+    static ByteVector shiftRight(ByteVector v, int bits) {
+        return v.lanewise(VectorOperators.LSHR, bits).and((byte) (0xFF >>> bits));
+    }
+
+    /**
+     * Store {@code q * scale - min} for the first L lanes of {@code q}.
+     */
+    private static void store(ByteVector q, float scale, float min, float[] dst, int y) {
+        toFloat(q).mul(scale).sub(min).intoArray(dst, y);
+    }
+
+    private static IntVector loadShorts(MemorySegment src, long offset) {
+        ShortVector h = ShortVector.fromMemorySegment(S, src, offset, ByteOrder.LITTLE_ENDIAN);
+        return (IntVector) h.convertShape(VectorOperators.S2I, I, 0);
+    }
+
+    // F16 stays on the scalar kernel, where Float.float16ToFloat is an intrinsic
+    static void convertBF16(MemorySegment src, long srcOffset, float[] dst, int dstOffset, int blockCount) {
+        int bound = blockCount - blockCount % L;
+        int i = 0;
+        for (; i < bound; i += L) {
+            loadShorts(src, srcOffset + 2L * i)
+                    .lanewise(VectorOperators.LSHL, 16)
+                    .reinterpretAsFloats()
+                    .intoArray(dst, dstOffset + i);
+        }
+        ScalarKernels.convertBF16(src, srcOffset + 2L * i, dst, dstOffset + i, blockCount - i);
+    }
+
+    static void dequantizeQ4_0(MemorySegment src, long srcOffset, float[] dst, int dstOffset, int blockCount) {
+        for (int b = 0; b < blockCount; b++) {
+            long block = srcOffset + (long) b * 18;
+            int y = dstOffset + b * 32;
+            float d = f16(src, block);
+            for (int j = 0; j < 16; j += L) {
+                ByteVector q = load(src, block + 2 + j);
+                store(q.and((byte) 0x0F).sub((byte) 8), d, 0f, dst, y + j);
+                store(shiftRight(q, 4).sub((byte) 8), d, 0f, dst, y + j + 16);
+            }
+        }
+    }
+
+    static void dequantizeQ4_1(MemorySegment src, long srcOffset, float[] dst, int dstOffset, int blockCount) {
+        for (int b = 0; b < blockCount; b++) {
+            long block = srcOffset + (long) b * 20;
+            int y = dstOffset + b * 32;
+            float d = f16(src, block);
+            float m = f16(src, block + 2);
+            for (int j = 0; j < 16; j += L) {
+                ByteVector q = load(src, block + 4 + j);
+                store(q.and((byte) 0x0F), d, -m, dst, y + j);
+                store(shiftRight(q, 4), d, -m, dst, y + j + 16);
+            }
+        }
+    }
+
+    /**
+     * Widen 4-bit values to ints and merge in bit {@code first + lane} of {@code qh} as bit 4.
+     */
+    private static IntVector withHighBit(ByteVector nibbles, int qh, int first) {
+        IntVector low = (IntVector) nibbles.convertShape(VectorOperators.B2I, I, 0);
+        IntVector high = IntVector.broadcast(I, qh)
+                .lanewise(VectorOperators.LSHR, IOTA.add(first))
+                .and(1)
+                .lanewise(VectorOperators.LSHL, 4);
+        return low.or(high);
+    }
+
+    static void dequantizeQ5_0(MemorySegment src, long srcOffset, float[] dst, int dstOffset, int blockCount) {
+        for (int b = 0; b < blockCount; b++) {
+            long block = srcOffset + (long) b * 22;
+            int y = dstOffset + b * 32;
+            float d = f16(src, block);
+            int qh = src.get(INT_LE, block + 2);
+            for (int j = 0; j < 16; j += L) {
+                ByteVector q = load(src, block + 6 + j);
+                IntVector x0 = withHighBit(q.and((byte) 0x0F), qh, j).sub(16);
+                IntVector x1 = withHighBit(shiftRight(q, 4), qh, j + 16).sub(16);
+                ((FloatVector) x0.convert(VectorOperators.I2F, 0)).mul(d).intoArray(dst, y + j);
+                ((FloatVector) x1.convert(VectorOperators.I2F, 0)).mul(d).intoArray(dst, y + j + 16);
+            }
+        }
+    }
+
+    static void dequantizeQ5_1(MemorySegment src, long srcOffset, float[] dst, int dstOffset, int blockCount) {
+        for (int b = 0; b < blockCount; b++) {
+            long block = srcOffset + (long) b * 24;
+            int y = dstOffset + b * 32;
+            float d = f16(src, block);
+            float m = f16(src, block + 2);
+            int qh = src.get(INT_LE, block + 4);
+            for (int j = 0; j < 16; j += L) {
+                ByteVector q = load(src, block + 8 + j);
+                IntVector x0 = withHighBit(q.and((byte) 0x0F), qh, j);
+                IntVector x1 = withHighBit(shiftRight(q, 4), qh, j + 16);
+                ((FloatVector) x0.convert(VectorOperators.I2F, 0)).mul(d).add(m).intoArray(dst, y + j);
+                ((FloatVector) x1.convert(VectorOperators.I2F, 0)).mul(d).add(m).intoArray(dst, y + j + 16);
+            }
+        }
+    }
+
+    static void dequantizeQ8_0(MemorySegment src, long srcOffset, float[] dst, int dstOffset, int blockCount) {
+        for (int b = 0; b < blockCount; b++) {
+            long block = srcOffset + (long) b * 34;
+            int y = dstOffset + b * 32;
+            float d = f16(src, block);
+            for (int j = 0; j < 32; j += L) {
+                store(load(src, block + 2 + j), d, 0f, dst, y + j);
+            }
+        }
+    }
+
+    static void dequantizeQ2_K(MemorySegment src, long srcOffset, float[] dst, int dstOffset, int blockCount) {
+        for (int b = 0; b < blockCount; b++) {
+            long block = srcOffset + (long) b * 84;
+            int y = dstOffset + b * QK_K;
+            float d = f16(src, block + 80);
+            float min = f16(src, block + 82);
+            long q = block + 16;
+            int is = 0;
+            for (int n = 0; n < QK_K; n += 128) {
+                for (int shift = 0; shift < 8; shift += 2) {
+                    for (int half = 0; half < 32; half += 16) {
+                        int sc = u8(src, block + is++);
+                        float dl = d * (sc & 0x0F);
+                        float ml = min * (sc >>> 4);
+                        for (int l = 0; l < 16; l += L) {
+                            store(shiftRight(load(src, q + half + l), shift).and((byte) 3), dl, ml, dst, y + l);
+                        }
+                        y += 16;
+                    }
+                }
+                q += 32;
+            }
+        }
+    }
+
+    static void dequantizeQ3_K(MemorySegment src, long srcOffset, float[] dst, int dstOffset, int blockCount) {
+        byte[] scales = new byte[16];
+        for (int b = 0; b < blockCount; b++) {
+            long block = srcOffset + (long) b * 110;
+            int y = dstOffset + b * QK_K;
+            float dAll = f16(src, block + 108);
+            unpackQ3_KScales(src, block + 96, scales);
+            long q = block + 32;
+            int m = 1;
+            int is = 0;
+            for (int n = 0; n < QK_K; n += 128) {
+                for (int shift = 0; shift < 8; shift += 2) {
+                    for (int half = 0; half < 32; half += 16) {
+                        float dl = dAll * (scales[is++] - 32);
+                        for (int l = 0; l < 16; l += L) {
+                            ByteVector qv = shiftRight(load(src, q + half + l), shift).and((byte) 3);
+                            VectorMask<Byte> noHigh = load(src, block + half + l).and((byte) m).eq((byte) 0);
+                            store(qv.sub((byte) 4, noHigh), dl, 0f, dst, y + l);
+                        }
+                        y += 16;
+                    }
+                    m <<= 1;
+                }
+                q += 32;
+            }
+        }
+    }
+
+    static void dequantizeQ4_K(MemorySegment src, long srcOffset, float[] dst, int dstOffset, int blockCount) {
+        int[] sm = new int[2];
+        for (int b = 0; b < blockCount; b++) {
+            long block = srcOffset + (long) b * 144;
+            int y = dstOffset + b * QK_K;
+            float d = f16(src, block);
+            float min = f16(src, block + 2);
+            long q = block + 16;
+            for (int is = 0; is < 8; is += 2) {
+                scaleMinK4(src, block + 4, is, sm);
+                float d1 = d * sm[0];
+                float m1 = min * sm[1];
+                scaleMinK4(src, block + 4, is + 1, sm);
+                float d2 = d * sm[0];
+                float m2 = min * sm[1];
+                for (int l = 0; l < 32; l += L) {
+                    ByteVector qv = load(src, q + l);
+                    store(qv.and((byte) 0x0F), d1, m1, dst, y + l);
+                    store(shiftRight(qv, 4), d2, m2, dst, y + l + 32);
+                }
+                q += 32;
+                y += 64;
+            }
+        }
+    }
+
+    static void dequantizeQ5_K(MemorySegment src, long srcOffset, float[] dst, int dstOffset, int blockCount) {
+        int[] sm = new int[2];
+        for (int b = 0; b < blockCount; b++) {
+            long block = srcOffset + (long) b * 176;
+            int y = dstOffset + b * QK_K;
+            float d = f16(src, block);
+            float min = f16(src, block + 2);
+            long qh = block + 16;
+            long ql = block + 48;
+            int u1 = 1;
+            int u2 = 2;
+            for (int is = 0; is < 8; is += 2) {
+                scaleMinK4(src, block + 4, is, sm);
+                float d1 = d * sm[0];
+                float m1 = min * sm[1];
+                scaleMinK4(src, block + 4, is + 1, sm);
+                float d2 = d * sm[0];
+                float m2 = min * sm[1];
+                for (int l = 0; l < 32; l += L) {
+                    ByteVector q = load(src, ql + l);
+                    ByteVector h = load(src, qh + l);
+                    ByteVector x0 = q.and((byte) 0x0F).add((byte) 16, h.and((byte) u1).compare(VectorOperators.NE, 0));
+                    ByteVector x1 = shiftRight(q, 4).add((byte) 16, h.and((byte) u2).compare(VectorOperators.NE, 0));
+                    store(x0, d1, m1, dst, y + l);
+                    store(x1, d2, m2, dst, y + l + 32);
+                }
+                ql += 32;
+                y += 64;
+                u1 <<= 2;
+                u2 <<= 2;
+            }
+        }
+    }
+
+    static void dequantizeQ6_K(MemorySegment src, long srcOffset, float[] dst, int dstOffset, int blockCount) {
+        for (int b = 0; b < blockCount; b++) {
+            long block = srcOffset + (long) b * 210;
+            int y = dstOffset + b * QK_K;
+            float d = f16(src, block + 208);
+            long ql = block;
+            long qh = block + 128;
+            long sc = block + 192;
+            for (int n = 0; n < QK_K; n += 128) {
+                for (int l = 0; l < 32; l += L) {
+                    int is = l / 16;
+                    ByteVector low0 = load(src, ql + l);
+                    ByteVector low1 = load(src, ql + l + 32);
+                    ByteVector high = load(src, qh + l);
+                    ByteVector q1 = low0.and((byte) 0x0F).or(high.and((byte) 3).lanewise(VectorOperators.LSHL, 4)).sub((byte) 32);
+                    ByteVector q2 = low1.and((byte) 0x0F).or(shiftRight(high, 2).and((byte) 3).lanewise(VectorOperators.LSHL, 4)).sub((byte) 32);
+                    ByteVector q3 = shiftRight(low0, 4).or(shiftRight(high, 4).and((byte) 3).lanewise(VectorOperators.LSHL, 4)).sub((byte) 32);
+                    ByteVector q4 = shiftRight(low1, 4).or(shiftRight(high, 6).lanewise(VectorOperators.LSHL, 4)).sub((byte) 32);
+                    store(q1, d * i8(src, sc + is), 0f, dst, y + l);
+                    store(q2, d * i8(src, sc + is + 2), 0f, dst, y + l + 32);
+                    store(q3, d * i8(src, sc + is + 4), 0f, dst, y + l + 64);
+                    store(q4, d * i8(src, sc + is + 6), 0f, dst, y + l + 96);
+                }
+                y += 128;
+                ql += 64;
+                qh += 32;
+                sc += 8;
+            }
+        }
+    }
+
+    static void dequantizeQ8_K(MemorySegment src, long srcOffset, float[] dst, int dstOffset, int blockCount) {
+        for (int b = 0; b < blockCount; b++) {
+            long block = srcOffset + (long) b * 292;
+            int y = dstOffset + b * QK_K;
+            float d = src.get(FLOAT_LE, block);
+            for (int j = 0; j < QK_K; j += L) {
+                store(load(src, block + 4 + j), d, 0f, dst, y + j);
+            }
+        }
+    }
+
+    /*
+     * The IQ kernels look grid rows up with scalar loads, since the Vector API has no
+     * fast byte gather, then negate the flagged bytes of a row in one step: for grid
+     * bytes in 1..127, (g ^ 0xFF) + 1 is -g and never carries into the next byte.
+     * The decoded int8 values go through a small scratch array to be widened and
+     * scaled a whole vector at a time.
+     */
+
+    private static long applySigns(long grid, int signs) {
+        long mask = IQTables.SIGN_MASKS[signs];
+        return (grid ^ mask) + (mask & LOW_BITS);
+    }
+
+    private static long pack(int grid1, int grid2) {
+        return (grid1 & 0xFFFFFFFFL) | ((long) grid2 << 32);
+    }
+
+    private static void scale(byte[] q8, int from, int count, float scale, float[] dst, int y) {
+        for (int j = 0; j < count; j += L) {
+            toFloat(ByteVector.fromArray(B, q8, from + j)).mul(scale).intoArray(dst, y + j);
+        }
+    }
+
+    static void dequantizeIQ2_XXS(MemorySegment src, long srcOffset, float[] dst, int dstOffset, int blockCount) {
+        byte[] q8 = new byte[32];
+        for (int b = 0; b < blockCount; b++) {
+            long block = srcOffset + (long) b * 66;
+            int y = dstOffset + b * QK_K;
+            float d = f16(src, block);
+            for (int ib32 = 0; ib32 < 8; ib32++) {
+                long q = block + 2 + 8L * ib32;
+                int aux = src.get(INT_LE, q + 4);
+                float db = d * (0.5f + (aux >>> 28)) * 0.25f;
+                for (int l = 0; l < 4; l++) {
+                    long grid = IQTables.IQ2XXS_GRID[u8(src, q + l)];
+                    LONG_LE.set(q8, 8 * l, applySigns(grid, IQTables.KSIGNS_IQ2XS[(aux >>> (7 * l)) & 127]));
+                }
+                scale(q8, 0, 32, db, dst, y);
+                y += 32;
+            }
+        }
+    }
+
+    static void dequantizeIQ2_XS(MemorySegment src, long srcOffset, float[] dst, int dstOffset, int blockCount) {
+        byte[] q8 = new byte[32];
+        for (int b = 0; b < blockCount; b++) {
+            long block = srcOffset + (long) b * 74;
+            int y = dstOffset + b * QK_K;
+            float d = f16(src, block);
+            for (int ib32 = 0; ib32 < 8; ib32++) {
+                int sc = u8(src, block + 66 + ib32);
+                for (int l = 0; l < 4; l++) {
+                    int qs = u16(src, block + 2 + 2L * (4 * ib32 + l));
+                    LONG_LE.set(q8, 8 * l, applySigns(IQTables.IQ2XS_GRID[qs & 511], IQTables.KSIGNS_IQ2XS[qs >>> 9]));
+                }
+                scale(q8, 0, 16, d * (0.5f + (sc & 0x0F)) * 0.25f, dst, y);
+                scale(q8, 16, 16, d * (0.5f + (sc >>> 4)) * 0.25f, dst, y + 16);
+                y += 32;
+            }
+        }
+    }
+
+    static void dequantizeIQ2_S(MemorySegment src, long srcOffset, float[] dst, int dstOffset, int blockCount) {
+        byte[] q8 = new byte[32];
+        for (int b = 0; b < blockCount; b++) {
+            long block = srcOffset + (long) b * 82;
+            int y = dstOffset + b * QK_K;
+            float d = f16(src, block);
+            for (int ib32 = 0; ib32 < 8; ib32++) {
+                int sc = u8(src, block + 74 + ib32);
+                int qh = u8(src, block + 66 + ib32);
+                for (int l = 0; l < 4; l++) {
+                    int index = u8(src, block + 2 + 4 * ib32 + l) | ((qh << (8 - 2 * l)) & 0x300);
+                    LONG_LE.set(q8, 8 * l, applySigns(IQTables.IQ2S_GRID[index], u8(src, block + 34 + 4 * ib32 + l)));
+                }
+                scale(q8, 0, 16, d * (0.5f + (sc & 0x0F)) * 0.25f, dst, y);
+                scale(q8, 16, 16, d * (0.5f + (sc >>> 4)) * 0.25f, dst, y + 16);
+                y += 32;
+            }
+        }
+    }
+
+    static void dequantizeIQ3_XXS(MemorySegment src, long srcOffset, float[] dst, int dstOffset, int blockCount) {
+        byte[] q8 = new byte[32];
+        for (int b = 0; b < blockCount; b++) {
+            long block = srcOffset + (long) b * 98;
+            int y = dstOffset + b * QK_K;
+            float d = f16(src, block);
+            for (int ib32 = 0; ib32 < 8; ib32++) {
+                long q = block + 2 + 8L * ib32;
+                int aux = src.get(INT_LE, block + 66 + 4L * ib32);
+                for (int l = 0; l < 4; l++) {
+                    long grid = pack(IQTables.IQ3XXS_GRID[u8(src, q + 2 * l)], IQTables.IQ3XXS_GRID[u8(src, q + 2 * l + 1)]);
+                    LONG_LE.set(q8, 8 * l, applySigns(grid, IQTables.KSIGNS_IQ2XS[(aux >>> (7 * l)) & 127]));
+                }
+                scale(q8, 0, 32, d * (0.5f + (aux >>> 28)) * 0.5f, dst, y);
+                y += 32;
+            }
+        }
+    }
+
+    static void dequantizeIQ3_S(MemorySegment src, long srcOffset, float[] dst, int dstOffset, int blockCount) {
+        byte[] q8 = new byte[32];
+        for (int b = 0; b < blockCount; b++) {
+            long block = srcOffset + (long) b * 110;
+            int y = dstOffset + b * QK_K;
+            float d = f16(src, block);
+            for (int ib32 = 0; ib32 < 8; ib32++) {
+                int sc = u8(src, block + 106 + ib32 / 2);
+                int qh = u8(src, block + 66 + ib32);
+                long q = block + 2 + 8L * ib32;
+                for (int l = 0; l < 4; l++) {
+                    int grid1 = IQTables.IQ3S_GRID[u8(src, q + 2 * l) | ((qh << (8 - 2 * l)) & 256)];
+                    int grid2 = IQTables.IQ3S_GRID[u8(src, q + 2 * l + 1) | ((qh << (7 - 2 * l)) & 256)];
+                    LONG_LE.set(q8, 8 * l, applySigns(pack(grid1, grid2), u8(src, block + 74 + 4 * ib32 + l)));
+                }
+                scale(q8, 0, 32, d * (1 + 2 * ((ib32 & 1) == 0 ? sc & 0x0F : sc >>> 4)), dst, y);
+                y += 32;
+            }
+        }
+    }
+
+    static void dequantizeIQ1_S(MemorySegment src, long srcOffset, float[] dst, int dstOffset, int blockCount) {
+        byte[] q8 = new byte[32];
+        for (int b = 0; b < blockCount; b++) {
+            long block = srcOffset + (long) b * 50;
+            int y = dstOffset + b * QK_K;
+            float d = f16(src, block);
+            for (int ib = 0; ib < 8; ib++) {
+                int qh = u16(src, block + 34 + 2L * ib);
+                for (int l = 0; l < 4; l++) {
+                    int index = u8(src, block + 2 + 4 * ib + l) | (((qh >>> (3 * l)) & 7) << 8);
+                    LONG_LE.set(q8, 8 * l, IQTables.IQ1S_GRID[index]);
+                }
+                float dl = d * (2 * ((qh >>> 12) & 7) + 1);
+                float delta = (qh & 0x8000) != 0 ? -IQ1_DELTA : IQ1_DELTA;
+                for (int j = 0; j < 32; j += L) {
+                    toFloat(ByteVector.fromArray(B, q8, j)).add(delta).mul(dl).intoArray(dst, y + j);
+                }
+                y += 32;
+            }
+        }
+    }
+
+    /**
+     * IQ1_M deltas vary per row of eight, so rows are decoded as {@code 8 * g + sign(delta)}
+     * and scaled by {@code dl / 8}; both steps are exact, so this matches {@code dl * (g + delta)}.
+     */
+    static void dequantizeIQ1_M(MemorySegment src, long srcOffset, float[] dst, int dstOffset, int blockCount) {
+        byte[] q8 = new byte[32];
+        byte[] deltas = new byte[32];
+        for (int b = 0; b < blockCount; b++) {
+            long block = srcOffset + (long) b * 56;
+            int y = dstOffset + b * QK_K;
+            float d = ScalarKernels.iq1mScale(src, block + 48);
+            for (int ib = 0; ib < 8; ib++) {
+                int sc = u16(src, block + 48 + 2L * (ib / 2));
+                int shift = 6 * (ib % 2);
+                for (int l = 0; l < 4; l++) {
+                    int qh = u8(src, block + 32 + 2 * ib + l / 2);
+                    int high = (l & 1) == 0 ? qh : qh >>> 4;
+                    LONG_LE.set(q8, 8 * l, IQTables.IQ1S_GRID[u8(src, block + 4 * ib + l) | ((high & 7) << 8)]);
+                    LONG_LE.set(deltas, 8 * l, (high & 0x08) != 0 ? -1L : LOW_BITS);
+                }
+                for (int j = 0; j < 32; j += L) {
+                    float dl = d * (2 * ((sc >>> (j < 16 ? shift : shift + 3)) & 7) + 1);
+                    ByteVector q = ByteVector.fromArray(B, q8, j).lanewise(VectorOperators.LSHL, 3).add(ByteVector.fromArray(B, deltas, j));
+                    store(q, dl * IQ1_DELTA, 0f, dst, y + j);
+                }
+                y += 32;
+            }
+        }
+    }
+
+    /**
+     * Map 16 nibbles through the IQ4 codebook with a byte shuffle and store them scaled.
+     */
+    private static void storeIQ4(ByteVector nibbles, float scale, float[] dst, int y) {
+        ByteVector values = KVALUES.rearrange(nibbles.toShuffle());
+        for (int part = 0; part < 16 / L; part++) {
+            ((FloatVector) values.convertShape(VectorOperators.B2F, F, part)).mul(scale).intoArray(dst, y + part * L);
+        }
+    }
+
+    static void dequantizeIQ4_NL(MemorySegment src, long srcOffset, float[] dst, int dstOffset, int blockCount) {
+        for (int b = 0; b < blockCount; b++) {
+            long block = srcOffset + (long) b * 18;
+            int y = dstOffset + b * 32;
+            float d = f16(src, block);
+            ByteVector q = ByteVector.fromMemorySegment(B128, src, block + 2, ByteOrder.LITTLE_ENDIAN);
+            storeIQ4(q.and((byte) 0x0F), d, dst, y);
+            storeIQ4(shiftRight(q, 4), d, dst, y + 16);
+        }
+    }
+
+    static void dequantizeIQ4_XS(MemorySegment src, long srcOffset, float[] dst, int dstOffset, int blockCount) {
+        for (int b = 0; b < blockCount; b++) {
+            long block = srcOffset + (long) b * 136;
+            int y = dstOffset + b * QK_K;
+            float d = f16(src, block);
+            int scalesH = u16(src, block + 2);
+            for (int ib = 0; ib < 8; ib++) {
+                int ls = ((u8(src, block + 4 + ib / 2) >>> (4 * (ib % 2))) & 0x0F) | (((scalesH >>> (2 * ib)) & 3) << 4);
+                float dl = d * (ls - 32);
+                ByteVector q = ByteVector.fromMemorySegment(B128, src, block + 8 + 16L * ib, ByteOrder.LITTLE_ENDIAN);
+                storeIQ4(q.and((byte) 0x0F), dl, dst, y);
+                storeIQ4(shiftRight(q, 4), dl, dst, y + 16);
+                y += 32;
+            }
+        }
+    }
+
+    /**
+     * Extract ternary digits: after scaling by a power of three, the top digit of a byte
+     * {@code q} is {@code (q * 3) >> 8}, i.e. how many of 86 and 171 it reaches.
+     */
+    private static void storeTernary(ByteVector packed, int pow3, float d, float[] dst, int y) {
+        ByteVector q = packed.mul((byte) pow3);
+        ByteVector digit = ByteVector.broadcast(B, (byte) -1)
+                .add((byte) 1, q.compare(VectorOperators.UNSIGNED_GE, (byte) 86))
+                .add((byte) 1, q.compare(VectorOperators.UNSIGNED_GE, (byte) 171));
+        store(digit, d, 0f, dst, y);
+    }
+
+    static void dequantizeTQ1_0(MemorySegment src, long srcOffset, float[] dst, int dstOffset, int blockCount) {
+        int[] pow3 = {1, 3, 9, 27, 81};
+        for (int b = 0; b < blockCount; b++) {
+            long block = srcOffset + (long) b * 54;
+            int y = dstOffset + b * QK_K;
+            float d = f16(src, block + 52);
+            for (int n = 0; n < 5; n++) {
+                for (int m = 0; m < 32; m += L) {
+                    storeTernary(load(src, block + m), pow3[n], d, dst, y + m);
+                }
+                y += 32;
+            }
+            for (int n = 0; n < 5; n++) {
+                for (int m = 0; m < 16; m += L) {
+                    storeTernary(load(src, block + 32 + m), pow3[n], d, dst, y + m);
+                }
+                y += 16;
+            }
+            for (int n = 0; n < 4; n++) {
+                for (int j = 0; j < 4; j++) {
+                    dst[y++] = ScalarKernels.ternary(u8(src, block + 48 + j), pow3[n]) * d;
+                }
+            }
+        }
+    }
+
+    static void dequantizeTQ2_0(MemorySegment src, long srcOffset, float[] dst, int dstOffset, int blockCount) {
+        for (int b = 0; b < blockCount; b++) {
+            long block = srcOffset + (long) b * 66;
+            int y = dstOffset + b * QK_K;
+            float d = f16(src, block + 64);
+            for (int j = 0; j < 64; j += 32) {
+                for (int l = 0; l < 4; l++) {
+                    for (int m = 0; m < 32; m += L) {
+                        store(shiftRight(load(src, block + j + m), 2 * l).and((byte) 3).sub((byte) 1), d, 0f, dst, y + m);
+                    }
+                    y += 32;
+                }
+            }
+        }
+    }
+}
@@ -5,48 +5,50 @@ package io.github.ilopezluna.gguf4j.scalar;
  * These correspond to the tensor data types used in GGML.
  */
 public enum GGMLType {
-    F32(0, 4, "F32"),
-    F16(1, 2, "F16"),
-    Q4_0(2, 0.5f, "Q4_0"),
-    Q4_1(3, 0.5f, "Q4_1"),
-    Q5_0(6, 0.625f, "Q5_0"),
-    Q5_1(7, 0.625f, "Q5_1"),
-    Q8_0(8, 1.0f, "Q8_0"),
-    Q8_1(9, 1.0f, "Q8_1"),
-    Q2_K(10, 0.25f, "Q2_K"),
-    Q3_K(11, 0.375f, "Q3_K"),
-    Q4_K(12, 0.5f, "Q4_K"),
-    Q5_K(13, 0.625f, "Q5_K"),
-    Q6_K(14, 0.75f, "Q6_K"),
-    Q8_K(15, 1.0f, "Q8_K"),
-    IQ2_XXS(16, 0.125f, "IQ2_XXS"),
-    IQ2_XS(17, 0.15625f, "IQ2_XS"),
-    IQ3_XXS(18, 0.1875f, "IQ3_XXS"),
-    IQ1_S(19, 0.0625f, "IQ1_S"),
-    IQ4_NL(20, 0.5f, "IQ4_NL"),
-    IQ3_S(21, 0.1875f, "IQ3_S"),
-    IQ2_S(22, 0.125f, "IQ2_S"),
-    IQ4_XS(23, 0.5f, "IQ4_XS"),
-    I8(24, 1.0f, "I8"),
-    I16(25, 2.0f, "I16"),
-    I32(26, 4.0f, "I32"),
-    I64(27, 8.0f, "I64"),
-    F64(28, 8.0f, "F64"),
-    IQ1_M(29, 0.0625f, "IQ1_M"),
-    BF16(30, 2.0f, "BF16"),
-    Q4_0_4_4(31, 0.5f, "Q4_0_4_4"),
-    Q4_0_4_8(32, 0.5f, "Q4_0_4_8"),
-    Q4_0_8_8(33, 0.5f, "Q4_0_8_8"),
-    TQ1_0(34, 0.0625f, "TQ1_0"),
-    TQ2_0(35, 0.125f, "TQ2_0");
+    F32(0, 1, 4, "F32"),
+    F16(1, 1, 2, "F16"),
+    Q4_0(2, 32, 18, "Q4_0"),
+    Q4_1(3, 32, 20, "Q4_1"),
+    Q5_0(6, 32, 22, "Q5_0"),
+    Q5_1(7, 32, 24, "Q5_1"),
+    Q8_0(8, 32, 34, "Q8_0"),
+    Q8_1(9, 32, 36, "Q8_1"),
+    Q2_K(10, 256, 84, "Q2_K"),
+    Q3_K(11, 256, 110, "Q3_K"),
+    Q4_K(12, 256, 144, "Q4_K"),
+    Q5_K(13, 256, 176, "Q5_K"),
+    Q6_K(14, 256, 210, "Q6_K"),
+    Q8_K(15, 256, 292, "Q8_K"),
+    IQ2_XXS(16, 256, 66, "IQ2_XXS"),
+    IQ2_XS(17, 256, 74, "IQ2_XS"),
+    IQ3_XXS(18, 256, 98, "IQ3_XXS"),
+    IQ1_S(19, 256, 50, "IQ1_S"),
+    IQ4_NL(20, 32, 18, "IQ4_NL"),
+    IQ3_S(21, 256, 110, "IQ3_S"),
+    IQ2_S(22, 256, 82, "IQ2_S"),
+    IQ4_XS(23, 256, 136, "IQ4_XS"),
+    I8(24, 1, 1, "I8"),
+    I16(25, 1, 2, "I16"),
+    I32(26, 1, 4, "I32"),
+    I64(27, 1, 8, "I64"),
+    F64(28, 1, 8, "F64"),
+    IQ1_M(29, 256, 56, "IQ1_M"),
+    BF16(30, 1, 2, "BF16"),
+    Q4_0_4_4(31, 32, 18, "Q4_0_4_4"),
+    Q4_0_4_8(32, 32, 18, "Q4_0_4_8"),
+    Q4_0_8_8(33, 32, 18, "Q4_0_8_8"),
+    TQ1_0(34, 256, 54, "TQ1_0"),
+    TQ2_0(35, 256, 66, "TQ2_0");
 
     private final int value;
-    private final float bytesPerWeight;
+    private final int blockSize;
+    private final int typeSize;
     private final String name;
 
-    GGMLType(int value, float bytesPerWeight, String name) {
+    GGMLType(int value, int blockSize, int typeSize, String name) {
         this.value = value;
-        this.bytesPerWeight = bytesPerWeight;
+        this.blockSize = blockSize;
+        this.typeSize = typeSize;
         this.name = name;
     }
 
@@ -55,7 +57,14 @@ public enum GGMLType {
     }
 
     public float getBytesPerWeight() {
-        return bytesPerWeight;
+        return (float) typeSize / blockSize;
+    }
+
+    /**
+     * Get the number of bytes in one block of this type.
+     */
+    public int getTypeSize() {
+        return typeSize;
     }
 
     public String getName() {
@@ -83,17 +92,17 @@ public enum GGMLType {
     }
 
     /**
-     * Get the block size for quantized types.
+     * Get the number of elements in one block (1 for non-quantized types).
      */
     public int getBlockSize() {
-        return switch (this) {
-            case Q4_0, Q4_1, Q5_0, Q5_1, Q8_0, Q8_1 -> 32;
-            case Q2_K, Q3_K, Q4_K, Q5_K, Q6_K, Q8_K -> 256;
-            case IQ2_XXS, IQ2_XS, IQ3_XXS, IQ1_S, IQ4_NL, IQ3_S, IQ2_S, IQ4_XS, IQ1_M -> 32;
-            case TQ1_0, TQ2_0 -> 256;
-            case Q4_0_4_4, Q4_0_4_8, Q4_0_8_8 -> 32;
-            default -> 1;
-        };
+        return blockSize;
+    }
+
+    /**
+     * Get the number of bytes needed to store the given number of elements.
+     */
+    public long getByteSize(long elementCount) {
+        return (elementCount + blockSize - 1) / blockSize * typeSize;
     }
 
     @Override
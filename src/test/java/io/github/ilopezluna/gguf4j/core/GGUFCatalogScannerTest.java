@@ -0,0 +1,85 @@
+package io.github.ilopezluna.gguf4j.core;
+
+import io.github.ilopezluna.gguf4j.scalar.GGMLType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests for scanning directories of GGUF files.
+ */
+class GGUFCatalogScannerTest {
+
+    @Test
+    void testScanReportsEveryFile(@TempDir Path tempDir) throws IOException {
+        createModel(tempDir.resolve("a.gguf"), "a");
+        Files.createDirectories(tempDir.resolve("nested/deeper"));
+        createModel(tempDir.resolve("nested/b.gguf"), "b");
+        createModel(tempDir.resolve("nested/deeper/c.bin"), "c");
+        Files.writeString(tempDir.resolve("README.md"), "not a model");
+        Files.write(tempDir.resolve("empty.gguf"), new byte[0]);
+
+        // A valid header followed by a truncated metadata section
+        byte[] model = Files.readAllBytes(tempDir.resolve("a.gguf"));
+        Path broken = tempDir.resolve("nested/broken.gguf");
+        Files.write(broken, Arrays.copyOf(model, 30));
+
+        List<GGUFScanResult> results = new ArrayList<>();
+        GGUFCatalogScanner.Summary summary = GGUFCatalogScanner.DEFAULT.withConcurrency(2).scan(tempDir, results::add);
+
+        assertThat(summary).isEqualTo(new GGUFCatalogScanner.Summary(6, 3, 2, 1));
+        assertThat(results).hasSize(4);
+        assertThat(results).filteredOn(GGUFScanResult::isSuccess)
+                .extracting(result -> result.file().getName().orElseThrow())
+                .containsExactlyInAnyOrder("a", "b", "c");
+        assertThat(results).filteredOn(GGUFScanResult::isSuccess)
+                .allSatisfy(result -> assertThat(result.file().tensors()).isEmpty());
+        assertThat(results).filteredOn(result -> !result.isSuccess())
+                .singleElement()
+                .satisfies(result -> {
+                    assertThat(result.path()).isEqualTo(broken);
+                    assertThat(result.error()).isInstanceOf(IOException.class);
+                });
+
+        List<GGUFScanResult> full = new ArrayList<>();
+        GGUFCatalogScanner.DEFAULT.withTensors().scan(tempDir.resolve("nested"), full::add);
+        assertThat(full).filteredOn(GGUFScanResult::isSuccess)
+                .allSatisfy(result -> assertThat(result.file().tensors()).extracting(GGUFTensorInfo::name)
+                        .containsExactly("output_norm.weight"));
+    }
+
+    @Test
+    void testConsumerFailureStopsScan(@TempDir Path tempDir) throws IOException {
+        for (int i = 0; i < 8; i++) {
+            createModel(tempDir.resolve("model-" + i + ".gguf"), "m" + i);
+        }
+        List<GGUFScanResult> results = new ArrayList<>();
+
+        assertThatThrownBy(() -> GGUFCatalogScanner.DEFAULT.withConcurrency(1).scan(tempDir, result -> {
+            results.add(result);
+            throw new IllegalStateException("stop");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("stop");
+        assertThat(results).hasSize(1);
+
+        GGUFCatalogScanner.Summary missing = GGUFCatalogScanner.DEFAULT.scan(tempDir.resolve("missing"), result -> {
+        });
+        assertThat(missing.failed()).isEqualTo(1);
+        assertThatThrownBy(() -> GGUFCatalogScanner.DEFAULT.withConcurrency(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void createModel(Path path, String name) throws IOException {
+        GGUFMetadata metadata = new GGUFMetadata(Map.of(GGUFConstants.GENERAL_NAME, new GGUFMetadataValue.StringValue(name)));
+        List<GGUFTensorInfo> tensors = List.of(new GGUFTensorInfo("output_norm.weight", new long[]{8}, GGMLType.F32, 0));
+        GGUFTestFiles.writeModel(path, metadata, tensors);
+    }
+}
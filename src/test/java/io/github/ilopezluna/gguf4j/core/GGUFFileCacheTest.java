@@ -0,0 +1,174 @@
+package io.github.ilopezluna.gguf4j.core;
+
+import io.github.ilopezluna.gguf4j.scalar.GGMLType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests for the parsed file cache.
+ */
+class GGUFFileCacheTest {
+
+    @Test
+    void testHitsMissesAndEviction(@TempDir Path tempDir) throws IOException {
+        Path a = createModel(tempDir.resolve("a.gguf"), "a");
+        Path b = createModel(tempDir.resolve("b.gguf"), "b");
+        Path c = createModel(tempDir.resolve("c.gguf"), "c");
+        long weight = GGUFFileCache.estimateWeight(GGUFParser.parse(a));
+
+        // Room for two files
+        GGUFFileCache cache = new GGUFFileCache(2 * weight + weight / 2);
+        GGUFFile first = cache.get(a);
+        assertThat(cache.get(tempDir.resolve("x/../a.gguf"))).isSameAs(first);
+        cache.get(b);
+        cache.get(a);
+        cache.get(c);
+        assertThat(cache.stats()).isEqualTo(new GGUFFileCache.Stats(2, 3, 1, 2, 2 * weight));
+
+        // b was least recently used and has been evicted
+        cache.get(a);
+        cache.get(b);
+        assertThat(cache.stats().hits()).isEqualTo(3);
+        assertThat(cache.stats().evictions()).isEqualTo(2);
+
+        // A changed file is parsed again
+        createModel(a, "A");
+        Files.setLastModifiedTime(a, FileTime.fromMillis(Files.getLastModifiedTime(a).toMillis() + 5000));
+        assertThat(cache.get(a).getName()).contains("A");
+        assertThat(cache.stats().size()).isEqualTo(2);
+
+        cache.invalidateAll();
+        assertThat(cache.stats().weight()).isZero();
+        assertThat(new GGUFFileCache(1).get(a).getName()).contains("A");
+        assertThatThrownBy(() -> new GGUFFileCache(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testDeferredArraysAreChargedBeforeTheyLoad(@TempDir Path tempDir) throws IOException {
+        Path a = createModelWithTokens(tempDir.resolve("a.gguf"), "a");
+        Path b = createModelWithTokens(tempDir.resolve("b.gguf"), "b");
+        GGUFFile lazy = GGUFParser.parse(a, GGUFParseOptions.lazyArrays());
+        long unloaded = GGUFFileCache.estimateWeight(lazy);
+        assertThat(lazy.metadata().getArray(GGUFConstants.TOKENIZER_LIST).orElseThrow().asStringArray()).hasSize(1000);
+        // Tokens of eight bytes decode to exactly the estimated size
+        assertThat(GGUFFileCache.estimateWeight(lazy)).isEqualTo(unloaded);
+
+        // Room for one file with its tokens loaded, but for several without
+        long loaded = GGUFFileCache.estimateWeight(GGUFParser.parse(a));
+        GGUFFileCache cache = new GGUFFileCache(loaded + loaded / 2, p -> GGUFParser.parse(p, GGUFParseOptions.lazyArrays()));
+        GGUFFile cached = cache.get(a);
+        cached.metadata().getArray(GGUFConstants.TOKENIZER_LIST).orElseThrow().asStringArray();
+
+        // b pushes a out rather than both being kept at their unloaded size
+        cache.get(b);
+        assertThat(cache.stats().size()).isEqualTo(1);
+        assertThat(cache.stats().evictions()).isEqualTo(1);
+        assertThat(cache.stats().weight()).isLessThanOrEqualTo(cache.getMaxWeight());
+    }
+
+    @Test
+    void testConcurrentMissesParseOnce(@TempDir Path tempDir) throws Exception {
+        Path path = createModel(tempDir.resolve("model.gguf"), "model");
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        GGUFFileCache cache = new GGUFFileCache(1 << 20, p -> {
+            loads.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            return GGUFParser.parse(p);
+        });
+
+        List<Future<GGUFFile>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> cache.get(path)));
+            }
+            while (cache.stats().misses() < 8) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+        }
+        for (Future<GGUFFile> result : results) {
+            assertThat(result.get()).isSameAs(results.get(0).get());
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(cache.stats().size()).isEqualTo(1);
+    }
+
+    @Test
+    void testFailuresAreNotCached(@TempDir Path tempDir) throws Exception {
+        Path path = createModel(tempDir.resolve("model.gguf"), "model");
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        GGUFFileCache cache = new GGUFFileCache(1 << 20, p -> {
+            if (loads.incrementAndGet() == 1) {
+                started.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IOException("boom");
+            }
+            return GGUFParser.parse(p);
+        });
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<GGUFFile> owner = executor.submit(() -> cache.get(path));
+            started.await();
+            Future<GGUFFile> waiter = executor.submit(() -> cache.get(path));
+            while (cache.stats().misses() < 2) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            assertThatThrownBy(owner::get).isInstanceOf(ExecutionException.class)
+                    .cause().isInstanceOf(IOException.class).hasMessage("boom");
+            assertThatThrownBy(waiter::get).isInstanceOf(ExecutionException.class)
+                    .cause().isInstanceOf(IOException.class).hasRootCauseMessage("boom");
+        }
+        assertThat(cache.stats().size()).isZero();
+        assertThat(cache.get(path).getName()).contains("model");
+        assertThat(loads).hasValue(2);
+    }
+
+    private static Path createModelWithTokens(Path path, String name) throws IOException {
+        Map<String, GGUFMetadataValue> values = new LinkedHashMap<>();
+        values.put(GGUFConstants.GENERAL_NAME, new GGUFMetadataValue.StringValue(name));
+        values.put(GGUFConstants.TOKENIZER_LIST, GGUFMetadataValue.StringArrayValue.of(
+            IntStream.range(0, 1000).mapToObj(i -> String.format("tok%05d", i)).toArray(String[]::new)));
+        GGUFTestFiles.writeModel(path, new GGUFMetadata(values), List.of());
+        return path;
+    }
+
+    private static Path createModel(Path path, String name) throws IOException {
+        GGUFMetadata metadata = new GGUFMetadata(Map.of(GGUFConstants.GENERAL_NAME, new GGUFMetadataValue.StringValue(name)));
+        List<GGUFTensorInfo> tensors = List.of(new GGUFTensorInfo("output_norm.weight", new long[]{8}, GGMLType.F32, 0));
+        GGUFTestFiles.writeModel(path, metadata, tensors);
+        return path;
+    }
+}
@@ -0,0 +1,71 @@
+package io.github.ilopezluna.gguf4j.core;
+
+import io.github.ilopezluna.gguf4j.scalar.GGMLType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests for tensor lookups on a parsed GGUF file.
+ */
+class GGUFFileTest {
+
+    @Test
+    void testTensorLookups() {
+        List<GGUFTensorInfo> tensors = new ArrayList<>();
+        tensors.add(tensor("token_embd.weight"));
+        for (int layer = 0; layer < 3; layer++) {
+            tensors.add(tensor("blk." + layer + ".attn_q.weight"));
+            tensors.add(tensor("blk." + layer + ".ffn_down.weight"));
+        }
+        tensors.add(tensor("output_norm.weight"));
+        tensors.add(tensor("output_norm.bias"));
+        GGUFFile ggufFile = file(tensors);
+
+        assertThat(ggufFile.findTensor("blk.1.ffn_down.weight")).containsSame(tensors.get(4));
+        assertThat(ggufFile.findTensor("blk.9.ffn_down.weight")).isEmpty();
+
+        assertThat(ggufFile.getLayerCount()).isEqualTo(3);
+        assertThat(ggufFile.getTensorsByLayer(2)).extracting(GGUFTensorInfo::name)
+                .containsExactly("blk.2.attn_q.weight", "blk.2.ffn_down.weight");
+        assertThat(ggufFile.getTensorsByLayer(3)).isEmpty();
+        assertThat(ggufFile.getTensorsByLayer(-1)).extracting(GGUFTensorInfo::name)
+                .containsExactly("token_embd.weight", "output_norm.weight", "output_norm.bias");
+
+        assertThat(ggufFile.findTensors("blk\\.\\d+\\.attn_q\\.weight")).hasSize(3);
+        assertThat(ggufFile.findTensors("output_norm\\..*")).hasSize(2);
+    }
+
+    @Test
+    void testSparseLayerNumbers() {
+        GGUFFile ggufFile = file(List.of(tensor("blk.2000000000.w.weight")));
+
+        assertThat(ggufFile.getTensorsByLayer(0)).isEmpty();
+        assertThat(ggufFile.getTensorsByLayer(2_000_000_000)).hasSize(1);
+        assertThat(ggufFile.getLayerCount()).isEqualTo(2_000_000_001);
+    }
+
+    @Test
+    void testLayerNumberExtraction() {
+        assertThat(tensor("blk.12.attn_k.weight").getLayerNumber()).isEqualTo(12);
+        assertThat(tensor("enc.blk.7.ffn_up.weight").getLayerNumber()).isEqualTo(7);
+        assertThat(tensor("blk.x.blk.4.weight").getLayerNumber()).isEqualTo(4);
+        assertThat(tensor("blk.5").getLayerNumber()).isEqualTo(5);
+        assertThat(tensor("blk.").getLayerNumber()).isEqualTo(-1);
+        assertThat(tensor("myblk.3.weight").getLayerNumber()).isEqualTo(-1);
+        assertThat(tensor("token_embd.weight").getLayerNumber()).isEqualTo(-1);
+    }
+
+    private static GGUFTensorInfo tensor(String name) {
+        return new GGUFTensorInfo(name, new long[]{32}, GGMLType.F32, 0);
+    }
+
+    private static GGUFFile file(List<GGUFTensorInfo> tensors) {
+        GGUFHeader header = new GGUFHeader(GGUFConstants.GGUF_MAGIC, GGUFConstants.GGUF_VERSION_3, tensors.size(), 0);
+        return new GGUFFile(header, new GGUFMetadata(Map.of()), tensors, 0);
+    }
+}
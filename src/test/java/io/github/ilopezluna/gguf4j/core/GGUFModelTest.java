@@ -0,0 +1,105 @@
+package io.github.ilopezluna.gguf4j.core;
+
+import io.github.ilopezluna.gguf4j.scalar.GGMLType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static io.github.ilopezluna.gguf4j.core.GGUFTestFiles.*;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests for zero-copy tensor data access.
+ */
+class GGUFModelTest {
+
+    @Test
+    void testTensorSlices(@TempDir Path tempDir) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        writeInt32(baos, GGUFConstants.GGUF_MAGIC);
+        writeInt32(baos, GGUFConstants.GGUF_VERSION_3);
+        writeUInt64(baos, 2);  // tensor count
+        writeUInt64(baos, 0);  // metadata count
+        
+        writeTensorInfo(baos, "norm.weight", 8, GGMLType.F32, 0);
+        writeTensorInfo(baos, "blk.0.ffn_up.weight", 64, GGMLType.Q8_0, 32);
+        while (baos.size() % 32 != 0) {
+            baos.write(0);
+        }
+        
+        // norm.weight: 8 floats at offset 0
+        for (int i = 0; i < 8; i++) {
+            writeInt32(baos, Float.floatToIntBits(i * 0.5f));
+        }
+        // blk.0.ffn_up.weight: two Q8_0 blocks of 34 bytes at offset 32
+        for (int i = 0; i < 68; i++) {
+            baos.write(i);
+        }
+        
+        Path file = tempDir.resolve("model.gguf");
+        Files.write(file, baos.toByteArray());
+        
+        MemorySegment norm;
+        try (GGUFModel model = GGUFModel.open(file)) {
+            norm = model.tensorData("norm.weight");
+            assertThat(norm.byteSize()).isEqualTo(32);
+            assertThat(norm.isReadOnly()).isTrue();
+            assertThat(norm.get(ValueLayout.JAVA_FLOAT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN), 12)).isEqualTo(1.5f);
+            
+            MemorySegment ffn = model.tensorData("blk.0.ffn_up.weight");
+            assertThat(ffn.byteSize()).isEqualTo(68);
+            assertThat(ffn.get(ValueLayout.JAVA_BYTE, 67)).isEqualTo((byte) 67);
+            
+            ByteBuffer buffer = model.tensorBuffer(model.file().tensors().get(0));
+            assertThat(buffer.isReadOnly()).isTrue();
+            assertThat(buffer.getFloat(28)).isEqualTo(3.5f);
+            
+            assertThatThrownBy(() -> model.tensorData("missing.weight"))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+        
+        assertThatThrownBy(() -> norm.get(ValueLayout.JAVA_BYTE, 0))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void testTensorPastEndOfFile(@TempDir Path tempDir) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        writeInt32(baos, GGUFConstants.GGUF_MAGIC);
+        writeInt32(baos, GGUFConstants.GGUF_VERSION_3);
+        writeUInt64(baos, 1);
+        writeUInt64(baos, 0);
+        writeTensorInfo(baos, "truncated.weight", 1024, GGMLType.F16, 0);
+        while (baos.size() % 32 != 0) {
+            baos.write(0);
+        }
+        baos.write(new byte[16]);
+        
+        Path file = tempDir.resolve("truncated.gguf");
+        Files.write(file, baos.toByteArray());
+        
+        try (GGUFModel model = GGUFModel.open(file)) {
+            assertThatThrownBy(() -> model.tensorData("truncated.weight"))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("extends past the end");
+        }
+    }
+
+    @Test
+    void testQuantizedTensorSizes() {
+        assertThat(new GGUFTensorInfo("q4", new long[]{4096, 2}, GGMLType.Q4_0, 0).getSizeInBytes())
+                .isEqualTo(8192 / 32 * 18);
+        assertThat(new GGUFTensorInfo("q6k", new long[]{4096}, GGMLType.Q6_K, 0).getSizeInBytes())
+                .isEqualTo(16 * 210);
+        assertThat(new GGUFTensorInfo("bf16", new long[]{10}, GGMLType.BF16, 0).getSizeInBytes())
+                .isEqualTo(20);
+    }
+}
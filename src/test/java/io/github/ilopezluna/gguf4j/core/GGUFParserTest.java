@@ -1,8 +1,10 @@
 package io.github.ilopezluna.gguf4j.core;
 
+import io.github.ilopezluna.gguf4j.io.BinaryReader;
 import io.github.ilopezluna.gguf4j.scalar.GGMLType;
 import io.github.ilopezluna.gguf4j.scalar.GGUFMetadataValueType;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
@@ -10,6 +12,12 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -76,6 +84,374 @@ class GGUFParserTest {
         assertThat(tensor.getSizeInBytes()).isEqualTo(800); // 200 * 4 bytes
     }
 
+    @Test
+    void testParseMappedFileMatchesStream(@TempDir Path tempDir) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        
+        writeInt32(baos, GGUFConstants.GGUF_MAGIC);
+        writeInt32(baos, GGUFConstants.GGUF_VERSION_3);
+        writeUInt64(baos, 2);  // tensor count
+        writeUInt64(baos, 3);  // metadata count
+        
+        writeString(baos, GGUFConstants.GENERAL_ARCHITECTURE);
+        writeInt32(baos, GGUFMetadataValueType.STRING.getValue());
+        writeString(baos, "llama");
+        
+        writeString(baos, "llama.context_length");
+        writeInt32(baos, GGUFMetadataValueType.UINT32.getValue());
+        writeUInt32(baos, 4096);
+        
+        writeString(baos, GGUFConstants.TOKENIZER_SCORES);
+        writeInt32(baos, GGUFMetadataValueType.ARRAY.getValue());
+        writeInt32(baos, GGUFMetadataValueType.FLOAT32.getValue());
+        writeUInt64(baos, 3);
+        for (float score : new float[]{0.5f, -1.25f, 3.0f}) {
+            writeInt32(baos, Float.floatToIntBits(score));
+        }
+        
+        writeString(baos, "token_embd.weight");
+        writeUInt32(baos, 2);
+        writeUInt64(baos, 64);
+        writeUInt64(baos, 8);
+        writeInt32(baos, GGMLType.F16.getValue());
+        writeUInt64(baos, 0);
+        
+        writeString(baos, "blk.0.attn_q.weight");
+        writeUInt32(baos, 1);
+        writeUInt64(baos, 64);
+        writeInt32(baos, GGMLType.F32.getValue());
+        writeUInt64(baos, 1024);
+        
+        while (baos.size() % 32 != 0) {
+            baos.write(0);
+        }
+        
+        byte[] data = baos.toByteArray();
+        Path file = tempDir.resolve("model.gguf");
+        Files.write(file, data);
+        
+        GGUFFile mapped = GGUFParser.parse(file);
+        GGUFFile streamed = GGUFParser.parse(new ByteArrayInputStream(data));
+        
+        assertThat(mapped.header()).isEqualTo(streamed.header());
+        assertThat(mapped.tensorDataOffset()).isEqualTo(streamed.tensorDataOffset()).isEqualTo(data.length);
+        assertThat(mapped.getArchitecture()).contains("llama");
+        assertThat(mapped.getContextLength()).contains(4096L);
+        assertThat(mapped.metadata().get(GGUFConstants.TOKENIZER_SCORES).orElseThrow().asArray().size()).isEqualTo(3);
+        assertThat(mapped.tensors()).extracting(GGUFTensorInfo::name)
+                .containsExactly("token_embd.weight", "blk.0.attn_q.weight");
+        assertThat(mapped.tensors().get(1).offset()).isEqualTo(1024);
+        
+        GGUFFile metadataOnly = GGUFParser.parseHeaderAndMetadata(file);
+        assertThat(metadataOnly.getMetadataCount()).isEqualTo(3);
+        assertThat(metadataOnly.tensors()).isEmpty();
+    }
+
+    @Test
+    void testParseTruncatedMappedFile(@TempDir Path tempDir) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        writeInt32(baos, GGUFConstants.GGUF_MAGIC);
+        writeInt32(baos, GGUFConstants.GGUF_VERSION_3);
+        
+        Path file = tempDir.resolve("truncated.gguf");
+        Files.write(file, baos.toByteArray());
+        
+        assertThatThrownBy(() -> GGUFParser.parse(file))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Unexpected end of stream");
+    }
+
+    @Test
+    void testParseTypedArrays() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        
+        writeInt32(baos, GGUFConstants.GGUF_MAGIC);
+        writeInt32(baos, GGUFConstants.GGUF_VERSION_3);
+        writeUInt64(baos, 0);  // tensor count
+        writeUInt64(baos, 4);  // metadata count
+        
+        writeString(baos, GGUFConstants.TOKENIZER_LIST);
+        writeInt32(baos, GGUFMetadataValueType.ARRAY.getValue());
+        writeInt32(baos, GGUFMetadataValueType.STRING.getValue());
+        writeUInt64(baos, 3);
+        writeString(baos, "<s>");
+        writeString(baos, "");
+        writeString(baos, "▁héllo");
+        
+        writeString(baos, GGUFConstants.TOKENIZER_SCORES);
+        writeInt32(baos, GGUFMetadataValueType.ARRAY.getValue());
+        writeInt32(baos, GGUFMetadataValueType.FLOAT32.getValue());
+        writeUInt64(baos, 2);
+        writeInt32(baos, Float.floatToIntBits(-1.5f));
+        writeInt32(baos, Float.floatToIntBits(2.0f));
+        
+        writeString(baos, GGUFConstants.TOKENIZER_TOKEN_TYPE);
+        writeInt32(baos, GGUFMetadataValueType.ARRAY.getValue());
+        writeInt32(baos, GGUFMetadataValueType.UINT32.getValue());
+        writeUInt64(baos, 2);
+        writeUInt32(baos, 1);
+        writeUInt32(baos, 0xFFFFFFFFL);
+        
+        writeString(baos, "test.flags");
+        writeInt32(baos, GGUFMetadataValueType.ARRAY.getValue());
+        writeInt32(baos, GGUFMetadataValueType.BOOL.getValue());
+        writeUInt64(baos, 2);
+        baos.write(1);
+        baos.write(0);
+        
+        while (baos.size() % 32 != 0) {
+            baos.write(0);
+        }
+        
+        GGUFFile ggufFile = GGUFParser.parse(new ByteArrayInputStream(baos.toByteArray()));
+        GGUFMetadata metadata = ggufFile.metadata();
+        
+        GGUFMetadataValue.ArrayValue tokens = metadata.get(GGUFConstants.TOKENIZER_LIST).orElseThrow().asArray();
+        assertThat(tokens).isInstanceOf(GGUFMetadataValue.StringArrayValue.class);
+        assertThat(tokens.asStringArray()).containsExactly("<s>", "", "▁héllo");
+        assertThat(tokens.get(2).asString()).isEqualTo("▁héllo");
+        
+        GGUFMetadataValue.ArrayValue scores = metadata.get(GGUFConstants.TOKENIZER_SCORES).orElseThrow().asArray();
+        assertThat(scores.asFloatArray()).containsExactly(-1.5f, 2.0f);
+        assertThat(scores.values()).extracting(GGUFMetadataValue::asFloat32).containsExactly(-1.5f, 2.0f);
+        assertThatThrownBy(scores::asIntArray).isInstanceOf(IllegalStateException.class);
+        
+        GGUFMetadataValue.ArrayValue tokenTypes = metadata.get(GGUFConstants.TOKENIZER_TOKEN_TYPE).orElseThrow().asArray();
+        assertThat(tokenTypes.elementType()).isEqualTo(GGUFMetadataValueType.UINT32);
+        assertThat(tokenTypes.get(1).asUInt32()).isEqualTo(0xFFFFFFFFL);
+        
+        GGUFMetadataValue.ArrayValue flags = metadata.get("test.flags").orElseThrow().asArray();
+        assertThat(flags.values()).extracting(GGUFMetadataValue::asBool).containsExactly(true, false);
+        
+        // Arrays compare and print by content, so two parses of one file are equal
+        GGUFFile reparsed = GGUFParser.parse(new ByteArrayInputStream(baos.toByteArray()));
+        assertThat(reparsed).isEqualTo(ggufFile).hasSameHashCodeAs(ggufFile);
+        assertThat(tokens).hasToString("StringArrayValue[strings=[<s>, , ▁héllo]]");
+        assertThat(scores).hasToString("FloatArrayValue[data=[-1.5, 2.0]]");
+    }
+
+    @Test
+    void testArrayValueFromList() {
+        GGUFMetadataValue.ArrayValue array = GGUFMetadataValue.ArrayValue.of(GGUFMetadataValueType.INT64,
+                List.of(new GGUFMetadataValue.Int64Value(-7), new GGUFMetadataValue.Int64Value(9)));
+        
+        assertThat(array.asLongArray()).containsExactly(-7L, 9L);
+        assertThat(array.getType()).isEqualTo(GGUFMetadataValueType.ARRAY);
+        
+        assertThatThrownBy(() -> GGUFMetadataValue.ArrayValue.of(GGUFMetadataValueType.INT64,
+                List.of(new GGUFMetadataValue.StringValue("x"))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testLazyArraysAreSkippedAndLoadedOnAccess(@TempDir Path tempDir) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        
+        writeInt32(baos, GGUFConstants.GGUF_MAGIC);
+        writeInt32(baos, GGUFConstants.GGUF_VERSION_3);
+        writeUInt64(baos, 1);  // tensor count
+        writeUInt64(baos, 4);  // metadata count
+        
+        writeString(baos, GGUFConstants.TOKENIZER_LIST);
+        writeInt32(baos, GGUFMetadataValueType.ARRAY.getValue());
+        writeInt32(baos, GGUFMetadataValueType.STRING.getValue());
+        writeUInt64(baos, 4);
+        for (String token : new String[]{"<unk>", "<s>", "</s>", "hello"}) {
+            writeString(baos, token);
+        }
+        
+        writeString(baos, GGUFConstants.TOKENIZER_SCORES);
+        writeInt32(baos, GGUFMetadataValueType.ARRAY.getValue());
+        writeInt32(baos, GGUFMetadataValueType.FLOAT32.getValue());
+        writeUInt64(baos, 4);
+        for (float score : new float[]{0f, -1f, -2f, -3f}) {
+            writeInt32(baos, Float.floatToIntBits(score));
+        }
+        
+        writeString(baos, "test.small");
+        writeInt32(baos, GGUFMetadataValueType.ARRAY.getValue());
+        writeInt32(baos, GGUFMetadataValueType.INT32.getValue());
+        writeUInt64(baos, 1);
+        writeInt32(baos, 5);
+        
+        writeString(baos, GGUFConstants.GENERAL_ARCHITECTURE);
+        writeInt32(baos, GGUFMetadataValueType.STRING.getValue());
+        writeString(baos, "llama");
+        
+        writeString(baos, "output.weight");
+        writeUInt32(baos, 1);
+        writeUInt64(baos, 8);
+        writeInt32(baos, GGMLType.F32.getValue());
+        writeUInt64(baos, 0);
+        
+        while (baos.size() % 32 != 0) {
+            baos.write(0);
+        }
+        Path file = tempDir.resolve("lazy.gguf");
+        Files.write(file, baos.toByteArray());
+        
+        GGUFFile ggufFile = GGUFParser.parse(file, GGUFParseOptions.DEFAULT.withLazyArrayThreshold(2));
+        
+        assertThat(ggufFile.getArchitecture()).contains("llama");
+        assertThat(ggufFile.tensors()).hasSize(1);
+        assertThat(ggufFile.tensorDataOffset()).isEqualTo(baos.size());
+        assertThat(ggufFile.metadata().getArray("test.small").orElseThrow())
+                .isNotInstanceOf(GGUFMetadataValue.LazyArrayValue.class);
+        
+        var tokens = (GGUFMetadataValue.LazyArrayValue) ggufFile.metadata().getArray(GGUFConstants.TOKENIZER_LIST).orElseThrow();
+        var scores = (GGUFMetadataValue.LazyArrayValue) ggufFile.metadata().getArray(GGUFConstants.TOKENIZER_SCORES).orElseThrow();
+        assertThat(tokens.size()).isEqualTo(4);
+        assertThat(tokens.isLoaded()).isFalse();
+        assertThat(scores.isLoaded()).isFalse();
+        
+        assertThat(tokens.get(3).asString()).isEqualTo("hello");
+        assertThat(tokens.isLoaded()).isTrue();
+        assertThat(scores.asFloatArray()).containsExactly(0f, -1f, -2f, -3f);
+    }
+
+    @Test
+    void testLazyArraysRequireSource() {
+        GGUFParseOptions options = GGUFParseOptions.lazyArrays();
+        
+        assertThatThrownBy(() -> GGUFParser.parse(new BinaryReader(new ByteArrayInputStream(new byte[0])), options, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testKeyFilterSkipsUnmatchedValues(@TempDir Path tempDir) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        
+        writeInt32(baos, GGUFConstants.GGUF_MAGIC);
+        writeInt32(baos, GGUFConstants.GGUF_VERSION_3);
+        writeUInt64(baos, 1);  // tensor count
+        writeUInt64(baos, 5);  // metadata count
+        
+        writeString(baos, GGUFConstants.GENERAL_ARCHITECTURE);
+        writeInt32(baos, GGUFMetadataValueType.STRING.getValue());
+        writeString(baos, "llama");
+        
+        writeString(baos, GGUFConstants.TOKENIZER_LIST);
+        writeInt32(baos, GGUFMetadataValueType.ARRAY.getValue());
+        writeInt32(baos, GGUFMetadataValueType.STRING.getValue());
+        writeUInt64(baos, 2);
+        writeString(baos, "a");
+        writeString(baos, "bc");
+        
+        writeString(baos, GGUFConstants.TOKENIZER_SCORES);
+        writeInt32(baos, GGUFMetadataValueType.ARRAY.getValue());
+        writeInt32(baos, GGUFMetadataValueType.FLOAT64.getValue());
+        writeUInt64(baos, 2);
+        writeUInt64(baos, Double.doubleToLongBits(1.0));
+        writeUInt64(baos, Double.doubleToLongBits(2.0));
+        
+        writeString(baos, "llama.rope.freq_base");
+        writeInt32(baos, GGUFMetadataValueType.FLOAT32.getValue());
+        writeInt32(baos, Float.floatToIntBits(10000f));
+        
+        writeString(baos, "llama.context_length");
+        writeInt32(baos, GGUFMetadataValueType.UINT64.getValue());
+        writeUInt64(baos, 8192);
+        
+        writeString(baos, "output.weight");
+        writeUInt32(baos, 1);
+        writeUInt64(baos, 8);
+        writeInt32(baos, GGMLType.F32.getValue());
+        writeUInt64(baos, 0);
+        
+        while (baos.size() % 32 != 0) {
+            baos.write(0);
+        }
+        byte[] data = baos.toByteArray();
+        Path file = tempDir.resolve("filtered.gguf");
+        Files.write(file, data);
+        
+        GGUFFile streamed = GGUFParser.parse(new ByteArrayInputStream(data),
+                key -> key.equals(GGUFConstants.GENERAL_ARCHITECTURE) || key.endsWith(".context_length"));
+        assertThat(streamed.metadata().keySet())
+                .containsExactlyInAnyOrder(GGUFConstants.GENERAL_ARCHITECTURE, "llama.context_length");
+        assertThat(streamed.getContextLength()).contains(8192L);
+        assertThat(streamed.tensors()).extracting(GGUFTensorInfo::name).containsExactly("output.weight");
+        assertThat(streamed.tensorDataOffset()).isEqualTo(data.length);
+        
+        GGUFFile mapped = GGUFParser.parseHeaderAndMetadata(file, Set.of("llama."));
+        assertThat(mapped.metadata().keySet())
+                .containsExactlyInAnyOrder("llama.rope.freq_base", "llama.context_length");
+    }
+
+    @Test
+    void testHonorsGeneralAlignment(@TempDir Path tempDir) throws IOException {
+        byte[] data = createAlignedFile(GGUFMetadataValueType.UINT32, 256);
+        Path file = tempDir.resolve("aligned.gguf");
+        Files.write(file, data);
+
+        GGUFFile streamed = GGUFParser.parse(new ByteArrayInputStream(data));
+        assertThat(streamed.metadata().getAlignment()).isEqualTo(256);
+        assertThat(streamed.tensorDataOffset()).isEqualTo(256);
+
+        // The alignment still applies when the key filter drops it
+        GGUFFile mapped = GGUFParser.parse(file, GGUFParseOptions.DEFAULT.withKeyFilter(key -> false));
+        assertThat(mapped.metadata().keySet()).isEmpty();
+        assertThat(mapped.tensorDataOffset()).isEqualTo(256);
+
+        assertThatThrownBy(() -> GGUFParser.parse(new ByteArrayInputStream(createAlignedFile(GGUFMetadataValueType.UINT32, 48))))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("power of two");
+        assertThatThrownBy(() -> GGUFParser.parse(new ByteArrayInputStream(createAlignedFile(GGUFMetadataValueType.INT32, 64))))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("uint32");
+    }
+
+    @Test
+    void testVisitReportsContentInOrder(@TempDir Path tempDir) throws IOException {
+        byte[] data = createVisitedFile();
+        Path file = tempDir.resolve("visited.gguf");
+        Files.write(file, data);
+        RecordingVisitor visitor = new RecordingVisitor(key -> GGUFVisitor.Action.CONTINUE, GGUFVisitor.Action.CONTINUE);
+
+        assertThat(GGUFParser.visit(file, visitor)).isTrue();
+        assertThat(visitor.events).containsExactly(
+                "header 2 5",
+                "key general.architecture STRING", "string llama",
+                "key general.alignment UINT32", "integer UINT32 64",
+                "key tokenizer.list ARRAY", "array STRING 2", "string a", "string bc", "end",
+                "key tokenizer.scores ARRAY", "array FLOAT64 2", "float FLOAT64 1.0", "float FLOAT64 2.0", "end",
+                "key llama.context_length UINT64", "integer UINT64 8192",
+                "tensor token_embd.weight", "tensor output.weight",
+                "data 384");
+        assertThat(GGUFParser.parse(new ByteArrayInputStream(data)).tensorDataOffset()).isEqualTo(384);
+    }
+
+    @Test
+    void testVisitSkipsAndStops() throws IOException {
+        byte[] data = createVisitedFile();
+
+        // Skipped values are not reported, but the skipped alignment still locates the tensor data
+        RecordingVisitor skipping = new RecordingVisitor(
+                key -> key.startsWith("tokenizer.") || key.equals(GGUFConstants.GENERAL_ALIGNMENT)
+                        ? GGUFVisitor.Action.SKIP : GGUFVisitor.Action.CONTINUE,
+                GGUFVisitor.Action.SKIP);
+        assertThat(GGUFParser.visit(new ByteArrayInputStream(data), skipping)).isTrue();
+        assertThat(skipping.events).containsExactly(
+                "header 2 5",
+                "key general.architecture STRING", "string llama",
+                "key general.alignment UINT32",
+                "key tokenizer.list ARRAY",
+                "key tokenizer.scores ARRAY",
+                "key llama.context_length UINT64", "integer UINT64 8192",
+                "tensor token_embd.weight",
+                "data 384");
+
+        RecordingVisitor stopping = new RecordingVisitor(
+                key -> key.equals(GGUFConstants.TOKENIZER_LIST) ? GGUFVisitor.Action.STOP : GGUFVisitor.Action.SKIP,
+                GGUFVisitor.Action.CONTINUE);
+        assertThat(GGUFParser.visit(new ByteArrayInputStream(data), stopping)).isFalse();
+        assertThat(stopping.events).containsExactly(
+                "header 2 5",
+                "key general.architecture STRING",
+                "key general.alignment UINT32",
+                "key tokenizer.list ARRAY");
+    }
+
     @Test
     void testInvalidMagicNumber() {
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
@@ -125,6 +501,142 @@ class GGUFParserTest {
         assertThat(GGUFParser.getVersion(bais)).isEqualTo(GGUFConstants.GGUF_VERSION_2);
     }
 
+    private byte[] createAlignedFile(GGUFMetadataValueType alignmentType, int alignment) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        writeInt32(baos, GGUFConstants.GGUF_MAGIC);
+        writeInt32(baos, GGUFConstants.GGUF_VERSION_3);
+        writeUInt64(baos, 1);  // tensor count
+        writeUInt64(baos, 1);  // metadata count
+
+        writeString(baos, GGUFConstants.GENERAL_ALIGNMENT);
+        writeInt32(baos, alignmentType.getValue());
+        writeInt32(baos, alignment);
+
+        writeString(baos, "output.weight");
+        writeUInt32(baos, 1);
+        writeUInt64(baos, 8);
+        writeInt32(baos, GGMLType.F32.getValue());
+        writeUInt64(baos, 0);
+
+        while (baos.size() % alignment != 0) {
+            baos.write(0);
+        }
+        baos.writeBytes(new byte[32]);
+        return baos.toByteArray();
+    }
+
+    /**
+     * Records every callback as a line of text, answering metadata keys with the given function.
+     */
+    private static final class RecordingVisitor implements GGUFVisitor {
+        private final List<String> events = new ArrayList<>();
+        private final Function<String, Action> keyAction;
+        private final Action tensorAction;
+
+        private RecordingVisitor(Function<String, Action> keyAction, Action tensorAction) {
+            this.keyAction = keyAction;
+            this.tensorAction = tensorAction;
+        }
+
+        @Override
+        public Action onHeader(GGUFHeader header) {
+            events.add("header " + header.tensorCount() + " " + header.metadataKvCount());
+            return Action.CONTINUE;
+        }
+
+        @Override
+        public Action onMetadataKey(String key, GGUFMetadataValueType type) {
+            events.add("key " + key + " " + type.name());
+            return keyAction.apply(key);
+        }
+
+        @Override
+        public void onInteger(GGUFMetadataValueType type, long value) {
+            events.add("integer " + type.name() + " " + value);
+        }
+
+        @Override
+        public void onFloat(GGUFMetadataValueType type, double value) {
+            events.add("float " + type.name() + " " + value);
+        }
+
+        @Override
+        public void onString(String value) {
+            events.add("string " + value);
+        }
+
+        @Override
+        public Action onArrayStart(GGUFMetadataValueType elementType, long length) {
+            events.add("array " + elementType.name() + " " + length);
+            return Action.CONTINUE;
+        }
+
+        @Override
+        public Action onArrayEnd() {
+            events.add("end");
+            return Action.CONTINUE;
+        }
+
+        @Override
+        public Action onTensorInfo(GGUFTensorInfo tensor) {
+            events.add("tensor " + tensor.name());
+            return tensorAction;
+        }
+
+        @Override
+        public void onTensorData(long tensorDataOffset) {
+            events.add("data " + tensorDataOffset);
+        }
+    }
+
+    private byte[] createVisitedFile() {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        writeInt32(baos, GGUFConstants.GGUF_MAGIC);
+        writeInt32(baos, GGUFConstants.GGUF_VERSION_3);
+        writeUInt64(baos, 2);  // tensor count
+        writeUInt64(baos, 5);  // metadata count
+
+        writeString(baos, GGUFConstants.GENERAL_ARCHITECTURE);
+        writeInt32(baos, GGUFMetadataValueType.STRING.getValue());
+        writeString(baos, "llama");
+
+        writeString(baos, GGUFConstants.GENERAL_ALIGNMENT);
+        writeInt32(baos, GGUFMetadataValueType.UINT32.getValue());
+        writeUInt32(baos, 64);
+
+        writeString(baos, GGUFConstants.TOKENIZER_LIST);
+        writeInt32(baos, GGUFMetadataValueType.ARRAY.getValue());
+        writeInt32(baos, GGUFMetadataValueType.STRING.getValue());
+        writeUInt64(baos, 2);
+        writeString(baos, "a");
+        writeString(baos, "bc");
+
+        writeString(baos, GGUFConstants.TOKENIZER_SCORES);
+        writeInt32(baos, GGUFMetadataValueType.ARRAY.getValue());
+        writeInt32(baos, GGUFMetadataValueType.FLOAT64.getValue());
+        writeUInt64(baos, 2);
+        writeUInt64(baos, Double.doubleToLongBits(1.0));
+        writeUInt64(baos, Double.doubleToLongBits(2.0));
+
+        writeString(baos, "llama.context_length");
+        writeInt32(baos, GGUFMetadataValueType.UINT64.getValue());
+        writeUInt64(baos, 8192);
+
+        for (String name : List.of("token_embd.weight", "output.weight")) {
+            writeString(baos, name);
+            writeUInt32(baos, 1);
+            writeUInt64(baos, 8);
+            writeInt32(baos, GGMLType.F32.getValue());
+            writeUInt64(baos, 0);
+        }
+
+        while (baos.size() % 64 != 0) {
+            baos.write(0);
+        }
+        baos.writeBytes(new byte[64]);
+        return baos.toByteArray();
+    }
+
     // Helper methods for writing binary data
     private void writeInt32(ByteArrayOutputStream baos, int value) {
         ByteBuffer buffer = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
@@ -0,0 +1,161 @@
+package io.github.ilopezluna.gguf4j.core;
+
+import io.github.ilopezluna.gguf4j.scalar.GGMLType;
+import io.github.ilopezluna.gguf4j.scalar.GGUFMetadataValueType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests for parsing GGUF bytes fed in chunks.
+ */
+class GGUFPushParserTest {
+
+    @Test
+    void testChunkedFeedMatchesParser(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("model.gguf");
+        createModel(file, List.of());
+        byte[] bytes = Files.readAllBytes(file);
+        GGUFFile expected = GGUFParser.parse(file);
+
+        for (int chunkSize : new int[]{1, 7, 4096, bytes.length}) {
+            Collector collector = new Collector();
+            GGUFPushParser parser = new GGUFPushParser(collector);
+            ByteBuffer last = feedInChunks(parser, bytes, chunkSize);
+            parser.finish();
+
+            assertThat(collector.header).isEqualTo(expected.header());
+            assertThat(collector.metadata.keySet()).containsExactlyElementsOf(expected.metadata().keySet());
+            for (String key : expected.metadata().keySet()) {
+                assertThat(collector.metadata.get(key)).as(key).usingRecursiveComparison().isEqualTo(expected.metadata().get(key).orElseThrow());
+            }
+            assertThat(collector.tensors).usingRecursiveFieldByFieldElementComparator().isEqualTo(expected.tensors());
+            assertThat(collector.tensorDataOffset).isEqualTo(expected.tensorDataOffset());
+            assertThat(parser.getPosition()).isEqualTo(expected.tensorDataOffset());
+            // The chunk holding the end of the header is left at the first byte of tensor data
+            assertThat(last.arrayOffset() + last.position()).isEqualTo((int) expected.tensorDataOffset());
+        }
+    }
+
+    @Test
+    void testKeyFilterAndCustomAlignment(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("aligned.gguf");
+        createModel(file, List.of(Map.entry(GGUFConstants.GENERAL_ALIGNMENT, new GGUFMetadataValue.UInt32Value(GGUFConstants.PAGE_ALIGNMENT))));
+        byte[] bytes = Files.readAllBytes(file);
+
+        Collector collector = new Collector();
+        GGUFParseOptions options = GGUFParseOptions.DEFAULT.withKeyFilter(key -> key.startsWith("general.name"));
+        GGUFPushParser parser = new GGUFPushParser(options, collector);
+        // A big-endian view must still be decoded as little-endian
+        ByteBuffer chunk = ByteBuffer.wrap(bytes).order(ByteOrder.BIG_ENDIAN);
+
+        assertThat(parser.feed(chunk)).isTrue();
+        assertThat(collector.metadata).containsOnlyKeys(GGUFConstants.GENERAL_NAME);
+        assertThat(collector.tensors).hasSize(2);
+        assertThat(collector.tensorDataOffset).isEqualTo(GGUFConstants.PAGE_ALIGNMENT);
+        assertThat(chunk.position()).isEqualTo(GGUFConstants.PAGE_ALIGNMENT);
+    }
+
+    @Test
+    void testRejectsInvalidInput(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("model.gguf");
+        createModel(file, List.of());
+        byte[] bytes = Files.readAllBytes(file);
+
+        GGUFPushParser truncated = new GGUFPushParser(new Collector());
+        assertThat(truncated.feed(ByteBuffer.wrap(bytes, 0, 100))).isFalse();
+        assertThat(truncated.isDone()).isFalse();
+        assertThatThrownBy(truncated::finish)
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Unexpected end of stream");
+
+        byte[] corrupt = bytes.clone();
+        corrupt[0] = 'X';
+        GGUFPushParser invalid = new GGUFPushParser(new Collector());
+        assertThat(invalid.feed(ByteBuffer.wrap(corrupt, 0, 10))).isFalse();
+        assertThatThrownBy(() -> invalid.feed(ByteBuffer.wrap(corrupt, 10, 20)))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Invalid GGUF magic");
+        assertThatThrownBy(() -> invalid.feed(ByteBuffer.wrap(corrupt)))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThatThrownBy(() -> new GGUFPushParser(GGUFParseOptions.lazyArrays(), new Collector()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static ByteBuffer feedInChunks(GGUFPushParser parser, byte[] bytes, int chunkSize) throws IOException {
+        for (int offset = 0; offset < bytes.length; offset += chunkSize) {
+            ByteBuffer chunk = ByteBuffer.wrap(bytes, offset, Math.min(chunkSize, bytes.length - offset)).slice();
+            if (parser.feed(chunk)) {
+                return chunk;
+            }
+            assertThat(chunk.hasRemaining()).isFalse();
+        }
+        throw new AssertionError("Tensor data was never reached");
+    }
+
+    private static final class Collector implements GGUFPushParser.Listener {
+        private GGUFHeader header;
+        private final Map<String, GGUFMetadataValue> metadata = new LinkedHashMap<>();
+        private final List<GGUFTensorInfo> tensors = new ArrayList<>();
+        private long tensorDataOffset = -1;
+
+        @Override
+        public void onHeader(GGUFHeader header) {
+            this.header = header;
+        }
+
+        @Override
+        public void onMetadata(String key, GGUFMetadataValue value) {
+            metadata.put(key, value);
+        }
+
+        @Override
+        public void onTensorInfo(GGUFTensorInfo tensor) {
+            tensors.add(tensor);
+        }
+
+        @Override
+        public void onTensorData(long tensorDataOffset) {
+            this.tensorDataOffset = tensorDataOffset;
+        }
+    }
+
+    private static void createModel(Path path, List<Map.Entry<String, GGUFMetadataValue>> extra) throws IOException {
+        Map<String, GGUFMetadataValue> values = new LinkedHashMap<>();
+        values.put(GGUFConstants.GENERAL_ARCHITECTURE, new GGUFMetadataValue.StringValue("llama"));
+        values.put(GGUFConstants.GENERAL_NAME, new GGUFMetadataValue.StringValue("Pushed"));
+        values.put("test.uint8", new GGUFMetadataValue.UInt8Value(200));
+        values.put("test.int16", new GGUFMetadataValue.Int16Value((short) -3));
+        values.put("test.uint64", new GGUFMetadataValue.UInt64Value(1L << 40));
+        values.put("test.float64", new GGUFMetadataValue.Float64Value(0.25));
+        values.put("test.bool", new GGUFMetadataValue.BoolValue(true));
+        values.put("test.empty", new GGUFMetadataValue.StringValue(""));
+        values.put(GGUFConstants.TOKENIZER_LIST, GGUFMetadataValue.StringArrayValue.of("a", "", "longer token"));
+        values.put(GGUFConstants.TOKENIZER_SCORES, new GGUFMetadataValue.FloatArrayValue(new float[]{0.5f, -1f, 2f}));
+        values.put("test.uint16s", new GGUFMetadataValue.IntArrayValue(GGUFMetadataValueType.UINT16, new int[]{1, 65535}));
+        values.put("test.int64s", new GGUFMetadataValue.LongArrayValue(GGUFMetadataValueType.INT64, new long[]{-1, Long.MAX_VALUE}));
+        values.put("test.bools", new GGUFMetadataValue.ByteArrayValue(GGUFMetadataValueType.BOOL, new byte[]{1, 0, 1}));
+        values.put("test.doubles", new GGUFMetadataValue.DoubleArrayValue(new double[]{}));
+        for (Map.Entry<String, GGUFMetadataValue> entry : extra) {
+            values.put(entry.getKey(), entry.getValue());
+        }
+        GGUFMetadata metadata = new GGUFMetadata(values);
+
+        List<GGUFTensorInfo> tensors = List.of(
+            new GGUFTensorInfo("token_embd.weight", new long[]{64, 8}, GGMLType.F32, 0),
+            new GGUFTensorInfo("output_norm.weight", new long[]{64}, GGMLType.F32, 0));
+        GGUFTestFiles.writeModel(path, metadata, tensors);
+    }
+}
@@ -0,0 +1,124 @@
+package io.github.ilopezluna.gguf4j.core;
+
+import io.github.ilopezluna.gguf4j.scalar.GGMLType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests for splitting and merging sharded models.
+ */
+class GGUFShardsTest {
+
+    @Test
+    void testSplitAndMerge(@TempDir Path tempDir) throws IOException {
+        Path source = tempDir.resolve("model.gguf");
+        GGUFFile original = createModel(source);
+
+        List<Path> shards = GGUFShards.split(source, tempDir.resolve("model"), Long.MAX_VALUE, 2);
+        assertThat(shards).extracting(p -> p.getFileName().toString())
+                .containsExactly("model-00001-of-00003.gguf", "model-00002-of-00003.gguf", "model-00003-of-00003.gguf");
+
+        GGUFFile first = GGUFParser.parse(shards.get(0));
+        assertThat(first.getArchitecture()).contains("llama");
+        assertThat(first.metadata().get(GGUFConstants.SPLIT_TENSORS_COUNT).orElseThrow().asInt32()).isEqualTo(5);
+        assertThat(first.tensors()).extracting(GGUFTensorInfo::name).containsExactly("t0", "t1");
+
+        GGUFFile last = GGUFParser.parse(shards.get(2));
+        assertThat(last.getArchitecture()).isEmpty();
+        assertThat(last.metadata().get(GGUFConstants.SPLIT_NO).orElseThrow())
+                .isEqualTo(new GGUFMetadataValue.UInt16Value(2));
+        assertThat(last.tensors()).extracting(GGUFTensorInfo::name).containsExactly("t4");
+
+        Path merged = tempDir.resolve("merged.gguf");
+        GGUFShards.merge(shards.get(1), merged);
+
+        GGUFFile result = GGUFParser.parse(merged);
+        assertThat(result.metadata().keySet()).containsExactlyElementsOf(original.metadata().keySet());
+        assertThat(result.tensors()).extracting(GGUFTensorInfo::name).containsExactly("t0", "t1", "t2", "t3", "t4");
+        assertThat(Files.readAllBytes(merged)).isEqualTo(Files.readAllBytes(source));
+    }
+
+    @Test
+    void testParseSharded(@TempDir Path tempDir) throws IOException {
+        Path source = tempDir.resolve("model.gguf");
+        GGUFFile original = createModel(source);
+        List<Path> shards = GGUFShards.split(source, tempDir.resolve("model"), Long.MAX_VALUE, 2);
+
+        GGUFShardedFile model = GGUFParser.parseSharded(shards.get(2));
+        assertThat(model.getShardCount()).isEqualTo(3);
+        assertThat(model.paths()).containsExactlyElementsOf(shards);
+        assertThat(model.getName()).contains("Sharded");
+        assertThat(model.getTensorCount()).isEqualTo(5);
+        assertThat(model.getTotalTensorSize()).isEqualTo(original.getTotalTensorSize());
+        assertThat(model.getTotalParameters()).isEqualTo(original.getTotalParameters());
+
+        GGUFTensorLocation t3 = model.findTensor("t3").orElseThrow();
+        assertThat(t3.shard()).isEqualTo(1);
+        assertThat(t3.path()).isEqualTo(shards.get(1));
+        byte[] bytes = Files.readAllBytes(t3.path());
+        assertThat(bytes[(int) t3.offset()]).isEqualTo((byte) '3');
+        assertThat(bytes[(int) (t3.offset() + t3.tensor().getSizeInBytes() - 1)]).isEqualTo((byte) '3');
+
+        GGUFShardedFile single = GGUFParser.parseSharded(source);
+        assertThat(single.getShardCount()).isEqualTo(1);
+        assertThat(single.findTensor("t4").orElseThrow().offset())
+                .isEqualTo(original.tensorDataOffset() + original.findTensor("t4").orElseThrow().offset());
+    }
+
+    @Test
+    void testMergeRejectsMissingShard(@TempDir Path tempDir) throws IOException {
+        Path source = tempDir.resolve("model.gguf");
+        createModel(source);
+        List<Path> shards = GGUFShards.split(source, tempDir.resolve("model"), 200, Integer.MAX_VALUE);
+        Files.delete(shards.get(1));
+
+        assertThatThrownBy(() -> GGUFShards.merge(shards.get(0), tempDir.resolve("merged.gguf")))
+                .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> GGUFShards.shardPaths(source))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testPlanRespectsBudgets() {
+        List<GGUFTensorInfo> tensors = List.of(
+            tensor("a", 16), tensor("b", 16), tensor("c", 64), tensor("d", 8), tensor("e", 8));
+
+        assertThat(GGUFShards.plan(tensors, 128, 10)).extracting(List::size).containsExactly(2, 1, 2);
+        assertThat(GGUFShards.plan(tensors, Long.MAX_VALUE, 2)).extracting(List::size).containsExactly(2, 2, 1);
+        assertThat(GGUFShards.plan(List.of(), 1, 1)).containsExactly(List.of());
+        assertThatThrownBy(() -> GGUFShards.plan(tensors, 0, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static GGUFTensorInfo tensor(String name, long elements) {
+        return new GGUFTensorInfo(name, new long[]{elements}, GGMLType.F32, 0);
+    }
+
+    /**
+     * Write a model with five F32 tensors of increasing size whose bytes encode their index.
+     */
+    private static GGUFFile createModel(Path path) throws IOException {
+        Map<String, GGUFMetadataValue> values = new LinkedHashMap<>();
+        values.put(GGUFConstants.GENERAL_ARCHITECTURE, new GGUFMetadataValue.StringValue("llama"));
+        values.put(GGUFConstants.GENERAL_NAME, new GGUFMetadataValue.StringValue("Sharded"));
+        GGUFMetadata metadata = new GGUFMetadata(values);
+
+        List<GGUFTensorInfo> tensors = List.of(tensor("t0", 8), tensor("t1", 16), tensor("t2", 24), tensor("t3", 32), tensor("t4", 40));
+        return GGUFTestFiles.writeModel(path, metadata, tensors, (tensor, target) -> {
+            byte[] bytes = new byte[(int) tensor.getSizeInBytes()];
+            Arrays.fill(bytes, (byte) tensor.name().charAt(1));
+            target.write(ByteBuffer.wrap(bytes));
+        });
+    }
+}
@@ -0,0 +1,119 @@
+package io.github.ilopezluna.gguf4j.core;
+
+import io.github.ilopezluna.gguf4j.scalar.GGMLType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests for the sidecar index.
+ */
+class GGUFSidecarIndexTest {
+
+    @Test
+    void testReopenFromIndex(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("model.gguf");
+        createModel(file, "Indexed");
+        Path index = GGUFSidecarIndex.indexPath(file);
+        assertThat(index.getFileName().toString()).isEqualTo("model.gguf.idx");
+
+        GGUFFile parsed = GGUFParser.parseIndexed(file);
+        assertThat(index).exists();
+
+        GGUFFile reopened = GGUFSidecarIndex.read(file, index, GGUFParseOptions.lazyArrays()).orElseThrow();
+        assertThat(reopened.header()).isEqualTo(parsed.header());
+        assertThat(reopened.tensorDataOffset()).isEqualTo(parsed.tensorDataOffset());
+        assertThat(reopened.metadata().keySet()).containsExactlyElementsOf(parsed.metadata().keySet());
+        assertThat(reopened.getName()).contains("Indexed");
+        assertThat(reopened.metadata().get("test.scales").orElseThrow().asFloat32()).isEqualTo(0.5f);
+        assertThat(reopened.tensors()).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(parsed.tensors());
+
+        // Large arrays stay deferred and are decoded from the source file
+        GGUFMetadataValue.ArrayValue tokens = reopened.metadata().getArray(GGUFConstants.TOKENIZER_LIST).orElseThrow();
+        assertThat(tokens).isInstanceOf(GGUFMetadataValue.LazyArrayValue.class);
+        assertThat(((GGUFMetadataValue.LazyArrayValue) tokens).isLoaded()).isFalse();
+        assertThat(tokens.asStringArray()).hasSize(100).startsWith("t0", "t1").endsWith("t99");
+
+        GGUFFile filtered = GGUFParser.parseIndexed(file, GGUFParseOptions.lazyArrays().withKeyFilter(GGUFConstants.GENERAL_NAME::equals));
+        assertThat(filtered.metadata().keySet()).containsExactly(GGUFConstants.GENERAL_NAME);
+
+        // An index written for another threshold does not apply
+        assertThat(GGUFSidecarIndex.read(file, index, GGUFParseOptions.DEFAULT)).isEmpty();
+    }
+
+    @Test
+    void testStaleIndexIsRebuilt(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("model.gguf");
+        createModel(file, "Before");
+        Path index = GGUFSidecarIndex.indexPath(file);
+        GGUFParser.parseIndexed(file);
+        FileTime modified = Files.getLastModifiedTime(file);
+
+        // Same size and modification time, but a different header
+        createModel(file, "Aftera");
+        Files.setLastModifiedTime(file, modified);
+        assertThat(GGUFSidecarIndex.read(file, index, GGUFParseOptions.lazyArrays())).isEmpty();
+        assertThat(GGUFParser.parseIndexed(file).getName()).contains("Aftera");
+        assertThat(GGUFSidecarIndex.read(file, index, GGUFParseOptions.lazyArrays()).orElseThrow().getName()).contains("Aftera");
+
+        // A damaged index is replaced rather than failing the parse
+        Files.write(index, new byte[]{'G', 'G', 'I', 'X', 1, 0, 0, 0, 9});
+        assertThat(GGUFParser.parseIndexed(file).getName()).contains("Aftera");
+        assertThat(GGUFSidecarIndex.read(file, index, GGUFParseOptions.lazyArrays())).isPresent();
+
+        // So is one whose fingerprint matches but whose content does not decode
+        byte[] bytes = Files.readAllBytes(index);
+        byte[] key = GGUFConstants.GENERAL_ARCHITECTURE.getBytes(StandardCharsets.UTF_8);
+        int keyOffset = indexOf(bytes, key);
+        assertThat(keyOffset).isPositive();
+        // The key is followed by the deferred-array flag and the little-endian value type
+        bytes[keyOffset + key.length + 1] = 99;
+        Files.write(index, bytes);
+        assertThatThrownBy(() -> GGUFSidecarIndex.read(file, index, GGUFParseOptions.lazyArrays()))
+                .isInstanceOf(IOException.class);
+        assertThat(GGUFParser.parseIndexed(file).getName()).contains("Aftera");
+        assertThat(GGUFSidecarIndex.read(file, index, GGUFParseOptions.lazyArrays())).isPresent();
+
+        try (var siblings = Files.list(tempDir)) {
+            assertThat(siblings).containsExactlyInAnyOrder(file, index);
+        }
+        assertThatThrownBy(() -> GGUFParser.parseIndexed(tempDir.resolve("missing.gguf")))
+                .isInstanceOf(IOException.class);
+    }
+
+    private static int indexOf(byte[] bytes, byte[] pattern) {
+        for (int i = 0; i + pattern.length <= bytes.length; i++) {
+            if (Arrays.equals(bytes, i, i + pattern.length, pattern, 0, pattern.length)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void createModel(Path path, String name) throws IOException {
+        Map<String, GGUFMetadataValue> values = new LinkedHashMap<>();
+        values.put(GGUFConstants.GENERAL_ARCHITECTURE, new GGUFMetadataValue.StringValue("llama"));
+        values.put(GGUFConstants.GENERAL_NAME, new GGUFMetadataValue.StringValue(name));
+        values.put(GGUFConstants.TOKENIZER_LIST, GGUFMetadataValue.StringArrayValue.of(
+            IntStream.range(0, 100).mapToObj(i -> "t" + i).toArray(String[]::new)));
+        values.put("test.scales", new GGUFMetadataValue.Float32Value(0.5f));
+        GGUFMetadata metadata = new GGUFMetadata(values);
+
+        List<GGUFTensorInfo> tensors = List.of(
+            new GGUFTensorInfo("token_embd.weight", new long[]{32, 2}, GGMLType.Q8_0, 0),
+            new GGUFTensorInfo("output_norm.weight", new long[]{8}, GGMLType.F32, 0));
+        GGUFTestFiles.writeModel(path, metadata, tensors);
+    }
+}
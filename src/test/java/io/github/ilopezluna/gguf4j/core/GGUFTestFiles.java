@@ -0,0 +1,67 @@
+package io.github.ilopezluna.gguf4j.core;
+
+import io.github.ilopezluna.gguf4j.scalar.GGMLType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Fixtures for building GGUF files in tests.
+ */
+public final class GGUFTestFiles {
+
+    private GGUFTestFiles() {
+    }
+
+    /**
+     * Write a version 3 model whose tensor data is all zeros.
+     */
+    public static GGUFFile writeModel(Path path, GGUFMetadata metadata, List<GGUFTensorInfo> tensors) throws IOException {
+        return writeModel(path, metadata, tensors,
+            (tensor, target) -> target.write(ByteBuffer.allocate((int) tensor.getSizeInBytes())));
+    }
+
+    /**
+     * Write a version 3 model with tensor data from {@code source}.
+     */
+    public static GGUFFile writeModel(Path path, GGUFMetadata metadata, List<GGUFTensorInfo> tensors,
+                                      TensorSource source) throws IOException {
+        // The writer takes the counts from the metadata and tensors
+        GGUFHeader header = new GGUFHeader(GGUFConstants.GGUF_MAGIC, GGUFConstants.GGUF_VERSION_3, 0, 0);
+        return GGUFWriter.write(path, header, metadata, tensors, source);
+    }
+
+    /**
+     * Write the info of a one-dimensional tensor.
+     */
+    static void writeTensorInfo(ByteArrayOutputStream baos, String name, long elements, GGMLType type, long offset) {
+        writeString(baos, name);
+        writeInt32(baos, 1);
+        writeUInt64(baos, elements);
+        writeInt32(baos, type.getValue());
+        writeUInt64(baos, offset);
+    }
+
+    static void writeInt32(ByteArrayOutputStream baos, int value) {
+        ByteBuffer buffer = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(value);
+        baos.writeBytes(buffer.array());
+    }
+
+    static void writeUInt64(ByteArrayOutputStream baos, long value) {
+        ByteBuffer buffer = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putLong(value);
+        baos.writeBytes(buffer.array());
+    }
+
+    static void writeString(ByteArrayOutputStream baos, String str) {
+        byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+        writeUInt64(baos, bytes.length);
+        baos.writeBytes(bytes);
+    }
+}
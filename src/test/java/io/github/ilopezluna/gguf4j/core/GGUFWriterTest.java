@@ -0,0 +1,247 @@
+package io.github.ilopezluna.gguf4j.core;
+
+import io.github.ilopezluna.gguf4j.scalar.GGMLType;
+import io.github.ilopezluna.gguf4j.scalar.GGUFMetadataValueType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.github.ilopezluna.gguf4j.core.GGUFTestFiles.*;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests for writing GGUF files.
+ */
+class GGUFWriterTest {
+
+    @Test
+    void testRewriteWithEditedMetadata(@TempDir Path tempDir) throws IOException {
+        Path source = tempDir.resolve("source.gguf");
+        Files.write(source, createTestFile());
+        GGUFFile original = GGUFParser.parse(source, GGUFParseOptions.DEFAULT.withLazyArrayThreshold(4));
+
+        Map<String, GGUFMetadataValue> values = new LinkedHashMap<>(original.metadata().values());
+        values.put(GGUFConstants.GENERAL_NAME, new GGUFMetadataValue.StringValue("Renamed Model"));
+        values.put("test.flag", new GGUFMetadataValue.BoolValue(true));
+        GGUFFile edited = new GGUFFile(original.header(), new GGUFMetadata(values), original.tensors(), original.tensorDataOffset());
+
+        Path target = tempDir.resolve("target.gguf");
+        GGUFFile written = GGUFWriter.write(target, edited, source);
+        GGUFFile reparsed = GGUFParser.parse(target);
+
+        assertThat(reparsed.getMetadataCount()).isEqualTo(5);
+        assertThat(reparsed.metadata().keySet()).containsExactlyElementsOf(values.keySet());
+        assertThat(reparsed.getName()).contains("Renamed Model");
+        assertThat(reparsed.getArchitecture()).contains("llama");
+        assertThat(reparsed.metadata().getArray(GGUFConstants.TOKENIZER_LIST).orElseThrow().asStringArray())
+                .containsExactly("a", "bb", "ccc", "dddd", "eeeee");
+        assertThat(reparsed.metadata().getArray("test.shorts").orElseThrow().asIntArray())
+                .containsExactly(1, -2, 3);
+        assertThat(reparsed.metadata().get("test.flag").orElseThrow().asBool()).isTrue();
+        assertThat(reparsed.tensorDataOffset()).isEqualTo(written.tensorDataOffset());
+        assertThat(reparsed.tensors()).extracting(GGUFTensorInfo::offset).containsExactly(0L, 32L);
+
+        try (GGUFModel before = GGUFModel.open(source); GGUFModel after = GGUFModel.open(target)) {
+            for (GGUFTensorInfo tensor : original.tensors()) {
+                MemorySegment expected = before.tensorData(tensor.name());
+                MemorySegment actual = after.tensorData(tensor.name());
+                assertThat(actual.mismatch(expected)).as(tensor.name()).isEqualTo(-1);
+            }
+        }
+        assertThat(Files.size(target)).isEqualTo(written.tensorDataOffset() + 32 + 68);
+    }
+
+    @Test
+    void testUpdateMetadataInPlace(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("model.gguf");
+        byte[] bytes = createTestFile();
+        Files.write(file, bytes);
+        GGUFFile original = GGUFParser.parse(file);
+
+        // Dropping the token list shrinks the header region by more than one alignment unit
+        Map<String, GGUFMetadataValue> values = new LinkedHashMap<>(original.metadata().values());
+        values.remove(GGUFConstants.TOKENIZER_LIST);
+        values.put(GGUFConstants.GENERAL_NAME, new GGUFMetadataValue.StringValue("x"));
+
+        assertThat(GGUFWriter.updateMetadata(file, new GGUFMetadata(values))).isTrue();
+        assertThat(Files.size(file)).isEqualTo(bytes.length);
+
+        GGUFFile patched = GGUFParser.parse(file);
+        assertThat(patched.getName()).contains("x");
+        assertThat(patched.metadata().containsKey(GGUFConstants.TOKENIZER_LIST)).isFalse();
+        assertThat(patched.tensorDataOffset()).isLessThan(original.tensorDataOffset());
+        for (int i = 0; i < original.tensors().size(); i++) {
+            assertThat(patched.tensorDataOffset() + patched.tensors().get(i).offset())
+                    .isEqualTo(original.tensorDataOffset() + original.tensors().get(i).offset());
+        }
+        byte[] after = Files.readAllBytes(file);
+        assertThat(Arrays.copyOfRange(after, (int) original.tensorDataOffset(), after.length))
+                .isEqualTo(Arrays.copyOfRange(bytes, (int) original.tensorDataOffset(), bytes.length));
+    }
+
+    @Test
+    void testUpdateMetadataFallsBackToRewrite(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("model.gguf");
+        Files.write(file, createTestFile());
+        GGUFFile original = GGUFParser.parse(file);
+
+        Map<String, GGUFMetadataValue> values = new LinkedHashMap<>(original.metadata().values());
+        values.put("tokenizer.chat_template", new GGUFMetadataValue.StringValue("{{ messages }}".repeat(100)));
+
+        assertThat(GGUFWriter.updateMetadata(file, new GGUFMetadata(values))).isFalse();
+
+        GGUFFile rewritten = GGUFParser.parse(file);
+        assertThat(rewritten.metadata().get("tokenizer.chat_template").orElseThrow().asString()).hasSize(1400);
+        assertThat(rewritten.tensorDataOffset()).isGreaterThan(original.tensorDataOffset());
+        try (GGUFModel model = GGUFModel.open(file)) {
+            assertThat(model.tensorData("blk.0.ffn_up.weight").get(ValueLayout.JAVA_BYTE, 67)).isEqualTo((byte) 201);
+        }
+        try (var siblings = Files.list(tempDir)) {
+            assertThat(siblings).containsExactly(file);
+        }
+    }
+
+    @Test
+    void testLayoutHonorsAlignment() {
+        List<GGUFTensorInfo> tensors = List.of(
+            new GGUFTensorInfo("a", new long[]{3}, GGMLType.F32, 500),
+            new GGUFTensorInfo("b", new long[]{32}, GGMLType.Q8_0, 0),
+            new GGUFTensorInfo("c", new long[]{1}, GGMLType.F16, 7));
+
+        assertThat(GGUFWriter.layout(tensors, 64)).extracting(GGUFTensorInfo::offset).containsExactly(0L, 64L, 128L);
+        assertThat(GGUFWriter.layout(tensors, 32)).extracting(GGUFTensorInfo::offset).containsExactly(0L, 32L, 96L);
+        assertThatThrownBy(() -> GGUFWriter.layout(tensors, 24))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testRejectsAlignmentTheParserWouldReject(@TempDir Path tempDir) throws IOException {
+        List<GGUFTensorInfo> tensors = List.of(new GGUFTensorInfo("a", new long[]{8}, GGMLType.F32, 0));
+        GGUFMetadata signed = new GGUFMetadata(Map.of(GGUFConstants.GENERAL_ALIGNMENT, new GGUFMetadataValue.Int32Value(4096)));
+        GGUFMetadata odd = new GGUFMetadata(Map.of(GGUFConstants.GENERAL_ALIGNMENT, new GGUFMetadataValue.UInt32Value(24)));
+
+        assertThatThrownBy(() -> GGUFTestFiles.writeModel(tempDir.resolve("signed.gguf"), signed, tensors))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("uint32");
+        assertThatThrownBy(() -> GGUFTestFiles.writeModel(tempDir.resolve("odd.gguf"), odd, tensors))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("power of two");
+
+        Path file = tempDir.resolve("model.gguf");
+        Files.write(file, createTestFile());
+        byte[] before = Files.readAllBytes(file);
+        assertThatThrownBy(() -> GGUFWriter.updateMetadata(file, signed))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(Files.readAllBytes(file)).isEqualTo(before);
+    }
+
+    @Test
+    void testRelayoutToPageAlignment(@TempDir Path tempDir) throws IOException {
+        Path source = tempDir.resolve("source.gguf");
+        Files.write(source, createTestFile());
+
+        Path target = tempDir.resolve("paged.gguf");
+        GGUFFile written = GGUFWriter.relayout(source, target, GGUFConstants.PAGE_ALIGNMENT);
+        GGUFFile reparsed = GGUFParser.parse(target, GGUFParseOptions.DEFAULT.withKeyFilter(GGUFConstants.GENERAL_NAME::equals));
+
+        assertThat(reparsed.metadata().keySet()).isEmpty();
+        assertThat(reparsed.tensorDataOffset()).isEqualTo(written.tensorDataOffset()).isEqualTo(4096);
+        assertThat(reparsed.tensors()).extracting(GGUFTensorInfo::name).containsExactly("norm.weight", "blk.0.ffn_up.weight");
+        assertThat(reparsed.tensors()).extracting(GGUFTensorInfo::offset).containsExactly(0L, 4096L);
+        assertThat(GGUFParser.parse(target).metadata().getAlignment()).isEqualTo(4096);
+
+        try (GGUFModel before = GGUFModel.open(source); GGUFModel after = GGUFModel.open(target)) {
+            for (GGUFTensorInfo tensor : before.file().tensors()) {
+                assertThat(after.tensorData(tensor.name()).mismatch(before.tensorData(tensor.name())))
+                        .as(tensor.name()).isEqualTo(-1);
+            }
+        }
+        assertThatThrownBy(() -> GGUFWriter.relayout(source, tempDir.resolve("bad.gguf"), 3000))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testLayerOrder() {
+        List<GGUFTensorInfo> tensors = List.of(
+            new GGUFTensorInfo("token_embd.weight", new long[]{4}, GGMLType.F32, 0),
+            new GGUFTensorInfo("blk.1.attn_q.weight", new long[]{4}, GGMLType.F32, 0),
+            new GGUFTensorInfo("blk.0.attn_q.weight", new long[]{4}, GGMLType.F32, 0),
+            new GGUFTensorInfo("output.weight", new long[]{4}, GGMLType.F32, 0),
+            new GGUFTensorInfo("blk.1.ffn_up.weight", new long[]{4}, GGMLType.F32, 0),
+            new GGUFTensorInfo("blk.0.ffn_up.weight", new long[]{4}, GGMLType.F32, 0));
+
+        assertThat(GGUFWriter.layerOrder(tensors)).extracting(GGUFTensorInfo::name).containsExactly(
+            "token_embd.weight", "blk.0.attn_q.weight", "blk.0.ffn_up.weight",
+            "blk.1.attn_q.weight", "blk.1.ffn_up.weight", "output.weight");
+    }
+
+    @Test
+    void testRejectsShortTensorSource(@TempDir Path tempDir) {
+        GGUFHeader header = new GGUFHeader(GGUFConstants.GGUF_MAGIC, GGUFConstants.GGUF_VERSION_3, 1, 0);
+        GGUFMetadata metadata = new GGUFMetadata(Map.of());
+        List<GGUFTensorInfo> tensors = List.of(new GGUFTensorInfo("t", new long[]{4}, GGMLType.F32, 0));
+
+        assertThatThrownBy(() -> GGUFWriter.write(tempDir.resolve("short.gguf"), header, metadata, tensors,
+                (tensor, target) -> target.write(ByteBuffer.allocate(8))))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("expected 16");
+
+        GGUFHeader v1 = new GGUFHeader(GGUFConstants.GGUF_MAGIC, GGUFConstants.GGUF_VERSION_1, 1, 0);
+        assertThatThrownBy(() -> GGUFWriter.write(tempDir.resolve("v1.gguf"), v1, metadata, tensors,
+                (tensor, target) -> target.write(ByteBuffer.allocate(16))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private byte[] createTestFile() {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        writeInt32(baos, GGUFConstants.GGUF_MAGIC);
+        writeInt32(baos, GGUFConstants.GGUF_VERSION_3);
+        writeUInt64(baos, 2);  // tensor count
+        writeUInt64(baos, 3);  // metadata count
+
+        writeString(baos, GGUFConstants.GENERAL_ARCHITECTURE);
+        writeInt32(baos, GGUFMetadataValueType.STRING.getValue());
+        writeString(baos, "llama");
+
+        writeString(baos, GGUFConstants.TOKENIZER_LIST);
+        writeInt32(baos, GGUFMetadataValueType.ARRAY.getValue());
+        writeInt32(baos, GGUFMetadataValueType.STRING.getValue());
+        writeUInt64(baos, 5);
+        for (String token : new String[]{"a", "bb", "ccc", "dddd", "eeeee"}) {
+            writeString(baos, token);
+        }
+
+        writeString(baos, "test.shorts");
+        writeInt32(baos, GGUFMetadataValueType.ARRAY.getValue());
+        writeInt32(baos, GGUFMetadataValueType.INT16.getValue());
+        writeUInt64(baos, 3);
+        for (short value : new short[]{1, -2, 3}) {
+            baos.write(value & 0xFF);
+            baos.write((value >> 8) & 0xFF);
+        }
+
+        writeTensorInfo(baos, "norm.weight", 8, GGMLType.F32, 0);
+        writeTensorInfo(baos, "blk.0.ffn_up.weight", 64, GGMLType.Q8_0, 32);
+        while (baos.size() % 32 != 0) {
+            baos.write(0);
+        }
+        for (int i = 0; i < 8; i++) {
+            writeInt32(baos, Float.floatToIntBits(i * 0.25f));
+        }
+        for (int i = 0; i < 68; i++) {
+            baos.write(i * 3);
+        }
+        return baos.toByteArray();
+    }
+}
@@ -0,0 +1,104 @@
+package io.github.ilopezluna.gguf4j.io;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests for the window-buffered binary reader.
+ */
+class BinaryReaderTest {
+
+    @Test
+    void testPrimitivesAcrossWindowRefills() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(64).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put((byte) 0xFE);
+        buffer.putShort((short) 0xBEEF);
+        buffer.putInt(0xCAFEBABE);
+        buffer.putLong(Long.MAX_VALUE);
+        buffer.putFloat(1.5f);
+        buffer.putDouble(-2.25);
+        buffer.put((byte) 1);
+
+        // A tiny window and a stream returning one byte at a time force a refill on every read
+        try (BinaryReader reader = new BinaryReader(trickle(buffer.array()), ByteOrder.LITTLE_ENDIAN, 8)) {
+            assertThat(reader.readUInt8()).isEqualTo(0xFE);
+            assertThat(reader.readUInt16()).isEqualTo(0xBEEF);
+            assertThat(reader.readUInt32()).isEqualTo(0xCAFEBABEL);
+            assertThat(reader.readUInt64()).isEqualTo(Long.MAX_VALUE);
+            assertThat(reader.readFloat32()).isEqualTo(1.5f);
+            assertThat(reader.readFloat64()).isEqualTo(-2.25);
+            assertThat(reader.readBool()).isTrue();
+            assertThat(reader.getPosition()).isEqualTo(28);
+        }
+    }
+
+    @Test
+    void testStringsShorterAndLongerThanWindow() throws IOException {
+        String shortString = "héllo";
+        String longString = "tokenizer.chat_template ".repeat(10);
+        ByteBuffer buffer = ByteBuffer.allocate(512).order(ByteOrder.LITTLE_ENDIAN);
+        putString(buffer, shortString);
+        putString(buffer, longString);
+        buffer.putInt(42);
+
+        try (BinaryReader reader = new BinaryReader(trickle(buffer.array()), ByteOrder.LITTLE_ENDIAN, 16)) {
+            assertThat(reader.readString()).isEqualTo(shortString);
+            assertThat(reader.readString()).isEqualTo(longString);
+            assertThat(reader.readInt32()).isEqualTo(42);
+        }
+    }
+
+    @Test
+    void testSkipAndAlign() throws IOException {
+        byte[] data = new byte[100];
+        data[40] = 7;
+        data[64] = 9;
+
+        try (BinaryReader reader = new BinaryReader(new ByteArrayInputStream(data), ByteOrder.LITTLE_ENDIAN, 8)) {
+            reader.readByte();
+            reader.skip(39);
+            assertThat(reader.readByte()).isEqualTo((byte) 7);
+            reader.align(32);
+            assertThat(reader.getPosition()).isEqualTo(64);
+            assertThat(reader.readByte()).isEqualTo((byte) 9);
+        }
+    }
+
+    @Test
+    void testUnexpectedEndOfStream() {
+        BinaryReader reader = new BinaryReader(new ByteArrayInputStream(new byte[3]));
+
+        assertThatThrownBy(reader::readInt32)
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Unexpected end of stream");
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putLong(bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static InputStream trickle(byte[] data) {
+        return new FilterInputStream(new ByteArrayInputStream(data)) {
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                return super.read(b, off, Math.min(len, 1));
+            }
+
+            @Override
+            public long skip(long n) {
+                return 0;
+            }
+        };
+    }
+}
@@ -0,0 +1,170 @@
+package io.github.ilopezluna.gguf4j.io;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.ilopezluna.gguf4j.core.GGUFConstants;
+import io.github.ilopezluna.gguf4j.core.GGUFFile;
+import io.github.ilopezluna.gguf4j.core.GGUFMetadata;
+import io.github.ilopezluna.gguf4j.core.GGUFMetadataValue;
+import io.github.ilopezluna.gguf4j.core.GGUFParseOptions;
+import io.github.ilopezluna.gguf4j.core.GGUFParser;
+import io.github.ilopezluna.gguf4j.core.GGUFTensorInfo;
+import io.github.ilopezluna.gguf4j.core.GGUFTestFiles;
+import io.github.ilopezluna.gguf4j.scalar.GGMLType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests for reading remote files with HTTP range requests, against a local stub server.
+ */
+class HttpRangeSourceTest {
+    private static final Pattern RANGE = Pattern.compile("bytes=(\\d+)-(\\d+)");
+
+    private HttpServer server;
+
+    @AfterEach
+    void stopServer() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void testParseRemoteHeader(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("model.gguf");
+        createModel(file);
+        byte[] bytes = Files.readAllBytes(file);
+        String url = serve(bytes, true);
+        GGUFFile local = GGUFParser.parse(file, GGUFParseOptions.lazyArrays());
+
+        try (HttpRangeSource source = new HttpRangeSource(url)) {
+            GGUFFile remote = GGUFParser.parse(source, GGUFParseOptions.lazyArrays());
+
+            assertThat(remote.header()).isEqualTo(local.header());
+            assertThat(remote.metadata().keySet()).containsExactlyElementsOf(local.metadata().keySet());
+            assertThat(remote.tensorDataOffset()).isEqualTo(local.tensorDataOffset());
+            assertThat(remote.tensors()).extracting(GGUFTensorInfo::name).containsExactly("token_embd.weight", "output.weight");
+            assertThat(source.size()).isEqualTo(bytes.length);
+
+            // The deferred scores were skipped without being fetched, and so was the tensor data
+            assertThat(source.getBytesFetched()).isLessThan(remote.tensorDataOffset() / 4);
+            assertThat(source.getRequestCount()).isEqualTo(2);
+
+            // Loading them fetches their range on demand, in windows that may overshoot by at most the last one
+            float[] scores = remote.metadata().getArray(GGUFConstants.TOKENIZER_SCORES).orElseThrow().asFloatArray();
+            assertThat(scores).hasSize(100_000);
+            assertThat(scores[99_999]).isEqualTo(99_999f);
+            assertThat(source.getBytesFetched()).isLessThan(2 * remote.tensorDataOffset());
+            assertThat(remote.metadata().getArray(GGUFConstants.TOKENIZER_LIST).orElseThrow().asStringArray())
+                    .containsExactly("a", "b");
+        }
+
+        try (PositionalSource source = PositionalSource.of(file)) {
+            assertThat(GGUFParser.parseHeaderAndMetadata(source, GGUFParseOptions.DEFAULT).getName()).contains("Remote");
+        }
+    }
+
+    @Test
+    void testWindowsGrowAndReset() throws IOException {
+        byte[] bytes = new byte[100_000];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+        String url = serve(bytes, true);
+
+        try (HttpRangeSource source = new HttpRangeSource(new okhttp3.OkHttpClient(), url, 1000, 4000)) {
+            byte[] buffer = new byte[bytes.length];
+            assertThat(source.read(0, buffer, 0, 10_000)).isEqualTo(1000);
+            assertThat(source.read(1000, buffer, 1000, 10_000)).isEqualTo(2000);
+            assertThat(source.read(3000, buffer, 3000, 10_000)).isEqualTo(4000);
+            assertThat(source.read(7000, buffer, 7000, 10_000)).isEqualTo(4000);
+            assertThat(source.read(8000, buffer, 0, 10)).isEqualTo(10);
+            assertThat(source.getRequestCount()).isEqualTo(4);
+
+            // A jump starts again from the initial window
+            assertThat(source.read(50_000, buffer, 0, 10_000)).isEqualTo(1000);
+            assertThat(buffer[0]).isEqualTo((byte) 50_000);
+            assertThat(source.read(99_999, buffer, 0, 10)).isEqualTo(1);
+            assertThat(source.read(100_000, buffer, 0, 10)).isEqualTo(-1);
+            assertThat(source.getRequestCount()).isEqualTo(6);
+        }
+    }
+
+    @Test
+    void testRejectsServerWithoutRanges() throws IOException {
+        String url = serve(new byte[1024], false);
+
+        try (HttpRangeSource source = new HttpRangeSource(url)) {
+            assertThatThrownBy(() -> GGUFParser.parse(source, GGUFParseOptions.DEFAULT))
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("HTTP 200");
+        }
+    }
+
+    /**
+     * Serve the bytes at a local URL, honoring single ranges if asked to.
+     */
+    private String serve(byte[] bytes, boolean ranges) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/model.gguf", exchange -> respond(exchange, bytes, ranges));
+        server.start();
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/model.gguf";
+    }
+
+    private static void respond(HttpExchange exchange, byte[] bytes, boolean ranges) throws IOException {
+        String range = exchange.getRequestHeaders().getFirst("Range");
+        Matcher matcher = range == null ? null : RANGE.matcher(range);
+        if (!ranges || matcher == null || !matcher.matches()) {
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+            return;
+        }
+        long start = Long.parseLong(matcher.group(1));
+        if (start >= bytes.length) {
+            exchange.getResponseHeaders().set("Content-Range", "bytes */" + bytes.length);
+            exchange.sendResponseHeaders(416, -1);
+            exchange.close();
+            return;
+        }
+        int end = (int) Math.min(Long.parseLong(matcher.group(2)), bytes.length - 1);
+        exchange.getResponseHeaders().set("Content-Range", "bytes " + start + "-" + end + "/" + bytes.length);
+        exchange.sendResponseHeaders(206, end - start + 1);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes, (int) start, (int) (end - start + 1));
+        }
+    }
+
+    private static void createModel(Path path) throws IOException {
+        Map<String, GGUFMetadataValue> values = new LinkedHashMap<>();
+        values.put(GGUFConstants.GENERAL_ARCHITECTURE, new GGUFMetadataValue.StringValue("llama"));
+        values.put(GGUFConstants.GENERAL_NAME, new GGUFMetadataValue.StringValue("Remote"));
+        values.put(GGUFConstants.TOKENIZER_LIST, GGUFMetadataValue.StringArrayValue.of("a", "b"));
+        float[] scores = new float[100_000];
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = i;
+        }
+        values.put(GGUFConstants.TOKENIZER_SCORES, new GGUFMetadataValue.FloatArrayValue(scores));
+        GGUFMetadata metadata = new GGUFMetadata(values);
+
+        List<GGUFTensorInfo> tensors = List.of(
+            new GGUFTensorInfo("token_embd.weight", new long[]{512, 512}, GGMLType.F32, 0),
+            new GGUFTensorInfo("output.weight", new long[]{512, 512}, GGMLType.F32, 0));
+        GGUFTestFiles.writeModel(path, metadata, tensors);
+    }
+}
@@ -0,0 +1,719 @@
+package io.github.ilopezluna.gguf4j.quant;
+
+import io.github.ilopezluna.gguf4j.scalar.GGMLType;
+import org.junit.jupiter.api.Test;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Tests for block dequantization.
+ */
+class DequantizerTest {
+    private static final ValueLayout.OfShort SHORT_LE = ValueLayout.JAVA_SHORT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfInt INT_LE = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfFloat FLOAT_LE = ValueLayout.JAVA_FLOAT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private static final GGMLType[] TYPES = {
+        GGMLType.Q4_0, GGMLType.Q4_1, GGMLType.Q5_0, GGMLType.Q5_1, GGMLType.Q8_0,
+        GGMLType.Q2_K, GGMLType.Q3_K, GGMLType.Q4_K, GGMLType.Q5_K, GGMLType.Q6_K, GGMLType.Q8_K,
+        GGMLType.IQ2_XXS, GGMLType.IQ2_XS, GGMLType.IQ2_S, GGMLType.IQ3_XXS, GGMLType.IQ3_S,
+        GGMLType.IQ1_S, GGMLType.IQ1_M, GGMLType.IQ4_NL, GGMLType.IQ4_XS, GGMLType.TQ1_0, GGMLType.TQ2_0
+    };
+
+    @Test
+    void testDequantizeQ8_0() {
+        byte[] block = new byte[34];
+        writeHalf(block, 0, 0.5f);
+        for (int i = 0; i < 32; i++) {
+            block[2 + i] = (byte) (i - 16);
+        }
+
+        float[] values = Dequantizer.dequantize(MemorySegment.ofArray(block), GGMLType.Q8_0, 32);
+
+        for (int i = 0; i < 32; i++) {
+            assertThat(values[i]).isEqualTo((i - 16) * 0.5f);
+        }
+    }
+
+    @Test
+    void testDequantizeQ4_0() {
+        byte[] block = new byte[18];
+        writeHalf(block, 0, 2.0f);
+        for (int i = 0; i < 16; i++) {
+            block[2 + i] = (byte) (i | (15 - i) << 4);
+        }
+
+        float[] values = Dequantizer.dequantize(MemorySegment.ofArray(block), GGMLType.Q4_0, 32);
+
+        for (int i = 0; i < 16; i++) {
+            assertThat(values[i]).isEqualTo((i - 8) * 2.0f);
+            assertThat(values[i + 16]).isEqualTo((7 - i) * 2.0f);
+        }
+    }
+
+    @Test
+    void testDequantizeQ4_1() {
+        byte[] block = new byte[20];
+        writeHalf(block, 0, 0.5f);
+        writeHalf(block, 2, -3.0f);
+        for (int i = 0; i < 16; i++) {
+            block[4 + i] = (byte) (i | (15 - i) << 4);
+        }
+
+        float[] values = Dequantizer.dequantize(MemorySegment.ofArray(block), GGMLType.Q4_1, 32);
+
+        for (int i = 0; i < 16; i++) {
+            assertThat(values[i]).isEqualTo(i * 0.5f - 3.0f);
+            assertThat(values[i + 16]).isEqualTo((15 - i) * 0.5f - 3.0f);
+        }
+    }
+
+    @Test
+    void testDequantizeQ5_0AndQ5_1() {
+        int[] q = new int[32];
+        for (int i = 0; i < 32; i++) {
+            q[i] = i * 7 % 32;
+        }
+        // Low nibbles as in Q4, with bit i of qh holding the fifth bit of element i
+        byte[] q5_0 = new byte[22];
+        writeHalf(q5_0, 0, 0.25f);
+        packQ5(q5_0, 2, q);
+        byte[] q5_1 = new byte[24];
+        writeHalf(q5_1, 0, 0.25f);
+        writeHalf(q5_1, 2, 1.5f);
+        packQ5(q5_1, 4, q);
+
+        float[] values0 = Dequantizer.dequantize(MemorySegment.ofArray(q5_0), GGMLType.Q5_0, 32);
+        float[] values1 = Dequantizer.dequantize(MemorySegment.ofArray(q5_1), GGMLType.Q5_1, 32);
+
+        for (int i = 0; i < 32; i++) {
+            assertThat(values0[i]).as("Q5_0 %d", i).isEqualTo((q[i] - 16) * 0.25f);
+            assertThat(values1[i]).as("Q5_1 %d", i).isEqualTo(q[i] * 0.25f + 1.5f);
+        }
+    }
+
+    @Test
+    void testDequantizeQ8_K() {
+        byte[] block = new byte[292];
+        MemorySegment.ofArray(block).set(FLOAT_LE, 0, 0.125f);
+        for (int i = 0; i < 256; i++) {
+            block[4 + i] = (byte) (i - 128);
+        }
+
+        float[] values = Dequantizer.dequantize(MemorySegment.ofArray(block), GGMLType.Q8_K, 256);
+
+        for (int i = 0; i < 256; i++) {
+            assertThat(values[i]).isEqualTo((i - 128) * 0.125f);
+        }
+    }
+
+    @Test
+    void testDequantizeQ2_K() {
+        // Sixteen sub-blocks of 16 with a 4-bit scale and min each; element i of each 128-element
+        // half sits in bits 2 * (i / 32) of byte i % 32
+        byte[] block = new byte[84];
+        int[] scale = new int[16];
+        int[] min = new int[16];
+        for (int s = 0; s < 16; s++) {
+            scale[s] = (s * 3 + 1) & 15;
+            min[s] = (s * 5 + 2) & 15;
+            block[s] = (byte) (scale[s] | min[s] << 4);
+        }
+        int[] q = new int[256];
+        for (int i = 0; i < 256; i++) {
+            q[i] = (i * 5 + i / 7) & 3;
+            int half = i / 128;
+            int shift = 2 * (i % 128 / 32);
+            block[16 + 32 * half + i % 32] |= (byte) (q[i] << shift);
+        }
+        writeHalf(block, 80, 0.5f);
+        writeHalf(block, 82, 0.25f);
+
+        float[] values = Dequantizer.dequantize(MemorySegment.ofArray(block), GGMLType.Q2_K, 256);
+
+        for (int i = 0; i < 256; i++) {
+            int s = i / 16;
+            assertThat(values[i]).as("%d", i).isEqualTo(0.5f * scale[s] * q[i] - 0.25f * min[s]);
+        }
+    }
+
+    @Test
+    void testDequantizeQ3_K() {
+        // Values in -4..3 are two low bits plus a high bit in hmask that, when clear, subtracts 4;
+        // the sixteen 6-bit scales are biased by 32
+        byte[] block = new byte[110];
+        int[] scale = new int[16];
+        for (int s = 0; s < 16; s++) {
+            scale[s] = (s * 11 + 5) % 64;
+            block[96 + s % 8] |= (byte) ((scale[s] & 0x0F) << 4 * (s / 8));
+            block[104 + s % 4] |= (byte) ((scale[s] >>> 4) << 2 * (s / 4));
+        }
+        int[] q = new int[256];
+        for (int i = 0; i < 256; i++) {
+            q[i] = (i * 3 + 1) % 8 - 4;
+            int half = i / 128;
+            int group = i % 128 / 32;
+            int low = q[i] >= 0 ? q[i] : q[i] + 4;
+            block[32 + 32 * half + i % 32] |= (byte) (low << 2 * group);
+            if (q[i] >= 0) {
+                block[i % 32] |= (byte) (1 << (4 * half + group));
+            }
+        }
+        writeHalf(block, 108, 0.25f);
+
+        float[] values = Dequantizer.dequantize(MemorySegment.ofArray(block), GGMLType.Q3_K, 256);
+
+        for (int i = 0; i < 256; i++) {
+            assertThat(values[i]).as("%d", i).isEqualTo(0.25f * (scale[i / 16] - 32) * q[i]);
+        }
+    }
+
+    @Test
+    void testDequantizeQ5_K() {
+        // Eight sub-blocks of 32 with 6-bit scales and mins; each 64 elements share 32 low-nibble
+        // bytes, and bit 2 * (i / 32) of qh[i % 32] holds the fifth bit
+        byte[] block = new byte[176];
+        int[] scale = new int[8];
+        int[] min = new int[8];
+        for (int j = 0; j < 8; j++) {
+            scale[j] = (j * 13 + 7) % 64;
+            min[j] = (j * 29 + 3) % 64;
+        }
+        packScaleMinK4(block, 4, scale, min);
+        int[] q = new int[256];
+        for (int i = 0; i < 256; i++) {
+            q[i] = (i * 7 + i / 5) % 32;
+            int chunk = i / 64;
+            int high = i % 64 / 32;
+            block[48 + 32 * chunk + i % 32] |= (byte) ((q[i] & 0x0F) << 4 * high);
+            block[16 + i % 32] |= (byte) ((q[i] >>> 4) << (2 * chunk + high));
+        }
+        writeHalf(block, 0, 0.5f);
+        writeHalf(block, 2, 0.25f);
+
+        float[] values = Dequantizer.dequantize(MemorySegment.ofArray(block), GGMLType.Q5_K, 256);
+
+        for (int i = 0; i < 256; i++) {
+            int j = i / 32;
+            assertThat(values[i]).as("%d", i).isEqualTo(0.5f * scale[j] * q[i] - 0.25f * min[j]);
+        }
+    }
+
+    @Test
+    void testDequantizeIQ4_NL() {
+        byte[] block = new byte[18];
+        writeHalf(block, 0, 0.5f);
+        for (int i = 0; i < 16; i++) {
+            block[2 + i] = (byte) (i | (15 - i) << 4);
+        }
+
+        float[] values = Dequantizer.dequantize(MemorySegment.ofArray(block), GGMLType.IQ4_NL, 32);
+
+        for (int i = 0; i < 16; i++) {
+            assertThat(values[i]).isEqualTo(IQTables.KVALUES_IQ4NL[i] * 0.5f);
+            assertThat(values[i + 16]).isEqualTo(IQTables.KVALUES_IQ4NL[15 - i] * 0.5f);
+        }
+    }
+
+    @Test
+    void testDequantizeIQ4_XS() {
+        byte[] block = new byte[136];
+        writeHalf(block, 0, 0.5f);
+        int[] scale = new int[8];
+        int scalesH = 0;
+        for (int ib = 0; ib < 8; ib++) {
+            scale[ib] = (ib * 13 + 5) % 64;
+            block[4 + ib / 2] |= (byte) ((scale[ib] & 0x0F) << 4 * (ib % 2));
+            scalesH |= (scale[ib] >>> 4) << 2 * ib;
+            for (int j = 0; j < 16; j++) {
+                block[8 + 16 * ib + j] = (byte) (j * 7 + ib * 3);
+            }
+        }
+        MemorySegment.ofArray(block).set(SHORT_LE, 2, (short) scalesH);
+
+        float[] values = Dequantizer.dequantize(MemorySegment.ofArray(block), GGMLType.IQ4_XS, 256);
+
+        for (int ib = 0; ib < 8; ib++) {
+            float dl = 0.5f * (scale[ib] - 32);
+            for (int j = 0; j < 16; j++) {
+                int q = (j * 7 + ib * 3) & 0xFF;
+                assertThat(values[32 * ib + j]).isEqualTo(dl * IQTables.KVALUES_IQ4NL[q & 0x0F]);
+                assertThat(values[32 * ib + j + 16]).isEqualTo(dl * IQTables.KVALUES_IQ4NL[q >>> 4]);
+            }
+        }
+    }
+
+    @Test
+    void testDequantizeIQ2_XXS() {
+        // Per 32 elements: four grid indices, then a u32 of four 7-bit sign indices and a 4-bit scale
+        byte[] block = new byte[66];
+        writeHalf(block, 0, 0.5f);
+        long[] rows = new long[32];
+        int[] signs = new int[32];
+        float[] scales = new float[32];
+        for (int ib32 = 0; ib32 < 8; ib32++) {
+            int scale = (ib32 * 5 + 3) & 15;
+            int aux = scale << 28;
+            for (int l = 0; l < 4; l++) {
+                int g = 4 * ib32 + l;
+                int index = (g * 37 + 5) & 255;
+                int sign = (g * 19 + 1) & 127;
+                block[2 + 8 * ib32 + l] = (byte) index;
+                aux |= sign << 7 * l;
+                rows[g] = IQTables.IQ2XXS_GRID[index];
+                signs[g] = IQTables.KSIGNS_IQ2XS[sign];
+                scales[g] = 0.5f * (0.5f + scale) * 0.25f;
+            }
+            MemorySegment.ofArray(block).set(INT_LE, 6 + 8 * ib32, aux);
+        }
+
+        float[] values = Dequantizer.dequantize(MemorySegment.ofArray(block), GGMLType.IQ2_XXS, 256);
+
+        assertGridGroups(values, rows, signs, scales);
+    }
+
+    @Test
+    void testDequantizeIQ2_XS() {
+        // Per 8 elements a u16 of a 9-bit grid index and a 7-bit sign index; two 4-bit scales per 32
+        byte[] block = new byte[74];
+        writeHalf(block, 0, 0.5f);
+        long[] rows = new long[32];
+        int[] signs = new int[32];
+        float[] scales = new float[32];
+        for (int ib32 = 0; ib32 < 8; ib32++) {
+            int low = (ib32 * 3 + 1) & 15;
+            int high = (ib32 * 7 + 2) & 15;
+            block[66 + ib32] = (byte) (low | high << 4);
+            for (int l = 0; l < 4; l++) {
+                int g = 4 * ib32 + l;
+                int index = (g * 149 + 7) & 511;
+                int sign = (g * 19 + 1) & 127;
+                MemorySegment.ofArray(block).set(SHORT_LE, 2 + 2 * g, (short) (index | sign << 9));
+                rows[g] = IQTables.IQ2XS_GRID[index];
+                signs[g] = IQTables.KSIGNS_IQ2XS[sign];
+                scales[g] = 0.5f * (0.5f + (l < 2 ? low : high)) * 0.25f;
+            }
+        }
+
+        float[] values = Dequantizer.dequantize(MemorySegment.ofArray(block), GGMLType.IQ2_XS, 256);
+
+        assertGridGroups(values, rows, signs, scales);
+    }
+
+    @Test
+    void testDequantizeIQ2_S() {
+        // 10-bit grid indices split into qs and two bits each of qh, with raw sign bytes
+        byte[] block = new byte[82];
+        writeHalf(block, 0, 0.5f);
+        long[] rows = new long[32];
+        int[] signs = new int[32];
+        float[] scales = new float[32];
+        for (int ib32 = 0; ib32 < 8; ib32++) {
+            int low = (ib32 * 3 + 1) & 15;
+            int high = (ib32 * 7 + 2) & 15;
+            block[74 + ib32] = (byte) (low | high << 4);
+            for (int l = 0; l < 4; l++) {
+                int g = 4 * ib32 + l;
+                int index = (g * 293 + 13) & 1023;
+                int sign = (g * 53 + 11) & 255;
+                block[2 + g] = (byte) index;
+                block[66 + ib32] |= (byte) ((index >>> 8) << 2 * l);
+                block[34 + g] = (byte) sign;
+                rows[g] = IQTables.IQ2S_GRID[index];
+                signs[g] = sign;
+                scales[g] = 0.5f * (0.5f + (l < 2 ? low : high)) * 0.25f;
+            }
+        }
+
+        float[] values = Dequantizer.dequantize(MemorySegment.ofArray(block), GGMLType.IQ2_S, 256);
+
+        assertGridGroups(values, rows, signs, scales);
+    }
+
+    @Test
+    void testDequantizeIQ3_XXS() {
+        // Two 4-element grid rows per 8 elements sharing one 7-bit sign index
+        byte[] block = new byte[98];
+        writeHalf(block, 0, 0.5f);
+        long[] rows = new long[32];
+        int[] signs = new int[32];
+        float[] scales = new float[32];
+        for (int ib32 = 0; ib32 < 8; ib32++) {
+            int scale = (ib32 * 5 + 3) & 15;
+            int aux = scale << 28;
+            for (int l = 0; l < 4; l++) {
+                int g = 4 * ib32 + l;
+                int first = (2 * g * 41 + 3) & 255;
+                int second = ((2 * g + 1) * 41 + 3) & 255;
+                int sign = (g * 19 + 1) & 127;
+                block[2 + 2 * g] = (byte) first;
+                block[3 + 2 * g] = (byte) second;
+                aux |= sign << 7 * l;
+                rows[g] = gridPair(IQTables.IQ3XXS_GRID[first], IQTables.IQ3XXS_GRID[second]);
+                signs[g] = IQTables.KSIGNS_IQ2XS[sign];
+                scales[g] = 0.5f * (0.5f + scale) * 0.5f;
+            }
+            MemorySegment.ofArray(block).set(INT_LE, 66 + 4 * ib32, aux);
+        }
+
+        float[] values = Dequantizer.dequantize(MemorySegment.ofArray(block), GGMLType.IQ3_XXS, 256);
+
+        assertGridGroups(values, rows, signs, scales);
+    }
+
+    @Test
+    void testDequantizeIQ3_S() {
+        // 9-bit grid indices with the high bits in qh, raw sign bytes and a 4-bit scale per 32
+        byte[] block = new byte[110];
+        writeHalf(block, 0, 0.5f);
+        long[] rows = new long[32];
+        int[] signs = new int[32];
+        float[] scales = new float[32];
+        for (int ib32 = 0; ib32 < 8; ib32++) {
+            int scale = (ib32 * 5 + 3) & 15;
+            block[106 + ib32 / 2] |= (byte) (scale << 4 * (ib32 % 2));
+            for (int l = 0; l < 4; l++) {
+                int g = 4 * ib32 + l;
+                int first = (2 * g * 157 + 9) & 511;
+                int second = ((2 * g + 1) * 157 + 9) & 511;
+                int sign = (g * 53 + 11) & 255;
+                block[2 + 2 * g] = (byte) first;
+                block[3 + 2 * g] = (byte) second;
+                block[66 + ib32] |= (byte) ((first >>> 8) << 2 * l | (second >>> 8) << 2 * l + 1);
+                block[74 + g] = (byte) sign;
+                rows[g] = gridPair(IQTables.IQ3S_GRID[first], IQTables.IQ3S_GRID[second]);
+                signs[g] = sign;
+                scales[g] = 0.5f * (1 + 2 * scale);
+            }
+        }
+
+        float[] values = Dequantizer.dequantize(MemorySegment.ofArray(block), GGMLType.IQ3_S, 256);
+
+        assertGridGroups(values, rows, signs, scales);
+    }
+
+    @Test
+    void testDequantizeIQ1_S() {
+        // 11-bit grid indices; per 32 elements a u16 of four 3-bit index highs, a 3-bit scale and the delta sign
+        byte[] block = new byte[50];
+        writeHalf(block, 0, 0.25f);
+        long[] rows = new long[32];
+        float[] scales = new float[32];
+        float[] deltas = new float[32];
+        for (int ib = 0; ib < 8; ib++) {
+            int scale = (ib * 3 + 2) & 7;
+            boolean negative = ib % 3 == 0;
+            int qh = scale << 12 | (negative ? 0x8000 : 0);
+            for (int l = 0; l < 4; l++) {
+                int g = 4 * ib + l;
+                int index = (g * 613 + 17) & 2047;
+                block[2 + g] = (byte) index;
+                qh |= (index >>> 8) << 3 * l;
+                rows[g] = IQTables.IQ1S_GRID[index];
+                scales[g] = 0.25f * (2 * scale + 1);
+                deltas[g] = negative ? -0.125f : 0.125f;
+            }
+            MemorySegment.ofArray(block).set(SHORT_LE, 34 + 2 * ib, (short) qh);
+        }
+
+        float[] values = Dequantizer.dequantize(MemorySegment.ofArray(block), GGMLType.IQ1_S, 256);
+
+        assertShiftedGridGroups(values, rows, scales, deltas);
+    }
+
+    @Test
+    void testDequantizeIQ1_M() {
+        // Per 8 elements a nibble of three index bits and the delta sign; two 3-bit scales per 32 and
+        // the super-block scale spread over the top nibbles of the four scale words
+        byte[] block = new byte[56];
+        long[] rows = new long[32];
+        float[] scales = new float[32];
+        float[] deltas = new float[32];
+        int[] words = new int[4];
+        for (int ib = 0; ib < 8; ib++) {
+            int first = (ib * 3 + 2) & 7;
+            int second = (ib * 5 + 1) & 7;
+            words[ib / 2] |= (first | second << 3) << 6 * (ib % 2);
+            for (int l = 0; l < 4; l++) {
+                int g = 4 * ib + l;
+                int index = (g * 613 + 17) & 2047;
+                boolean negative = g % 3 == 1;
+                block[g] = (byte) index;
+                block[32 + g / 2] |= (byte) (((index >>> 8) | (negative ? 0x08 : 0)) << 4 * (l % 2));
+                rows[g] = IQTables.IQ1S_GRID[index];
+                scales[g] = 0.25f * (2 * (l < 2 ? first : second) + 1);
+                deltas[g] = negative ? -0.125f : 0.125f;
+            }
+        }
+        short d = Float.floatToFloat16(0.25f);
+        for (int k = 0; k < 4; k++) {
+            words[k] |= ((d >>> 4 * k) & 0x0F) << 12;
+            MemorySegment.ofArray(block).set(SHORT_LE, 48 + 2 * k, (short) words[k]);
+        }
+
+        float[] values = Dequantizer.dequantize(MemorySegment.ofArray(block), GGMLType.IQ1_M, 256);
+
+        assertShiftedGridGroups(values, rows, scales, deltas);
+    }
+
+    @Test
+    void testDequantizeTernary() {
+        Random random = new Random(5);
+        int[] digits = new int[256];
+        for (int i = 0; i < digits.length; i++) {
+            digits[i] = random.nextInt(3);
+        }
+
+        // TQ1_0 packs five base-3 digits per byte as a rounded-up fraction of 3^5
+        byte[] tq1 = new byte[54];
+        for (int m = 0; m < 32; m++) {
+            tq1[m] = packTernary(digits, m, 32, 5);
+        }
+        for (int m = 0; m < 16; m++) {
+            tq1[32 + m] = packTernary(digits, 160 + m, 16, 5);
+        }
+        for (int j = 0; j < 4; j++) {
+            tq1[48 + j] = packTernary(digits, 240 + j, 4, 4);
+        }
+        writeHalf(tq1, 52, 0.25f);
+
+        // TQ2_0 packs four 2-bit values per byte, 32 bytes apart
+        byte[] tq2 = new byte[66];
+        for (int i = 0; i < 256; i++) {
+            int chunk = i / 128;
+            int shift = (i % 128) / 32 * 2;
+            tq2[chunk * 32 + i % 32] |= (byte) (digits[i] << shift);
+        }
+        writeHalf(tq2, 64, 0.25f);
+
+        float[] tq1Values = Dequantizer.dequantize(MemorySegment.ofArray(tq1), GGMLType.TQ1_0, 256);
+        float[] tq2Values = Dequantizer.dequantize(MemorySegment.ofArray(tq2), GGMLType.TQ2_0, 256);
+
+        for (int i = 0; i < 256; i++) {
+            assertThat(tq1Values[i]).as("TQ1_0 %d", i).isEqualTo((digits[i] - 1) * 0.25f);
+            assertThat(tq2Values[i]).as("TQ2_0 %d", i).isEqualTo((digits[i] - 1) * 0.25f);
+        }
+    }
+
+    @Test
+    void testConvertAllHalfFloats() {
+        byte[] data = new byte[65536 * 2];
+        for (int i = 0; i < 65536; i++) {
+            MemorySegment.ofArray(data).set(SHORT_LE, i * 2L, (short) i);
+        }
+
+        float[] f16 = Dequantizer.dequantize(MemorySegment.ofArray(data), GGMLType.F16, 65536);
+        float[] bf16 = Dequantizer.dequantize(MemorySegment.ofArray(data), GGMLType.BF16, 65536);
+
+        for (int i = 0; i < 65536; i++) {
+            float expected = Float.float16ToFloat((short) i);
+            if (Float.isNaN(expected)) {
+                assertThat(f16[i]).as("F16 0x%04x", i).isNaN();
+            } else {
+                assertThat(Float.floatToRawIntBits(f16[i])).as("F16 0x%04x", i).isEqualTo(Float.floatToRawIntBits(expected));
+            }
+            assertThat(Float.floatToRawIntBits(bf16[i])).as("BF16 0x%04x", i).isEqualTo(i << 16);
+        }
+    }
+
+    @Test
+    void testDequantizeParallel() {
+        Random random = new Random(3);
+        byte[] half = new byte[1_000_003 * 2];
+        for (int i = 0; i < half.length; i += 2) {
+            writeHalf(half, i, (float) random.nextGaussian());
+        }
+        MemorySegment f16 = MemorySegment.ofArray(half);
+        float[] expected = Dequantizer.dequantize(f16, GGMLType.F16, 1_000_003);
+        float[] actual = new float[1_000_003 + 5];
+        Dequantizer.dequantizeParallel(f16, GGMLType.F16, actual, 5, 1_000_003);
+        assertThat(Arrays.copyOfRange(actual, 5, actual.length)).isEqualTo(expected);
+
+        MemorySegment q6 = MemorySegment.ofArray(randomBlocks(GGMLType.Q6_K, 4000, random));
+        expected = Dequantizer.dequantize(q6, GGMLType.Q6_K, 4000 * 256L);
+        try (Arena arena = Arena.ofShared()) {
+            MemorySegment dst = arena.allocate(expected.length * 4L);
+            Dequantizer.dequantizeParallel(q6, GGMLType.Q6_K, dst, expected.length);
+            assertThat(dst.toArray(ValueLayout.JAVA_FLOAT)).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void testDequantizeParallelOnPool() {
+        Random random = new Random(11);
+        int blocks = 10_007;
+        MemorySegment src = MemorySegment.ofArray(randomBlocks(GGMLType.Q4_0, blocks, random));
+        float[] expected = Dequantizer.dequantize(src, GGMLType.Q4_0, blocks * 32L);
+
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            float[] actual = new float[expected.length];
+            Dequantizer.dequantizeParallel(src, GGMLType.Q4_0, actual, 0, actual.length, pool);
+            assertThat(actual).isEqualTo(expected);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testVectorKernelsMatchScalar() {
+        assumeVectorKernels();
+        Random random = new Random(42);
+        for (GGMLType type : TYPES) {
+            int blocks = 5;
+            MemorySegment src = MemorySegment.ofArray(randomBlocks(type, blocks, random));
+            float[] expected = new float[blocks * type.getBlockSize()];
+            float[] actual = new float[blocks * type.getBlockSize()];
+
+            ScalarKernels.forType(type).dequantize(src, 0, expected, 0, blocks);
+            VectorKernels.forType(type).dequantize(src, 0, actual, 0, blocks);
+
+            assertThat(actual).as(type.name()).containsExactly(expected, within(1e-6f));
+        }
+    }
+
+    @Test
+    void testDequantizeIntoSegment() {
+        Random random = new Random(7);
+        int blocks = 200;
+        MemorySegment src = MemorySegment.ofArray(randomBlocks(GGMLType.Q4_K, blocks, random));
+        float[] expected = Dequantizer.dequantize(src, GGMLType.Q4_K, blocks * 256L);
+
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment dst = arena.allocate(expected.length * 4L);
+            Dequantizer.dequantize(src, GGMLType.Q4_K, dst, expected.length);
+
+            assertThat(dst.toArray(ValueLayout.JAVA_FLOAT)).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void testInvalidArguments() {
+        MemorySegment src = MemorySegment.ofArray(new byte[34]);
+
+        assertThatThrownBy(() -> Dequantizer.dequantize(src, GGMLType.Q8_0, 31))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Dequantizer.dequantize(src, GGMLType.Q8_0, 64))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Dequantizer.dequantize(src, GGMLType.Q8_0, new float[16], 0, 32))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> Dequantizer.dequantize(src, GGMLType.I32, 8))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThat(Dequantizer.isSupported(GGMLType.Q6_K)).isTrue();
+    }
+
+    private static void assumeVectorKernels() {
+        assumeTrue(
+            ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent() && VectorKernels.isUsable(),
+            "Vector API not available");
+    }
+
+    /**
+     * Random quantized data with finite scales at the positions each layout reads them from.
+     */
+    private static byte[] randomBlocks(GGMLType type, int blocks, Random random) {
+        byte[] data = new byte[blocks * type.getTypeSize()];
+        random.nextBytes(data);
+        for (int b = 0; b < blocks; b++) {
+            int block = b * type.getTypeSize();
+            switch (type) {
+                case Q4_0, Q5_0, Q8_0, IQ2_XXS, IQ2_XS, IQ2_S, IQ3_XXS, IQ3_S, IQ1_S, IQ4_NL, IQ4_XS ->
+                    writeHalf(data, block, randomScale(random));
+                case Q4_1, Q5_1, Q4_K, Q5_K -> {
+                    writeHalf(data, block, randomScale(random));
+                    writeHalf(data, block + 2, randomScale(random));
+                }
+                case Q2_K -> {
+                    writeHalf(data, block + 80, randomScale(random));
+                    writeHalf(data, block + 82, randomScale(random));
+                }
+                case Q3_K -> writeHalf(data, block + 108, randomScale(random));
+                case Q6_K -> writeHalf(data, block + 208, randomScale(random));
+                case Q8_K -> MemorySegment.ofArray(data).set(FLOAT_LE, block, randomScale(random));
+                case TQ1_0 -> writeHalf(data, block + 52, randomScale(random));
+                case TQ2_0 -> writeHalf(data, block + 64, randomScale(random));
+                // IQ1_M keeps the top bits of its f16 scale in the last scale byte
+                case IQ1_M -> data[block + 55] = (byte) ((data[block + 55] & 0x0F) | 0x30);
+                default -> throw new IllegalArgumentException(type.name());
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Check each group of eight values against its unsigned grid row, sign mask and scale.
+     */
+    private static void assertGridGroups(float[] values, long[] rows, int[] signs, float[] scales) {
+        for (int i = 0; i < values.length; i++) {
+            int g = i / 8;
+            float expected = scales[g] * ((int) (rows[g] >>> 8 * (i % 8)) & 0xFF);
+            assertThat(values[i]).as("%d", i).isEqualTo((signs[g] >>> i % 8 & 1) != 0 ? -expected : expected);
+        }
+    }
+
+    /**
+     * Check each group of eight values against its signed IQ1 grid row, shifted by the delta and scaled.
+     */
+    private static void assertShiftedGridGroups(float[] values, long[] rows, float[] scales, float[] deltas) {
+        for (int i = 0; i < values.length; i++) {
+            int g = i / 8;
+            byte grid = (byte) (rows[g] >>> 8 * (i % 8));
+            assertThat(values[i]).as("%d", i).isEqualTo(scales[g] * (grid + deltas[g]));
+        }
+    }
+
+    /**
+     * Join two 4-element IQ3 grid rows into one 8-element row.
+     */
+    private static long gridPair(int first, int second) {
+        return (first & 0xFFFFFFFFL) | (long) second << 32;
+    }
+
+    private static void packQ5(byte[] block, int qhOffset, int[] q) {
+        int qh = 0;
+        for (int i = 0; i < 16; i++) {
+            block[qhOffset + 4 + i] = (byte) ((q[i] & 0x0F) | (q[i + 16] & 0x0F) << 4);
+            qh |= (q[i] >>> 4) << i | (q[i + 16] >>> 4) << (i + 16);
+        }
+        MemorySegment.ofArray(block).set(INT_LE, qhOffset, qh);
+    }
+
+    /**
+     * Pack eight 6-bit scales and mins the way Q4_K and Q5_K store them in 12 bytes.
+     */
+    private static void packScaleMinK4(byte[] block, int offset, int[] scale, int[] min) {
+        for (int j = 0; j < 4; j++) {
+            block[offset + j] = (byte) (scale[j] | (scale[j + 4] >>> 4) << 6);
+            block[offset + j + 4] = (byte) (min[j] | (min[j + 4] >>> 4) << 6);
+            block[offset + j + 8] = (byte) ((scale[j + 4] & 0x0F) | (min[j + 4] & 0x0F) << 4);
+        }
+    }
+
+    private static byte packTernary(int[] digits, int first, int stride, int count) {
+        int q = 0;
+        for (int n = 0; n < count; n++) {
+            q = q * 3 + digits[first + n * stride];
+        }
+        for (int n = count; n < 5; n++) {
+            q *= 3;
+        }
+        return (byte) ((q * 256 + 242) / 243);
+    }
+
+    private static float randomScale(Random random) {
+        return (random.nextFloat() - 0.5f) / 16;
+    }
+
+    private static void writeHalf(byte[] data, int offset, float value) {
+        MemorySegment.ofArray(data).set(SHORT_LE, offset, Float.floatToFloat16(value));
+    }
+}
@@ -0,0 +1,125 @@
+package io.github.ilopezluna.gguf4j.quant;
+
+import io.github.ilopezluna.gguf4j.core.GGUFTensorInfo;
+import io.github.ilopezluna.gguf4j.scalar.GGMLType;
+import org.junit.jupiter.api.Test;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Tests for dot products over quantized blocks.
+ */
+class MatVecTest {
+    private static final ValueLayout.OfShort SHORT_LE = ValueLayout.JAVA_SHORT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private static final GGMLType[] TYPES = {GGMLType.Q4_0, GGMLType.Q8_0, GGMLType.Q4_K};
+
+    @Test
+    void testMatVecMatchesDequantized() {
+        Random random = new Random(1);
+        int rows = 37;
+        int cols = 1024;
+        float[] x = randomVector(cols, random);
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            for (GGMLType type : TYPES) {
+                MemorySegment weights = MemorySegment.ofArray(randomBlocks(type, rows * cols / type.getBlockSize(), random));
+                float[] w = Dequantizer.dequantize(weights, type, (long) rows * cols);
+
+                float[] out = new float[rows];
+                MatVec.matVec(weights, type, rows, cols, x, out, pool);
+
+                for (int r = 0; r < rows; r++) {
+                    double expected = 0;
+                    double magnitude = 0;
+                    for (int c = 0; c < cols; c++) {
+                        expected += (double) w[r * cols + c] * x[c];
+                        magnitude += Math.abs((double) w[r * cols + c] * x[c]);
+                    }
+                    assertThat((double) out[r]).as("%s row %d", type, r).isCloseTo(expected, within(1e-5 * magnitude));
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testVectorKernelsMatchScalar() {
+        assumeTrue(
+            ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent() && VectorKernels.isUsable(),
+            "Vector API not available");
+        Random random = new Random(2);
+        for (GGMLType type : TYPES) {
+            int blocks = 8;
+            MemorySegment src = MemorySegment.ofArray(randomBlocks(type, blocks, random));
+            float[] x = randomVector(blocks * type.getBlockSize() + 3, random);
+
+            float expected = ScalarDotKernels.forType(type).dot(src, 0, x, 3, blocks);
+            float actual = VectorDotKernels.forType(type).dot(src, 0, x, 3, blocks);
+
+            assertThat(actual).as(type.name()).isCloseTo(expected, within(1e-3f * Math.max(1f, Math.abs(expected))));
+        }
+    }
+
+    @Test
+    void testDotValidation() {
+        MemorySegment row = MemorySegment.ofArray(new byte[34]);
+        float[] x = new float[32];
+
+        assertThat(MatVec.dot(row, GGMLType.Q8_0, x, 0, 32)).isZero();
+        assertThatThrownBy(() -> MatVec.dot(row, GGMLType.Q8_0, x, 0, 16))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MatVec.dot(row, GGMLType.Q8_0, x, 1, 32))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> MatVec.dot(row, GGMLType.Q6_K, x, 0, 256))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void testMatVecRejectsEmptyRows() {
+        // Columns are checked before the tensor data is touched, so no model is needed
+        GGUFTensorInfo empty = new GGUFTensorInfo("blk.0.ffn_up.weight", new long[]{0, 8}, GGMLType.Q8_0, 0);
+        assertThatThrownBy(() -> MatVec.matVec(null, empty, new float[0]))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("blk.0.ffn_up.weight");
+        assertThatThrownBy(() -> MatVec.matVec(null, empty, new float[0], new float[8], ForkJoinPool.commonPool()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("blk.0.ffn_up.weight");
+        assertThatThrownBy(() -> MatVec.matVec(MemorySegment.NULL, GGMLType.Q8_0, 8, 0, new float[0], new float[8],
+                ForkJoinPool.commonPool()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static float[] randomVector(int n, Random random) {
+        float[] x = new float[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = (float) random.nextGaussian();
+        }
+        return x;
+    }
+
+    /**
+     * Random blocks with a finite f16 scale (and min for Q4_K) at the start of each block.
+     */
+    private static byte[] randomBlocks(GGMLType type, int blocks, Random random) {
+        byte[] data = new byte[blocks * type.getTypeSize()];
+        random.nextBytes(data);
+        MemorySegment segment = MemorySegment.ofArray(data);
+        for (int b = 0; b < blocks; b++) {
+            long block = (long) b * type.getTypeSize();
+            segment.set(SHORT_LE, block, Float.floatToFloat16((random.nextFloat() - 0.5f) / 16));
+            if (type == GGMLType.Q4_K) {
+                segment.set(SHORT_LE, block + 2, Float.floatToFloat16((random.nextFloat() - 0.5f) / 16));
+            }
+        }
+        return data;
+    }
+}
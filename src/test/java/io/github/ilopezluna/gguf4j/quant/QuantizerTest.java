@@ -0,0 +1,156 @@
+package io.github.ilopezluna.gguf4j.quant;
+
+import io.github.ilopezluna.gguf4j.core.GGUFConstants;
+import io.github.ilopezluna.gguf4j.core.GGUFFile;
+import io.github.ilopezluna.gguf4j.core.GGUFHeader;
+import io.github.ilopezluna.gguf4j.core.GGUFMetadata;
+import io.github.ilopezluna.gguf4j.core.GGUFMetadataValue;
+import io.github.ilopezluna.gguf4j.core.GGUFModel;
+import io.github.ilopezluna.gguf4j.core.GGUFParser;
+import io.github.ilopezluna.gguf4j.core.GGUFTensorInfo;
+import io.github.ilopezluna.gguf4j.core.GGUFWriter;
+import io.github.ilopezluna.gguf4j.scalar.GGMLType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests for block quantization.
+ */
+class QuantizerTest {
+
+    @Test
+    void testQuantizeRoundTrip() {
+        Random random = new Random(3);
+        float[] src = new float[4096];
+        for (int i = 0; i < src.length; i++) {
+            src[i] = (float) random.nextGaussian();
+        }
+        Map<GGMLType, Double> tolerances = Map.of(GGMLType.Q8_0, 0.01, GGMLType.Q4_0, 0.15, GGMLType.Q4_K, 0.1);
+
+        for (Map.Entry<GGMLType, Double> entry : tolerances.entrySet()) {
+            GGMLType type = entry.getKey();
+            MemorySegment blocks = MemorySegment.ofArray(new byte[(int) type.getByteSize(src.length)]);
+            Quantizer.quantize(src, 0, type, blocks, src.length);
+            float[] decoded = Dequantizer.dequantize(blocks, type, src.length);
+
+            double error = 0;
+            for (int i = 0; i < src.length; i++) {
+                error += (decoded[i] - src[i]) * (decoded[i] - src[i]);
+            }
+            assertThat(Math.sqrt(error / src.length)).as(type.name()).isLessThan(entry.getValue());
+        }
+    }
+
+    @Test
+    void testQuantizeExactValues() {
+        // Multiples of amax / 127 survive Q8_0 up to the f16 rounding of the scale
+        float[] src = new float[32];
+        for (int i = 0; i < 32; i++) {
+            src[i] = (i - 16) * 0.25f;
+        }
+        src[31] = 127 * 0.25f;
+        MemorySegment block = MemorySegment.ofArray(new byte[34]);
+        Quantizer.quantize(src, 0, GGMLType.Q8_0, block, 32);
+
+        assertThat(Dequantizer.dequantize(block, GGMLType.Q8_0, 32)).containsExactly(src);
+
+        // An all-zero block has a zero scale (negative zero for Q4_0) and decodes to zeros for every type
+        for (GGMLType type : new GGMLType[]{GGMLType.Q8_0, GGMLType.Q4_0, GGMLType.Q4_K}) {
+            float[] zeros = new float[256];
+            MemorySegment blocks = MemorySegment.ofArray(new byte[(int) type.getByteSize(256)]);
+            Quantizer.quantize(zeros, 0, type, blocks, 256);
+            for (float value : Dequantizer.dequantize(blocks, type, 256)) {
+                assertThat(value).as(type.name()).isZero();
+            }
+        }
+    }
+
+    @Test
+    void testQuantizeFile(@TempDir Path tempDir) throws IOException {
+        Random random = new Random(4);
+        float[] weights = new float[256 * 6];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = (float) random.nextGaussian();
+        }
+        List<GGUFTensorInfo> tensors = List.of(
+            new GGUFTensorInfo("token_embd.weight", new long[]{256, 6}, GGMLType.F16, 0),
+            new GGUFTensorInfo("output_norm.weight", new long[]{256}, GGMLType.F32, 0),
+            new GGUFTensorInfo("blk.0.attn_q.weight", new long[]{256, 6}, GGMLType.F32, 0),
+            new GGUFTensorInfo("blk.0.odd.weight", new long[]{100, 2}, GGMLType.F32, 0));
+        Map<String, GGUFMetadataValue> values = new LinkedHashMap<>();
+        values.put(GGUFConstants.GENERAL_ARCHITECTURE, new GGUFMetadataValue.StringValue("llama"));
+        values.put(GGUFConstants.GENERAL_FILE_TYPE, new GGUFMetadataValue.UInt32Value(GGUFConstants.FILE_TYPE_MOSTLY_F16));
+        GGUFMetadata metadata = new GGUFMetadata(values);
+        GGUFHeader header = new GGUFHeader(GGUFConstants.GGUF_MAGIC, GGUFConstants.GGUF_VERSION_3, tensors.size(), metadata.size());
+
+        Path source = tempDir.resolve("model-f16.gguf");
+        GGUFWriter.write(source, header, metadata, tensors, (tensor, target) -> {
+            ByteBuffer buffer = ByteBuffer.allocate((int) tensor.getSizeInBytes()).order(ByteOrder.LITTLE_ENDIAN);
+            for (int i = 0; i < tensor.getElementCount(); i++) {
+                if (tensor.type() == GGMLType.F16) {
+                    buffer.putShort(Float.floatToFloat16(weights[i]));
+                } else {
+                    buffer.putFloat(weights[i]);
+                }
+            }
+            target.write(buffer.flip());
+        });
+
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            for (GGMLType type : new GGMLType[]{GGMLType.Q8_0, GGMLType.Q4_K}) {
+                Path target = tempDir.resolve("model-" + type.name().toLowerCase() + ".gguf");
+                Quantizer.quantize(source, target, type, pool);
+
+                GGUFFile file = GGUFParser.parse(target);
+                assertThat(file.getFileType()).contains((long) Quantizer.fileType(type));
+                assertThat(file.tensors()).extracting(GGUFTensorInfo::type)
+                        .containsExactly(type, GGMLType.F32, type, GGMLType.F32);
+
+                try (GGUFModel before = GGUFModel.open(source); GGUFModel after = GGUFModel.open(target)) {
+                    assertThat(after.tensorData("output_norm.weight").mismatch(before.tensorData("output_norm.weight"))).isEqualTo(-1);
+                    assertThat(after.tensorData("blk.0.odd.weight").mismatch(before.tensorData("blk.0.odd.weight"))).isEqualTo(-1);
+
+                    for (String name : new String[]{"token_embd.weight", "blk.0.attn_q.weight"}) {
+                        // The file must hold exactly what quantizing the decoded source in one call gives
+                        float[] original = Dequantizer.dequantize(before, before.file().findTensor(name).orElseThrow());
+                        MemorySegment expected = MemorySegment.ofArray(new byte[(int) type.getByteSize(original.length)]);
+                        Quantizer.quantize(original, 0, type, expected, original.length);
+
+                        assertThat(after.tensorData(name).mismatch(expected)).as(name).isEqualTo(-1);
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testInvalidArguments() {
+        float[] src = new float[64];
+        MemorySegment dst = MemorySegment.ofArray(new byte[34]);
+
+        assertThatThrownBy(() -> Quantizer.quantize(src, 0, GGMLType.Q8_0, dst, 16))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Quantizer.quantize(src, 0, GGMLType.Q8_0, dst, 64))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> Quantizer.quantize(src, 0, GGMLType.Q6_K, dst, 0))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThat(Quantizer.isSupported(GGMLType.Q4_K)).isTrue();
+        assertThat(Quantizer.isSupported(GGMLType.IQ2_XXS)).isFalse();
+    }
+}